@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import static com.feilong.core.Validator.isNotNullOrEmpty;
+import static com.feilong.core.util.MapUtil.newHashMap;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.BeanUtilsBean;
+
+import com.feilong.core.lang.reflect.ClassFieldMetadata;
+
+/**
+ * {@link Alias} bean 的填充计划,每个类只解析一次.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>每个类的 {@link Alias} 字段,属性名字和 {@link Alias#name()} 的对应关系,以及每个属性的 {@link BeanPropertySetter} 只解析一次,
+ * 之后每次填充只是按照计划逐个 转换类型 + 调用预编译的 setter</li>
+ * <li>类型转换以及异常和 {@link BeanUtils#setProperty(Object, String, Object)} 完全一致,参见 {@link BeanPropertySetter}</li>
+ * <li>使用 {@link ClassValue} 缓存,类被卸载的时候计划会一起被回收</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see BeanUtil#populateAliasBean(Object, Map)
+ * @since 1.10.6
+ */
+final class AliasPopulatePlan{
+
+    /** The cache. */
+    private static final ClassValue<AliasPopulatePlan> CACHE = new AliasPopulatePlanClassValue();
+
+    //---------------------------------------------------------------
+
+    /** 需要填充的属性,顺序和原来遍历属性名字和 alias 的 {@link java.util.HashMap} 一致. */
+    private final PropertyEntry[]                      propertyEntries;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new alias populate plan.
+     *
+     * @param aliasBeanClass
+     *            the alias bean class
+     */
+    private AliasPopulatePlan(Class<?> aliasBeanClass){
+        Map<String, String> propertyNameAndAliasMap = buildPropertyNameAndAliasMap(aliasBeanClass);
+        PropertyEntry[] entries = new PropertyEntry[propertyNameAndAliasMap.size()];
+        int count = 0;
+        for (Map.Entry<String, String> entry : propertyNameAndAliasMap.entrySet()){
+            BeanPropertySetter beanPropertySetter = BeanPropertySetter.resolve(aliasBeanClass, entry.getKey());
+            //只读属性, BeanUtils.setProperty 也是直接跳过
+            if (null != beanPropertySetter){
+                entries[count++] = new PropertyEntry(entry.getValue(), beanPropertySetter);
+            }
+        }
+        this.propertyEntries = count == entries.length ? entries : Arrays.copyOf(entries, count);
+    }
+
+    /**
+     * 获得 <code>aliasBeanClass</code> 的填充计划.
+     *
+     * @param aliasBeanClass
+     *            the alias bean class
+     * @return the alias populate plan
+     */
+    static AliasPopulatePlan forClass(Class<?> aliasBeanClass){
+        return CACHE.get(aliasBeanClass);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 使用 <code>aliasAndValueMap</code> 填充 <code>aliasBean</code>.
+     *
+     * @param aliasBean
+     *            the alias bean,不是null,并且类型就是计划对应的类
+     * @param aliasAndValueMap
+     *            the alias and value map,不是null
+     * @throws Exception
+     *             和 {@link BeanUtils#setProperty(Object, String, Object)} 一致
+     */
+    void populate(Object aliasBean,Map<String, ?> aliasAndValueMap) throws Exception{
+        BeanUtilsBean beanUtilsBean = BeanUtilsBean.getInstance();
+        for (PropertyEntry propertyEntry : propertyEntries){
+            Object value = aliasAndValueMap.get(propertyEntry.alias);
+            if (isNotNullOrEmpty(value)){
+                propertyEntry.beanPropertySetter.setProperty(beanUtilsBean, aliasBean, value);
+            }
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 提取 klass {@link Alias} 注释,将 属性名字和 {@link Alias#name()} 组成map 返回.
+     *
+     * @param klass
+     *            the klass
+     * @return 属性名字和 {@link Alias#name()} 的对应关系,同名的字段父类的覆盖子类的
+     */
+    private static Map<String, String> buildPropertyNameAndAliasMap(Class<?> klass){
+        List<Field> aliasFieldsList = ClassFieldMetadata.forClass(klass).getFieldListWithAnnotation(Alias.class);
+
+        //属性名字和key的对应关系
+        Map<String, String> propertyNameAndAliasMap = newHashMap(aliasFieldsList.size());
+        for (Field field : aliasFieldsList){
+            Alias alias = field.getAnnotation(Alias.class);
+            propertyNameAndAliasMap.put(field.getName(), alias.name());
+        }
+        return propertyNameAndAliasMap;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 一个需要填充的属性.
+     */
+    private static final class PropertyEntry{
+
+        /** The alias. */
+        private final String             alias;
+
+        /** The bean property setter. */
+        private final BeanPropertySetter beanPropertySetter;
+
+        /**
+         * Instantiates a new property entry.
+         *
+         * @param alias
+         *            the alias
+         * @param beanPropertySetter
+         *            the bean property setter
+         */
+        private PropertyEntry(String alias, BeanPropertySetter beanPropertySetter){
+            this.alias = alias;
+            this.beanPropertySetter = beanPropertySetter;
+        }
+    }
+
+    /**
+     * 按照类解析填充计划.
+     */
+    private static final class AliasPopulatePlanClassValue extends ClassValue<AliasPopulatePlan>{
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.ClassValue#computeValue(java.lang.Class)
+         */
+        @Override
+        protected AliasPopulatePlan computeValue(Class<?> type){
+            return new AliasPopulatePlan(type);
+        }
+    }
+}
@@ -0,0 +1,601 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import static com.feilong.core.Validator.isNullOrEmpty;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.ConvertUtilsBean;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.beanutils.PropertyUtilsBean;
+import org.apache.commons.lang3.Validate;
+
+import com.feilong.core.util.ConcurrentLruCache;
+
+/**
+ * 预解析的 bean 复制器,以 <code>(fromObj class, toObj class, includePropertyNames, 是否转换类型)</code> 为 key 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>需要复制哪些属性,每个属性的 getter/setter({@link PropertyAccessor}) 以及目标属性的类型,只在第一次复制的时候解析,
+ * 之后每次复制只是按照计划逐个 调用 getter + (转换类型) + 调用 setter</li>
+ * <li>转换类型的复制({@link BeanUtil#copyProperties(Object, Object, String...)}),语义和 {@link BeanUtils#copyProperties(Object, Object)}
+ * 以及 {@link BeanUtils#getProperty(Object, String)}/{@link BeanUtils#setProperty(Object, String, Object)} 一致;
+ * 转换器每次都从当前的 {@link ConvertUtilsBean} 查找</li>
+ * <li>不转换类型的复制({@link PropertyUtil#copyProperties(Object, Object, String...)}),语义和 {@link PropertyUtils#copyProperties(Object, Object)}
+ * 以及 {@link PropertyUtils#getProperty(Object, String)}/{@link PropertyUtils#setProperty(Object, String, Object)} 一致</li>
+ * <li>{@link java.util.Map},{@link org.apache.commons.beanutils.DynaBean},getter/setter 不可访问的属性,以及自定义了 {@link BeanUtilsBean}/
+ * {@link PropertyUtilsBean} 的场景,回退到 commons-beanutils,保证语义(包括异常)和原来一致</li>
+ * <li>和 {@link com.feilong.core.lang.reflect.ClassFieldMetadata} 一样使用 {@link ClassValue} 缓存,不使用持有 {@link Class} 的 static map;
+ * 复制器同时引用了两个类,所以保存在 classloader 更"下层"的那个类上(被引用的另外一个类的 classloader 是它的祖先,生命周期不会更短),
+ * 类被卸载的时候复制器会一起被回收;两个类的 classloader 没有父子关系,或者都是 jdk 的类的时候不缓存</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see BeanUtil#copyProperties(Object, Object, String...)
+ * @see PropertyUtil#copyProperties(Object, Object, String...)
+ * @since 1.10.6
+ */
+final class BeanCopier{
+
+    /** 每个类最多缓存的复制器数量. */
+    private static final int                                                  MAX_CACHE_SIZE_PER_CLASS = 64;
+
+    /** 缓存,保存在 (toClass, fromClass) 中 classloader 更下层的那个类上. */
+    private static final ClassValue<ConcurrentLruCache<CacheKey, BeanCopier>> CACHE                    = new BeanCopierCacheClassValue();
+
+    //---------------------------------------------------------------
+
+    /** 是否转换类型. */
+    private final boolean                                                     convert;
+
+    /** 复制全部属性的时候,需要复制的属性;如果是null,表示整个回退到 commons-beanutils. */
+    private final CopyEntry[]                                                 copyEntries;
+
+    /** 指定属性复制的时候,每个属性对应的 getter/setter. */
+    private final IncludeEntry[]                                              includeEntries;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new bean copier.
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @param includePropertyNames
+     *            the include property names
+     * @param convert
+     *            the convert
+     */
+    private BeanCopier(Object toObj, Object fromObj, String[] includePropertyNames, boolean convert){
+        this.convert = convert;
+        if (null == includePropertyNames){
+            this.copyEntries = buildCopyEntries(toObj, fromObj);
+            this.includeEntries = null;
+        }else{
+            this.copyEntries = null;
+            this.includeEntries = buildIncludeEntries(toObj.getClass(), fromObj.getClass(), includePropertyNames, convert);
+        }
+    }
+
+    /**
+     * 获得 <code>fromObj</code> 复制到 <code>toObj</code> 的复制器(有缓存).
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @param includePropertyNames
+     *            需要复制的属性名称,如果是null或者empty,复制全部的属性
+     * @param convert
+     *            是否转换类型
+     * @return the bean copier
+     * @throws NullPointerException
+     *             如果 <code>includePropertyNames</code> 中有null的元素
+     * @throws IllegalArgumentException
+     *             如果 <code>includePropertyNames</code> 中有blank的元素
+     */
+    static BeanCopier getInstance(Object toObj,Object fromObj,String[] includePropertyNames,boolean convert){
+        //复制一份,防止调用方修改数组
+        String[] propertyNames = isNullOrEmpty(includePropertyNames) ? null : includePropertyNames.clone();
+        if (null != propertyNames){
+            for (String propertyName : propertyNames){
+                Validate.notBlank(propertyName, "propertyName can't be blank!");
+            }
+        }
+
+        Class<?> toClass = toObj.getClass();
+        Class<?> fromClass = fromObj.getClass();
+        Class<?> ownerClass = getOwnerClass(toClass, fromClass);
+        if (null == ownerClass){
+            return new BeanCopier(toObj, fromObj, propertyNames, convert);
+        }
+
+        ConcurrentLruCache<CacheKey, BeanCopier> cache = CACHE.get(ownerClass);
+        CacheKey cacheKey = new CacheKey(toClass, fromClass, propertyNames, convert);
+        BeanCopier beanCopier = cache.get(cacheKey);
+        if (null != beanCopier){
+            return beanCopier;
+        }
+        return cache.putIfAbsent(cacheKey, new BeanCopier(toObj, fromObj, propertyNames, convert));
+    }
+
+    /**
+     * 获得保存复制器缓存的类,也就是 classloader 更下层的那个类.
+     *
+     * @param toClass
+     *            the to class
+     * @param fromClass
+     *            the from class
+     * @return 如果两个类的 classloader 没有父子关系,或者都是 jdk(bootstrap classloader)的类,返回null,表示不缓存
+     */
+    private static Class<?> getOwnerClass(Class<?> toClass,Class<?> fromClass){
+        ClassLoader toClassLoader = toClass.getClassLoader();
+        ClassLoader fromClassLoader = fromClass.getClassLoader();
+
+        Class<?> ownerClass = null;
+        if (isAncestor(toClassLoader, fromClassLoader)){
+            ownerClass = fromClass;
+        }else if (isAncestor(fromClassLoader, toClassLoader)){
+            ownerClass = toClass;
+        }
+        //jdk 的类上面不保存,避免 jdk 的类反过来持有本类库的 classloader
+        return null == ownerClass || null == ownerClass.getClassLoader() ? null : ownerClass;
+    }
+
+    /**
+     * 判断 <code>ancestor</code> 是否是 <code>classLoader</code> 本身或者它的祖先.
+     *
+     * @param ancestor
+     *            the ancestor,null 表示 bootstrap classloader
+     * @param classLoader
+     *            the class loader,null 表示 bootstrap classloader
+     * @return true, if is ancestor
+     */
+    private static boolean isAncestor(ClassLoader ancestor,ClassLoader classLoader){
+        if (null == ancestor){
+            return true;
+        }
+        for (ClassLoader current = classLoader; null != current; current = current.getParent()){
+            if (current == ancestor){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>fromObj</code> 的属性复制到 <code>toObj</code>.
+     *
+     * @param toObj
+     *            the to obj,类型就是复制器对应的类型
+     * @param fromObj
+     *            the from obj,类型就是复制器对应的类型
+     * @throws Exception
+     *             和 commons-beanutils 一致
+     */
+    void copy(Object toObj,Object fromObj) throws Exception{
+        BeanUtilsBean beanUtilsBean = BeanUtilsBean.getInstance();
+        PropertyUtilsBean propertyUtilsBean = beanUtilsBean.getPropertyUtils();
+
+        //BeanUtilsBean/PropertyUtilsBean 的子类可能有不同的规则
+        boolean direct = BeanUtilsBean.class == beanUtilsBean.getClass() && PropertyUtilsBean.class == propertyUtilsBean.getClass();
+        if (null != includeEntries){
+            copyIncludeProperties(toObj, fromObj, beanUtilsBean, direct);
+        }else if (null == copyEntries || !direct){
+            copyAllPropertiesByBeanutils(toObj, fromObj, beanUtilsBean, propertyUtilsBean);
+        }else{
+            copyAllProperties(toObj, fromObj, beanUtilsBean, propertyUtilsBean);
+        }
+    }
+
+    /**
+     * 复制全部的属性.
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @param beanUtilsBean
+     *            the bean utils bean
+     * @param propertyUtilsBean
+     *            the property utils bean
+     * @throws Exception
+     *             the exception
+     */
+    private void copyAllProperties(Object toObj,Object fromObj,BeanUtilsBean beanUtilsBean,PropertyUtilsBean propertyUtilsBean)
+                    throws Exception{
+        ConvertUtilsBean convertUtilsBean = beanUtilsBean.getConvertUtils();
+        for (CopyEntry copyEntry : copyEntries){
+            if (null == copyEntry.fromAccessor){
+                copyPropertyByBeanutils(toObj, fromObj, copyEntry.propertyName, beanUtilsBean, propertyUtilsBean);
+                continue;
+            }
+
+            Object value = copyEntry.fromAccessor.getValue(fromObj);
+            //和 BeanUtilsBean#convertForCopy 一致, null 不转换
+            if (convert && null != value){
+                value = BeanPropertySetter.lookupAndConvert(convertUtilsBean, value, copyEntry.toPropertyType);
+            }
+            copyEntry.toAccessor.setValue(toObj, value);
+        }
+    }
+
+    /**
+     * 使用 commons-beanutils 复制全部的属性.
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @param beanUtilsBean
+     *            the bean utils bean
+     * @param propertyUtilsBean
+     *            the property utils bean
+     * @throws Exception
+     *             the exception
+     * @see BeanUtils#copyProperties(Object, Object)
+     * @see PropertyUtils#copyProperties(Object, Object)
+     */
+    private void copyAllPropertiesByBeanutils(Object toObj,Object fromObj,BeanUtilsBean beanUtilsBean,PropertyUtilsBean propertyUtilsBean)
+                    throws Exception{
+        if (convert){
+            beanUtilsBean.copyProperties(toObj, fromObj);
+        }else{
+            propertyUtilsBean.copyProperties(toObj, fromObj);
+        }
+    }
+
+    /**
+     * 使用 commons-beanutils 复制一个属性,和 {@link BeanUtilsBean#copyProperties(Object, Object)} 以及
+     * {@link PropertyUtilsBean#copyProperties(Object, Object)} 循环中的处理一致.
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @param propertyName
+     *            the property name
+     * @param beanUtilsBean
+     *            the bean utils bean
+     * @param propertyUtilsBean
+     *            the property utils bean
+     * @throws Exception
+     *             the exception
+     */
+    private void copyPropertyByBeanutils(
+                    Object toObj,
+                    Object fromObj,
+                    String propertyName,
+                    BeanUtilsBean beanUtilsBean,
+                    PropertyUtilsBean propertyUtilsBean) throws Exception{
+        try{
+            Object value = propertyUtilsBean.getSimpleProperty(fromObj, propertyName);
+            if (convert){
+                beanUtilsBean.copyProperty(toObj, propertyName, value);
+            }else{
+                propertyUtilsBean.setSimpleProperty(toObj, propertyName, value);
+            }
+        }catch (NoSuchMethodException e){
+            //和 commons-beanutils 一致, 忽略
+        }
+    }
+
+    /**
+     * 复制指定的属性.
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @param beanUtilsBean
+     *            the bean utils bean
+     * @param direct
+     *            是否可以使用预解析的 getter/setter
+     * @throws Exception
+     *             the exception
+     */
+    private void copyIncludeProperties(Object toObj,Object fromObj,BeanUtilsBean beanUtilsBean,boolean direct) throws Exception{
+        for (IncludeEntry includeEntry : includeEntries){
+            String propertyName = includeEntry.propertyName;
+
+            if (!convert){
+                includeEntry.toAccessor.setValue(toObj, includeEntry.fromAccessor.getValue(fromObj));
+                continue;
+            }
+
+            //和 BeanUtil#getProperty 一致,先转成 String
+            if (!direct){
+                beanUtilsBean.setProperty(toObj, propertyName, beanUtilsBean.getProperty(fromObj, propertyName));
+                continue;
+            }
+            String value = beanUtilsBean.getConvertUtils().convert(includeEntry.fromAccessor.getValue(fromObj));
+            if (null != includeEntry.beanPropertySetter){
+                includeEntry.beanPropertySetter.setProperty(beanUtilsBean, toObj, value);
+            }
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 解析需要复制的全部属性,和 {@link BeanUtilsBean#copyProperties(Object, Object)} 以及 {@link PropertyUtilsBean#copyProperties(Object, Object)}
+     * 的判断一致.
+     *
+     * @param toObj
+     *            the to obj
+     * @param fromObj
+     *            the from obj
+     * @return 如果 <code>toObj</code> 或者 <code>fromObj</code> 不是普通的 java bean,返回null
+     */
+    private static CopyEntry[] buildCopyEntries(Object toObj,Object fromObj){
+        Class<?> toClass = toObj.getClass();
+        Class<?> fromClass = fromObj.getClass();
+        if (!PropertyAccessor.isPlainBeanClass(toClass) || !PropertyAccessor.isPlainBeanClass(fromClass)){
+            return null;
+        }
+
+        PropertyUtilsBean propertyUtilsBean = BeanUtilsBean.getInstance().getPropertyUtils();
+        List<CopyEntry> copyEntryList = new ArrayList<>();
+        for (PropertyDescriptor fromPropertyDescriptor : propertyUtilsBean.getPropertyDescriptors(fromClass)){
+            String propertyName = fromPropertyDescriptor.getName();
+            if ("class".equals(propertyName) || !propertyUtilsBean.isReadable(fromObj, propertyName)
+                            || !propertyUtilsBean.isWriteable(toObj, propertyName)){
+                continue;
+            }
+            copyEntryList.add(CopyEntry.resolve(toClass, fromClass, fromPropertyDescriptor, propertyName));
+        }
+        return copyEntryList.toArray(new CopyEntry[copyEntryList.size()]);
+    }
+
+    /**
+     * 解析指定属性的 getter/setter.
+     *
+     * @param toClass
+     *            the to class
+     * @param fromClass
+     *            the from class
+     * @param includePropertyNames
+     *            the include property names
+     * @param convert
+     *            the convert
+     * @return the include entry[]
+     */
+    private static IncludeEntry[] buildIncludeEntries(Class<?> toClass,Class<?> fromClass,String[] includePropertyNames,boolean convert){
+        IncludeEntry[] entries = new IncludeEntry[includePropertyNames.length];
+        for (int i = 0; i < includePropertyNames.length; ++i){
+            String propertyName = includePropertyNames[i];
+            entries[i] = new IncludeEntry(
+                            propertyName,
+                            PropertyAccessor.getInstance(fromClass, propertyName),
+                            convert ? null : PropertyAccessor.getInstance(toClass, propertyName),
+                            convert ? BeanPropertySetter.resolve(toClass, propertyName) : null);
+        }
+        return entries;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 复制全部属性的时候,一个需要复制的属性.
+     */
+    private static final class CopyEntry{
+
+        /** The property name. */
+        private final String           propertyName;
+
+        /** 源属性的 getter,如果是null,表示需要回退到 commons-beanutils. */
+        private final PropertyAccessor fromAccessor;
+
+        /** 目标属性的 setter. */
+        private final PropertyAccessor toAccessor;
+
+        /** 目标属性的类型. */
+        private final Class<?>         toPropertyType;
+
+        /**
+         * Instantiates a new copy entry.
+         *
+         * @param propertyName
+         *            the property name
+         * @param fromAccessor
+         *            the from accessor
+         * @param toAccessor
+         *            the to accessor
+         * @param toPropertyType
+         *            the to property type
+         */
+        private CopyEntry(String propertyName, PropertyAccessor fromAccessor, PropertyAccessor toAccessor, Class<?> toPropertyType){
+            this.propertyName = propertyName;
+            this.fromAccessor = fromAccessor;
+            this.toAccessor = toAccessor;
+            this.toPropertyType = toPropertyType;
+        }
+
+        /**
+         * 解析.
+         *
+         * @param toClass
+         *            the to class
+         * @param fromClass
+         *            the from class
+         * @param fromPropertyDescriptor
+         *            the from property descriptor
+         * @param propertyName
+         *            the property name
+         * @return the copy entry
+         */
+        private static CopyEntry resolve(Class<?> toClass,Class<?> fromClass,PropertyDescriptor fromPropertyDescriptor,String propertyName){
+            CopyEntry fallbackEntry = new CopyEntry(propertyName, null, null, null);
+
+            //getter 不可访问, getSimpleProperty 会抛出 NoSuchMethodException
+            if (null == MethodUtils.getAccessibleMethod(fromClass, fromPropertyDescriptor.getReadMethod())){
+                return fallbackEntry;
+            }
+
+            //只有标准的,可以访问 setter 的属性, setSimpleProperty 才不会抛出 NoSuchMethodException
+            PropertyDescriptor toPropertyDescriptor = PropertyAccessor.findPropertyDescriptor(toClass, propertyName);
+            if (null == toPropertyDescriptor || null == toPropertyDescriptor.getPropertyType()
+                            || null == MethodUtils.getAccessibleMethod(toClass, toPropertyDescriptor.getWriteMethod())){
+                return fallbackEntry;
+            }
+            return new CopyEntry(
+                            propertyName,
+                            PropertyAccessor.getInstance(fromClass, propertyName),
+                            PropertyAccessor.getInstance(toClass, propertyName),
+                            toPropertyDescriptor.getPropertyType());
+        }
+    }
+
+    /**
+     * 指定属性复制的时候,一个需要复制的属性.
+     */
+    private static final class IncludeEntry{
+
+        /** The property name. */
+        private final String             propertyName;
+
+        /** 源属性的 getter. */
+        private final PropertyAccessor   fromAccessor;
+
+        /** 不转换类型的时候,目标属性的 setter. */
+        private final PropertyAccessor   toAccessor;
+
+        /** 转换类型的时候,目标属性的 setter,如果是null,表示只读属性,不需要设置. */
+        private final BeanPropertySetter beanPropertySetter;
+
+        /**
+         * Instantiates a new include entry.
+         *
+         * @param propertyName
+         *            the property name
+         * @param fromAccessor
+         *            the from accessor
+         * @param toAccessor
+         *            the to accessor
+         * @param beanPropertySetter
+         *            the bean property setter
+         */
+        private IncludeEntry(String propertyName, PropertyAccessor fromAccessor, PropertyAccessor toAccessor,
+                        BeanPropertySetter beanPropertySetter){
+            this.propertyName = propertyName;
+            this.fromAccessor = fromAccessor;
+            this.toAccessor = toAccessor;
+            this.beanPropertySetter = beanPropertySetter;
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 每个类的复制器缓存.
+     */
+    private static final class BeanCopierCacheClassValue extends ClassValue<ConcurrentLruCache<CacheKey, BeanCopier>>{
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.ClassValue#computeValue(java.lang.Class)
+         */
+        @Override
+        protected ConcurrentLruCache<CacheKey, BeanCopier> computeValue(Class<?> type){
+            return new ConcurrentLruCache<>(MAX_CACHE_SIZE_PER_CLASS);
+        }
+    }
+
+    /**
+     * 缓存的 key.
+     */
+    private static final class CacheKey{
+
+        /** The to class. */
+        private final Class<?> toClass;
+
+        /** The from class. */
+        private final Class<?> fromClass;
+
+        /** The include property names. */
+        private final String[] includePropertyNames;
+
+        /** The convert. */
+        private final boolean  convert;
+
+        /** The hash code. */
+        private final int      hashCode;
+
+        /**
+         * Instantiates a new cache key.
+         *
+         * @param toClass
+         *            the to class
+         * @param fromClass
+         *            the from class
+         * @param includePropertyNames
+         *            the include property names
+         * @param convert
+         *            the convert
+         */
+        private CacheKey(Class<?> toClass, Class<?> fromClass, String[] includePropertyNames, boolean convert){
+            this.toClass = toClass;
+            this.fromClass = fromClass;
+            this.includePropertyNames = includePropertyNames;
+            this.convert = convert;
+            this.hashCode = ((31 * toClass.hashCode() + fromClass.hashCode()) * 31 + Arrays.hashCode(includePropertyNames)) * 31
+                            + (convert ? 1 : 0);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode(){
+            return hashCode;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj){
+            if (this == obj){
+                return true;
+            }
+            if (!(obj instanceof CacheKey)){
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return toClass == other.toClass && fromClass == other.fromClass && convert == other.convert
+                            && Arrays.equals(includePropertyNames, other.includePropertyNames);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import java.beans.PropertyDescriptor;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.ConvertUtilsBean;
+import org.apache.commons.beanutils.Converter;
+import org.apache.commons.beanutils.MappedPropertyDescriptor;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.expression.Resolver;
+
+/**
+ * 预解析的,带类型转换的 setter,语义和 {@link BeanUtils#setProperty(Object, String, Object)} 一致.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>属性类型以及 setter({@link PropertyAccessor}) 只解析一次,每次设置只需要 转换类型 + 调用预编译的 setter</li>
+ * <li>类型转换的规则和 {@link BeanUtilsBean#setProperty(Object, String, Object)} 转换简单属性的规则完全一致;转换器每次都从当前的
+ * {@link ConvertUtilsBean} 查找,因此之后通过 {@link org.apache.commons.beanutils.ConvertUtils#register(Converter, Class)} 注册的转换器仍然生效</li>
+ * <li>{@link java.util.Map},{@link org.apache.commons.beanutils.DynaBean},nested/indexed/mapped 属性,没有标准 {@link PropertyDescriptor}
+ * 或者 setter 不可访问的属性,以及自定义了 {@link BeanUtilsBean} 的场景,回退到 {@link BeanUtilsBean#setProperty(Object, String, Object)},
+ * 保证语义(包括异常)和原来一致</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see BeanUtils#setProperty(Object, String, Object)
+ * @since 1.10.6
+ */
+final class BeanPropertySetter{
+
+    /** The property name. */
+    private final String           propertyName;
+
+    /** 属性的类型,如果 {@link #propertyAccessor} 是null,那么也是null. */
+    private final Class<?>         propertyType;
+
+    /** 预编译的属性访问器,如果是null,表示需要回退到 {@link BeanUtilsBean#setProperty(Object, String, Object)}. */
+    private final PropertyAccessor propertyAccessor;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new bean property setter.
+     *
+     * @param propertyName
+     *            the property name
+     * @param propertyType
+     *            the property type
+     * @param propertyAccessor
+     *            the property accessor
+     */
+    private BeanPropertySetter(String propertyName, Class<?> propertyType, PropertyAccessor propertyAccessor){
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.propertyAccessor = propertyAccessor;
+    }
+
+    /**
+     * 解析 <code>beanClass</code> 的 <code>propertyName</code> 属性.
+     *
+     * @param beanClass
+     *            the bean class
+     * @param propertyName
+     *            属性名称 (can be nested/indexed/mapped/combo)
+     * @return 如果是只读的简单属性(和 {@link BeanUtils#setProperty(Object, String, Object)} 一样直接跳过),返回null
+     */
+    static BeanPropertySetter resolve(Class<?> beanClass,String propertyName){
+        BeanPropertySetter fallbackSetter = new BeanPropertySetter(propertyName, null, null);
+        if (!PropertyAccessor.isPlainBeanClass(beanClass) || !isSimpleName(propertyName)){
+            return fallbackSetter;
+        }
+
+        PropertyDescriptor propertyDescriptor = PropertyAccessor.findPropertyDescriptor(beanClass, propertyName);
+        if (null == propertyDescriptor || propertyDescriptor instanceof MappedPropertyDescriptor){
+            return fallbackSetter;
+        }
+        if (null == propertyDescriptor.getWriteMethod()){
+            return null;
+        }
+        //setter 不可访问, BeanUtils.setProperty 会抛出异常
+        if (null == MethodUtils.getAccessibleMethod(beanClass, propertyDescriptor.getWriteMethod())){
+            return fallbackSetter;
+        }
+        return new BeanPropertySetter(propertyName, propertyDescriptor.getPropertyType(), PropertyAccessor.getInstance(beanClass, propertyName));
+    }
+
+    /**
+     * 是否是简单的属性名称(不是 nested/indexed/mapped).
+     *
+     * @param propertyName
+     *            the property name
+     * @return true, if is simple name
+     */
+    private static boolean isSimpleName(String propertyName){
+        Resolver resolver = BeanUtilsBean.getInstance().getPropertyUtils().getResolver();
+        return !resolver.hasNested(propertyName) && !resolver.isIndexed(propertyName) && !resolver.isMapped(propertyName);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 设置 <code>bean</code> 的属性值,和 {@link BeanUtilsBean#setProperty(Object, String, Object)} 语义一致.
+     *
+     * @param beanUtilsBean
+     *            当前的 {@link BeanUtilsBean#getInstance()}
+     * @param bean
+     *            the bean,类型就是解析的时候的 bean class
+     * @param value
+     *            the value
+     * @throws Exception
+     *             和 {@link BeanUtilsBean#setProperty(Object, String, Object)} 一致
+     */
+    void setProperty(BeanUtilsBean beanUtilsBean,Object bean,Object value) throws Exception{
+        //BeanUtilsBean 的子类(比如 BeanUtilsBean2)可能有不同的转换规则
+        if (null == propertyAccessor || BeanUtilsBean.class != beanUtilsBean.getClass()){
+            beanUtilsBean.setProperty(bean, propertyName, value);
+            return;
+        }
+        propertyAccessor.setValue(bean, convert(beanUtilsBean.getConvertUtils(), value, propertyType));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>value</code> 转成 <code>type</code> 类型,和 {@link BeanUtilsBean#setProperty(Object, String, Object)} 转换简单属性的规则一致.
+     *
+     * @param convertUtilsBean
+     *            the convert utils bean
+     * @param value
+     *            the value
+     * @param type
+     *            属性的类型
+     * @return the object
+     */
+    private static Object convert(ConvertUtilsBean convertUtilsBean,Object value,Class<?> type){
+        if (type.isArray()){
+            if (null == value){
+                return convertUtilsBean.convert(new String[] { null }, type);
+            }
+            if (value instanceof String){
+                return convertUtilsBean.convert(value, type);
+            }
+            if (value instanceof String[]){
+                return convertUtilsBean.convert((String[]) value, type);
+            }
+            return lookupAndConvert(convertUtilsBean, value, type);
+        }
+        if (value instanceof String){
+            return convertUtilsBean.convert((String) value, type);
+        }
+        if (value instanceof String[]){
+            return convertUtilsBean.convert(((String[]) value)[0], type);
+        }
+        return lookupAndConvert(convertUtilsBean, value, type);
+    }
+
+    /**
+     * 使用 <code>type</code> 的转换器转换,和 <code>BeanUtilsBean#convert(Object, Class)</code> 一致.
+     *
+     * @param convertUtilsBean
+     *            the convert utils bean
+     * @param value
+     *            the value
+     * @param type
+     *            the type
+     * @return 如果没有 <code>type</code> 的转换器,原样返回
+     */
+    static Object lookupAndConvert(ConvertUtilsBean convertUtilsBean,Object value,Class<?> type){
+        Converter converter = convertUtilsBean.lookup(type);
+        return null == converter ? value : converter.convert(type, value);
+    }
+}
@@ -15,14 +15,8 @@
  */
 package com.feilong.core.bean;
 
-import static com.feilong.core.Validator.isNotNullOrEmpty;
 import static com.feilong.core.Validator.isNullOrEmpty;
-import static com.feilong.core.util.MapUtil.newHashMap;
-import static java.util.Collections.emptyMap;
 
-import java.lang.reflect.Field;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.beanutils.BeanUtils;
@@ -34,7 +28,6 @@ import org.apache.commons.beanutils.LazyDynaBean;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.beanutils.converters.ArrayConverter;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.reflect.FieldUtils;
 
 /**
  * 对 {@link org.apache.commons.beanutils.BeanUtils}的再次封装.
@@ -195,7 +188,7 @@ public final class BeanUtil{
      * <ol>
      * <li>这种copy都是 <span style="color:red">浅拷贝</span>,复制后的2个Bean的同一个属性可能拥有同一个对象的ref,在使用时要小心,特别是对于属性为自定义类的情况 .</li>
      * <li>此方法调用了 {@link BeanUtils#copyProperties(Object, Object)},会自动进行{@code Object--->String--->Object}类型转换</li>
-     * <li>如果指定了<code>includePropertyNames</code>,会调用 {@link #getProperty(Object, String)},在自动进行{@code Object--->String}
+     * <li>如果指定了<code>includePropertyNames</code>,会调用 {@link BeanUtils#getProperty(Object, String)},在自动进行{@code Object--->String}
      * 类型转换过程中,如果发现值是数组,只会取第一个元素重新构造数组转到 <code>toObj</code>中,规则参见 {@link ConvertUtil#toString(Object)}</li>
      * <li>如果需要copy的两个对象属性之间的<b>类型一样</b>的话,那么调用这个方法会有<span style="color:red">性能消耗</span>,此时<b>强烈建议调用</b>
      * {@link PropertyUtil#copyProperties(Object, Object, String...)}</li>
@@ -264,14 +257,17 @@ public final class BeanUtil{
      * @param includePropertyNames
      *            包含的属性名字数组,(can be nested/indexed/mapped/combo)<br>
      *            <ol>
-     *            <li>如果是null或者empty,那么直接调用 {@link BeanUtils#copyProperties(Object, Object)},否则循环调用{@link #getProperty(Object, String)} 再
-     *            {@link #setProperty(Object, String, Object)}到 <code>toObj</code>对象中</li>
+     *            <li>如果是null或者empty,那么直接调用 {@link BeanUtils#copyProperties(Object, Object)},否则循环调用{@link BeanUtils#getProperty(Object, String)} 再
+     *            {@link BeanUtils#setProperty(Object, String, Object)}到 <code>toObj</code>对象中</li>
+     *            <li>需要复制的属性以及 getter/setter,按照 (toObj class, fromObj class, includePropertyNames) 只解析一次,之后的复制不再每次反射查找</li>
      *            <li>如果传入的<code>includePropertyNames</code>,含有 <code>fromObj</code>没有的属性名字,将会抛出异常</li>
      *            <li>如果传入的<code>includePropertyNames</code>,含有 <code>fromObj</code>有,但是 <code>toObj</code>没有的属性名字,可以正常运行(跳过该属性设置),see
      *            {@link BeanUtilsBean#copyProperty(Object, String, Object)} Line391</li>
      *            </ol>
      * @throws NullPointerException
-     *             如果 <code>toObj</code> 是null,或者 <code>fromObj</code> 是null
+     *             如果 <code>toObj</code> 是null,或者 <code>fromObj</code> 是null,或者 <code>includePropertyNames</code> 中有null的元素
+     * @throws IllegalArgumentException
+     *             如果 <code>includePropertyNames</code> 中有blank的元素
      * @throws BeanOperationException
      *             其他调用api有任何异常,转成{@link BeanOperationException}返回
      * @see org.apache.commons.beanutils.BeanUtilsBean#copyProperties(Object, Object)
@@ -283,84 +279,10 @@ public final class BeanUtil{
         Validate.notNull(toObj, "toObj [destination bean] not specified!");
         Validate.notNull(fromObj, "fromObj [origin bean] not specified!");
 
-        if (isNullOrEmpty(includePropertyNames)){
-            try{
-                BeanUtils.copyProperties(toObj, fromObj);
-                return;
-            }catch (Exception e){
-                throw new BeanOperationException(e);
-            }
-        }
-        for (String propertyName : includePropertyNames){
-            String value = getProperty(fromObj, propertyName);
-            setProperty(toObj, propertyName, value);
-        }
-    }
-
-    // [end]
-
-    // [start] setProperty
-
-    /**
-     * 使用 {@link BeanUtils#setProperty(Object, String, Object)} 来设置属性值(<b>会进行类型转换</b>).
-     * 
-     * <p>
-     * BeanUtils支持把所有类型的属性都作为字符串处理,在后台自动进行类型转换(字符串和真实类型的转换)
-     * </p>
-     *
-     * @param bean
-     *            Bean on which setting is to be performed
-     * @param propertyName
-     *            Property name (can be nested/indexed/mapped/combo),参见<a href="#propertyName">propertyName</a>
-     * @param value
-     *            Value to be set
-     * @throws BeanOperationException
-     *             有任何异常,转成{@link BeanOperationException}返回
-     * @see org.apache.commons.beanutils.BeanUtils#setProperty(Object, String, Object)
-     * @see org.apache.commons.beanutils.BeanUtilsBean#setProperty(Object, String, Object)
-     * @see org.apache.commons.beanutils.PropertyUtils#setProperty(Object, String, Object)
-     * @see com.feilong.core.bean.PropertyUtil#setProperty(Object, String, Object)
-     */
-    private static void setProperty(Object bean,String propertyName,Object value){
+        //属性名称不合法的异常不包装
+        BeanCopier beanCopier = BeanCopier.getInstance(toObj, fromObj, includePropertyNames, true);
         try{
-            BeanUtils.setProperty(bean, propertyName, value);
-        }catch (Exception e){
-            throw new BeanOperationException(e);
-        }
-    }
-
-    // [end]
-
-    // [start] getProperty
-
-    /**
-     * 使用 {@link BeanUtils#getProperty(Object, String)} 类从对象中取得属性值,不care值原本是什么类型,统统转成 {@link String}返回.
-     * 
-     * <p>
-     * 值转成字符串的规则,参见 {@link ConvertUtil#toString(Object)},比如如果发现值是数组,只会取第一个元素重新构造数组转到<code>toObj</code>中
-     * </p>
-     *
-     * @param bean
-     *            bean
-     * @param propertyName
-     *            属性名称 (can be nested/indexed/mapped/combo),参见 <a href="#propertyName">propertyName</a>
-     * @return 使用{@link BeanUtils#getProperty(Object, String)} 从对象中取得属性值
-     * @throws NullPointerException
-     *             如果 <code>bean</code> 是null,或者如果 <code>propertyName</code> 是null
-     * @throws IllegalArgumentException
-     *             如果 <code>propertyName</code> 是blank
-     * @throws BeanOperationException
-     *             在调用 {@link BeanUtils#getProperty(Object, String)}过程中有任何异常,转成{@link BeanOperationException}返回
-     * @see org.apache.commons.beanutils.BeanUtils#getProperty(Object, String)
-     * @see org.apache.commons.beanutils.PropertyUtils#getProperty(Object, String)
-     * @see com.feilong.core.bean.PropertyUtil#getProperty(Object, String)
-     * @since 1.9.0 change access to private
-     */
-    private static String getProperty(Object bean,String propertyName){
-        Validate.notNull(bean, "bean can't be null!");
-        Validate.notBlank(propertyName, "propertyName can't be blank!");
-        try{
-            return BeanUtils.getProperty(bean, propertyName);
+            beanCopier.copy(toObj, fromObj);
         }catch (Exception e){
             throw new BeanOperationException(e);
         }
@@ -874,40 +796,12 @@ public final class BeanUtil{
         if (isNullOrEmpty(aliasAndValueMap)){
             return aliasBean;
         }
-        Map<String, String> propertyNameAndAliasMap = buildPropertyNameAndAliasMap(aliasBean.getClass());
-        for (Map.Entry<String, String> entry : propertyNameAndAliasMap.entrySet()){
-            String alias = entry.getValue();
-            Object value = aliasAndValueMap.get(alias);
-            if (isNotNullOrEmpty(value)){
-                setProperty(aliasBean, entry.getKey(), value);
-            }
-        }
-        return aliasBean;
-    }
-
-    /**
-     * 提取 klass {@link Alias} 注释,将 属性名字和 {@link Alias#name()} 组成map 返回.
-     *
-     * @param klass
-     *            the klass
-     * @return 如果<code>klass</code> 没有 {@link Alias} 注释,返回 {@link Collections#emptyMap()}
-     * @throws NullPointerException
-     *             如果 <code>klass</code> 是null
-     * @since 1.8.1
-     */
-    private static Map<String, String> buildPropertyNameAndAliasMap(Class<?> klass){
-        Validate.notNull(klass, "klass can't be null!");
-        List<Field> aliasFieldsList = FieldUtils.getFieldsListWithAnnotation(klass, Alias.class);
-        if (isNullOrEmpty(aliasFieldsList)){
-            return emptyMap();
-        }
-        //属性名字和key的对应关系
-        Map<String, String> propertyNameAndAliasMap = newHashMap(aliasFieldsList.size());
-        for (Field field : aliasFieldsList){
-            Alias alias = field.getAnnotation(Alias.class);
-            propertyNameAndAliasMap.put(field.getName(), alias.name());
+        try{
+            AliasPopulatePlan.forClass(aliasBean.getClass()).populate(aliasBean, aliasAndValueMap);
+            return aliasBean;
+        }catch (Exception e){
+            throw new BeanOperationException(e);
         }
-        return propertyNameAndAliasMap;
     }
 
     // [end]
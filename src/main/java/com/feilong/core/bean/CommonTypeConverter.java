@@ -0,0 +1,454 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.apache.commons.beanutils.converters.BigDecimalConverter;
+import org.apache.commons.beanutils.converters.IntegerConverter;
+import org.apache.commons.beanutils.converters.LongConverter;
+
+/**
+ * 常用输入类型({@link String}, {@link Number}, {@link Boolean})到 {@link Integer}, {@link Long}, {@link BigDecimal}, {@link Boolean} 的快速转换.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>原来每次转换都要 new 一个 {@link IntegerConverter}/{@link LongConverter}/{@link BigDecimalConverter},非法的字符串依靠
+ * {@link NumberFormatException} 返回默认值;在转换 request 参数,csv 列的时候会产生大量的临时对象</li>
+ * <li>这里对常用的输入类型直接转换,规则和 commons-beanutils 的 <code>NumberConverter</code>/<code>BooleanConverter</code> 完全一致:
+ * 字符串先 trim,空字符串以及不能解析的字符串返回默认值;数字转 {@link Integer} 的时候超出范围返回默认值;{@link Boolean} 转成 1 或者 0</li>
+ * <li>纯 ASCII 的字符串在解析之前就能判断出是否合法,不再依靠异常控制流程;包含非 ASCII 字符(比如全角数字)的字符串,仍然交给 jdk 解析</li>
+ * <li>其他的类型(数组,集合,日期等等)仍然交给 commons-beanutils 的转换器处理</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see org.apache.commons.beanutils.converters.NumberConverter
+ * @see org.apache.commons.beanutils.converters.BooleanConverter
+ * @since 1.10.6
+ */
+final class CommonTypeConverter{
+
+    /** 和 {@link org.apache.commons.beanutils.converters.BooleanConverter} 默认的 trueStrings 一致. */
+    private static final String[] TRUE_STRINGS = { "true", "yes", "y", "on", "1" };
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private CommonTypeConverter(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>value</code> 转换成 {@link Integer},转换不了返回 <code>defaultValue</code>.
+     *
+     * @param value
+     *            the value
+     * @param defaultValue
+     *            the default value
+     * @return the integer
+     * @see IntegerConverter
+     */
+    static Integer toInteger(Object value,Integer defaultValue){
+        if (null == value){
+            return defaultValue;
+        }
+        if (value instanceof Integer){
+            return (Integer) value;
+        }
+        if (value instanceof String){
+            Integer result = parseInteger((String) value);
+            return null == result ? defaultValue : result;
+        }
+        if (value instanceof Number){
+            long longValue = ((Number) value).longValue();
+            return longValue > Integer.MAX_VALUE || longValue < Integer.MIN_VALUE ? defaultValue : Integer.valueOf(((Number) value).intValue());
+        }
+        if (value instanceof Boolean){
+            return ((Boolean) value).booleanValue() ? 1 : 0;
+        }
+        return new IntegerConverter(defaultValue).convert(Integer.class, value);
+    }
+
+    /**
+     * 将 <code>value</code> 转换成 {@link Long},转换不了返回 null.
+     *
+     * @param value
+     *            the value
+     * @return the long
+     * @see LongConverter
+     */
+    static Long toLong(Object value){
+        if (null == value){
+            return null;
+        }
+        if (value instanceof Long){
+            return (Long) value;
+        }
+        if (value instanceof String){
+            return parseLong((String) value);
+        }
+        if (value instanceof Number){
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Boolean){
+            return ((Boolean) value).booleanValue() ? 1L : 0L;
+        }
+        return new LongConverter(null).convert(Long.class, value);
+    }
+
+    /**
+     * 将 <code>value</code> 转换成 {@link BigDecimal},转换不了返回 null.
+     *
+     * @param value
+     *            the value
+     * @return the big decimal
+     * @see BigDecimalConverter
+     * @see org.apache.commons.beanutils.converters.NumberConverter#toNumber(Class, Class, Number)
+     */
+    static BigDecimal toBigDecimal(Object value){
+        if (null == value){
+            return null;
+        }
+        if (value.getClass() == BigDecimal.class){
+            return (BigDecimal) value;
+        }
+        if (value instanceof String){
+            return parseBigDecimal((String) value);
+        }
+        if (value instanceof Float || value instanceof Double){
+            double doubleValue = ((Number) value).doubleValue();
+            //NaN 以及 Infinity 不能转成 BigDecimal
+            return Double.isNaN(doubleValue) || Double.isInfinite(doubleValue) ? null : new BigDecimal(value.toString());
+        }
+        if (value instanceof BigInteger){
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof BigDecimal){
+            //BigDecimal 的子类
+            return new BigDecimal(value.toString());
+        }
+        if (value instanceof Number){
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Boolean){
+            return ((Boolean) value).booleanValue() ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+        return new BigDecimalConverter(null).convert(BigDecimal.class, value);
+    }
+
+    /**
+     * 如果 <code>value</code> 是 {@link String}, {@link Number} 或者 {@link Boolean},按照 {@link #TRUE_STRINGS} 转换成 {@link Boolean}.
+     * 
+     * <p>
+     * falseStrings ("false", "no", "n", "off", "0") 转成 {@link Boolean#FALSE};匹配不了的时候也返回 {@link Boolean#FALSE},也就是 {@link org.apache.commons.beanutils.ConvertUtilsBean#registerStandard(boolean, boolean)}
+     * 注册的 <code>BooleanConverter</code> 的默认值.
+     * </p>
+     *
+     * @param value
+     *            the value, not null
+     * @return 如果 <code>value</code> 不是上述类型,返回 null,调用方据此交给转换器处理
+     * @see org.apache.commons.beanutils.converters.BooleanConverter#convertToType(Class, Object)
+     */
+    static Boolean toBoolean(Object value){
+        if (value instanceof Boolean){
+            return (Boolean) value;
+        }
+        if (!(value instanceof String) && !(value instanceof Number)){
+            return null;
+        }
+        return matchesIgnoreAsciiCase(value.toString(), TRUE_STRINGS) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 同 <code>new Integer(value.trim())</code>,但是不合法的时候返回 null,而不是抛出异常.
+     *
+     * @param value
+     *            the value, not null
+     * @return 如果 trim 之后是空字符串或者不能解析,返回 null
+     * @see Integer#parseInt(String)
+     */
+    static Integer parseInteger(String value){
+        int begin = trimBegin(value);
+        int end = trimEnd(value, begin);
+        if (begin == end){
+            return null;
+        }
+        if (!isAscii(value, begin, end)){
+            try{
+                return Integer.valueOf(value.substring(begin, end));
+            }catch (NumberFormatException e){
+                return null;
+            }
+        }
+
+        //和 Integer.parseInt 一样使用负数累加,这样 MIN_VALUE 也不会溢出
+        int i = begin;
+        boolean negative = false;
+        char firstChar = value.charAt(i);
+        if (firstChar == '-' || firstChar == '+'){
+            negative = firstChar == '-';
+            if (++i == end){
+                return null;
+            }
+        }
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multmin = limit / 10;
+        int result = 0;
+        for (; i < end; ++i){
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin){
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit){
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 同 <code>new Long(value.trim())</code>,但是不合法的时候返回 null,而不是抛出异常.
+     *
+     * @param value
+     *            the value, not null
+     * @return 如果 trim 之后是空字符串或者不能解析,返回 null
+     * @see Long#parseLong(String)
+     */
+    static Long parseLong(String value){
+        int begin = trimBegin(value);
+        int end = trimEnd(value, begin);
+        if (begin == end){
+            return null;
+        }
+        if (!isAscii(value, begin, end)){
+            try{
+                return Long.valueOf(value.substring(begin, end));
+            }catch (NumberFormatException e){
+                return null;
+            }
+        }
+
+        int i = begin;
+        boolean negative = false;
+        char firstChar = value.charAt(i);
+        if (firstChar == '-' || firstChar == '+'){
+            negative = firstChar == '-';
+            if (++i == end){
+                return null;
+            }
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < end; ++i){
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin){
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit){
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 同 <code>new BigDecimal(value.trim())</code>,但是不合法的时候返回 null.
+     *
+     * <p>
+     * 纯 ASCII 的字符串先按照 {@link BigDecimal#BigDecimal(String)} 的语法检查一遍,只有指数溢出这种极少的情况才会走到异常.
+     * </p>
+     *
+     * @param value
+     *            the value, not null
+     * @return 如果 trim 之后是空字符串或者不能解析,返回 null
+     * @see BigDecimal#BigDecimal(String)
+     */
+    static BigDecimal parseBigDecimal(String value){
+        int begin = trimBegin(value);
+        int end = trimEnd(value, begin);
+        if (begin == end){
+            return null;
+        }
+        if (isAscii(value, begin, end) && !isBigDecimalSyntax(value, begin, end)){
+            return null;
+        }
+        try{
+            return new BigDecimal(value.substring(begin, end));
+        }catch (NumberFormatException e){
+            return null;
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 纯 ASCII 的 [begin,end) 是否符合 <code>[+-]? (digits ('.' digits?)? | '.' digits) ([eE] [+-]? digits)?</code>.
+     *
+     * @param value
+     *            the value
+     * @param begin
+     *            the begin
+     * @param end
+     *            the end
+     * @return true, if is big decimal syntax
+     */
+    private static boolean isBigDecimalSyntax(String value,int begin,int end){
+        int i = begin;
+        char c = value.charAt(i);
+        if (c == '-' || c == '+'){
+            ++i;
+        }
+
+        boolean hasDigit = false;
+        boolean hasDot = false;
+        for (; i < end; ++i){
+            c = value.charAt(i);
+            if (c >= '0' && c <= '9'){
+                hasDigit = true;
+            }else if (c == '.' && !hasDot){
+                hasDot = true;
+            }else if (c == 'e' || c == 'E'){
+                break;
+            }else{
+                return false;
+            }
+        }
+        if (!hasDigit){
+            return false;
+        }
+        if (i == end){
+            return true;
+        }
+
+        //指数部分
+        if (++i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')){
+            ++i;
+        }
+        if (i == end){
+            return false;
+        }
+        for (; i < end; ++i){
+            c = value.charAt(i);
+            if (c < '0' || c > '9'){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <code>value</code> 是否等于 <code>candidates</code> 中的某一个(仅忽略 ASCII 字母的大小写).
+     * 
+     * <p>
+     * 和 <code>value.toLowerCase().equals(candidate)</code> 结果一致,因为 candidates 都是小写的 ASCII,而非 ASCII 字符转小写之后不会变成这些字母.
+     * </p>
+     *
+     * @param value
+     *            the value
+     * @param candidates
+     *            小写的 ASCII 字符串
+     * @return true, if successful
+     */
+    private static boolean matchesIgnoreAsciiCase(String value,String[] candidates){
+        for (String candidate : candidates){
+            int length = candidate.length();
+            if (value.length() != length){
+                continue;
+            }
+            int i = 0;
+            for (; i < length; ++i){
+                char c = value.charAt(i);
+                if (c >= 'A' && c <= 'Z'){
+                    c += 'a' - 'A';
+                }
+                if (c != candidate.charAt(i)){
+                    break;
+                }
+            }
+            if (i == length){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * [begin,end) 是否都是 ASCII 字符.
+     *
+     * @param value
+     *            the value
+     * @param begin
+     *            the begin
+     * @param end
+     *            the end
+     * @return true, if is ascii
+     */
+    private static boolean isAscii(String value,int begin,int end){
+        for (int i = begin; i < end; ++i){
+            if (value.charAt(i) >= 128){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 同 {@link String#trim()},第一个不是空白字符的位置.
+     *
+     * @param value
+     *            the value
+     * @return the int
+     */
+    private static int trimBegin(String value){
+        int begin = 0;
+        int length = value.length();
+        while (begin < length && value.charAt(begin) <= ' '){
+            ++begin;
+        }
+        return begin;
+    }
+
+    /**
+     * 同 {@link String#trim()},最后一个不是空白字符的位置 + 1.
+     *
+     * @param value
+     *            the value
+     * @param begin
+     *            the begin
+     * @return the int
+     */
+    private static int trimEnd(String value,int begin){
+        int end = value.length();
+        while (end > begin && value.charAt(end - 1) <= ' '){
+            --end;
+        }
+        return end;
+    }
+}
@@ -22,6 +22,7 @@ import static java.util.Collections.emptyMap;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,10 +43,7 @@ import org.apache.commons.beanutils.ConvertUtilsBean;
 import org.apache.commons.beanutils.Converter;
 import org.apache.commons.beanutils.converters.AbstractConverter;
 import org.apache.commons.beanutils.converters.ArrayConverter;
-import org.apache.commons.beanutils.converters.BigDecimalConverter;
 import org.apache.commons.beanutils.converters.BooleanConverter;
-import org.apache.commons.beanutils.converters.IntegerConverter;
-import org.apache.commons.beanutils.converters.LongConverter;
 import org.apache.commons.beanutils.converters.NumberConverter;
 import org.apache.commons.collections4.EnumerationUtils;
 import org.apache.commons.collections4.IteratorUtils;
@@ -58,8 +56,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.feilong.core.UncheckedIOException;
 import com.feilong.core.lang.ArrayUtil;
-import com.feilong.core.lang.StringUtil;
 import com.feilong.core.util.SortUtil;
 import com.feilong.core.util.transformer.SimpleClassTransformer;
 
@@ -225,6 +223,11 @@ import com.feilong.core.util.transformer.SimpleClassTransformer;
  */
 public final class ConvertUtil{
 
+    /** 拼接字符串时预估的 {@link StringBuilder} 容量上限 <code>{@value}</code>,超过之后交给 {@link StringBuilder} 自己扩容. */
+    private static final int MAX_ESTIMATED_JOIN_CAPACITY = 1 << 16;
+
+    //---------------------------------------------------------------
+
     /** Don't let anyone instantiate this class. */
     private ConvertUtil(){
         //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
@@ -270,6 +273,11 @@ public final class ConvertUtil{
      * 你也可以调用 {@link org.apache.commons.beanutils.converters.BooleanConverter#BooleanConverter(String[], String[], Object)
      * BooleanConverter(String[], String[], Object)} 设置 trueStrings 和 falseStrings
      * </p>
+     * 
+     * <p>
+     * 注意:从 1.10.6 开始,{@link String}, {@link Number}, {@link Boolean} 类型直接按照上面的规则转换,不再查找 {@link ConvertUtils} 注册的转换器;
+     * 其他类型(比如数组,集合)仍然使用注册的转换器
+     * </p>
      * </blockquote>
      * 
      * <h3>和 {@link Boolean#parseBoolean(String)}的区别:</h3>
@@ -289,7 +297,12 @@ public final class ConvertUtil{
      * @see java.lang.Boolean#parseBoolean(String)
      */
     public static Boolean toBoolean(Object toBeConvertedValue){
-        return convert(toBeConvertedValue, Boolean.class);
+        if (null == toBeConvertedValue){
+            return null;
+        }
+        //String,Number,Boolean 直接转换,不需要查找注册的转换器
+        Boolean result = CommonTypeConverter.toBoolean(toBeConvertedValue);
+        return null != result ? result : convert(toBeConvertedValue, Boolean.class);
     }
 
     /**
@@ -478,7 +491,7 @@ public final class ConvertUtil{
      * @since 1.6.1
      */
     public static Integer toInteger(Object toBeConvertedValue,Integer defaultValue){
-        return new IntegerConverter(defaultValue).convert(Integer.class, toBeConvertedValue);
+        return CommonTypeConverter.toInteger(toBeConvertedValue, defaultValue);
     }
 
     /**
@@ -525,7 +538,7 @@ public final class ConvertUtil{
      * @see org.apache.commons.lang3.math.NumberUtils#toLong(String)
      */
     public static Long toLong(Object toBeConvertedValue){
-        return new LongConverter(null).convert(Long.class, toBeConvertedValue);
+        return CommonTypeConverter.toLong(toBeConvertedValue);
     }
 
     /**
@@ -591,7 +604,7 @@ public final class ConvertUtil{
      * @see org.apache.commons.beanutils.converters.BigDecimalConverter
      */
     public static BigDecimal toBigDecimal(Object toBeConvertedValue){
-        return new BigDecimalConverter(null).convert(BigDecimal.class, toBeConvertedValue);
+        return CommonTypeConverter.toBigDecimal(toBeConvertedValue);
     }
 
     //*********************数组***************************************************************************************
@@ -868,6 +881,83 @@ public final class ConvertUtil{
     public static Long[] toLongs(Object toBeConvertedValue){
         return convert(toBeConvertedValue, Long[].class);
     }
+
+    /**
+     * 将 <code>toBeConvertedValue</code> 转成 <code>int[]</code>,不装箱.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>和 {@link #toIntegers(Object)} 相比,不会为每个元素创建 {@link Integer},也不会先拆分成 <code>String[]</code>,适合转换大量的 id</li>
+     * <li>如果 <code>toBeConvertedValue</code> 是 {@link CharSequence},那么只扫描一遍:整个字符串可以被 '{' 和 '}' 包裹,元素之间使用逗号分隔,
+     * 每个元素会去除前后空白,空元素忽略;<span style="color:red">不支持</span> {@link #toIntegers(Object)} 的引号以及空格分隔</li>
+     * <li>如果 <code>toBeConvertedValue</code> 是数组或者 {@link Collection},每个元素按照 {@link #toInteger(Object)} 的规则转换</li>
+     * <li>如果 <code>toBeConvertedValue</code> 是 {@link Number} 或者 {@link Boolean},返回只有一个元素的数组</li>
+     * <li>和 {@link #toIntegers(Object)} 一样,只要有一个元素是null或者转换不了,返回空数组</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * ConvertUtil.toIntArray(null)                             = null
+     * ConvertUtil.toIntArray("1,2,3")                          = new int[] { 1, 2, 3 }
+     * ConvertUtil.toIntArray("{ 1 ,2,,3}")                     = new int[] { 1, 2, 3 }
+     * ConvertUtil.toIntArray(toList("1", "2", " 3"))           = new int[] { 1, 2, 3 }
+     * ConvertUtil.toIntArray(new String[] { "1", null, "2" })  = new int[] {}
+     * ConvertUtil.toIntArray("1,a,3")                          = new int[] {}
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param toBeConvertedValue
+     *            需要被转换的值
+     * @return 如果 <code>toBeConvertedValue</code> 是null,返回 null<br>
+     *         如果有元素是null或者转换不了,返回 {@link ArrayUtils#EMPTY_INT_ARRAY}
+     * @see #toIntegers(Object)
+     * @since 1.10.6
+     */
+    public static int[] toIntArray(Object toBeConvertedValue){
+        return null == toBeConvertedValue ? null : PrimitiveArrayConverter.toIntArray(toBeConvertedValue);
+    }
+
+    /**
+     * 将 <code>toBeConvertedValue</code> 转成 <code>long[]</code>,不装箱.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>和 {@link #toLongs(Object)} 相比,不会为每个元素创建 {@link Long},也不会先拆分成 <code>String[]</code>,适合转换大量的 id</li>
+     * <li>转换的规则同 {@link #toIntArray(Object)},每个元素按照 {@link #toLong(Object)} 的规则转换</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * ConvertUtil.toLongArray(null)                 = null
+     * ConvertUtil.toLongArray("1,2,3")              = new long[] { 1L, 2L, 3L }
+     * ConvertUtil.toLongArray("99999999999,2")      = new long[] { 99999999999L, 2L }
+     * ConvertUtil.toLongArray(toList(1, 2L))        = new long[] { 1L, 2L }
+     * ConvertUtil.toLongArray("1,a,3")              = new long[] {}
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param toBeConvertedValue
+     *            需要被转换的值
+     * @return 如果 <code>toBeConvertedValue</code> 是null,返回 null<br>
+     *         如果有元素是null或者转换不了,返回 {@link ArrayUtils#EMPTY_LONG_ARRAY}
+     * @see #toLongs(Object)
+     * @since 1.10.6
+     */
+    public static long[] toLongArray(Object toBeConvertedValue){
+        return null == toBeConvertedValue ? null : PrimitiveArrayConverter.toLongArray(toBeConvertedValue);
+    }
     //*************************************************************************************************
 
     /**
@@ -1068,7 +1158,7 @@ public final class ConvertUtil{
      * @since 1.8.4 change param order
      */
     public static String toString(final Collection<?> collection,ToStringConfig toStringConfig){
-        return isNullOrEmpty(collection) ? EMPTY : toString(collection.toArray(), toStringConfig);
+        return isNullOrEmpty(collection) ? EMPTY : join(collection.iterator(), collection.size(), toStringConfig);
     }
 
     /**
@@ -1134,43 +1224,207 @@ public final class ConvertUtil{
      * @since 1.8.4 change param order
      */
     public static String toString(Object[] arrays,ToStringConfig toStringConfig){
-        if (isNullOrEmpty(arrays)){
+        return isNullOrEmpty(arrays) ? EMPTY : join(Arrays.asList(arrays).iterator(), arrays.length, toStringConfig);
+    }
+
+    /**
+     * 将 <code>iterable</code> 使用拼接配置 toStringConfig 拼接成字符串.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>拼接的规则同 {@link #toString(Collection, ToStringConfig)}</li>
+     * <li>直接迭代 <code>iterable</code>,不需要先转成 {@link Collection} 或者数组</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param iterable
+     *            the iterable
+     * @param toStringConfig
+     *            连接字符串 实体
+     * @return 如果 <code>iterable</code> 是null或者没有元素,返回 {@link StringUtils#EMPTY}<br>
+     *         如果 <code>toStringConfig</code> 是null,使用默认 {@link ToStringConfig#DEFAULT_CONNECTOR}以及 joinNullOrEmpty 进行连接
+     * @see #toString(Collection, ToStringConfig)
+     * @since 1.10.6
+     */
+    public static String toString(Iterable<?> iterable,ToStringConfig toStringConfig){
+        if (null == iterable){
             return EMPTY;
         }
-        ToStringConfig useToStringConfig = defaultIfNull(toStringConfig, new ToStringConfig());
-        return join(arrays, useToStringConfig.getConnector(), useToStringConfig.getIsJoinNullOrEmpty());
+        if (iterable instanceof Collection){
+            return toString((Collection<?>) iterable, toStringConfig);
+        }
+        return toString(iterable.iterator(), toStringConfig);
+    }
+
+    /**
+     * 将 <code>iterator</code> 剩下的元素使用拼接配置 toStringConfig 拼接成字符串.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>拼接的规则同 {@link #toString(Collection, ToStringConfig)}</li>
+     * <li>边迭代边拼接,适合数据库游标,文件行等等不方便先转成集合的数据</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param iterator
+     *            the iterator
+     * @param toStringConfig
+     *            连接字符串 实体
+     * @return 如果 <code>iterator</code> 是null或者没有元素,返回 {@link StringUtils#EMPTY}<br>
+     *         如果 <code>toStringConfig</code> 是null,使用默认 {@link ToStringConfig#DEFAULT_CONNECTOR}以及 joinNullOrEmpty 进行连接
+     * @see #toString(Collection, ToStringConfig)
+     * @since 1.10.6
+     */
+    public static String toString(Iterator<?> iterator,ToStringConfig toStringConfig){
+        return null == iterator ? EMPTY : join(iterator, 0, toStringConfig);
+    }
+
+    /**
+     * 将 <code>iterable</code> 使用拼接配置 toStringConfig 拼接,直接写到 <code>appendable</code> 里面.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>拼接的规则同 {@link #toString(Collection, ToStringConfig)}</li>
+     * <li>不会生成中间的字符串,适合直接写到 {@link java.io.Writer} 或者已有的 {@link StringBuilder} 里面,比如拼接 sql 的 in 条件</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * StringBuilder sb = new StringBuilder("select * from t_order where id in (");
+     * ConvertUtil.join(sb, toList(1L, 2L, 3L), null).append(")");
+     * </pre>
+     * 
+     * <b>sb:</b>
+     * 
+     * <pre class="code">
+     * select * from t_order where id in (1,2,3)
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param <A>
+     *            the generic type
+     * @param appendable
+     *            the appendable
+     * @param iterable
+     *            the iterable
+     * @param toStringConfig
+     *            连接字符串 实体
+     * @return 传入的 <code>appendable</code><br>
+     *         如果 <code>appendable</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>iterable</code> 是null,不拼接任何内容<br>
+     *         如果写入的时候出现了 {@link IOException},抛出 {@link UncheckedIOException}
+     * @since 1.10.6
+     */
+    public static <A extends Appendable> A join(A appendable,Iterable<?> iterable,ToStringConfig toStringConfig){
+        return join(appendable, null == iterable ? null : iterable.iterator(), toStringConfig);
+    }
+
+    /**
+     * 将 <code>iterator</code> 剩下的元素使用拼接配置 toStringConfig 拼接,直接写到 <code>appendable</code> 里面.
+     *
+     * @param <A>
+     *            the generic type
+     * @param appendable
+     *            the appendable
+     * @param iterator
+     *            the iterator
+     * @param toStringConfig
+     *            连接字符串 实体
+     * @return 传入的 <code>appendable</code><br>
+     *         如果 <code>appendable</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>iterator</code> 是null,不拼接任何内容<br>
+     *         如果写入的时候出现了 {@link IOException},抛出 {@link UncheckedIOException}
+     * @see #join(Appendable, Iterable, ToStringConfig)
+     * @since 1.10.6
+     */
+    public static <A extends Appendable> A join(A appendable,Iterator<?> iterator,ToStringConfig toStringConfig){
+        Validate.notNull(appendable, "appendable can't be null!");
+        if (null == iterator){
+            return appendable;
+        }
+        try{
+            join(appendable, iterator, 0, toStringConfig);
+        }catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return appendable;
     }
 
     /**
      * Join.
      *
-     * @param operateArray
-     *            the operate array
-     * @param connector
-     *            the connector
-     * @param isJoinNullOrEmpty
-     *            the is join null或者empty
+     * @param iterator
+     *            the iterator
+     * @param size
+     *            元素的数量,用来预估 {@link StringBuilder} 的容量,不知道的话传0
+     * @param toStringConfig
+     *            the to string config
      * @return the string
-     * @see org.apache.commons.lang3.StringUtils#join(Iterable, String)
-     * @see org.apache.commons.lang3.StringUtils#join(Object[], String)
-     * @since 1.6.3
+     * @since 1.10.6
      */
-    private static String join(Object[] operateArray,String connector,boolean isJoinNullOrEmpty){
+    private static String join(Iterator<?> iterator,int size,ToStringConfig toStringConfig){
         StringBuilder sb = new StringBuilder();
-        for (Object obj : operateArray){
+        try{
+            join(sb, iterator, size, toStringConfig);
+        }catch (IOException e){
+            //StringBuilder 不会抛出 IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 边迭代边拼接,只在元素之间拼接连接符,不需要最后再截掉多余的连接符.
+     *
+     * @param appendable
+     *            the appendable
+     * @param iterator
+     *            the iterator
+     * @param size
+     *            元素的数量,用来预估 {@link StringBuilder} 的容量,不知道的话传0
+     * @param toStringConfig
+     *            the to string config
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @see org.apache.commons.lang3.StringUtils#join(Iterator, String)
+     * @since 1.10.6
+     */
+    private static void join(Appendable appendable,Iterator<?> iterator,int size,ToStringConfig toStringConfig) throws IOException{
+        String connector = null == toStringConfig ? ToStringConfig.DEFAULT_CONNECTOR : toStringConfig.getConnector();
+        boolean isJoinNullOrEmpty = null == toStringConfig || toStringConfig.getIsJoinNullOrEmpty();
+
+        boolean isFirst = true;
+        while (iterator.hasNext()){
+            Object obj = iterator.next();
             //如果是null或者empty,但是参数值是不拼接,那么跳过,继续循环
-            if (isNullOrEmpty(obj) && !isJoinNullOrEmpty){
+            if (!isJoinNullOrEmpty && isNullOrEmpty(obj)){
                 continue;
             }
 
-            //value转换,注意:如果 value是null,StringBuilder将拼接 "null" 字符串,详见  java.lang.AbstractStringBuilder#append(String)
-            sb.append(defaultIfNull(obj, EMPTY)); //see StringUtils.defaultString(t)
+            //注意可能传过来的是换行符 不能使用Validator.isNullOrEmpty来判断
+            if (!isFirst && null != connector){
+                appendable.append(connector);
+            }
 
-            if (null != connector){//注意可能传过来的是换行符 不能使用Validator.isNullOrEmpty来判断
-                sb.append(connector);//放心大胆的拼接 connector, 不判断是否是最后一个,最后会截取
+            //如果 value是null,使用 EMPTY 替代,而不是拼接 "null" 字符串
+            CharSequence value = null == obj ? EMPTY : obj instanceof CharSequence ? (CharSequence) obj : obj.toString();
+            if (isFirst && size > 1 && appendable instanceof StringBuilder){
+                //以第一个元素的长度预估总长度,避免多次扩容;有上限,避免第一个元素特别长的时候申请过多的内存(以及 int 溢出)
+                long connectorLength = null == connector ? 0 : connector.length();
+                long estimatedCapacity = (value.length() + connectorLength) * size;
+                ((StringBuilder) appendable).ensureCapacity((int) Math.min(estimatedCapacity, MAX_ESTIMATED_JOIN_CAPACITY));
             }
+            appendable.append(value);
+            isFirst = false;
         }
-        return StringUtil.substringWithoutLast(sb, connector);
     }
 
     //**********************************************************************************************
@@ -2799,15 +3053,16 @@ public final class ConvertUtil{
      *            要转成什么类型
      * @return 如果 <code>targetType</code> 是null,抛出 {@link NullPointerException}<br>
      *         如果 <code>toBeConvertedValue</code> 是null,那么直接返回null<br>
+     *         如果 {@link ConverterRegistry} 注册了匹配的转换器,返回该转换器转换的结果(since 1.10.6)<br>
      *         否则返回 {@link org.apache.commons.beanutils.ConvertUtils#convert(Object, Class)}
      * @see org.apache.commons.beanutils.ConvertUtils#convert(Object, Class)
      * @see org.apache.commons.beanutils.converters.AbstractConverter#convert(Class, Object)
      * @see org.apache.commons.beanutils.converters.ArrayConverter#convertToType(Class, Object)
+     * @see ConverterRegistry
      */
-    @SuppressWarnings("unchecked")
     public static <T> T convert(Object toBeConvertedValue,Class<T> targetType){
         Validate.notNull(targetType, "targetType can't be null!");
-        return null == toBeConvertedValue ? null : (T) ConvertUtils.convert(toBeConvertedValue, targetType);
+        return null == toBeConvertedValue ? null : ConverterRegistry.convert(toBeConvertedValue, targetType);
     }
 
     /**
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.ConvertUtilsBean;
+import org.apache.commons.beanutils.Converter;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * feilong 自己的转换器注册表,{@link ConvertUtil#convert(Object, Class)} 优先使用这里注册的转换器.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>在这里注册的转换器不会修改 commons-beanutils 全局的 {@link ConvertUtilsBean},也就不会影响到其他使用 {@link ConvertUtils} 的框架</li>
+ * <li>转换器可以按照 targetType 注册,也可以按照 (sourceType, targetType) 注册;查找的时候依次匹配 sourceType 本身,父类,接口,最后是只按照 targetType 注册的转换器,
+ * 每个具体的 (sourceType, targetType) 只查找一次,结果会被缓存</li>
+ * <li>这里没有找到转换器的时候,{@link ConvertUtil#convert(Object, Class)} 仍然使用 {@link ConvertUtils#convert(Object, Class)},结果和以前完全一致</li>
+ * <li>在循环中大量转换的时候,可以使用 {@link #getConverter(Class, Class)} 获得预先解析好的 {@link TypedConverter},每次转换不再需要查找</li>
+ * </ol>
+ * </blockquote>
+ * 
+ * <h3>示例:</h3>
+ * 
+ * <blockquote>
+ * 
+ * <pre class="code">
+ * ConverterRegistry.register(String.class, Locale.class, new Converter(){
+ * 
+ *     public {@code <T>} T convert(Class{@code <T>} type,Object value){
+ *         return type.cast(LocaleUtils.toLocale((String) value));
+ *     }
+ * });
+ * 
+ * ConvertUtil.convert("zh_CN", Locale.class); <span style="color:green">//Locale.CHINA</span>
+ * 
+ * TypedConverter{@code <Integer>} typedConverter = ConverterRegistry.getConverter(String.class, Integer.class);
+ * for (String line : lines){
+ *     Integer value = typedConverter.convert(line);
+ * }
+ * </pre>
+ * 
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see TypedConverter
+ * @see ConvertUtil#convert(Object, Class)
+ * @since 1.10.6
+ */
+public final class ConverterRegistry{
+
+    /** key 是 targetType. */
+    private static final ConcurrentMap<Class<?>, TargetEntry> REGISTRY = new ConcurrentHashMap<>();
+
+    /** 没有匹配的转换器时缓存的标记,因为 {@link ConcurrentHashMap} 不能保存 null. */
+    private static final Object                               NONE     = new Object();
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private ConverterRegistry(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 注册转换任意类型到 <code>targetType</code> 的转换器.
+     *
+     * @param targetType
+     *            the target type
+     * @param converter
+     *            the converter
+     * @throws NullPointerException
+     *             如果 <code>targetType</code> 或者 <code>converter</code> 是null
+     */
+    public static void register(Class<?> targetType,Converter converter){
+        register(null, targetType, converter);
+    }
+
+    /**
+     * 注册 <code>sourceType</code> (包含子类以及实现类) 到 <code>targetType</code> 的转换器.
+     *
+     * @param sourceType
+     *            the source type,如果是null,等同于 {@link #register(Class, Converter)}
+     * @param targetType
+     *            the target type
+     * @param converter
+     *            the converter
+     * @throws NullPointerException
+     *             如果 <code>targetType</code> 或者 <code>converter</code> 是null
+     */
+    public static synchronized void register(Class<?> sourceType,Class<?> targetType,Converter converter){
+        Validate.notNull(targetType, "targetType can't be null!");
+        Validate.notNull(converter, "converter can't be null!");
+
+        TargetEntry targetEntry = REGISTRY.get(targetType);
+        Converter defaultConverter = null == targetEntry ? null : targetEntry.defaultConverter;
+        Map<Class<?>, Converter> sourceConverterMap = null == targetEntry ? new HashMap<Class<?>, Converter>()
+                        : new HashMap<>(targetEntry.sourceConverterMap);
+
+        if (null == sourceType){
+            defaultConverter = converter;
+        }else{
+            sourceConverterMap.put(sourceType, converter);
+        }
+        //整个替换,已经缓存的查找结果也就一起失效了
+        REGISTRY.put(targetType, new TargetEntry(defaultConverter, sourceConverterMap));
+    }
+
+    /**
+     * 移除 <code>targetType</code> 的全部转换器.
+     *
+     * @param targetType
+     *            the target type
+     * @throws NullPointerException
+     *             如果 <code>targetType</code> 是null
+     */
+    public static synchronized void deregister(Class<?> targetType){
+        Validate.notNull(targetType, "targetType can't be null!");
+        REGISTRY.remove(targetType);
+    }
+
+    /**
+     * 移除通过 {@link #register(Class, Class, Converter)} 注册的 <code>sourceType</code> 到 <code>targetType</code> 的转换器.
+     *
+     * @param sourceType
+     *            the source type
+     * @param targetType
+     *            the target type
+     * @throws NullPointerException
+     *             如果 <code>sourceType</code> 或者 <code>targetType</code> 是null
+     */
+    public static synchronized void deregister(Class<?> sourceType,Class<?> targetType){
+        Validate.notNull(sourceType, "sourceType can't be null!");
+        Validate.notNull(targetType, "targetType can't be null!");
+
+        TargetEntry targetEntry = REGISTRY.get(targetType);
+        if (null == targetEntry || !targetEntry.sourceConverterMap.containsKey(sourceType)){
+            return;
+        }
+        Map<Class<?>, Converter> sourceConverterMap = new HashMap<>(targetEntry.sourceConverterMap);
+        sourceConverterMap.remove(sourceType);
+        if (null == targetEntry.defaultConverter && sourceConverterMap.isEmpty()){
+            REGISTRY.remove(targetType);
+        }else{
+            REGISTRY.put(targetType, new TargetEntry(targetEntry.defaultConverter, sourceConverterMap));
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得预先解析好的 <code>sourceType</code> 到 <code>targetType</code> 的转换器.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>如果这里注册了匹配的转换器,使用该转换器</li>
+     * <li>否则使用当前 {@link ConvertUtilsBean} 里面查找到的转换器,转换的规则和 {@link ConvertUtils#convert(Object, Class)} 一致</li>
+     * <li>转换器在调用本方法的时候就已经确定,之后再注册的转换器(不管是这里还是 {@link ConvertUtils})对返回的 {@link TypedConverter} 都没有影响</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param sourceType
+     *            需要被转换的值的类型
+     * @param targetType
+     *            要转成什么类型
+     * @return 如果 <code>sourceType</code> 或者 <code>targetType</code> 是null,抛出 {@link NullPointerException}
+     */
+    public static <T> TypedConverter<T> getConverter(Class<?> sourceType,Class<T> targetType){
+        Validate.notNull(sourceType, "sourceType can't be null!");
+        Validate.notNull(targetType, "targetType can't be null!");
+
+        Converter converter = lookup(sourceType, targetType);
+        if (null != converter){
+            return new TypedConverter<>(targetType, converter, null, false);
+        }
+
+        //和 ConvertUtilsBean#convert(Object, Class) 的查找顺序一致
+        ConvertUtilsBean convertUtilsBean = BeanUtilsBean.getInstance().getConvertUtils();
+        boolean isStringTarget = String.class.equals(targetType);
+        return new TypedConverter<>(
+                        targetType,
+                        convertUtilsBean.lookup(sourceType, targetType),
+                        isStringTarget ? convertUtilsBean.lookup(String.class) : null,
+                        isStringTarget);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>toBeConvertedValue</code> 转成 <code>targetType</code>.
+     *
+     * @param <T>
+     *            the generic type
+     * @param toBeConvertedValue
+     *            not null
+     * @param targetType
+     *            not null
+     * @return 如果这里没有注册匹配的转换器,返回 {@link ConvertUtils#convert(Object, Class)}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T convert(Object toBeConvertedValue,Class<T> targetType){
+        Converter converter = lookup(toBeConvertedValue.getClass(), targetType);
+        return null != converter ? converter.convert(targetType, toBeConvertedValue)
+                        : (T) ConvertUtils.convert(toBeConvertedValue, targetType);
+    }
+
+    /**
+     * 查找这里注册的 <code>sourceType</code> 到 <code>targetType</code> 的转换器.
+     *
+     * @param sourceType
+     *            the source type
+     * @param targetType
+     *            the target type
+     * @return 如果没有注册,返回null
+     */
+    private static Converter lookup(Class<?> sourceType,Class<?> targetType){
+        //绝大多数情况下没有注册任何转换器,只需要一次查找
+        TargetEntry targetEntry = REGISTRY.get(targetType);
+        return null == targetEntry ? null : targetEntry.resolve(sourceType);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 同一个 targetType 的全部转换器,不可变,注册的时候整个替换.
+     */
+    private static final class TargetEntry{
+
+        /** 只按照 targetType 注册的转换器,可能是null. */
+        private final Converter                          defaultConverter;
+
+        /** 按照 sourceType 注册的转换器. */
+        private final Map<Class<?>, Converter>           sourceConverterMap;
+
+        /** 每个具体的 sourceType 查找的结果,没有找到的话是 {@link ConverterRegistry#NONE}. */
+        private final ConcurrentMap<Class<?>, Object>    resolvedMap = new ConcurrentHashMap<>();
+
+        /**
+         * Instantiates a new target entry.
+         *
+         * @param defaultConverter
+         *            the default converter
+         * @param sourceConverterMap
+         *            the source converter map
+         */
+        private TargetEntry(Converter defaultConverter, Map<Class<?>, Converter> sourceConverterMap){
+            this.defaultConverter = defaultConverter;
+            this.sourceConverterMap = sourceConverterMap;
+        }
+
+        /**
+         * 依次查找 sourceType 本身,父类,接口,最后是 {@link #defaultConverter}.
+         *
+         * @param sourceType
+         *            the source type
+         * @return 如果没有找到,返回null
+         */
+        private Converter resolve(Class<?> sourceType){
+            if (sourceConverterMap.isEmpty()){
+                return defaultConverter;
+            }
+
+            Object resolved = resolvedMap.get(sourceType);
+            if (null == resolved){
+                Converter converter = find(sourceType);
+                resolvedMap.putIfAbsent(sourceType, null == converter ? NONE : converter);
+                return converter;
+            }
+            return NONE == resolved ? null : (Converter) resolved;
+        }
+
+        /**
+         * Find.
+         *
+         * @param sourceType
+         *            the source type
+         * @return the converter
+         */
+        private Converter find(Class<?> sourceType){
+            Converter converter = sourceConverterMap.get(sourceType);
+            if (null != converter){
+                return converter;
+            }
+            for (Class<?> klass : ClassUtils.getAllSuperclasses(sourceType)){
+                converter = sourceConverterMap.get(klass);
+                if (null != converter){
+                    return converter;
+                }
+            }
+            List<Class<?>> interfaces = ClassUtils.getAllInterfaces(sourceType);
+            for (Class<?> klass : interfaces){
+                converter = sourceConverterMap.get(klass);
+                if (null != converter){
+                    return converter;
+                }
+            }
+            return defaultConverter;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * 将字符串,数组,集合直接转成 <code>int[]</code> 或者 <code>long[]</code>,不装箱,也不需要中间的 <code>String[]</code>.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link CharSequence} 只扫描一遍,边扫描边解析,结果直接写入 <code>int[]</code>/<code>long[]</code></li>
+ * <li>数组以及 {@link Collection} 的每个元素按照 {@link CommonTypeConverter#toInteger(Object, Integer)} /
+ * {@link CommonTypeConverter#toLong(Object)} 的规则转换</li>
+ * <li>和 {@link ConvertUtil#toIntegers(Object)} 一样,只要有一个元素是null或者转换不了,返回空数组</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see ConvertUtil#toIntArray(Object)
+ * @see ConvertUtil#toLongArray(Object)
+ * @since 1.10.6
+ */
+final class PrimitiveArrayConverter{
+
+    /** The Constant INITIAL_CAPACITY. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private PrimitiveArrayConverter(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 转成 <code>int[]</code>.
+     *
+     * @param toBeConvertedValue
+     *            not null
+     * @return 如果有元素是null或者转换不了,返回 {@link ArrayUtils#EMPTY_INT_ARRAY}
+     */
+    static int[] toIntArray(Object toBeConvertedValue){
+        if (toBeConvertedValue instanceof int[]){
+            return ((int[]) toBeConvertedValue).clone();
+        }
+        if (toBeConvertedValue instanceof CharSequence){
+            int[] result = (int[]) parse((CharSequence) toBeConvertedValue, true);
+            return null == result ? ArrayUtils.EMPTY_INT_ARRAY : result;
+        }
+
+        Object[] elements = toElements(toBeConvertedValue);
+        if (null == elements){
+            //其他类型,和 ArrayConverter 一样转成字符串再解析
+            return toIntArray(toBeConvertedValue.toString());
+        }
+        int[] result = new int[elements.length];
+        for (int i = 0; i < elements.length; ++i){
+            Integer value = CommonTypeConverter.toInteger(elements[i], null);
+            if (null == value){
+                return ArrayUtils.EMPTY_INT_ARRAY;
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    /**
+     * 转成 <code>long[]</code>.
+     *
+     * @param toBeConvertedValue
+     *            not null
+     * @return 如果有元素是null或者转换不了,返回 {@link ArrayUtils#EMPTY_LONG_ARRAY}
+     */
+    static long[] toLongArray(Object toBeConvertedValue){
+        if (toBeConvertedValue instanceof long[]){
+            return ((long[]) toBeConvertedValue).clone();
+        }
+        if (toBeConvertedValue instanceof CharSequence){
+            long[] result = (long[]) parse((CharSequence) toBeConvertedValue, false);
+            return null == result ? ArrayUtils.EMPTY_LONG_ARRAY : result;
+        }
+
+        Object[] elements = toElements(toBeConvertedValue);
+        if (null == elements){
+            return toLongArray(toBeConvertedValue.toString());
+        }
+        long[] result = new long[elements.length];
+        for (int i = 0; i < elements.length; ++i){
+            Long value = CommonTypeConverter.toLong(elements[i]);
+            if (null == value){
+                return ArrayUtils.EMPTY_LONG_ARRAY;
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 数组,集合,{@link Number},{@link Boolean} 转成元素数组.
+     *
+     * @param toBeConvertedValue
+     *            the to be converted value
+     * @return 如果是其他类型,返回null
+     */
+    private static Object[] toElements(Object toBeConvertedValue){
+        if (toBeConvertedValue instanceof Object[]){
+            return (Object[]) toBeConvertedValue;
+        }
+        if (toBeConvertedValue instanceof Collection){
+            return ((Collection<?>) toBeConvertedValue).toArray();
+        }
+        if (toBeConvertedValue.getClass().isArray()){
+            //其他的基本类型数组,比较少用,反射取值
+            int length = Array.getLength(toBeConvertedValue);
+            Object[] elements = new Object[length];
+            for (int i = 0; i < length; ++i){
+                elements[i] = Array.get(toBeConvertedValue, i);
+            }
+            return elements;
+        }
+        if (toBeConvertedValue instanceof Number || toBeConvertedValue instanceof Boolean){
+            return new Object[] { toBeConvertedValue };
+        }
+        return null;
+    }
+
+    /**
+     * 解析逗号分隔的字符串.
+     * 
+     * <h3>规则:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>整个字符串可以被 '{' 和 '}' 包裹</li>
+     * <li>每个元素去掉前后空白(同 {@link String#trim()}),空元素忽略</li>
+     * <li>每个元素的格式同 {@link Integer#parseInt(String)} / {@link Long#parseLong(String)}</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param charSequence
+     *            the char sequence
+     * @param isInt
+     *            true 返回 <code>int[]</code>,false 返回 <code>long[]</code>
+     * @return 如果有元素转换不了,返回null
+     */
+    private static Object parse(CharSequence charSequence,boolean isInt){
+        int begin = 0;
+        int end = charSequence.length();
+        while (begin < end && charSequence.charAt(begin) <= ' '){
+            ++begin;
+        }
+        while (end > begin && charSequence.charAt(end - 1) <= ' '){
+            --end;
+        }
+        if (begin < end && charSequence.charAt(begin) == '{'){
+            ++begin;
+        }
+        if (end > begin && charSequence.charAt(end - 1) == '}'){
+            --end;
+        }
+
+        long min = isInt ? Integer.MIN_VALUE : Long.MIN_VALUE;
+        long max = isInt ? Integer.MAX_VALUE : Long.MAX_VALUE;
+
+        int[] ints = isInt ? new int[INITIAL_CAPACITY] : null;
+        long[] longs = isInt ? null : new long[INITIAL_CAPACITY];
+        int count = 0;
+
+        int i = begin;
+        while (i < end){
+            //跳过前面的空白
+            char c = charSequence.charAt(i);
+            if (c <= ' '){
+                ++i;
+                continue;
+            }
+            if (c == ','){
+                //空元素
+                ++i;
+                continue;
+            }
+
+            //---------------------------------------------------------------
+            int tokenBegin = i;
+            boolean negative = false;
+            if (c == '-' || c == '+'){
+                negative = c == '-';
+                ++i;
+            }
+
+            //和 Long.parseLong 一样使用负数累加,这样 MIN_VALUE 也不会溢出
+            long limit = negative ? min : -max;
+            long multmin = limit / 10;
+            long result = 0;
+            int digitCount = 0;
+            for (; i < end; ++i){
+                c = charSequence.charAt(i);
+                int digit = c - '0';
+                if (digit < 0 || digit > 9){
+                    break;
+                }
+                if (result < multmin){
+                    return null;
+                }
+                result *= 10;
+                if (result < limit + digit){
+                    return null;
+                }
+                result -= digit;
+                ++digitCount;
+            }
+
+            //元素后面只能是空白以及逗号
+            int tokenEnd = i;
+            while (i < end && charSequence.charAt(i) <= ' '){
+                ++i;
+            }
+            long value;
+            if (i < end && charSequence.charAt(i) != ','){
+                if (charSequence.charAt(tokenEnd) < 128){
+                    return null;
+                }
+                //非 ASCII 的字符(比如全角数字),交给 jdk 解析这一个元素
+                tokenEnd = indexOfComma(charSequence, tokenEnd, end);
+                Long parsedValue = CommonTypeConverter.parseLong(charSequence.subSequence(tokenBegin, tokenEnd).toString());
+                if (null == parsedValue || parsedValue < min || parsedValue > max){
+                    return null;
+                }
+                value = parsedValue;
+                i = tokenEnd;
+            }else{
+                if (0 == digitCount){
+                    return null;
+                }
+                value = negative ? result : -result;
+            }
+
+            if (isInt){
+                if (count == ints.length){
+                    ints = Arrays.copyOf(ints, count << 1);
+                }
+                ints[count++] = (int) value;
+            }else{
+                if (count == longs.length){
+                    longs = Arrays.copyOf(longs, count << 1);
+                }
+                longs[count++] = value;
+            }
+        }
+        return isInt ? Arrays.copyOf(ints, count) : Arrays.copyOf(longs, count);
+    }
+
+    /**
+     * 从 <code>fromIndex</code> 开始第一个逗号的位置.
+     *
+     * @param charSequence
+     *            the char sequence
+     * @param fromIndex
+     *            the from index
+     * @param end
+     *            the end
+     * @return 如果没有逗号,返回 <code>end</code>
+     */
+    private static int indexOfComma(CharSequence charSequence,int fromIndex,int end){
+        for (int i = fromIndex; i < end; ++i){
+            if (charSequence.charAt(i) == ','){
+                return i;
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,617 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.MappedPropertyDescriptor;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.beanutils.expression.Resolver;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.Validate;
+
+import com.feilong.core.util.ConcurrentLruCache;
+
+/**
+ * 预解析,预编译的属性访问器,以 <code>(bean class, propertyName)</code> 为 key 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>属性表达式(nested/indexed/mapped)只在第一次使用的时候,使用 commons-beanutils 的 {@link Resolver} 解析一次</li>
+ * <li>每一段属性的 getter/setter 使用 {@link MethodHandle} 调用,并按照运行时 class 缓存(单态内联缓存),不再每次查找
+ * {@link PropertyDescriptor}</li>
+ * <li>{@link Map} bean 的简单属性,直接使用 {@link Map#get(Object)}/{@link Map#put(Object, Object)}</li>
+ * <li>对于 mapped 属性,{@link DynaBean},中间属性值为null,下标越界,类型不匹配等等非常规场景,统一回退到 {@link PropertyUtils},保证语义(包括异常)和原来一致</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see PropertyUtil#getProperty(Object, String)
+ * @see PropertyUtil#setProperty(Object, String, Object)
+ * @since 1.10.6
+ */
+final class PropertyAccessor{
+
+    /** 缓存的最大数量. */
+    private static final int                                          MAX_CACHE_SIZE = 2048;
+
+    /** 缓存. */
+    private static final ConcurrentLruCache<CacheKey, PropertyAccessor> CACHE          = new ConcurrentLruCache<>(MAX_CACHE_SIZE);
+
+    /** 标识需要回退到 {@link PropertyUtils}. */
+    private static final Object                                       FALLBACK       = new Object();
+
+    /** getter 统一的方法签名 <code>Object (Object)</code>. */
+    private static final MethodType                                   GETTER_TYPE    = MethodType.methodType(Object.class, Object.class);
+
+    /** setter 统一的方法签名 <code>void (Object,Object)</code>. */
+    private static final MethodType                                   SETTER_TYPE    = MethodType
+                    .methodType(void.class, Object.class, Object.class);
+
+    //---------------------------------------------------------------
+
+    /** 原始的属性名称. */
+    private final String                                              propertyName;
+
+    /** 解析之后的每一段属性,如果是null,表示不支持预编译,全部回退到 {@link PropertyUtils}. */
+    private final Segment[]                                           segments;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new property accessor.
+     *
+     * @param beanClass
+     *            the bean class
+     * @param propertyName
+     *            the property name
+     */
+    private PropertyAccessor(Class<?> beanClass, String propertyName){
+        this.propertyName = propertyName;
+        this.segments = parse(propertyName);
+
+        //第一段属性的 bean class 是确定的,预先绑定
+        if (null != segments && isPlainBeanClass(beanClass)){
+            segments[0].getBinding(beanClass);
+        }
+    }
+
+    /**
+     * 获得 <code>beanClass</code> 以及 <code>propertyName</code> 对应的属性访问器(有缓存).
+     *
+     * @param beanClass
+     *            the bean class
+     * @param propertyName
+     *            属性名称 (can be nested/indexed/mapped/combo)
+     * @return the property accessor
+     */
+    static PropertyAccessor getInstance(Class<?> beanClass,String propertyName){
+        CacheKey cacheKey = new CacheKey(beanClass, propertyName);
+        PropertyAccessor propertyAccessor = CACHE.get(cacheKey);
+        if (null != propertyAccessor){
+            return propertyAccessor;
+        }
+        return CACHE.putIfAbsent(cacheKey, new PropertyAccessor(beanClass, propertyName));
+    }
+
+    /**
+     * 是否是普通的 java bean (不是 {@link Map} 也不是 {@link DynaBean}).
+     *
+     * @param beanClass
+     *            the bean class
+     * @return true, if is plain bean class
+     */
+    static boolean isPlainBeanClass(Class<?> beanClass){
+        return !Map.class.isAssignableFrom(beanClass) && !DynaBean.class.isAssignableFrom(beanClass);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 从 <code>bean</code> 中取得属性值,和 {@link PropertyUtils#getProperty(Object, String)} 语义一致.
+     *
+     * @param bean
+     *            the bean
+     * @return the value
+     * @throws Exception
+     *             和 {@link PropertyUtils#getProperty(Object, String)} 一致
+     */
+    Object getValue(Object bean) throws Exception{
+        if (null == segments){
+            return PropertyUtils.getProperty(bean, propertyName);
+        }
+
+        Object current = bean;
+        for (int i = 0; i < segments.length; ++i){
+            //中间属性值是null, 由 PropertyUtils 抛出 NestedNullException
+            if (null == current){
+                return PropertyUtils.getProperty(bean, propertyName);
+            }
+            current = segments[i].getValue(current);
+            if (FALLBACK == current){
+                return PropertyUtils.getProperty(bean, propertyName);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 设置 <code>bean</code> 的属性值,和 {@link PropertyUtils#setProperty(Object, String, Object)} 语义一致.
+     *
+     * @param bean
+     *            the bean
+     * @param value
+     *            the value
+     * @throws Exception
+     *             和 {@link PropertyUtils#setProperty(Object, String, Object)} 一致
+     */
+    void setValue(Object bean,Object value) throws Exception{
+        if (null == segments){
+            PropertyUtils.setProperty(bean, propertyName, value);
+            return;
+        }
+
+        int lastIndex = segments.length - 1;
+
+        Object current = bean;
+        for (int i = 0; i < lastIndex; ++i){
+            current = segments[i].getValue(current);
+            if (null == current || FALLBACK == current){
+                PropertyUtils.setProperty(bean, propertyName, value);
+                return;
+            }
+        }
+
+        if (!segments[lastIndex].setValue(current, value)){
+            PropertyUtils.setProperty(bean, propertyName, value);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 使用 commons-beanutils 的 {@link Resolver} 解析属性表达式.
+     *
+     * @param propertyName
+     *            the property name
+     * @return 如果解析失败(比如下标不是数字,或者下标是负数),返回null,全部交给 {@link PropertyUtils} 处理
+     */
+    private static Segment[] parse(String propertyName){
+        Resolver resolver = BeanUtilsBean.getInstance().getPropertyUtils().getResolver();
+
+        List<Segment> segmentList = new ArrayList<>();
+        try{
+            String name = propertyName;
+            while (resolver.hasNested(name)){
+                segmentList.add(Segment.of(resolver, resolver.next(name)));
+                name = resolver.remove(name);
+            }
+            segmentList.add(Segment.of(resolver, name));
+        }catch (IllegalArgumentException e){
+            return null;
+        }
+        return segmentList.toArray(new Segment[segmentList.size()]);
+    }
+
+    /**
+     * 从 commons-beanutils 的 {@link PropertyDescriptor} 缓存中查找 <code>beanClass</code> 的 <code>name</code> 属性.
+     *
+     * @param beanClass
+     *            the bean class
+     * @param name
+     *            简单的属性名称
+     * @return 如果没有找到,返回null
+     */
+    static PropertyDescriptor findPropertyDescriptor(Class<?> beanClass,String name){
+        PropertyDescriptor[] propertyDescriptors = BeanUtilsBean.getInstance().getPropertyUtils().getPropertyDescriptors(beanClass);
+        for (PropertyDescriptor propertyDescriptor : propertyDescriptors){
+            if (name.equals(propertyDescriptor.getName())){
+                return propertyDescriptor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 调用 getter.
+     *
+     * @param getter
+     *            the getter
+     * @param bean
+     *            the bean
+     * @return the object
+     * @throws InvocationTargetException
+     *             getter 本身抛出的异常,和 {@link Method#invoke(Object, Object...)} 一样包装
+     */
+    private static Object invokeGetter(MethodHandle getter,Object bean) throws InvocationTargetException{
+        try{
+            return getter.invokeExact(bean);
+        }catch (Throwable e){
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * 调用 setter.
+     *
+     * @param setter
+     *            the setter
+     * @param bean
+     *            the bean
+     * @param value
+     *            the value
+     * @throws InvocationTargetException
+     *             setter 本身抛出的异常,和 {@link Method#invoke(Object, Object...)} 一样包装
+     */
+    private static void invokeSetter(MethodHandle setter,Object bean,Object value) throws InvocationTargetException{
+        try{
+            setter.invokeExact(bean, value);
+        }catch (Throwable e){
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * 取 <code>arrayOrList</code> 下标是 <code>index</code> 的元素.
+     *
+     * @param arrayOrList
+     *            the array or list
+     * @param index
+     *            the index
+     * @return 如果不是数组也不是list,或者下标越界,返回 {@link #FALLBACK}
+     */
+    private static Object getIndexedValue(Object arrayOrList,int index){
+        if (arrayOrList.getClass().isArray()){
+            return index < Array.getLength(arrayOrList) ? Array.get(arrayOrList, index) : FALLBACK;
+        }
+        if (arrayOrList instanceof List){
+            List<?> list = (List<?>) arrayOrList;
+            return index < list.size() ? list.get(index) : FALLBACK;
+        }
+        return FALLBACK;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 属性表达式中的一段,比如 <code>"userInfo.age"</code> 中的 <code>"userInfo"</code>, <code>"list[0].id"</code> 中的
+     * <code>"list[0]"</code>.
+     */
+    private static final class Segment{
+
+        /** 属性名称,不包含下标,比如 <code>"list[0]"</code> 为 <code>"list"</code>, <code>"[0]"</code> 为 "". */
+        private final String     name;
+
+        /** 下标,如果不是indexed 属性,是-1. */
+        private final int        index;
+
+        /** 是否是 mapped 属性. */
+        private final boolean    mapped;
+
+        /** 最近一次使用的 bean class 对应的绑定. */
+        private volatile Binding binding;
+
+        /**
+         * Instantiates a new segment.
+         *
+         * @param name
+         *            the name
+         * @param index
+         *            the index
+         * @param mapped
+         *            the mapped
+         */
+        private Segment(String name, int index, boolean mapped){
+            this.name = name;
+            this.index = index;
+            this.mapped = mapped;
+        }
+
+        /**
+         * 解析.
+         *
+         * @param resolver
+         *            the resolver
+         * @param expression
+         *            the expression
+         * @return the segment
+         * @throws IllegalArgumentException
+         *             如果下标不是数字或者是负数
+         */
+        private static Segment of(Resolver resolver,String expression){
+            boolean mapped = resolver.isMapped(expression);
+            int index = -1;
+            if (!mapped && resolver.isIndexed(expression)){
+                index = resolver.getIndex(expression);
+                //负数下标交给 PropertyUtils 抛出 "Invalid indexed property" 之类的异常
+                Validate.isTrue(index >= 0, "invalid index:[%s]", index);
+            }
+            return new Segment(resolver.getProperty(expression), index, mapped);
+        }
+
+        /**
+         * 获得 <code>beanClass</code> 对应的绑定,如果和最近一次使用的 class 不同,那么重新解析.
+         *
+         * @param beanClass
+         *            the bean class
+         * @return the binding
+         */
+        private Binding getBinding(Class<?> beanClass){
+            Binding current = binding;
+            if (null == current || current.beanClass != beanClass){
+                current = Binding.resolve(beanClass, name);
+                binding = current;
+            }
+            return current;
+        }
+
+        /**
+         * 从 <code>bean</code> 中取这一段的值.
+         *
+         * @param bean
+         *            the bean,不是null
+         * @return 如果不支持,返回 {@link PropertyAccessor#FALLBACK}
+         * @throws InvocationTargetException
+         *             getter 本身抛出的异常
+         */
+        private Object getValue(Object bean) throws InvocationTargetException{
+            boolean indexed = index >= 0;
+            if (mapped || bean instanceof DynaBean){
+                return FALLBACK;
+            }
+            if (bean instanceof Map){
+                return indexed ? FALLBACK : ((Map<?, ?>) bean).get(name);
+            }
+
+            //比如 "[0]"
+            if (name.isEmpty()){
+                return indexed ? getIndexedValue(bean, index) : FALLBACK;
+            }
+
+            //---------------------------------------------------------------
+            Binding current = getBinding(bean.getClass());
+
+            //IndexedPropertyDescriptor 优先使用 indexed read method, 交给 PropertyUtils
+            if (null == current.getter || (indexed && current.indexedReadable)){
+                return FALLBACK;
+            }
+
+            Object value = invokeGetter(current.getter, bean);
+            if (!indexed){
+                return value;
+            }
+            return null == value ? FALLBACK : getIndexedValue(value, index);
+        }
+
+        /**
+         * 给 <code>bean</code> 设置这一段的值.
+         *
+         * @param bean
+         *            the bean,不是null
+         * @param value
+         *            the value
+         * @return 如果不支持,返回false
+         * @throws InvocationTargetException
+         *             setter 本身抛出的异常
+         */
+        @SuppressWarnings("unchecked")
+        private boolean setValue(Object bean,Object value) throws InvocationTargetException{
+            if (mapped || index >= 0 || name.isEmpty() || bean instanceof DynaBean){
+                return false;
+            }
+            if (bean instanceof Map){
+                ((Map<Object, Object>) bean).put(name, value);
+                return true;
+            }
+
+            //---------------------------------------------------------------
+            Binding current = getBinding(bean.getClass());
+
+            //类型不匹配, 交给 PropertyUtils 抛出和原来一样的异常
+            if (null == current.setter || !isAssignable(current.setterParameterType, value)){
+                return false;
+            }
+            invokeSetter(current.setter, bean, value);
+            return true;
+        }
+
+        /**
+         * 判断 <code>value</code> 是否可以作为 <code>parameterType</code> 类型的参数传入(允许拆箱以及基本类型的宽化).
+         *
+         * @param parameterType
+         *            the parameter type
+         * @param value
+         *            the value
+         * @return true, if is assignable
+         */
+        private static boolean isAssignable(Class<?> parameterType,Object value){
+            if (null == value){
+                return !parameterType.isPrimitive();
+            }
+            return ClassUtils.isAssignable(value.getClass(), parameterType, true);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 某个 bean class 上某个简单属性的 getter/setter 绑定.
+     */
+    private static final class Binding{
+
+        /** The bean class. */
+        private final Class<?>     beanClass;
+
+        /** getter,如果没有可读方法是null. */
+        private final MethodHandle getter;
+
+        /** setter,如果没有可写方法是null. */
+        private final MethodHandle setter;
+
+        /** setter 的参数类型. */
+        private final Class<?>     setterParameterType;
+
+        /** 是否是拥有 indexed read method 的 {@link IndexedPropertyDescriptor}. */
+        private final boolean      indexedReadable;
+
+        /**
+         * Instantiates a new binding.
+         *
+         * @param beanClass
+         *            the bean class
+         * @param getter
+         *            the getter
+         * @param setter
+         *            the setter
+         * @param setterParameterType
+         *            the setter parameter type
+         * @param indexedReadable
+         *            the indexed readable
+         */
+        private Binding(Class<?> beanClass, MethodHandle getter, MethodHandle setter, Class<?> setterParameterType,
+                        boolean indexedReadable){
+            this.beanClass = beanClass;
+            this.getter = getter;
+            this.setter = setter;
+            this.setterParameterType = setterParameterType;
+            this.indexedReadable = indexedReadable;
+        }
+
+        /**
+         * 解析 <code>beanClass</code> 的 <code>name</code> 属性.
+         *
+         * <p>
+         * 使用 commons-beanutils 的 {@link PropertyDescriptor} 缓存以及可访问方法查找逻辑,保证和 {@link PropertyUtils} 找到的是同一个方法.
+         * </p>
+         *
+         * @param beanClass
+         *            the bean class
+         * @param name
+         *            the name
+         * @return the binding
+         */
+        private static Binding resolve(Class<?> beanClass,String name){
+            PropertyDescriptor propertyDescriptor = findPropertyDescriptor(beanClass, name);
+            if (null == propertyDescriptor || propertyDescriptor instanceof MappedPropertyDescriptor){
+                return new Binding(beanClass, null, null, null, false);
+            }
+
+            Method readMethod = MethodUtils.getAccessibleMethod(beanClass, propertyDescriptor.getReadMethod());
+            Method writeMethod = MethodUtils.getAccessibleMethod(beanClass, propertyDescriptor.getWriteMethod());
+
+            boolean indexedReadable = propertyDescriptor instanceof IndexedPropertyDescriptor && null != MethodUtils
+                            .getAccessibleMethod(beanClass, ((IndexedPropertyDescriptor) propertyDescriptor).getIndexedReadMethod());
+            return new Binding(
+                            beanClass,
+                            toMethodHandle(readMethod, GETTER_TYPE),
+                            toMethodHandle(writeMethod, SETTER_TYPE),
+                            null == writeMethod ? null : writeMethod.getParameterTypes()[0],
+                            indexedReadable);
+        }
+
+        /**
+         * 将 <code>method</code> 转成统一签名的 {@link MethodHandle}.
+         *
+         * @param method
+         *            the method
+         * @param methodType
+         *            the method type
+         * @return 如果 <code>method</code> 是null,或者无法访问,返回null
+         */
+        private static MethodHandle toMethodHandle(Method method,MethodType methodType){
+            if (null == method){
+                return null;
+            }
+            try{
+                return MethodHandles.publicLookup().unreflect(method).asType(methodType);
+            }catch (IllegalAccessException e){
+                return null;
+            }
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 缓存的 key.
+     */
+    private static final class CacheKey{
+
+        /** The bean class. */
+        private final Class<?> beanClass;
+
+        /** The property name. */
+        private final String   propertyName;
+
+        /** The hash code. */
+        private final int      hashCode;
+
+        /**
+         * Instantiates a new cache key.
+         *
+         * @param beanClass
+         *            the bean class
+         * @param propertyName
+         *            the property name
+         */
+        private CacheKey(Class<?> beanClass, String propertyName){
+            this.beanClass = beanClass;
+            this.propertyName = propertyName;
+            this.hashCode = 31 * beanClass.hashCode() + propertyName.hashCode();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode(){
+            return hashCode;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj){
+            if (this == obj){
+                return true;
+            }
+            if (!(obj instanceof CacheKey)){
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return beanClass == other.beanClass && propertyName.equals(other.propertyName);
+        }
+    }
+}
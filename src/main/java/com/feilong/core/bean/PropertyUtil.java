@@ -197,7 +197,9 @@ public final class PropertyUtil{
      *            {@link PropertyUtilsBean#setSimpleProperty(Object, String, Object) copyProperties} Line2078</li>
      *            </ol>
      * @throws NullPointerException
-     *             如果 <code>toObj</code> 是null,或者 <code>fromObj</code> 是null
+     *             如果 <code>toObj</code> 是null,或者 <code>fromObj</code> 是null,或者 <code>includePropertyNames</code> 中有null的元素
+     * @throws IllegalArgumentException
+     *             如果 <code>includePropertyNames</code> 中有blank的元素
      * @throws BeanOperationException
      *             如果在copy的过程中,有任何的checkedException,将会被转成该异常返回
      * @see #setProperty(Object, String, Object)
@@ -211,17 +213,12 @@ public final class PropertyUtil{
         Validate.notNull(toObj, "toObj [destination bean] not specified!");
         Validate.notNull(fromObj, "fromObj [origin bean] not specified!");
 
-        if (isNullOrEmpty(includePropertyNames)){
-            try{
-                PropertyUtils.copyProperties(toObj, fromObj);
-                return;
-            }catch (Exception e){
-                throw new BeanOperationException(e);
-            }
-        }
-        for (String propertyName : includePropertyNames){
-            Object value = getProperty(fromObj, propertyName);
-            setProperty(toObj, propertyName, value);
+        //属性名称不合法的异常不包装
+        BeanCopier beanCopier = BeanCopier.getInstance(toObj, fromObj, includePropertyNames, false);
+        try{
+            beanCopier.copy(toObj, fromObj);
+        }catch (Exception e){
+            throw new BeanOperationException(e);
         }
     }
 
@@ -336,6 +333,8 @@ public final class PropertyUtil{
      * <blockquote>
      * <ol>
      * <li>不会进行类型转换</li>
+     * <li>属性表达式按照 <code>(bean class, propertyName)</code> 预解析并缓存,setter 使用 {@link java.lang.invoke.MethodHandle} 调用;mapped
+     * 属性等非常规场景依然使用 {@link PropertyUtils#setProperty(Object, String, Object)},语义不变 (since 1.10.6)</li>
      * </ol>
      * </blockquote>
      * 
@@ -388,7 +387,7 @@ public final class PropertyUtil{
         Validate.notNull(bean, "bean can't be null!");
         Validate.notBlank(propertyName, "propertyName can't be null!");
         try{
-            PropertyUtils.setProperty(bean, propertyName, value);
+            PropertyAccessor.getInstance(bean.getClass(), propertyName).setValue(bean, value);
         }catch (Exception e){
             throw new BeanOperationException(e);
         }
@@ -465,6 +464,8 @@ public final class PropertyUtil{
      * <blockquote>
      * <ol>
      * <li>不会进行类型转换.</li>
+     * <li>属性表达式按照 <code>(bean class, propertyName)</code> 预解析并缓存,getter 使用 {@link java.lang.invoke.MethodHandle} 调用;mapped
+     * 属性等非常规场景依然使用 {@link PropertyUtils#getProperty(Object, String)},语义不变 (since 1.10.6)</li>
      * </ol>
      * </blockquote>
      * 
@@ -514,7 +515,7 @@ public final class PropertyUtil{
         Validate.notNull(bean, "bean can't be null!");
         Validate.notBlank(propertyName, "propertyName can't be blank!");
         try{
-            return (T) PropertyUtils.getProperty(bean, propertyName);
+            return (T) PropertyAccessor.getInstance(bean.getClass(), propertyName).getValue(bean);
         }catch (Exception e){
             throw new BeanOperationException(e);
         }
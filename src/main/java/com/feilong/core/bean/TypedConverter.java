@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import org.apache.commons.beanutils.Converter;
+
+/**
+ * 预先解析好的,转成 <code>T</code> 类型的转换器,通过 {@link ConverterRegistry#getConverter(Class, Class)} 获得.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>转换器在创建的时候就已经确定,每次转换不再需要查找 {@link ConverterRegistry} 以及 {@link org.apache.commons.beanutils.ConvertUtilsBean}</li>
+ * <li>线程安全,可以作为常量使用(前提是底层的 {@link Converter} 是线程安全的,commons-beanutils 自带的转换器都是)</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @param <T>
+ *            the generic type
+ * @see ConverterRegistry#getConverter(Class, Class)
+ * @since 1.10.6
+ */
+public final class TypedConverter<T> {
+
+    /** The target type. */
+    private final Class<T>  targetType;
+
+    /** 第一次转换使用的转换器,如果是null,原样返回. */
+    private final Converter converter;
+
+    /** 如果 targetType 是 String,并且第一次转换的结果不是 String,再使用这个转换器. */
+    private final Converter stringConverter;
+
+    /** 如果 targetType 是 String,并且转换的结果仍然不是 String,是否使用 {@link Object#toString()}. */
+    private final boolean   toStringFallback;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new typed converter.
+     *
+     * @param targetType
+     *            the target type
+     * @param converter
+     *            the converter
+     * @param stringConverter
+     *            the string converter
+     * @param toStringFallback
+     *            the to string fallback
+     * @see org.apache.commons.beanutils.ConvertUtilsBean#convert(Object, Class)
+     */
+    TypedConverter(Class<T> targetType, Converter converter, Converter stringConverter, boolean toStringFallback){
+        this.targetType = targetType;
+        this.converter = converter;
+        this.stringConverter = stringConverter;
+        this.toStringFallback = toStringFallback;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>toBeConvertedValue</code> 转成 <code>T</code> 类型.
+     *
+     * @param toBeConvertedValue
+     *            需要被转换的对象/值
+     * @return 如果 <code>toBeConvertedValue</code> 是null,那么直接返回null<br>
+     *         如果找不到转换器,和 {@link ConvertUtil#convert(Object, Class)} 一样原样返回
+     */
+    @SuppressWarnings("unchecked")
+    public T convert(Object toBeConvertedValue){
+        if (null == toBeConvertedValue){
+            return null;
+        }
+        Object converted = null == converter ? toBeConvertedValue : converter.convert(targetType, toBeConvertedValue);
+        if (null != stringConverter && null != converted && !(converted instanceof String)){
+            converted = stringConverter.convert(String.class, converted);
+        }
+        //和 ConvertUtilsBean 一样,转换器处理不了的话使用 toString()
+        if (toStringFallback && null != converted && !(converted instanceof String)){
+            converted = converted.toString();
+        }
+        return (T) converted;
+    }
+
+    /**
+     * 获得 the target type.
+     *
+     * @return the targetType
+     */
+    public Class<T> getTargetType(){
+        return targetType;
+    }
+}
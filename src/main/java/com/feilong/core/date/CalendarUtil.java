@@ -332,12 +332,15 @@ final class CalendarUtil{
      *            calendar
      * @param datePattern
      *            日期pattern {@link DatePattern}
-     * @return 如果 <code>calendar</code> 是null,抛出 {@link NullPointerException}
+     * @return 如果 <code>calendar</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>pattern</code> 是 null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>pattern</code> 是 blank,抛出 {@link IllegalArgumentException}<br>
      * @see com.feilong.core.date.DateUtil#toString(Date, String)
      */
     static String toString(Calendar calendar,String datePattern){
-        Date date = toDate(calendar);
-        return DateUtil.toString(date, datePattern);
+        Validate.notNull(calendar, "calendar can't be null!");
+        Validate.notBlank(datePattern, "datePattern can't be blank!");
+        return DateFormatRegistry.format(calendar, datePattern);
     }
 
     //*********************************************************************************************
@@ -358,6 +361,10 @@ final class CalendarUtil{
      * @since 1.3.0
      */
     static int getFieldValue(Date date,int field){
+        int value = EpochDateHelper.get(date, field);
+        if (EpochDateHelper.UNSUPPORTED != value){
+            return value;
+        }
         Calendar calendar = DateUtil.toCalendar(date);
         return getFieldValue(calendar, field);
     }
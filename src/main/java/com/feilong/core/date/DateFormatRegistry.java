@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.date;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import com.feilong.core.util.ConcurrentLruCache;
+
+/**
+ * 线程安全的日期格式化/解析器注册表,按照 (pattern, locale, timeZone) 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>jdk7 没有 <code>java.time.format.DateTimeFormatter</code>,所以这里缓存的是线程安全的 {@link FastDateFormat} (内部包含
+ * <code>FastDatePrinter</code> 和 <code>FastDateParser</code>),而不是每次解析都 new 一个 <code>FastDateParser</code></li>
+ * <li>解析的规则和 {@link org.apache.commons.lang3.time.DateUtils#parseDate(String, String...)} 完全一致:日历使用宽松模式,
+ * 按照 pattern 的顺序解析,第一个能解析全部字符串的 pattern 胜出</li>
+ * <li>多个 pattern 解析的时候,先根据字符串的长度以及分隔符(比如 <code>-</code>, <code>:</code>, <code>/</code>)快速排除不可能匹配的 pattern,
+ * 不会改变 pattern 的顺序,因此结果和逐个尝试完全一致</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see org.apache.commons.lang3.time.DateUtils#parseDate(String, String...)
+ * @see org.apache.commons.lang3.time.DateFormatUtils#format(Date, String)
+ * @since 1.10.6
+ */
+final class DateFormatRegistry{
+
+    /** 最多缓存的 (pattern, locale, timeZone) 组合数量. */
+    private static final int                                             MAX_SIZE = 256;
+
+    /** The cache. */
+    private static final ConcurrentLruCache<FormatKey, DateFormatEntry> CACHE    = new ConcurrentLruCache<>(MAX_SIZE);
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private DateFormatRegistry(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 使用默认的时区以及默认的 locale,将 <code>date</code> 格式化成 <code>datePattern</code> 格式的字符串.
+     *
+     * @param date
+     *            the date
+     * @param datePattern
+     *            the date pattern
+     * @return the string
+     * @see org.apache.commons.lang3.time.DateFormatUtils#format(Date, String)
+     */
+    static String format(Date date,String datePattern){
+        return getDateFormatEntry(datePattern, TimeZone.getDefault(), Locale.getDefault()).fastDateFormat.format(date);
+    }
+
+    /**
+     * 使用默认的时区以及默认的 locale,将 <code>calendar</code> 格式化成 <code>datePattern</code> 格式的字符串.
+     *
+     * @param calendar
+     *            the calendar
+     * @param datePattern
+     *            the date pattern
+     * @return the string
+     * @see org.apache.commons.lang3.time.DateFormatUtils#format(Calendar, String)
+     */
+    static String format(Calendar calendar,String datePattern){
+        return getDateFormatEntry(datePattern, TimeZone.getDefault(), Locale.getDefault()).fastDateFormat.format(calendar);
+    }
+
+    /**
+     * 使用默认的时区以及默认的 locale,按照顺序使用 <code>datePatterns</code> 解析 <code>dateString</code>.
+     *
+     * @param dateString
+     *            the date string
+     * @param datePatterns
+     *            the date patterns
+     * @return 第一个能解析全部字符串的 pattern 解析出来的时间
+     * @throws ParseException
+     *             如果没有任何的 pattern 能解析,异常信息和 {@link org.apache.commons.lang3.time.DateUtils#parseDate(String, String...)} 一致
+     */
+    static Date parse(String dateString,String...datePatterns) throws ParseException{
+        TimeZone timeZone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault();
+
+        for (String datePattern : datePatterns){
+            DateFormatEntry dateFormatEntry = getDateFormatEntry(datePattern, timeZone, locale);
+            if (!dateFormatEntry.isCandidate(dateString)){
+                continue;
+            }
+
+            ParsePosition parsePosition = new ParsePosition(0);
+            try{
+                Date date = dateFormatEntry.fastDateFormat.parse(dateString, parsePosition);
+                if (null != date && parsePosition.getIndex() == dateString.length()){
+                    return date;
+                }
+            }catch (IllegalArgumentException e){
+                //和 DateUtils.parseDate 一致,忽略,继续尝试下一个 pattern
+            }
+        }
+        throw new ParseException("Unable to parse the date: " + dateString, -1);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 (pattern, locale, timeZone) 对应的缓存,没有的话创建.
+     *
+     * @param datePattern
+     *            the date pattern
+     * @param timeZone
+     *            the time zone
+     * @param locale
+     *            the locale
+     * @return the date format entry
+     * @throws IllegalArgumentException
+     *             如果 <code>datePattern</code> 是不合法的
+     */
+    private static DateFormatEntry getDateFormatEntry(String datePattern,TimeZone timeZone,Locale locale){
+        FormatKey formatKey = new FormatKey(datePattern, timeZone, locale);
+        DateFormatEntry dateFormatEntry = CACHE.get(formatKey);
+        if (null != dateFormatEntry){
+            return dateFormatEntry;
+        }
+        return CACHE.putIfAbsent(formatKey, new DateFormatEntry(FastDateFormat.getInstance(datePattern, timeZone, locale)));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 缓存的 key.
+     */
+    private static final class FormatKey{
+
+        /** The date pattern. */
+        private final String   datePattern;
+
+        /** The time zone. */
+        private final TimeZone timeZone;
+
+        /** The locale. */
+        private final Locale   locale;
+
+        /** The hash code. */
+        private final int      hashCode;
+
+        /**
+         * Instantiates a new format key.
+         *
+         * @param datePattern
+         *            the date pattern
+         * @param timeZone
+         *            the time zone
+         * @param locale
+         *            the locale
+         */
+        private FormatKey(String datePattern, TimeZone timeZone, Locale locale){
+            this.datePattern = datePattern;
+            this.timeZone = timeZone;
+            this.locale = locale;
+            this.hashCode = (datePattern.hashCode() * 31 + timeZone.hashCode()) * 31 + locale.hashCode();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode(){
+            return hashCode;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj){
+            if (this == obj){
+                return true;
+            }
+            if (!(obj instanceof FormatKey)){
+                return false;
+            }
+            FormatKey other = (FormatKey) obj;
+            return datePattern.equals(other.datePattern) && timeZone.equals(other.timeZone) && locale.equals(other.locale);
+        }
+    }
+
+    /**
+     * 缓存的 {@link FastDateFormat},以及从 pattern 中预先分析出来的"形状".
+     */
+    private static final class DateFormatEntry{
+
+        /** The fast date format. */
+        private final FastDateFormat fastDateFormat;
+
+        /** pattern 中必须原样出现的分隔符(不含字母,数字以及空白字符),按照出现的顺序. */
+        private final char[]         requiredLiterals;
+
+        /** 能被解析的字符串的最小长度,每个日期字段至少1个字符,每个分隔符1个字符. */
+        private final int            minLength;
+
+        /**
+         * Instantiates a new date format entry.
+         *
+         * @param fastDateFormat
+         *            the fast date format
+         */
+        private DateFormatEntry(FastDateFormat fastDateFormat){
+            this.fastDateFormat = fastDateFormat;
+
+            String pattern = fastDateFormat.getPattern();
+            StringBuilder literals = new StringBuilder();
+            int fieldCount = 0;
+            boolean inQuote = false;
+            for (int i = 0, j = pattern.length(); i < j; ++i){
+                char c = pattern.charAt(i);
+                if (c == '\''){
+                    //'' 表示单引号本身
+                    if (i + 1 < j && pattern.charAt(i + 1) == '\''){
+                        literals.append(c);
+                        ++i;
+                    }else{
+                        inQuote = !inQuote;
+                    }
+                }else if (!inQuote && isAsciiLetter(c)){
+                    //连续相同的字母是同一个字段
+                    if (i == 0 || pattern.charAt(i - 1) != c){
+                        ++fieldCount;
+                    }
+                }else if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c)){
+                    literals.append(c);
+                }
+            }
+            this.requiredLiterals = literals.toString().toCharArray();
+            this.minLength = fieldCount + requiredLiterals.length;
+        }
+
+        /**
+         * 判断 <code>dateString</code> 是否可能被这个 pattern 解析.
+         *
+         * <p>
+         * 字符串长度小于 {@link #minLength},或者没有按照顺序包含全部的 {@link #requiredLiterals},那么一定解析不了.
+         * </p>
+         *
+         * @param dateString
+         *            the date string
+         * @return 如果一定解析不了,返回false
+         */
+        private boolean isCandidate(String dateString){
+            if (dateString.length() < minLength){
+                return false;
+            }
+            int fromIndex = 0;
+            for (char literal : requiredLiterals){
+                int index = dateString.indexOf(literal, fromIndex);
+                if (index < 0){
+                    return false;
+                }
+                fromIndex = index + 1;
+            }
+            return true;
+        }
+
+        /**
+         * 是否是 pattern 字段字母.
+         *
+         * @param c
+         *            the c
+         * @return true, if is ascii letter
+         */
+        private static boolean isAsciiLetter(char c){
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+    }
+}
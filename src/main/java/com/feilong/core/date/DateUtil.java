@@ -15,6 +15,9 @@
  */
 package com.feilong.core.date;
 
+import static com.feilong.core.TimeInterval.MILLISECOND_PER_HOUR;
+import static com.feilong.core.TimeInterval.MILLISECOND_PER_MINUTE;
+import static com.feilong.core.TimeInterval.MILLISECOND_PER_SECONDS;
 import static com.feilong.core.TimeInterval.SECONDS_PER_HOUR;
 import static com.feilong.core.TimeInterval.SECONDS_PER_MINUTE;
 import static com.feilong.core.date.CalendarUtil.resetDayBegin;
@@ -39,7 +42,6 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.DateUtils;
 
 import com.feilong.core.DatePattern;
@@ -234,6 +236,10 @@ public final class DateUtil{
      * @since 1.5.0
      */
     public static Date getFirstDateOfThisDay(Date date){
+        Date result = EpochDateHelper.getDateOfThisDay(date, false);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         return CalendarUtil.toDate(resetDayBegin(calendar));
     }
@@ -257,6 +263,10 @@ public final class DateUtil{
      * @since 1.5.0
      */
     public static Date getLastDateOfThisDay(Date date){
+        Date result = EpochDateHelper.getDateOfThisDay(date, true);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         return CalendarUtil.toDate(resetDayEnd(calendar));
     }
@@ -293,6 +303,10 @@ public final class DateUtil{
      * @see Calendar#getTime()
      */
     public static Date getFirstDateOfThisWeek(Date date){
+        Date result = EpochDateHelper.getDateOfThisWeek(date, SUNDAY, false);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         calendar.set(DAY_OF_WEEK, SUNDAY);
         return CalendarUtil.toDate(resetDayBegin(calendar));
@@ -330,6 +344,10 @@ public final class DateUtil{
      * @since 1.0.1
      */
     public static Date getLastDateOfThisWeek(Date date){
+        Date result = EpochDateHelper.getDateOfThisWeek(date, SATURDAY, true);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         calendar.set(DAY_OF_WEEK, SATURDAY);
         return CalendarUtil.toDate(resetDayEnd(calendar));
@@ -359,6 +377,10 @@ public final class DateUtil{
      * @see Calendar#getTime()
      */
     public static Date getFirstDateOfThisMonth(Date date){
+        Date result = EpochDateHelper.getDateOfThisMonth(date, false);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         calendar.set(DAY_OF_MONTH, 1);
         return CalendarUtil.toDate(resetDayBegin(calendar));
@@ -393,6 +415,10 @@ public final class DateUtil{
      * @see Calendar#getTime()
      */
     public static Date getLastDateOfThisMonth(Date date){
+        Date result = EpochDateHelper.getDateOfThisMonth(date, true);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         calendar.set(DAY_OF_MONTH, calendar.getActualMaximum(DAY_OF_MONTH));
         return CalendarUtil.toDate(resetDayEnd(calendar));
@@ -420,6 +446,10 @@ public final class DateUtil{
      * @see Calendar#getTime()
      */
     public static Date getFirstDateOfThisYear(Date date){
+        Date result = EpochDateHelper.getDateOfThisYear(date, false);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         calendar.set(MONTH, JANUARY);
         calendar.set(DAY_OF_MONTH, 1);
@@ -448,6 +478,10 @@ public final class DateUtil{
      * @see Calendar#getTime()
      */
     public static Date getLastDateOfThisYear(Date date){
+        Date result = EpochDateHelper.getDateOfThisYear(date, true);
+        if (null != result){
+            return result;
+        }
         Calendar calendar = toCalendar(date);
         return CalendarUtil.toDate(resetYearEnd(calendar));
     }
@@ -488,7 +522,8 @@ public final class DateUtil{
      * @see org.apache.commons.lang3.time.DateUtils#addYears(Date, int)
      */
     public static Date addYear(Date date,int year){
-        return DateUtils.addYears(date, year);
+        Date result = EpochDateHelper.addMonth(date, 12L * year);
+        return null != result ? result : DateUtils.addYears(date, year);
     }
 
     /**
@@ -526,7 +561,8 @@ public final class DateUtil{
      * @see org.apache.commons.lang3.time.DateUtils#addMonths(Date, int)
      */
     public static Date addMonth(Date date,int month){
-        return DateUtils.addMonths(date, month);
+        Date result = EpochDateHelper.addMonth(date, month);
+        return null != result ? result : DateUtils.addMonths(date, month);
     }
 
     /**
@@ -566,7 +602,8 @@ public final class DateUtil{
      */
     public static Date addDay(Date date,int day){
         // Calendar.DAY_OF_MONTH 它与 Calendar.DATE 是同义词.一个月中第一天的值为 1.
-        return DateUtils.addDays(date, day);
+        Date result = EpochDateHelper.addDay(date, day);
+        return null != result ? result : DateUtils.addDays(date, day);
     }
 
     /**
@@ -602,7 +639,8 @@ public final class DateUtil{
      * @see org.apache.commons.lang3.time.DateUtils#addWeeks(Date, int)
      */
     public static Date addWeek(Date date,int week){
-        return DateUtils.addWeeks(date, week);
+        Date result = EpochDateHelper.addDay(date, 7L * week);
+        return null != result ? result : DateUtils.addWeeks(date, week);
     }
 
     /**
@@ -638,7 +676,7 @@ public final class DateUtil{
      * @see org.apache.commons.lang3.time.DateUtils#addHours(Date, int)
      */
     public static Date addHour(Date date,int hour){
-        return DateUtils.addHours(date, hour);
+        return addTime(date, hour, MILLISECOND_PER_HOUR);
     }
 
     /**
@@ -674,7 +712,7 @@ public final class DateUtil{
      * @see org.apache.commons.lang3.time.DateUtils#addMinutes(Date, int)
      */
     public static Date addMinute(Date date,int minute){
-        return DateUtils.addMinutes(date, minute);
+        return addTime(date, minute, MILLISECOND_PER_MINUTE);
     }
 
     /**
@@ -710,7 +748,7 @@ public final class DateUtil{
      * @see org.apache.commons.lang3.time.DateUtils#addSeconds(Date, int)
      */
     public static Date addSecond(Date date,int second){
-        return DateUtils.addSeconds(date, second);
+        return addTime(date, second, MILLISECOND_PER_SECONDS);
     }
 
     /**
@@ -747,7 +785,29 @@ public final class DateUtil{
      * @since 1.4.1
      */
     public static Date addMillisecond(Date date,int millisecond){
-        return DateUtils.addMilliseconds(date, millisecond);
+        return addTime(date, millisecond, 1);
+    }
+
+    /**
+     * 加减时间字段(小时,分钟,秒,毫秒).
+     * 
+     * <p>
+     * {@link GregorianCalendar#add(int, int)} 加减时间字段的时候,直接加减毫秒数,和时区无关,所以这里不需要创建 {@link Calendar}.
+     * </p>
+     *
+     * @param date
+     *            任意时间
+     * @param amount
+     *            加减的数量
+     * @param millisecondPerUnit
+     *            每个单位的毫秒数
+     * @return 如果 <code>date</code>是null,抛出 {@link java.lang.IllegalArgumentException}<br>
+     * @since 1.10.6
+     */
+    private static Date addTime(Date date,int amount,long millisecondPerUnit){
+        //和 DateUtils 的校验一致
+        Validate.isTrue(null != date, "The date must not be null");
+        return new Date(date.getTime() + amount * millisecondPerUnit);
     }
 
     // [end]
@@ -1142,7 +1202,7 @@ public final class DateUtil{
         Validate.notNull(date, "date can't be null!");
         Validate.notBlank(datePattern, "datePattern can't be blank!");
 
-        return DateFormatUtils.format(date, datePattern);
+        return DateFormatRegistry.format(date, datePattern);
     }
 
     /**
@@ -1166,6 +1226,7 @@ public final class DateUtil{
      * <li>转换的时候,使用日历的<b>宽松模式</b>,参见 {@link java.text.DateFormat#setLenient(boolean)},即支持传入"2016-02-33",会转换成 2016-03-04</li>
      * <li>如果能解析所有的字符串,那么视为成功</li>
      * <li>如果没有任何的模式匹配,将会抛出异常</li>
+     * <li>解析器按照 (pattern, locale, timeZone) 缓存,多个模式的时候会先根据字符串的长度以及分隔符排除不可能匹配的模式,结果和逐个尝试一致</li>
      * <li>如果转换有异常,会将 {@link ParseException} 转成 {@link IllegalArgumentException} 返回,是 UnCheckedException异常 ,不需要强制catch处理</li>
      * </ol>
      * </blockquote>
@@ -1224,7 +1285,7 @@ public final class DateUtil{
         Validate.noNullElements(datePatterns, "datePatterns can't has null datePattern");
 
         try{
-            return DateUtils.parseDate(dateString, datePatterns);
+            return DateFormatRegistry.parse(dateString, datePatterns);
         }catch (ParseException e){
             String pattern = "parse dateString [{}] use patterns:[{}] to date exception,message:[{}]";
             throw new IllegalArgumentException(Slf4jUtil.format(pattern, dateString, datePatterns, e.getMessage()), e);
@@ -0,0 +1,486 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.date;
+
+import static com.feilong.core.TimeInterval.MILLISECOND_PER_DAY;
+import static java.util.Calendar.DAY_OF_MONTH;
+import static java.util.Calendar.DAY_OF_WEEK;
+import static java.util.Calendar.DAY_OF_YEAR;
+import static java.util.Calendar.HOUR_OF_DAY;
+import static java.util.Calendar.MILLISECOND;
+import static java.util.Calendar.MINUTE;
+import static java.util.Calendar.MONTH;
+import static java.util.Calendar.SECOND;
+import static java.util.Calendar.SUNDAY;
+import static java.util.Calendar.YEAR;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 基于 epoch 毫秒数/天数直接计算日期字段的辅助类,用于 {@link DateUtil} 常用方法的快速路径.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link DateUtil} 的方法原来都是 <code>toCalendar</code> 创建一个 {@link GregorianCalendar},修改字段,再 new 一个 {@link Date},
+ * 调用量很大的时候(比如按时间分桶),创建/计算 {@link Calendar} 的成本很可观</li>
+ * <li>此类使用默认时区的 {@link TimeZone#getOffset(long)} 把时间转成本地毫秒数,再用纯整数运算(格里高利历 epoch day 算法)计算年月日时分秒,
+ * 不创建 {@link Calendar}</li>
+ * <li>结果和 {@link Calendar} 的结果完全一致;以下情况不走快速路径(方法返回 null 或者 {@link #UNSUPPORTED}),由调用方回退到 {@link Calendar}:
+ * <ul>
+ * <li>时间不在 [1583-01-01,10000-01-01) 范围内(避开儒略历/格里高利历的切换)</li>
+ * <li>默认 locale 对应的不是 {@link GregorianCalendar} (比如 th_TH 的佛历, ja_JP_JP 的和历)</li>
+ * <li>结果落在时区偏移变化(比如夏令时切换)的前后一天内,这时本地时间可能有歧义,交给 {@link Calendar} 按照它的规则处理</li>
+ * </ul>
+ * </li>
+ * <li>jdk7 没有 <code>java.time</code>,所以这里手写 epoch day 算法</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see <a href="http://howardhinnant.github.io/date_algorithms.html">chrono-Compatible Low-Level Date Algorithms</a>
+ * @since 1.10.6
+ */
+final class EpochDateHelper{
+
+    /** 不支持快速路径时 {@link #get(Date, int)} 的返回值. */
+    static final int                    UNSUPPORTED        = Integer.MIN_VALUE;
+
+    /** 快速路径支持的最小时间(包含),1583-01-01 00:00:00 UTC 再加一天,避开儒略历/格里高利历的切换. */
+    private static final long           MIN_TIME           = -12_212_553_600_000L + MILLISECOND_PER_DAY;
+
+    /** 快速路径支持的最大时间(不包含),10000-01-01 00:00:00 UTC 再减一天. */
+    private static final long           MAX_TIME           = 253_402_300_800_000L - MILLISECOND_PER_DAY;
+
+    /** 0000-03-01 到 1970-01-01 的天数. */
+    private static final long           DAYS_0000_TO_1970  = 719_468L;
+
+    /** 400 年的天数. */
+    private static final long           DAYS_PER_400_YEARS = 146_097L;
+
+    /** 默认 locale 对应的日历规则,默认 locale 改变之后重新计算. */
+    private static volatile LocaleRules localeRules;
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private EpochDateHelper(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 <code>date</code> 在默认时区的日历字段值,同 {@link Calendar#get(int)}.
+     *
+     * @param date
+     *            the date
+     * @param field
+     *            支持 {@link Calendar#YEAR}, {@link Calendar#MONTH}, {@link Calendar#DAY_OF_MONTH}, {@link Calendar#DAY_OF_YEAR},
+     *            {@link Calendar#DAY_OF_WEEK}, {@link Calendar#HOUR_OF_DAY}, {@link Calendar#MINUTE}, {@link Calendar#SECOND},
+     *            {@link Calendar#MILLISECOND}
+     * @return 如果 <code>date</code> 是null,或者 <code>field</code> 不支持,或者不能走快速路径,返回 {@link #UNSUPPORTED}
+     */
+    static int get(Date date,int field){
+        if (null == date || !getLocaleRules().isGregorian){
+            return UNSUPPORTED;
+        }
+        long time = date.getTime();
+        if (!isInRange(time)){
+            return UNSUPPORTED;
+        }
+
+        long localTime = time + TimeZone.getDefault().getOffset(time);
+        long epochDay = floorDiv(localTime, MILLISECOND_PER_DAY);
+        int millisOfDay = (int) (localTime - epochDay * MILLISECOND_PER_DAY);
+        switch (field) {
+            case YEAR:
+                return (int) (toYearMonthDay(epochDay) >> 9);
+            case MONTH:
+                return (int) ((toYearMonthDay(epochDay) >> 5) & 0xF) - 1;
+            case DAY_OF_MONTH:
+                return (int) (toYearMonthDay(epochDay) & 0x1F);
+            case DAY_OF_YEAR:
+                return (int) (epochDay - toEpochDay((int) (toYearMonthDay(epochDay) >> 9), 1, 1)) + 1;
+            case DAY_OF_WEEK:
+                return getDayOfWeek(epochDay);
+            case HOUR_OF_DAY:
+                return millisOfDay / 3_600_000;
+            case MINUTE:
+                return millisOfDay / 60_000 % 60;
+            case SECOND:
+                return millisOfDay / 1000 % 60;
+            case MILLISECOND:
+                return millisOfDay % 1000;
+            default:
+                return UNSUPPORTED;
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 当天的开始时间(00:00:00.000)或者结束时间(23:59:59.999).
+     *
+     * @param date
+     *            the date
+     * @param isEnd
+     *            是否是结束时间
+     * @return 如果不能走快速路径,返回null
+     */
+    static Date getDateOfThisDay(Date date,boolean isEnd){
+        TimeZone timeZone = TimeZone.getDefault();
+        long epochDay = toLocalEpochDay(date, timeZone);
+        return Long.MIN_VALUE == epochDay ? null : toDate(timeZone, epochDay, isEnd);
+    }
+
+    /**
+     * 本周的第 <code>dayOfWeek</code> 天的开始时间或者结束时间,同 <code>calendar.set(DAY_OF_WEEK, dayOfWeek)</code> (周的范围由默认 locale 的
+     * {@link Calendar#getFirstDayOfWeek()} 决定).
+     *
+     * @param date
+     *            the date
+     * @param dayOfWeek
+     *            {@link Calendar#SUNDAY} 或者 {@link Calendar#SATURDAY} 等
+     * @param isEnd
+     *            是否是结束时间
+     * @return 如果不能走快速路径,返回null
+     */
+    static Date getDateOfThisWeek(Date date,int dayOfWeek,boolean isEnd){
+        TimeZone timeZone = TimeZone.getDefault();
+        long epochDay = toLocalEpochDay(date, timeZone);
+        if (Long.MIN_VALUE == epochDay){
+            return null;
+        }
+        int firstDayOfWeek = getLocaleRules().firstDayOfWeek;
+        long firstEpochDayOfWeek = epochDay - (getDayOfWeek(epochDay) - firstDayOfWeek + 7) % 7;
+        return toDate(timeZone, firstEpochDayOfWeek + (dayOfWeek - firstDayOfWeek + 7) % 7, isEnd);
+    }
+
+    /**
+     * 本月第一天的开始时间或者本月最后一天的结束时间.
+     *
+     * @param date
+     *            the date
+     * @param isEnd
+     *            是否是结束时间
+     * @return 如果不能走快速路径,返回null
+     */
+    static Date getDateOfThisMonth(Date date,boolean isEnd){
+        TimeZone timeZone = TimeZone.getDefault();
+        long epochDay = toLocalEpochDay(date, timeZone);
+        if (Long.MIN_VALUE == epochDay){
+            return null;
+        }
+        long yearMonthDay = toYearMonthDay(epochDay);
+        int year = (int) (yearMonthDay >> 9);
+        int month = (int) ((yearMonthDay >> 5) & 0xF);
+        return toDate(timeZone, toEpochDay(year, month, isEnd ? getLengthOfMonth(year, month) : 1), isEnd);
+    }
+
+    /**
+     * 本年第一天的开始时间或者本年最后一天的结束时间.
+     *
+     * @param date
+     *            the date
+     * @param isEnd
+     *            是否是结束时间
+     * @return 如果不能走快速路径,返回null
+     */
+    static Date getDateOfThisYear(Date date,boolean isEnd){
+        TimeZone timeZone = TimeZone.getDefault();
+        long epochDay = toLocalEpochDay(date, timeZone);
+        if (Long.MIN_VALUE == epochDay){
+            return null;
+        }
+        int year = (int) (toYearMonthDay(epochDay) >> 9);
+        return toDate(timeZone, isEnd ? toEpochDay(year, 12, 31) : toEpochDay(year, 1, 1), isEnd);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 加减天数,同 <code>calendar.add(DAY_OF_MONTH, day)</code> (加减星期相当于加减 7 倍的天数).
+     *
+     * <p>
+     * {@link Calendar} 加减天数保持本地时间不变,只要前后两个时间的时区偏移相同,结果就是直接加减 <code>day</code> 天的毫秒数.
+     * </p>
+     *
+     * @param date
+     *            the date
+     * @param day
+     *            the day
+     * @return 如果不能走快速路径,返回null
+     */
+    static Date addDay(Date date,long day){
+        if (null == date || !getLocaleRules().isGregorian){
+            return null;
+        }
+        long time = date.getTime();
+        long result = time + day * MILLISECOND_PER_DAY;
+        if (!isInRange(time) || !isInRange(result)){
+            return null;
+        }
+        TimeZone timeZone = TimeZone.getDefault();
+        return timeZone.getOffset(time) == timeZone.getOffset(result) ? new Date(result) : null;
+    }
+
+    /**
+     * 加减月份,同 <code>calendar.add(MONTH, month)</code> (加减年份相当于加减 12 倍的月份),如果目标月份没有原来的日期,那么取目标月份的最后一天.
+     *
+     * @param date
+     *            the date
+     * @param month
+     *            the month
+     * @return 如果不能走快速路径,返回null
+     */
+    static Date addMonth(Date date,long month){
+        if (null == date || !getLocaleRules().isGregorian){
+            return null;
+        }
+        long time = date.getTime();
+        if (!isInRange(time)){
+            return null;
+        }
+        TimeZone timeZone = TimeZone.getDefault();
+        long localTime = time + timeZone.getOffset(time);
+        long epochDay = floorDiv(localTime, MILLISECOND_PER_DAY);
+        long millisOfDay = localTime - epochDay * MILLISECOND_PER_DAY;
+
+        long yearMonthDay = toYearMonthDay(epochDay);
+        long totalMonth = (yearMonthDay >> 9) * 12 + ((yearMonthDay >> 5) & 0xF) - 1 + month;
+        long targetYear = floorDiv(totalMonth, 12);
+        if (targetYear < 1583 || targetYear > 9998){
+            return null;
+        }
+        int year = (int) targetYear;
+        int targetMonth = (int) (totalMonth - targetYear * 12) + 1;
+        int dayOfMonth = Math.min((int) (yearMonthDay & 0x1F), getLengthOfMonth(year, targetMonth));
+        return toDate(timeZone, toEpochDay(year, targetMonth, dayOfMonth) * MILLISECOND_PER_DAY + millisOfDay);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>date</code> 转成默认时区的本地 epoch day.
+     *
+     * @param date
+     *            the date
+     * @param timeZone
+     *            the time zone
+     * @return 如果不能走快速路径,返回 {@link Long#MIN_VALUE}
+     */
+    private static long toLocalEpochDay(Date date,TimeZone timeZone){
+        if (null == date || !getLocaleRules().isGregorian){
+            return Long.MIN_VALUE;
+        }
+        long time = date.getTime();
+        if (!isInRange(time)){
+            return Long.MIN_VALUE;
+        }
+        return floorDiv(time + timeZone.getOffset(time), MILLISECOND_PER_DAY);
+    }
+
+    /**
+     * 将本地的 <code>epochDay</code> 的开始时间或者结束时间转成 {@link Date}.
+     *
+     * @param timeZone
+     *            the time zone
+     * @param epochDay
+     *            the epoch day
+     * @param isEnd
+     *            是否是结束时间
+     * @return 如果不能走快速路径,返回null
+     */
+    private static Date toDate(TimeZone timeZone,long epochDay,boolean isEnd){
+        long localTime = epochDay * MILLISECOND_PER_DAY + (isEnd ? MILLISECOND_PER_DAY - 1 : 0);
+        return toDate(timeZone, localTime);
+    }
+
+    /**
+     * 将本地时间 <code>localTime</code> 转成 {@link Date}.
+     *
+     * <p>
+     * 只有当这个时间前后一天内的时区偏移都相同的时候(本地时间没有歧义,也不会落在夏令时跳过的区间),才走快速路径.
+     * </p>
+     *
+     * @param timeZone
+     *            the time zone
+     * @param localTime
+     *            the local time
+     * @return 如果不能走快速路径,返回null
+     */
+    private static Date toDate(TimeZone timeZone,long localTime){
+        int offset = timeZone.getOffset(localTime - timeZone.getRawOffset());
+        long time = localTime - offset;
+        if (!isInRange(time) //
+                        || offset != timeZone.getOffset(time)
+                        || offset != timeZone.getOffset(time - MILLISECOND_PER_DAY)
+                        || offset != timeZone.getOffset(time + MILLISECOND_PER_DAY)){
+            return null;
+        }
+        return new Date(time);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 <code>epochDay</code> 转成年月日,打包成一个 long (year {@code <<} 9 | month {@code <<} 5 | dayOfMonth),避免创建数组.
+     *
+     * @param epochDay
+     *            the epoch day
+     * @return the long
+     */
+    private static long toYearMonthDay(long epochDay){
+        //以3月1日作为一年的开始,这样闰日在一年的最后
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        long era = floorDiv(zeroDay, DAYS_PER_400_YEARS);
+        long dayOfEra = zeroDay - era * DAYS_PER_400_YEARS;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long marchBasedMonth = (5 * dayOfYear + 2) / 153;
+
+        long dayOfMonth = dayOfYear - (153 * marchBasedMonth + 2) / 5 + 1;
+        long month = marchBasedMonth < 10 ? marchBasedMonth + 3 : marchBasedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | dayOfMonth;
+    }
+
+    /**
+     * 将年月日转成 epoch day.
+     *
+     * @param year
+     *            the year
+     * @param month
+     *            1-12
+     * @param dayOfMonth
+     *            the day of month
+     * @return the long
+     */
+    private static long toEpochDay(int year,int month,int dayOfMonth){
+        long marchBasedYear = month <= 2 ? year - 1 : year;
+        long era = floorDiv(marchBasedYear, 400);
+        long yearOfEra = marchBasedYear - era * 400;
+        long marchBasedMonth = month > 2 ? month - 3 : month + 9;
+        long dayOfYear = (153 * marchBasedMonth + 2) / 5 + dayOfMonth - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 星期几,同 {@link Calendar#DAY_OF_WEEK},1970-01-01 是星期四.
+     *
+     * @param epochDay
+     *            the epoch day
+     * @return the day of week
+     */
+    private static int getDayOfWeek(long epochDay){
+        return (int) (epochDay + 4 - floorDiv(epochDay + 4, 7) * 7) + SUNDAY;
+    }
+
+    /**
+     * 月份的天数.
+     *
+     * @param year
+     *            the year
+     * @param month
+     *            1-12
+     * @return the length of month
+     */
+    private static int getLengthOfMonth(int year,int month){
+        if (month == 2){
+            return DateUtil.isLeapYear(year) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * 向下取整的除法(jdk7 没有 <code>Math.floorDiv</code>).
+     *
+     * @param x
+     *            the x
+     * @param y
+     *            the y
+     * @return the long
+     */
+    private static long floorDiv(long x,long y){
+        long result = x / y;
+        return (x % y != 0 && (x ^ y) < 0) ? result - 1 : result;
+    }
+
+    /**
+     * 时间是否在快速路径支持的范围内.
+     *
+     * @param time
+     *            the time
+     * @return true, if is in range
+     */
+    private static boolean isInRange(long time){
+        return time >= MIN_TIME && time < MAX_TIME;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得默认 locale 对应的日历规则.
+     *
+     * @return the locale rules
+     */
+    private static LocaleRules getLocaleRules(){
+        //和 Calendar.getInstance() 使用的 locale 一致
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LocaleRules rules = localeRules;
+        if (null == rules || rules.locale != locale){
+            rules = new LocaleRules(locale);
+            localeRules = rules;
+        }
+        return rules;
+    }
+
+    /**
+     * locale 对应的日历规则.
+     */
+    private static final class LocaleRules{
+
+        /** The locale. */
+        private final Locale  locale;
+
+        /** {@link Calendar#getInstance(Locale)} 是否是 {@link GregorianCalendar} (而不是它的子类,比如佛历). */
+        private final boolean isGregorian;
+
+        /** The first day of week. */
+        private final int     firstDayOfWeek;
+
+        /**
+         * Instantiates a new locale rules.
+         *
+         * @param locale
+         *            the locale
+         */
+        private LocaleRules(Locale locale){
+            Calendar calendar = Calendar.getInstance(locale);
+            this.locale = locale;
+            this.isGregorian = calendar.getClass() == GregorianCalendar.class;
+            this.firstDayOfWeek = calendar.getFirstDayOfWeek();
+        }
+    }
+}
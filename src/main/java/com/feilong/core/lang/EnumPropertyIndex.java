@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.feilong.core.bean.BeanOperationException;
+import com.feilong.core.bean.PropertyUtil;
+import com.feilong.core.util.ConcurrentLruCache;
+
+/**
+ * 枚举属性值的反向索引,按照 (enumClass, propertyName, ignoreCase) 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>第一次查找的时候,遍历全部的枚举值,反射读取 <code>propertyName</code> 属性,建立 属性值 {@code ->} 枚举 的索引;之后的查找只是一次 hash 查找</li>
+ * <li>和原来的逐个比较一样,属性值使用 {@link Object#toString()} 比较,相同的属性值取第一个(定义顺序)枚举;<code>null</code> 只和 <code>null</code> 相等</li>
+ * <li>忽略大小写的索引,key 是每个字符 <code>Character.toLowerCase(Character.toUpperCase(c))</code> 之后的字符串,和
+ * {@link org.apache.commons.lang3.StringUtils#equalsIgnoreCase(CharSequence, CharSequence)} 的比较规则一致</li>
+ * <li>索引建立之后不会再读取枚举的属性,因此要求枚举的属性不可变(枚举本来就应该如此)</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @param <E>
+ *            the element type
+ * @see EnumUtil#getEnumByPropertyValue(Class, String, Object)
+ * @since 1.10.6
+ */
+final class EnumPropertyIndex<E extends Enum<?>> {
+
+    /** 最多缓存的 (enumClass, propertyName, ignoreCase) 组合数量. */
+    private static final int                                                MAX_SIZE = 512;
+
+    /** The cache. */
+    private static final ConcurrentLruCache<IndexKey, EnumPropertyIndex<?>> CACHE    = new ConcurrentLruCache<>(MAX_SIZE);
+
+    //---------------------------------------------------------------
+
+    /** 属性值(toString,如果忽略大小写,统一转换过)和枚举的对应关系,建立之后只读. */
+    private final Map<String, E>                                            valueAndEnumMap;
+
+    /** 属性值是 null 的第一个枚举. */
+    private final E                                                         nullValueEnum;
+
+    /** 是否忽略大小写. */
+    private final boolean                                                   ignoreCase;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new enum property index.
+     *
+     * @param enumConstants
+     *            the enum constants
+     * @param propertyName
+     *            the property name
+     * @param ignoreCase
+     *            the ignore case
+     */
+    private EnumPropertyIndex(E[] enumConstants, String propertyName, boolean ignoreCase){
+        this.ignoreCase = ignoreCase;
+
+        Map<String, E> map = new HashMap<>(enumConstants.length * 2);
+        E nullEnum = null;
+        for (E e : enumConstants){
+            Object propertyValue = PropertyUtil.getProperty(e, propertyName);
+            if (null == propertyValue){
+                if (null == nullEnum){
+                    nullEnum = e;
+                }
+                continue;
+            }
+            //相同的属性值,保留第一个
+            String key = toKey(propertyValue);
+            if (!map.containsKey(key)){
+                map.put(key, e);
+            }
+        }
+        this.valueAndEnumMap = map;
+        this.nullValueEnum = nullEnum;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 (enumClass, propertyName, ignoreCase) 对应的索引,没有的话创建.
+     *
+     * @param <E>
+     *            the element type
+     * @param enumClass
+     *            the enum class
+     * @param propertyName
+     *            the property name
+     * @param ignoreCase
+     *            the ignore case
+     * @return 如果读取某个枚举的属性出现 {@link BeanOperationException},返回null(不缓存),由调用方逐个比较,保证异常的行为和原来一致
+     * @throws NullPointerException
+     *             如果 <code>enumClass</code> 不是枚举
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Enum<?>> EnumPropertyIndex<E> get(Class<E> enumClass,String propertyName,boolean ignoreCase){
+        IndexKey indexKey = new IndexKey(enumClass, propertyName, ignoreCase);
+        EnumPropertyIndex<?> enumPropertyIndex = CACHE.get(indexKey);
+        if (null != enumPropertyIndex){
+            return (EnumPropertyIndex<E>) enumPropertyIndex;
+        }
+
+        try{
+            enumPropertyIndex = new EnumPropertyIndex<>(enumClass.getEnumConstants(), propertyName, ignoreCase);
+        }catch (BeanOperationException e){
+            return null;
+        }
+        return (EnumPropertyIndex<E>) CACHE.putIfAbsent(indexKey, enumPropertyIndex);
+    }
+
+    /**
+     * 查找属性值是 <code>specifiedValue</code> 的枚举.
+     *
+     * @param specifiedValue
+     *            the specified value
+     * @return 如果找不到,返回null
+     */
+    E find(Object specifiedValue){
+        return null == specifiedValue ? nullValueEnum : valueAndEnumMap.get(toKey(specifiedValue));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 转换成索引的 key.
+     *
+     * @param value
+     *            not null
+     * @return the string
+     */
+    private String toKey(Object value){
+        String string = value.toString();
+        if (!ignoreCase){
+            return string;
+        }
+        //和 String#regionMatches(boolean, int, String, int, int) 忽略大小写的规则一致
+        char[] chars = string.toCharArray();
+        for (int i = 0; i < chars.length; ++i){
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 缓存的 key.
+     */
+    private static final class IndexKey{
+
+        /** The enum class. */
+        private final Class<?> enumClass;
+
+        /** The property name. */
+        private final String   propertyName;
+
+        /** The ignore case. */
+        private final boolean  ignoreCase;
+
+        /**
+         * Instantiates a new index key.
+         *
+         * @param enumClass
+         *            the enum class
+         * @param propertyName
+         *            the property name
+         * @param ignoreCase
+         *            the ignore case
+         */
+        private IndexKey(Class<?> enumClass, String propertyName, boolean ignoreCase){
+            this.enumClass = enumClass;
+            this.propertyName = propertyName;
+            this.ignoreCase = ignoreCase;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode(){
+            return (enumClass.hashCode() * 31 + propertyName.hashCode()) * 31 + (ignoreCase ? 1 : 0);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj){
+            if (this == obj){
+                return true;
+            }
+            if (!(obj instanceof IndexKey)){
+                return false;
+            }
+            IndexKey other = (IndexKey) obj;
+            return enumClass == other.enumClass && ignoreCase == other.ignoreCase && propertyName.equals(other.propertyName);
+        }
+    }
+}
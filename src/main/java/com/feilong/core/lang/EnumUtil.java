@@ -205,6 +205,7 @@ public final class EnumUtil{
      * @throws BeanOperationException
      *             如果枚举值没有相关 <code>propertyName</code> 属性,比如 <code>HttpMethodType</code> 有 <b>"method"</b> 属性,但是没有 <b>"method2222"</b> 属性
      * @see com.feilong.core.bean.PropertyUtil#getProperty(Object, String)
+     * @see EnumPropertyIndex
      * @since 1.0.8
      */
     private static <E extends Enum<?>, T> E getEnumByPropertyValue(
@@ -215,8 +216,45 @@ public final class EnumUtil{
         Validate.notNull(enumClass, "enumClass can't be null!");
         Validate.notBlank(propertyName, "propertyName can't be null/empty!");
 
+        //第一次查找的时候建立索引,之后只需要一次 hash 查找
+        EnumPropertyIndex<E> enumPropertyIndex = EnumPropertyIndex.get(enumClass, propertyName, ignoreCase);
+        E e = null == enumPropertyIndex ? findByScan(enumClass, propertyName, specifiedValue, ignoreCase)
+                        : enumPropertyIndex.find(specifiedValue);
+        if (null != e){
+            return e;
+        }
+
         //*************************************************************************
+        if (LOGGER.isDebugEnabled()){
+            String messagePattern = "[{}],propertyName:[{}],value:[{}],ignoreCase:[{}],constants not found";
+            LOGGER.debug(Slf4jUtil.format(messagePattern, enumClass, propertyName, specifiedValue, ignoreCase));
+        }
+        return null;
+    }
 
+    /**
+     * 遍历枚举值,逐个比较属性值.
+     * 
+     * <p>
+     * 只有建立索引失败(某个枚举值读取属性出现异常)的时候才使用,保证和原来的行为一致.
+     * </p>
+     *
+     * @param <E>
+     *            the element type
+     * @param <T>
+     *            the generic type
+     * @param enumClass
+     *            the enum class
+     * @param propertyName
+     *            the property name
+     * @param specifiedValue
+     *            the specified value
+     * @param ignoreCase
+     *            the ignore case
+     * @return 如果找不到,返回null
+     * @since 1.10.6
+     */
+    private static <E extends Enum<?>, T> E findByScan(Class<E> enumClass,String propertyName,T specifiedValue,boolean ignoreCase){
         // An enum is a kind of class
         // An annotation is a kind of interface
 
@@ -234,12 +272,6 @@ public final class EnumUtil{
                 return e;
             }
         }
-
-        //*************************************************************************
-        if (LOGGER.isDebugEnabled()){
-            String messagePattern = "[{}],propertyName:[{}],value:[{}],ignoreCase:[{}],constants not found";
-            LOGGER.debug(Slf4jUtil.format(messagePattern, enumClass, propertyName, specifiedValue, ignoreCase));
-        }
         return null;
     }
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link Callable}构造器,和 {@link PartitionRunnableBuilder} 的区别在于每组可以返回执行结果.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @param <T>
+ *            the generic type
+ * @param <R>
+ *            每组执行结果的类型
+ * @see PartitionRunnableBuilder
+ * @see ThreadUtil#submit(List, int, Map, PartitionCallableBuilder, java.util.concurrent.ExecutorService)
+ * @see ThreadUtil#executeAndReduce(List, int, Map, PartitionCallableBuilder, java.util.concurrent.ExecutorService, Object,
+ *      PartitionResultReducer)
+ * @since 1.10.6
+ */
+public interface PartitionCallableBuilder<T, R> {
+
+    /**
+     * 构造{@link Callable}.
+     *
+     * @param perBatchList
+     *            自动分组之后,每个对象list组的数据
+     * @param partitionThreadEntity
+     *            线程执行此组list 的时候,可以使用的 thread参数信息
+     * @param paramsMap
+     *            自定义的参数map
+     * @return the callable
+     */
+    Callable<R> build(List<T> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap);
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+/**
+ * 分组执行时,某一组执行失败(或者等待的时候被中断)抛出的异常.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see ThreadUtil#executeAndReduce(java.util.List, int, java.util.Map, PartitionCallableBuilder, java.util.concurrent.ExecutorService,
+ *      Object, PartitionResultReducer)
+ * @since 1.10.6
+ */
+public final class PartitionExecutionException extends RuntimeException{
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 4375826530938210867L;
+
+    /** 失败的那组的 batchNumber,如果是等待的时候被中断,值是还没有执行完成的最小的 batchNumber. */
+    private final int         batchNumber;
+
+    /**
+     * Instantiates a new partition execution exception.
+     *
+     * @param message
+     *            the message
+     * @param batchNumber
+     *            失败的那组的 batchNumber,如果是等待的时候被中断,值是还没有执行完成的最小的 batchNumber
+     * @param cause
+     *            the cause
+     */
+    public PartitionExecutionException(String message, int batchNumber, Throwable cause){
+        super(message, cause);
+        this.batchNumber = batchNumber;
+    }
+
+    /**
+     * 获得 失败的那组的 batchNumber,如果是等待的时候被中断,值是还没有执行完成的最小的 batchNumber.
+     *
+     * @return the batchNumber
+     */
+    public int getBatchNumber(){
+        return batchNumber;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.feilong.tools.slf4j.Slf4jUtil;
+
+/**
+ * 内存中的分组执行统计(耗时直方图,吞吐量,最慢的组).
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>耗时按照毫秒数以2的幂分桶:第0个桶是 [0ms,1ms),第i个桶是 [2^(i-1)ms,2^i ms),最后一个桶包含所有更大的值</li>
+ * <li>计数全部使用原子变量,没有锁(只有出现新的最慢组的时候才会同步),可以在任务执行过程中随时读取,比如定时打印进度</li>
+ * <li>一个实例对应一次(或者多次累计的)任务执行,需要重新统计的时候请新建实例</li>
+ * </ol>
+ * </blockquote>
+ * 
+ * <h3>示例:</h3>
+ * 
+ * <blockquote>
+ * 
+ * <pre class="code">
+ * PartitionHistogramCollector collector = new PartitionHistogramCollector();
+ * ThreadUtil.execute(list, 100, null, ThreadUtil.withListener(partitionRunnableBuilder, collector), executorService);
+ * 
+ * LOGGER.info(collector.toString());
+ * </pre>
+ * 
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public final class PartitionHistogramCollector implements PartitionListener{
+
+    /** 桶的数量,最后一个桶的下限是 2^30 毫秒(大约12天). */
+    private static final int               BUCKET_COUNT        = 32;
+
+    //---------------------------------------------------------------
+
+    /** 每个耗时桶的组数. */
+    private final AtomicLongArray          bucketCounts        = new AtomicLongArray(BUCKET_COUNT);
+
+    /** 开始执行的组数. */
+    private final AtomicLong               startedCount        = new AtomicLong();
+
+    /** 执行成功的组数. */
+    private final AtomicLong               finishedCount       = new AtomicLong();
+
+    /** 执行失败的组数. */
+    private final AtomicLong               failedCount         = new AtomicLong();
+
+    /** 执行成功的组处理的元素总数. */
+    private final AtomicLong               finishedItemCount   = new AtomicLong();
+
+    /** 所有结束(成功或者失败)的组的耗时总和. */
+    private final AtomicLong               totalElapsedNanos   = new AtomicLong();
+
+    /** 第一组开始的时间 {@link System#nanoTime()},0 表示还没有开始. */
+    private final AtomicLong               firstStartNanoTime  = new AtomicLong();
+
+    /** 最近一组结束的时间 {@link System#nanoTime()}. */
+    private final AtomicLong               lastEndNanoTime     = new AtomicLong();
+
+    //---------------------------------------------------------------
+
+    /** 最慢的组的耗时. */
+    private volatile long                  slowestElapsedNanos = -1;
+
+    /** 最慢的组的 thread参数信息. */
+    private volatile PartitionThreadEntity slowestPartitionThreadEntity;
+
+    //---------------------------------------------------------------
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.feilong.core.lang.PartitionListener#onStart(com.feilong.core.lang.PartitionThreadEntity)
+     */
+    @Override
+    public void onStart(PartitionThreadEntity partitionThreadEntity){
+        startedCount.incrementAndGet();
+        long now = System.nanoTime();
+        //nanoTime 可能是0,这里用1代替,不影响统计
+        firstStartNanoTime.compareAndSet(0, 0 == now ? 1 : now);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.feilong.core.lang.PartitionListener#onFinish(com.feilong.core.lang.PartitionThreadEntity, long)
+     */
+    @Override
+    public void onFinish(PartitionThreadEntity partitionThreadEntity,long elapsedNanos){
+        finishedCount.incrementAndGet();
+        finishedItemCount.addAndGet(partitionThreadEntity.getCurrentListSize());
+        record(partitionThreadEntity, elapsedNanos);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.feilong.core.lang.PartitionListener#onFail(com.feilong.core.lang.PartitionThreadEntity, long, java.lang.Throwable)
+     */
+    @Override
+    public void onFail(PartitionThreadEntity partitionThreadEntity,long elapsedNanos,Throwable throwable){
+        failedCount.incrementAndGet();
+        record(partitionThreadEntity, elapsedNanos);
+    }
+
+    /**
+     * 记录一组的耗时.
+     *
+     * @param partitionThreadEntity
+     *            the partition thread entity
+     * @param elapsedNanos
+     *            the elapsed nanos
+     */
+    private void record(PartitionThreadEntity partitionThreadEntity,long elapsedNanos){
+        bucketCounts.incrementAndGet(bucketIndex(elapsedNanos));
+        totalElapsedNanos.addAndGet(elapsedNanos);
+        lastEndNanoTime.set(System.nanoTime());
+
+        if (elapsedNanos > slowestElapsedNanos){
+            synchronized (this){
+                if (elapsedNanos > slowestElapsedNanos){
+                    slowestPartitionThreadEntity = partitionThreadEntity;
+                    slowestElapsedNanos = elapsedNanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * 耗时对应的桶.
+     *
+     * @param elapsedNanos
+     *            the elapsed nanos
+     * @return the int
+     */
+    private static int bucketIndex(long elapsedNanos){
+        long millis = TimeUnit.NANOSECONDS.toMillis(Math.max(elapsedNanos, 0));
+        //0 -> 0, 1 -> 1, [2,4) -> 2, [4,8) -> 3 ...
+        int index = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 耗时直方图.
+     * 
+     * <p>
+     * key 是桶的毫秒区间,比如 "[0ms,1ms)","[8ms,16ms)",value 是落在该区间的组数;只包含组数 {@code >0} 的桶,按照区间从小到大排序.
+     * </p>
+     *
+     * @return the histogram
+     */
+    public Map<String, Long> getHistogram(){
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_COUNT; ++i){
+            long count = bucketCounts.get(i);
+            if (count > 0){
+                histogram.put(bucketName(i), count);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * 桶的名称.
+     *
+     * @param index
+     *            the index
+     * @return the string
+     */
+    private static String bucketName(int index){
+        long lower = 0 == index ? 0 : 1L << (index - 1);
+        if (index == BUCKET_COUNT - 1){
+            return Slf4jUtil.format("[{}ms,+∞)", lower);
+        }
+        return Slf4jUtil.format("[{}ms,{}ms)", lower, 1L << index);
+    }
+
+    /**
+     * 估算耗时的百分位数(返回所在桶的上限,单位毫秒).
+     * 
+     * <p>
+     * 比如 getPercentileMillis(0.99)=64 表示 99% 的组耗时小于 64 毫秒.
+     * </p>
+     *
+     * @param percentile
+     *            百分位,取值范围 (0,1]
+     * @return 如果还没有结束的组,返回0<br>
+     *         如果落在最后一个桶,返回 {@link Long#MAX_VALUE}
+     * @throws IllegalArgumentException
+     *             如果 <code>percentile</code> 不在 (0,1] 之间
+     */
+    public long getPercentileMillis(double percentile){
+        if (percentile <= 0 || percentile > 1){
+            throw new IllegalArgumentException("percentile must in (0,1], but is:" + percentile);
+        }
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i){
+            counts[i] = bucketCounts.get(i);
+            total += counts[i];
+        }
+        if (0 == total){
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT - 1; ++i){
+            accumulated += counts[i];
+            if (accumulated >= threshold){
+                return 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 每秒处理的元素数量(执行成功的组的元素总数 / 第一组开始到最近一组结束的时间).
+     *
+     * @return 如果还没有结束的组,返回0
+     */
+    public double getItemsPerSecond(){
+        long firstStart = firstStartNanoTime.get();
+        long lastEnd = lastEndNanoTime.get();
+        long elapsedNanos = lastEnd - firstStart;
+        if (0 == firstStart || elapsedNanos <= 0){
+            return 0;
+        }
+        return finishedItemCount.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * 结束(成功或者失败)的组的平均耗时,单位纳秒.
+     *
+     * @return 如果还没有结束的组,返回0
+     */
+    public long getAverageElapsedNanos(){
+        long endedCount = finishedCount.get() + failedCount.get();
+        return 0 == endedCount ? 0 : totalElapsedNanos.get() / endedCount;
+    }
+
+    /**
+     * 正在执行(已经开始,但还没有结束)的组数.
+     *
+     * @return the running count
+     */
+    public long getRunningCount(){
+        return startedCount.get() - finishedCount.get() - failedCount.get();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 开始执行的组数.
+     *
+     * @return the startedCount
+     */
+    public long getStartedCount(){
+        return startedCount.get();
+    }
+
+    /**
+     * 获得 执行成功的组数.
+     *
+     * @return the finishedCount
+     */
+    public long getFinishedCount(){
+        return finishedCount.get();
+    }
+
+    /**
+     * 获得 执行失败的组数.
+     *
+     * @return the failedCount
+     */
+    public long getFailedCount(){
+        return failedCount.get();
+    }
+
+    /**
+     * 获得 执行成功的组处理的元素总数.
+     *
+     * @return the finishedItemCount
+     */
+    public long getFinishedItemCount(){
+        return finishedItemCount.get();
+    }
+
+    /**
+     * 获得 最慢的组的耗时,单位纳秒.
+     *
+     * @return 如果还没有结束的组,返回 -1
+     */
+    public long getSlowestElapsedNanos(){
+        return slowestElapsedNanos;
+    }
+
+    /**
+     * 获得 最慢的组的 thread参数信息.
+     *
+     * @return 如果还没有结束的组,返回null
+     */
+    public PartitionThreadEntity getSlowestPartitionThreadEntity(){
+        return slowestPartitionThreadEntity;
+    }
+
+    //---------------------------------------------------------------
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        PartitionThreadEntity slowest = slowestPartitionThreadEntity;
+        return Slf4jUtil.format(
+                        "started:[{}],finished:[{}],failed:[{}],running:[{}],items/s:[{}],avg:[{}ms],p99:[<{}ms],slowest:[batchNumber {} {}ms],histogram:{}",
+                        getStartedCount(),
+                        getFinishedCount(),
+                        getFailedCount(),
+                        getRunningCount(),
+                        String.format("%.1f", getItemsPerSecond()),
+                        TimeUnit.NANOSECONDS.toMillis(getAverageElapsedNanos()),
+                        getPercentileMillis(0.99),
+                        null == slowest ? null : slowest.getBatchNumber(),
+                        TimeUnit.NANOSECONDS.toMillis(Math.max(slowestElapsedNanos, 0)),
+                        getHistogram());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+/**
+ * 分组执行的监听器,可以用来统计每组的耗时,吞吐量以及找出执行慢的组.
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>通过 {@link ThreadUtil#withListener(PartitionRunnableBuilder, PartitionListener)} 或者
+ * {@link ThreadUtil#withCallableListener(PartitionCallableBuilder, PartitionListener)} 挂载到任意的 ThreadUtil 分组执行方法上</li>
+ * <li>所有方法都在执行该组的线程中调用,不同组之间会并发调用,因此实现类必须是线程安全的</li>
+ * <li>实现类不应该抛出异常,否则会影响该组的执行结果</li>
+ * <li>该组处理的元素数量,参见 {@link PartitionThreadEntity#getCurrentListSize()}</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see PartitionHistogramCollector
+ * @since 1.10.6
+ */
+public interface PartitionListener{
+
+    /**
+     * 某一组开始执行.
+     *
+     * @param partitionThreadEntity
+     *            这一组的 thread参数信息
+     */
+    void onStart(PartitionThreadEntity partitionThreadEntity);
+
+    /**
+     * 某一组执行成功.
+     *
+     * @param partitionThreadEntity
+     *            这一组的 thread参数信息
+     * @param elapsedNanos
+     *            这一组的执行耗时,单位纳秒
+     */
+    void onFinish(PartitionThreadEntity partitionThreadEntity,long elapsedNanos);
+
+    /**
+     * 某一组执行失败(抛出了异常).
+     *
+     * @param partitionThreadEntity
+     *            这一组的 thread参数信息
+     * @param elapsedNanos
+     *            这一组的执行耗时,单位纳秒
+     * @param throwable
+     *            这一组抛出的异常
+     */
+    void onFail(PartitionThreadEntity partitionThreadEntity,long elapsedNanos,Throwable throwable);
+}
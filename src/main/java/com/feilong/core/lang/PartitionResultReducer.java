@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+/**
+ * 合并每组执行结果的归约器.
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link #reduce(Object, Object, PartitionThreadEntity)} 严格按照 {@link PartitionThreadEntity#getBatchNumber() batchNumber} 从小到大的顺序调用</li>
+ * <li>只会在调用方线程中调用,不会并发调用,因此实现类不需要加锁,也不需要使用线程安全的集合</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @param <R>
+ *            每组执行结果的类型
+ * @param <V>
+ *            合并结果的类型
+ * @see ThreadUtil#executeAndReduce(java.util.List, int, java.util.Map, PartitionCallableBuilder, java.util.concurrent.ExecutorService,
+ *      Object, PartitionResultReducer)
+ * @since 1.10.6
+ */
+public interface PartitionResultReducer<R, V> {
+
+    /**
+     * 将某一组的执行结果 <code>partitionResult</code> 合并到 <code>accumulator</code>.
+     *
+     * @param accumulator
+     *            之前的合并结果,第一次调用的时候是调用方传入的初始值
+     * @param partitionResult
+     *            这一组的执行结果
+     * @param partitionThreadEntity
+     *            这一组的 thread参数信息
+     * @return 新的合并结果,作为下一次调用的 <code>accumulator</code>
+     */
+    V reduce(V accumulator,R partitionResult,PartitionThreadEntity partitionThreadEntity);
+
+}
@@ -45,6 +45,13 @@ public class PartitionThreadEntity implements Serializable{
     /** 当前线程执行数量,=perBatchList size. */
     private int               currentListSize;
 
+    /**
+     * 当前批次第一个元素在 list 中的索引.
+     * 
+     * @since 1.10.6
+     */
+    private int               fromIndex;
+
     //---------------------------------------------------
     /**
      * Instantiates a new group thread entity.
@@ -74,6 +81,39 @@ public class PartitionThreadEntity implements Serializable{
         this.eachSize = eachSize;
         this.batchNumber = batchNumber;
         this.currentListSize = currentListSize;
+        this.fromIndex = batchNumber * eachSize;
+    }
+
+    /**
+     * Instantiates a new group thread entity.
+     * 
+     * <p>
+     * 用于每批大小不固定的场景(比如 {@link ThreadUtil#execute(java.util.List, java.util.Map, PartitionRunnableBuilder)}),此时不能通过
+     * batchNumber * eachSize 计算元素的索引,需要使用 <code>fromIndex</code>.
+     * </p>
+     *
+     * @param name
+     *            线程的名字
+     * @param totalListCount
+     *            总数,list 的总size
+     * @param eachSize
+     *            分配大小
+     * @param batchNumber
+     *            批次,当前线程序号,从0开始
+     * @param currentListSize
+     *            当前线程执行数量,=perBatchList size
+     * @param fromIndex
+     *            当前批次第一个元素在 list 中的索引
+     * @since 1.10.6
+     */
+    public PartitionThreadEntity(String name, int totalListCount, int eachSize, int batchNumber, int currentListSize, int fromIndex){
+        super();
+        this.name = name;
+        this.totalListCount = totalListCount;
+        this.eachSize = eachSize;
+        this.batchNumber = batchNumber;
+        this.currentListSize = currentListSize;
+        this.fromIndex = fromIndex;
     }
 
     /**
@@ -171,4 +211,25 @@ public class PartitionThreadEntity implements Serializable{
         this.eachSize = eachSize;
     }
 
+    /**
+     * 获得 当前批次第一个元素在 list 中的索引.
+     *
+     * @return the fromIndex
+     * @since 1.10.6
+     */
+    public int getFromIndex(){
+        return fromIndex;
+    }
+
+    /**
+     * 设置 当前批次第一个元素在 list 中的索引.
+     *
+     * @param fromIndex
+     *            the fromIndex to set
+     * @since 1.10.6
+     */
+    public void setFromIndex(int fromIndex){
+        this.fromIndex = fromIndex;
+    }
+
 }
@@ -34,6 +34,7 @@ import org.apache.commons.lang3.text.StrSubstitutor;
 
 import com.feilong.core.CharsetType;
 import com.feilong.core.UncheckedIOException;
+import com.feilong.core.util.PatternCache;
 
 /**
  * {@link String}工具类,可以查询,截取,format.
@@ -395,10 +396,12 @@ public final class StringUtil{
      *         如果 <code>content</code> 中,没有 regex匹配的字符串或者格式,返回<code>content</code><br>
      * @see <a href="http://stamen.iteye.com/blog/2028256">String字符串替换的一个诡异问题</a>
      * @see java.lang.String#replaceAll(String, String)
+     * @see com.feilong.core.util.PatternCache#compile(String)
      * @since jdk 1.4
      */
     public static String replaceAll(CharSequence content,String regex,String replacement){
-        return null == content ? EMPTY : content.toString().replaceAll(regex, replacement);
+        //等同于 content.toString().replaceAll(regex, replacement),但是 Pattern 使用缓存,不需要每次编译
+        return null == content ? EMPTY : PatternCache.compile(regex).matcher(content).replaceAll(replacement);
     }
 
     /**
@@ -635,9 +638,18 @@ public final class StringUtil{
      * @see String#split(String, int)
      * @see StringUtils#split(String)
      * @see java.util.regex.Pattern#split(CharSequence)
+     * @see com.feilong.core.util.PatternCache#compile(String)
      */
     public static String[] split(String value,String regexSpliter){
-        return isNullOrEmpty(value) ? ArrayUtils.EMPTY_STRING_ARRAY : value.split(regexSpliter);
+        if (isNullOrEmpty(value)){
+            return ArrayUtils.EMPTY_STRING_ARRAY;
+        }
+        //单个非正则特殊字符, String.split 自己有不编译正则的快速路径
+        if (regexSpliter.length() == 1 && ".$|()[{^?*+\\".indexOf(regexSpliter.charAt(0)) == -1){
+            return value.split(regexSpliter);
+        }
+        //等同于 value.split(regexSpliter),但是 Pattern 使用缓存,不需要每次编译
+        return PatternCache.compile(regexSpliter).split(value);
     }
 
     // [end]
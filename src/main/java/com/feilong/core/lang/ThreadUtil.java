@@ -19,10 +19,22 @@ import static com.feilong.core.date.DateExtensionUtil.formatDuration;
 import static com.feilong.core.lang.ObjectUtil.defaultIfNullOrEmpty;
 import static org.apache.commons.lang3.ClassUtils.getSimpleName;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.Validate;
@@ -115,6 +127,48 @@ public final class ThreadUtil{
      * @since 1.10.4
      */
     public static void execute(Runnable runnable,int threadCount){
+        executeInThreads(runnable, threadCount, false);
+    }
+
+    /**
+     * 创建指定数量 <b>threadCount</b> 的<span style="color:green">虚拟线程</span>,并执行.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>虚拟线程(jdk21+)由 jvm 调度,阻塞的时候不占用平台线程,适合大量 IO 密集(比如 http/数据库调用)的任务</li>
+     * <li>运行时自动探测,如果当前 jdk 不支持虚拟线程(参见 {@link #isVirtualThreadSupported()}),那么退化成
+     * {@link #execute(Runnable, int)} 使用平台线程执行</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <p>
+     * 如果 <code>runnable</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 {@code threadCount <=0},抛出 {@link IllegalArgumentException}<br>
+     * </p>
+     *
+     * @param runnable
+     *            the runnable
+     * @param threadCount
+     *            the thread count
+     * @since 1.10.6
+     */
+    public static void executeInVirtualThread(Runnable runnable,int threadCount){
+        executeInThreads(runnable, threadCount, true);
+    }
+
+    /**
+     * 创建指定数量 <b>threadCount</b> 的线程,并执行.
+     *
+     * @param runnable
+     *            the runnable
+     * @param threadCount
+     *            the thread count
+     * @param useVirtualThread
+     *            是否使用虚拟线程(如果支持的话)
+     * @since 1.10.6
+     */
+    private static void executeInThreads(Runnable runnable,int threadCount,boolean useVirtualThread){
         Validate.notNull(runnable, "runnable can't be null!");
         Validate.isTrue(threadCount > 0, "threadCount must > 0");
 
@@ -122,7 +176,7 @@ public final class ThreadUtil{
 
         Date beginDate = new Date();
 
-        Thread[] threads = buildThreadArray(runnable, threadCount);
+        Thread[] threads = buildThreadArray(runnable, threadCount, useVirtualThread);
         ThreadUtil.startAndJoin(threads);
 
         //---------------------------------------------------------------
@@ -139,16 +193,32 @@ public final class ThreadUtil{
      *            the runnable
      * @param threadCount
      *            the thread count
+     * @param useVirtualThread
+     *            是否使用虚拟线程(如果支持的话)
      * @return the thread[]
      */
-    private static Thread[] buildThreadArray(Runnable runnable,int threadCount){
+    private static Thread[] buildThreadArray(Runnable runnable,int threadCount,boolean useVirtualThread){
         Thread[] threads = new Thread[threadCount];
         for (int i = 0; i < threadCount; ++i){
-            threads[i] = new Thread(runnable);
+            threads[i] = useVirtualThread ? VirtualThreadSupport.newThread(null, runnable, "VirtualThread-" + i) : new Thread(runnable);
         }
         return threads;
     }
 
+    /**
+     * 当前运行的 jdk 是否支持虚拟线程(jdk21+).
+     * 
+     * <p>
+     * 本项目基于 jdk7 编译,在运行时通过反射探测 <code>Thread.ofVirtual()</code>,结果会被缓存.
+     * </p>
+     *
+     * @return 如果支持返回true
+     * @since 1.10.6
+     */
+    public static boolean isVirtualThreadSupported(){
+        return VirtualThreadSupport.isSupported();
+    }
+
     //---------------------------------------------------------------
 
     /**
@@ -258,7 +328,7 @@ public final class ThreadUtil{
      * <blockquote>
      * 线程是稀缺资源，如果无限制的创建，不仅会消耗系统资源，还会降低系统的稳定性;<br>
      * 需要注意合理的评估<code>list</code> 的大小和<code>eachSize</code> 比率;<br>
-     * 不建议<code>list</code> size很大,比如 20W,而<code>eachSize</code>值很小,比如2 ,那么会开启20W/2=10W个线程;此时建议考虑 线程池的实现方案
+     * 不建议<code>list</code> size很大,比如 20W,而<code>eachSize</code>值很小,比如2 ,那么会开启20W/2=10W个线程;此时建议使用线程池的实现方案,参见 {@link #execute(List, int, Map, PartitionRunnableBuilder, int)} 或者 {@link #execute(List, int, Map, PartitionRunnableBuilder, ExecutorService)}
      * </blockquote>
      * 
      * <h3>对于参数 paramsMap 的使用:</h3>
@@ -376,6 +446,77 @@ public final class ThreadUtil{
      *            每个线程做的事情,不能为null
      */
     public static <T> void execute(List<T> list,int eachSize,Map<String, ?> paramsMap,PartitionRunnableBuilder<T> partitionRunnableBuilder){
+        executeInThreads(list, eachSize, paramsMap, partitionRunnableBuilder, false);
+    }
+
+    /**
+     * 给定一个待解析的 <code>list</code>,设定每个线程执行多少条 <code>eachSize</code>,传入一些额外的参数 <code>paramsMap</code>,使用自定义的
+     * <code>partitionRunnableBuilder</code>,自动<span style="color:green">构造多条虚拟线程</span>并运行.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>和 {@link #execute(List, int, Map, PartitionRunnableBuilder)} 的分组方式,线程名称以及 {@link PartitionThreadEntity} 参数完全一致,区别在于每组使用一个虚拟线程(jdk21+)执行</li>
+     * <li>虚拟线程阻塞的时候不占用平台线程,内存占用也很小,适合 <code>partitionRunnableBuilder</code> 主要是 http/数据库调用这类 IO 密集的任务,可以同时运行上万组</li>
+     * <li>虚拟线程不支持自定义 {@link ThreadGroup},因此不会创建 {@link #buildThreadGroupName(List, PartitionRunnableBuilder)} 线程组</li>
+     * <li>运行时自动探测,如果当前 jdk 不支持虚拟线程(参见 {@link #isVirtualThreadSupported()}),那么退化成
+     * {@link #execute(List, int, Map, PartitionRunnableBuilder)} 使用平台线程执行</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>异常:</h3>
+     * <blockquote>
+     * <p>
+     * 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>list</code> 是empty,抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>partitionRunnableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 {@code eachSize<=0},抛出 {@link IllegalArgumentException}<br>
+     * </p>
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            执行解析的list,不能为null或者empty
+     * @param eachSize
+     *            每个线程执行多少个对象,必须{@code >}0
+     * @param paramsMap
+     *            自定义的相关参数,如果不需要,那么此处可以传入null
+     * @param partitionRunnableBuilder
+     *            每个线程做的事情,不能为null
+     * @since 1.10.6
+     */
+    public static <T> void executeInVirtualThread(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder){
+        executeInThreads(list, eachSize, paramsMap, partitionRunnableBuilder, true);
+    }
+
+    /**
+     * 给定一个待解析的 <code>list</code>,自动构造多条线程并运行.
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param eachSize
+     *            the each size
+     * @param paramsMap
+     *            the params map
+     * @param partitionRunnableBuilder
+     *            the partition runnable builder
+     * @param useVirtualThread
+     *            是否使用虚拟线程(如果支持的话)
+     * @since 1.10.6
+     */
+    private static <T> void executeInThreads(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder,
+                    boolean useVirtualThread){
         Validate.notEmpty(list, "list can't be null/empty!");
         Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
 
@@ -391,7 +532,7 @@ public final class ThreadUtil{
         //---------------------------------------------------------------
 
         //1. 自动构造需要启动的线程数组
-        Thread[] threads = buildThreadArray(list, eachSize, paramsMap, partitionRunnableBuilder);
+        Thread[] threads = buildThreadArray(list, eachSize, paramsMap, partitionRunnableBuilder, useVirtualThread);
 
         //2. start 并且 join
         startAndJoin(threads);
@@ -404,106 +545,851 @@ public final class ThreadUtil{
     }
 
     /**
-     * Builds the thread array.
+     * 给定一个待解析的 <code>list</code>,传入一些额外的参数 <code>paramsMap</code>,使用自定义的 <code>partitionRunnableBuilder</code>,
+     * <span style="color:green">自动决定每组的大小</span>并使用多线程运行.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>不需要调用方估算 eachSize,使用 {@link Runtime#availableProcessors()} 个线程的 {@link ForkJoinPool} 执行</li>
+     * <li>执行的线程只要发现有线程空闲(工作窃取队列中没有多余的任务),就会把自己剩下的数据对半拆分出去,由空闲的线程窃取执行,
+     * 直到每组不小于 list size/(availableProcessors*16),因此执行慢的组不会拖慢整体</li>
+     * <li>每组的大小不固定,{@link PartitionThreadEntity#getEachSize()} 是最小的分组大小,{@link PartitionThreadEntity#getBatchNumber()}
+     * 是执行的先后序号;<span style="color:red">不能</span>使用 batchNumber * eachSize 计算元素在 list 中的索引,请使用
+     * {@link PartitionThreadEntity#getFromIndex()}</li>
+     * <li>某一组抛出异常,不会影响其他组的执行,异常会以 error 级别记录日志</li>
+     * <li>适合计算密集型的任务;如果是大量阻塞的 IO 任务,建议使用 {@link #executeInVirtualThread(List, int, Map, PartitionRunnableBuilder)}</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * ThreadUtil.execute(list, paramsMap, new PartitionRunnableBuilder{@code <Integer>}(){
+     * 
+     *     &#64;Override
+     *     public Runnable build(final List{@code <Integer>} perBatchList,final PartitionThreadEntity partitionThreadEntity,Map{@code <String, ?>} paramsMap){
+     *         return new Runnable(){
+     * 
+     *             &#64;Override
+     *             public void run(){
+     *                 int indexInTotalList = partitionThreadEntity.getFromIndex();
+     *                 for (Integer integer : perBatchList){
+     *                     <span style="color:green">//do something with indexInTotalList++</span>
+     *                 }
+     *             }
+     *         };
+     *     }
+     * });
+     * </pre>
+     * 
+     * </blockquote>
      * 
+     * <h3>异常:</h3>
+     * <blockquote>
      * <p>
-     * 调用 {@link ListUtils#partition(List, int)} 对list 分成N份,对应的创建N份线程,每个线程的 名字 参见 {@link #buildThreadName(int, PartitionRunnableBuilder)}
+     * 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>list</code> 是empty,抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>partitionRunnableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
      * </p>
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            执行解析的list,不能为null或者empty
+     * @param paramsMap
+     *            自定义的相关参数,如果不需要,那么此处可以传入null
+     * @param partitionRunnableBuilder
+     *            每组做的事情,不能为null
+     * @since 1.10.6
+     */
+    public static <T> void execute(List<T> list,Map<String, ?> paramsMap,PartitionRunnableBuilder<T> partitionRunnableBuilder){
+        Validate.notEmpty(list, "list can't be null/empty!");
+        Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        //最小的分组大小,每个线程最多大约拆分成16组,避免组太小,调度开销大于执行时间
+        int minEachSize = Math.max(1, list.size() / (parallelism << 4));
+
+        //-----------------------------------------------------------------------------------------------
+        if (LOGGER.isInfoEnabled()){
+            LOGGER.info(
+                            "begin [{}],list size:[{}],parallelism:[{}],minEachSize:[{}]",
+                            getName(partitionRunnableBuilder),
+                            list.size(),
+                            parallelism,
+                            minEachSize);
+        }
+
+        Date beginDate = new Date();
+
+        //---------------------------------------------------------------
+
+        AdaptivePartitionTask<T> adaptivePartitionTask = new AdaptivePartitionTask<>(
+                        new AdaptivePartitionContext<>(list, minEachSize, paramsMap, partitionRunnableBuilder),
+                        0,
+                        list.size());
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        try{
+            forkJoinPool.invoke(adaptivePartitionTask);
+        }finally{
+            forkJoinPool.shutdown();
+        }
+
+        //---------------------------------------------------------------
+
+        if (LOGGER.isInfoEnabled()){
+            LOGGER.info("end [{}],use time:[{}]", getName(partitionRunnableBuilder), formatDuration(beginDate));
+        }
+    }
+
+    /**
+     * 给定一个待解析的 <code>list</code>,设定每组执行多少条 <code>eachSize</code>,传入一些额外的参数 <code>paramsMap</code>,使用自定义的
+     * <code>partitionRunnableBuilder</code>,将每组任务<span style="color:green">提交到指定的线程池 <code>executorService</code></span>执行,并等待全部执行完成.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>和 {@link #execute(List, int, Map, PartitionRunnableBuilder)} 的分组方式以及 {@link PartitionThreadEntity} 参数完全一致,区别在于不会每组新建一个线程,
+     * 同时执行的线程数量由 <code>executorService</code> 控制,因此 <code>list</code> 很大而 <code>eachSize</code> 很小的时候也不会耗尽系统资源</li>
+     * <li><code>executorService</code> 由调用方管理,此方法执行完成之后<span style="color:red">不会</span>关闭 <code>executorService</code>,因此可以在多次调用之间共享</li>
+     * <li>某一组任务抛出异常,不会影响其他组的执行,异常会以 error 级别记录日志(和 {@link #execute(List, int, Map, PartitionRunnableBuilder)}
+     * 中线程异常退出的表现一致)</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * ExecutorService executorService = Executors.newFixedThreadPool(16);
+     * 
+     * <span style="color:green">//10W条数据,每组100条,一共1000组,但是最多只有16个线程同时执行</span>
+     * ThreadUtil.execute(list, 100, paramsMap, partitionRunnableBuilder, executorService);
+     * </pre>
+     * 
+     * </blockquote>
      * 
+     * <h3>异常:</h3>
+     * <blockquote>
      * <p>
-     * 会自动创建 ThreadGroup,线程组名字参见 {@link #buildThreadGroupName(List, PartitionRunnableBuilder)}, <br>
-     * 所有新建的线程将归属到该 线程组,你可以在自定义的partitionRunnableBuilder中监控或者管理 该ThreadGroup
+     * 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>list</code> 是empty,抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>partitionRunnableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 {@code eachSize<=0},抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>executorService</code> 是null,抛出 {@link NullPointerException}<br>
      * </p>
+     * </blockquote>
      *
      * @param <T>
      *            the generic type
      * @param list
-     *            the list
+     *            执行解析的list, 比如 100000个 User,不能为null或者empty
      * @param eachSize
-     *            the per size
+     *            每组执行多少个对象,必须{@code >}0
      * @param paramsMap
-     *            the params map
+     *            自定义的相关参数,该参数目的是你可以在自定义的 <code>partitionRunnableBuilder</code>中使用;<br>
+     *            如果你传入的<code>partitionRunnableBuilder</code>中不需要额外的自定义参数,那么此处可以传入null
      * @param partitionRunnableBuilder
-     *            the group runnable builder
-     * @return the thread[]
+     *            每组做的事情,不能为null
+     * @param executorService
+     *            执行任务的线程池,不能为null
+     * @since 1.10.6
      */
-    private static <T> Thread[] buildThreadArray(
+    public static <T> void execute(
                     List<T> list,
                     int eachSize,
                     Map<String, ?> paramsMap,
-                    PartitionRunnableBuilder<T> partitionRunnableBuilder){
-
-        //使用group进行管理  
-        ThreadGroup threadGroup = new ThreadGroup(buildThreadGroupName(list, partitionRunnableBuilder));
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder,
+                    ExecutorService executorService){
+        Validate.notEmpty(list, "list can't be null/empty!");
+        Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
+        Validate.isTrue(eachSize > 0, "eachSize must > 0");
+        Validate.notNull(executorService, "executorService can't be null!");
 
-        //将 list 分成 N 份
-        List<List<T>> groupList = ListUtils.partition(list, eachSize);
+        //-----------------------------------------------------------------------------------------------
+        if (LOGGER.isInfoEnabled()){
+            LOGGER.info("begin [{}],list size:[{}],eachSize:[{}]", getName(partitionRunnableBuilder), list.size(), eachSize);
+        }
 
-        //-------------------------------------------------------------------
-        int i = 0;
-        Thread[] threads = new Thread[groupList.size()];
-        for (List<T> perBatchList : groupList){
-            String threadName = buildThreadName(i, partitionRunnableBuilder);
+        Date beginDate = new Date();
 
-            PartitionThreadEntity partitionThreadEntity = new PartitionThreadEntity(
-                            threadName,
-                            list.size(),
-                            eachSize,
-                            i,
-                            perBatchList.size());
+        //---------------------------------------------------------------
 
-            Runnable runnable = partitionRunnableBuilder.build(perBatchList, partitionThreadEntity, paramsMap);
-            threads[i] = new Thread(threadGroup, runnable, threadName);
-            i++;
-        }
+        List<Runnable> runnableList = buildRunnableList(list, eachSize, paramsMap, partitionRunnableBuilder);
+        submitAndWait(runnableList, executorService);
 
         //---------------------------------------------------------------
 
-        LOGGER.info("total list size:[{}],build [{}] threads,perSize:[{}]", list.size(), threads.length, eachSize);
-        return threads;
+        if (LOGGER.isInfoEnabled()){
+            LOGGER.info("end [{}],use time:[{}]", getName(partitionRunnableBuilder), formatDuration(beginDate));
+        }
     }
 
     /**
-     * 构建线程组名称.
+     * 给定一个待解析的 <code>list</code>,设定每组执行多少条 <code>eachSize</code>,传入一些额外的参数 <code>paramsMap</code>,使用自定义的
+     * <code>partitionRunnableBuilder</code>,使用<span style="color:green">最多 <code>poolSize</code> 个线程的线程池</span>执行,并等待全部执行完成.
      * 
-     * <h3>格式:</h3>
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>线程数量是 <code>poolSize</code> 和分组数量的较小值,线程名称格式是 "Thread-partitionRunnableBuilder 实现类名称-pool-序号"</li>
+     * <li>线程池在此方法内部创建,执行完成之后自动关闭;如果需要在多次调用之间共享线程池,请使用
+     * {@link #execute(List, int, Map, PartitionRunnableBuilder, ExecutorService)}</li>
+     * <li>通常 <code>poolSize</code> 可以设置为 {@link Runtime#availableProcessors()} (计算密集型) 或者它的若干倍 (IO 密集型)</li>
+     * </ol>
+     * </blockquote>
      * 
+     * <h3>异常:</h3>
      * <blockquote>
-     * "ThreadGroup-partitionRunnableBuilder 实现类名称-list size"
+     * <p>
+     * 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>list</code> 是empty,抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>partitionRunnableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 {@code eachSize<=0},抛出 {@link IllegalArgumentException}<br>
+     * 如果 {@code poolSize<=0},抛出 {@link IllegalArgumentException}<br>
+     * </p>
      * </blockquote>
      *
      * @param <T>
      *            the generic type
      * @param list
-     *            the list
+     *            执行解析的list, 比如 100000个 User,不能为null或者empty
+     * @param eachSize
+     *            每组执行多少个对象,必须{@code >}0
+     * @param paramsMap
+     *            自定义的相关参数,该参数目的是你可以在自定义的 <code>partitionRunnableBuilder</code>中使用;<br>
+     *            如果你传入的<code>partitionRunnableBuilder</code>中不需要额外的自定义参数,那么此处可以传入null
      * @param partitionRunnableBuilder
-     *            the group runnable builder
-     * @return the string
+     *            每组做的事情,不能为null
+     * @param poolSize
+     *            最多同时执行的线程数量,必须{@code >}0
+     * @since 1.10.6
      */
-    private static <T> String buildThreadGroupName(List<T> list,PartitionRunnableBuilder<T> partitionRunnableBuilder){
+    public static <T> void execute(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder,
+                    int poolSize){
+        Validate.notEmpty(list, "list can't be null/empty!");
         Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
-        return Slf4jUtil.format("ThreadGroup-{}-{}", getName(partitionRunnableBuilder), list.size());
+        Validate.isTrue(eachSize > 0, "eachSize must > 0");
+        Validate.isTrue(poolSize > 0, "poolSize must > 0");
+
+        //分组数量比 poolSize 少的时候,没有必要创建那么多线程
+        int partitionCount = (list.size() + eachSize - 1) / eachSize;
+        ExecutorService executorService = Executors.newFixedThreadPool(
+                        Math.min(poolSize, partitionCount),
+                        new PartitionThreadFactory(getName(partitionRunnableBuilder)));
+        try{
+            execute(list, eachSize, paramsMap, partitionRunnableBuilder, executorService);
+        }finally{
+            executorService.shutdown();
+        }
     }
 
     /**
-     * 构建线程名称.
-     * 
-     * <h3>格式:</h3>
+     * 给定一个待解析的 <code>list</code>,设定每组执行多少条 <code>eachSize</code>,使用自定义的 <code>partitionCallableBuilder</code>,
+     * 将每组任务提交到 <code>executorService</code>,<span style="color:green">返回每组执行结果的 {@link Future}</span>.
      * 
+     * <h3>说明:</h3>
      * <blockquote>
-     * "Thread-partitionRunnableBuilder 实现类名称-{@link com.feilong.core.lang.PartitionThreadEntity#getBatchNumber() batchNumber}"
+     * <ol>
+     * <li>此方法提交之后立即返回,不会等待执行完成</li>
+     * <li>返回的 list 按照 {@link PartitionThreadEntity#getBatchNumber() batchNumber} 排序,也就是第 i 个元素是第 i 组的执行结果</li>
+     * <li>如果需要等待全部执行完成并合并结果,请使用
+     * {@link #executeAndReduce(List, int, Map, PartitionCallableBuilder, ExecutorService, Object, PartitionResultReducer)}</li>
+     * </ol>
      * </blockquote>
      * 
-     * <h3>作用:</h3>
+     * <h3>异常:</h3>
+     * <blockquote>
+     * <p>
+     * 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>list</code> 是empty,抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>partitionCallableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 {@code eachSize<=0},抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>executorService</code> 是null,抛出 {@link NullPointerException}<br>
+     * </p>
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param <R>
+     *            每组执行结果的类型
+     * @param list
+     *            执行解析的list,不能为null或者empty
+     * @param eachSize
+     *            每组执行多少个对象,必须{@code >}0
+     * @param paramsMap
+     *            自定义的相关参数,如果不需要,那么此处可以传入null
+     * @param partitionCallableBuilder
+     *            每组做的事情,不能为null
+     * @param executorService
+     *            执行任务的线程池,不能为null,此方法不会关闭它
+     * @return 每组执行结果的 {@link Future},按照 batchNumber 排序
+     * @since 1.10.6
+     */
+    public static <T, R> List<Future<R>> submit(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionCallableBuilder<T, R> partitionCallableBuilder,
+                    ExecutorService executorService){
+        validate(list, eachSize, partitionCallableBuilder, executorService);
+
+        List<Callable<R>> callableList = buildCallableList(list, eachSize, paramsMap, partitionCallableBuilder);
+
+        List<Future<R>> futureList = new ArrayList<>(callableList.size());
+        for (Callable<R> callable : callableList){
+            futureList.add(executorService.submit(callable));
+        }
+        return futureList;
+    }
+
+    /**
+     * 给定一个待解析的 <code>list</code>,设定每组执行多少条 <code>eachSize</code>,使用自定义的 <code>partitionCallableBuilder</code>,
+     * 将每组任务提交到 <code>executorService</code>,等待全部执行完成,并<span style="color:green">使用 <code>partitionResultReducer</code>
+     * 按照 batchNumber 的顺序合并每组的执行结果</span>.
      * 
+     * <h3>说明:</h3>
      * <blockquote>
+     * <ol>
+     * <li>每组执行完成之后,它的执行结果就会被合并 (只要比它 batchNumber 小的组都已经合并了),不需要等待全部执行完成再合并</li>
+     * <li>合并只在调用方线程中进行,<code>partitionResultReducer</code> 不需要加锁,也不需要 {@link java.util.Collections#synchronizedSortedMap(java.util.SortedMap)}
+     * 这类同步集合</li>
+     * <li><b>fail-fast:</b> 任何一组抛出异常,会立即取消(中断)其他还没有完成的组,并抛出 {@link PartitionExecutionException},
+     * 它的 {@link PartitionExecutionException#getBatchNumber()} 是失败的那一组,cause 是该组抛出的原始异常</li>
+     * <li>如果 <code>partitionResultReducer</code> 抛出异常,同样会取消其他还没有完成的组,异常原样抛出</li>
+     * </ol>
+     * </blockquote>
      * 
-     * <ul>
-     * <li>一来便于管理, 可以使用相关代码来获得线程;</li>
-     * <li>二来常用于日志显示, 比如, 如果是 log4j 的配置文件,如果 ConversionPattern
+     * <h3>示例:</h3>
      * 
-     * <pre>
-     * {@code 
+     * <blockquote>
+     * 
+     * <p>
+     * <b>场景:</b> 同步库存,统计每条数据的执行结果
+     * </p>
+     * 
+     * <pre class="code">
+     * Map{@code <Integer, Boolean>} indexAndResultMap = ThreadUtil.executeAndReduce(
+     *                 list,
+     *                 100,
+     *                 null,
+     *                 new PartitionCallableBuilder{@code <Integer, List<Boolean>>}(){
+     * 
+     *                     &#64;Override
+     *                     public Callable{@code <List<Boolean>>} build(final List{@code <Integer>} perBatchList,PartitionThreadEntity partitionThreadEntity,Map{@code <String, ?>} paramsMap){
+     *                         return new Callable{@code <List<Boolean>>}(){
+     * 
+     *                             &#64;Override
+     *                             public List{@code <Boolean>} call(){
+     *                                 <span style="color:green">//每组返回自己的执行结果,不需要共享的同步集合</span>
+     *                                 ...
+     *                             }
+     *                         };
+     *                     }
+     *                 },
+     *                 executorService,
+     *                 new LinkedHashMap{@code <Integer, Boolean>}(),
+     *                 new PartitionResultReducer{@code <List<Boolean>, Map<Integer, Boolean>>}(){
+     * 
+     *                     &#64;Override
+     *                     public Map{@code <Integer, Boolean>} reduce(Map{@code <Integer, Boolean>} accumulator,List{@code <Boolean>} partitionResult,PartitionThreadEntity partitionThreadEntity){
+     *                         int i = partitionThreadEntity.getBatchNumber() * partitionThreadEntity.getEachSize();
+     *                         for (Boolean result : partitionResult){
+     *                             accumulator.put(i++, result);
+     *                         }
+     *                         return accumulator;
+     *                     }
+     *                 });
+     * </pre>
+     * 
+     * </blockquote>
+     * 
+     * <h3>异常:</h3>
+     * <blockquote>
+     * <p>
+     * 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>list</code> 是empty,抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>partitionCallableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 {@code eachSize<=0},抛出 {@link IllegalArgumentException}<br>
+     * 如果 <code>executorService</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果 <code>partitionResultReducer</code> 是null,抛出 {@link NullPointerException}<br>
+     * 如果某一组执行失败,或者等待的时候当前线程被中断,抛出 {@link PartitionExecutionException}<br>
+     * </p>
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param <R>
+     *            每组执行结果的类型
+     * @param <V>
+     *            合并结果的类型
+     * @param list
+     *            执行解析的list,不能为null或者empty
+     * @param eachSize
+     *            每组执行多少个对象,必须{@code >}0
+     * @param paramsMap
+     *            自定义的相关参数,如果不需要,那么此处可以传入null
+     * @param partitionCallableBuilder
+     *            每组做的事情,不能为null
+     * @param executorService
+     *            执行任务的线程池,不能为null,此方法不会关闭它
+     * @param initialValue
+     *            合并的初始值,可以是null
+     * @param partitionResultReducer
+     *            合并每组执行结果的归约器,不能为null
+     * @return 全部合并之后的结果
+     * @since 1.10.6
+     */
+    public static <T, R, V> V executeAndReduce(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionCallableBuilder<T, R> partitionCallableBuilder,
+                    ExecutorService executorService,
+                    V initialValue,
+                    PartitionResultReducer<R, V> partitionResultReducer){
+        validate(list, eachSize, partitionCallableBuilder, executorService);
+        Validate.notNull(partitionResultReducer, "partitionResultReducer can't be null!");
+
+        //-----------------------------------------------------------------------------------------------
+        if (LOGGER.isInfoEnabled()){
+            LOGGER.info("begin [{}],list size:[{}],eachSize:[{}]", getName(partitionCallableBuilder), list.size(), eachSize);
+        }
+
+        Date beginDate = new Date();
+
+        //---------------------------------------------------------------
+
+        List<Callable<R>> callableList = buildCallableList(list, eachSize, paramsMap, partitionCallableBuilder);
+        int partitionCount = callableList.size();
+
+        //按照完成的先后顺序获取结果,这样任何一组失败都能立即发现
+        CompletionService<R> completionService = new ExecutorCompletionService<>(executorService);
+        List<Future<R>> futureList = new ArrayList<>(partitionCount);
+        Map<Future<R>, Integer> futureAndBatchNumberMap = new IdentityHashMap<>(partitionCount);
+        for (int i = 0; i < partitionCount; ++i){
+            Future<R> future = completionService.submit(callableList.get(i));
+            futureList.add(future);
+            futureAndBatchNumberMap.put(future, i);
+        }
+
+        //---------------------------------------------------------------
+
+        //以下变量只在调用方线程中读写,不需要同步
+        Object[] results = new Object[partitionCount];
+        boolean[] completeFlags = new boolean[partitionCount];
+        int nextReduceBatchNumber = 0;
+        V accumulator = initialValue;
+        boolean success = false;
+        try{
+            for (int completeCount = 0; completeCount < partitionCount; ++completeCount){
+                Future<R> future = completionService.take();
+                int batchNumber = futureAndBatchNumberMap.get(future);
+                try{
+                    results[batchNumber] = future.get();
+                }catch (ExecutionException e){
+                    throw new PartitionExecutionException(
+                                    Slf4jUtil.format("batchNumber:[{}] execute error", batchNumber),
+                                    batchNumber,
+                                    e.getCause());
+                }
+                completeFlags[batchNumber] = true;
+
+                //按照 batchNumber 的顺序,合并已经完成的连续的组
+                for (; nextReduceBatchNumber < partitionCount && completeFlags[nextReduceBatchNumber]; ++nextReduceBatchNumber){
+                    @SuppressWarnings("unchecked")
+                    R result = (R) results[nextReduceBatchNumber];
+                    results[nextReduceBatchNumber] = null;//尽早释放
+                    int currentListSize = Math.min(eachSize, list.size() - nextReduceBatchNumber * eachSize);
+                    accumulator = partitionResultReducer.reduce(
+                                    accumulator,
+                                    result,
+                                    buildPartitionThreadEntity(list, eachSize, nextReduceBatchNumber, currentListSize, partitionCallableBuilder));
+                }
+            }
+            success = true;
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new PartitionExecutionException(
+                            Slf4jUtil.format("interrupted while waiting batchNumber:[{}]", nextReduceBatchNumber),
+                            nextReduceBatchNumber,
+                            e);
+        }finally{
+            //任何一组失败, reduce 抛出异常, 或者被中断, 都取消剩下的组
+            if (!success){
+                cancel(futureList);
+            }
+        }
+
+        //---------------------------------------------------------------
+
+        if (LOGGER.isInfoEnabled()){
+            LOGGER.info("end [{}],use time:[{}]", getName(partitionCallableBuilder), formatDuration(beginDate));
+        }
+        return accumulator;
+    }
+
+    /**
+     * 调用 {@link ListUtils#partition(List, int)} 对list 分成N份,对应的使用 <code>partitionCallableBuilder</code> 构造N个 {@link Callable}.
+     *
+     * @param <T>
+     *            the generic type
+     * @param <R>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param eachSize
+     *            the each size
+     * @param paramsMap
+     *            the params map
+     * @param partitionCallableBuilder
+     *            the partition callable builder
+     * @return the list
+     * @since 1.10.6
+     */
+    private static <T, R> List<Callable<R>> buildCallableList(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionCallableBuilder<T, R> partitionCallableBuilder){
+        List<List<T>> groupList = ListUtils.partition(list, eachSize);
+
+        List<Callable<R>> callableList = new ArrayList<>(groupList.size());
+        for (int i = 0; i < groupList.size(); ++i){
+            List<T> perBatchList = groupList.get(i);
+            PartitionThreadEntity partitionThreadEntity = buildPartitionThreadEntity(list, eachSize, i, perBatchList.size(), partitionCallableBuilder);
+            callableList.add(partitionCallableBuilder.build(perBatchList, partitionThreadEntity, paramsMap));
+        }
+        return callableList;
+    }
+
+    /**
+     * 校验 {@link PartitionCallableBuilder} 相关方法的参数.
+     *
+     * @param <T>
+     *            the generic type
+     * @param <R>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param eachSize
+     *            the each size
+     * @param partitionCallableBuilder
+     *            the partition callable builder
+     * @param executorService
+     *            the executor service
+     * @since 1.10.6
+     */
+    private static <T, R> void validate(
+                    List<T> list,
+                    int eachSize,
+                    PartitionCallableBuilder<T, R> partitionCallableBuilder,
+                    ExecutorService executorService){
+        Validate.notEmpty(list, "list can't be null/empty!");
+        Validate.notNull(partitionCallableBuilder, "partitionCallableBuilder can't be null!");
+        Validate.isTrue(eachSize > 0, "eachSize must > 0");
+        Validate.notNull(executorService, "executorService can't be null!");
+    }
+
+    /**
+     * 取消(中断) <code>futureList</code> 中还没有完成的任务.
+     *
+     * @param <R>
+     *            the generic type
+     * @param futureList
+     *            the future list
+     * @since 1.10.6
+     */
+    private static <R> void cancel(List<Future<R>> futureList){
+        for (Future<R> future : futureList){
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 给 <code>partitionRunnableBuilder</code> 挂载监听器 <code>partitionListener</code>,返回新的 {@link PartitionRunnableBuilder}.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>返回的 builder 构造的每个 {@link Runnable},执行前会调用 {@link PartitionListener#onStart(PartitionThreadEntity)},
+     * 执行成功调用 {@link PartitionListener#onFinish(PartitionThreadEntity, long)},抛出异常调用
+     * {@link PartitionListener#onFail(PartitionThreadEntity, long, Throwable)} (异常会继续抛出)</li>
+     * <li>返回的 builder 可以用于所有接收 {@link PartitionRunnableBuilder} 的方法,线程名称仍然使用 <code>partitionRunnableBuilder</code> 的类名</li>
+     * <li>内置的 {@link PartitionHistogramCollector} 可以统计耗时直方图,吞吐量以及最慢的组,方便调整 eachSize</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * PartitionHistogramCollector collector = new PartitionHistogramCollector();
+     * ThreadUtil.execute(list, 100, paramsMap, ThreadUtil.withListener(partitionRunnableBuilder, collector), 16);
+     * 
+     * LOGGER.info(collector.toString());
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param partitionRunnableBuilder
+     *            the partition runnable builder
+     * @param partitionListener
+     *            the partition listener
+     * @return 如果 <code>partitionRunnableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>partitionListener</code> 是null,抛出 {@link NullPointerException}<br>
+     * @since 1.10.6
+     */
+    public static <T> PartitionRunnableBuilder<T> withListener(
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder,
+                    PartitionListener partitionListener){
+        Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
+        Validate.notNull(partitionListener, "partitionListener can't be null!");
+        return new ListenablePartitionRunnableBuilder<>(partitionRunnableBuilder, partitionListener);
+    }
+
+    /**
+     * 给 <code>partitionCallableBuilder</code> 挂载监听器 <code>partitionListener</code>,返回新的 {@link PartitionCallableBuilder}.
+     * 
+     * <p>
+     * 规则同 {@link #withListener(PartitionRunnableBuilder, PartitionListener)};
+     * 方法名和它区分开,避免 lambda 或者方法引用的时候重载有歧义.
+     * </p>
+     *
+     * @param <T>
+     *            the generic type
+     * @param <R>
+     *            每组执行结果的类型
+     * @param partitionCallableBuilder
+     *            the partition callable builder
+     * @param partitionListener
+     *            the partition listener
+     * @return 如果 <code>partitionCallableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>partitionListener</code> 是null,抛出 {@link NullPointerException}<br>
+     * @since 1.10.6
+     */
+    public static <T, R> PartitionCallableBuilder<T, R> withCallableListener(
+                    PartitionCallableBuilder<T, R> partitionCallableBuilder,
+                    PartitionListener partitionListener){
+        Validate.notNull(partitionCallableBuilder, "partitionCallableBuilder can't be null!");
+        Validate.notNull(partitionListener, "partitionListener can't be null!");
+        return new ListenablePartitionCallableBuilder<>(partitionCallableBuilder, partitionListener);
+    }
+
+    /**
+     * 将 <code>runnableList</code> 全部提交到 <code>executorService</code>,并等待全部执行完成.
+     * 
+     * <p>
+     * 某个任务抛出的异常只记录日志,不影响其他任务;如果等待的时候当前线程被中断,那么取消还没有执行完的任务,并且恢复中断状态.
+     * </p>
+     *
+     * @param runnableList
+     *            the runnable list
+     * @param executorService
+     *            the executor service
+     * @since 1.10.6
+     */
+    private static void submitAndWait(List<Runnable> runnableList,ExecutorService executorService){
+        List<Future<?>> futureList = new ArrayList<>(runnableList.size());
+        for (Runnable runnable : runnableList){
+            futureList.add(executorService.submit(runnable));
+        }
+
+        //---------------------------------------------------------------
+
+        int i = 0;
+        try{
+            for (; i < futureList.size(); ++i){
+                try{
+                    futureList.get(i).get();
+                }catch (ExecutionException e){
+                    LOGGER.error(Slf4jUtil.format("batchNumber:[{}] execute error", i), e.getCause());
+                }
+            }
+        }catch (InterruptedException e){
+            LOGGER.error("", e);
+            for (; i < futureList.size(); ++i){
+                futureList.get(i).cancel(true);
+            }
+            // clean up state...
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builds the thread array.
+     * 
+     * <p>
+     * 调用 {@link ListUtils#partition(List, int)} 对list 分成N份,对应的创建N份线程,每个线程的 名字 参见 {@link #buildThreadName(int, Object)}
+     * </p>
+     * 
+     * <p>
+     * 会自动创建 ThreadGroup,线程组名字参见 {@link #buildThreadGroupName(List, PartitionRunnableBuilder)}, <br>
+     * 所有新建的线程将归属到该 线程组,你可以在自定义的partitionRunnableBuilder中监控或者管理 该ThreadGroup<br>
+     * 使用虚拟线程的时候不会创建 ThreadGroup
+     * </p>
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param eachSize
+     *            the per size
+     * @param paramsMap
+     *            the params map
+     * @param partitionRunnableBuilder
+     *            the group runnable builder
+     * @param useVirtualThread
+     *            是否使用虚拟线程(如果支持的话),虚拟线程不归属自定义的线程组
+     * @return the thread[]
+     */
+    private static <T> Thread[] buildThreadArray(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder,
+                    boolean useVirtualThread){
+
+        //虚拟线程不归属自定义的线程组,只有退化成平台线程的时候才需要创建
+        boolean virtual = useVirtualThread && VirtualThreadSupport.isSupported();
+
+        //使用group进行管理  
+        ThreadGroup threadGroup = virtual ? null : new ThreadGroup(buildThreadGroupName(list, partitionRunnableBuilder));
+
+        List<Runnable> runnableList = buildRunnableList(list, eachSize, paramsMap, partitionRunnableBuilder);
+
+        //-------------------------------------------------------------------
+        Thread[] threads = new Thread[runnableList.size()];
+        for (int i = 0; i < threads.length; ++i){
+            String threadName = buildThreadName(i, partitionRunnableBuilder);
+            threads[i] = virtual ? VirtualThreadSupport.newThread(null, runnableList.get(i), threadName)
+                            : new Thread(threadGroup, runnableList.get(i), threadName);
+        }
+
+        //---------------------------------------------------------------
+
+        LOGGER.info("total list size:[{}],build [{}] threads,perSize:[{}]", list.size(), threads.length, eachSize);
+        return threads;
+    }
+
+    /**
+     * 调用 {@link ListUtils#partition(List, int)} 对list 分成N份,对应的使用 <code>partitionRunnableBuilder</code> 构造N个 {@link Runnable}.
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param eachSize
+     *            the per size
+     * @param paramsMap
+     *            the params map
+     * @param partitionRunnableBuilder
+     *            the group runnable builder
+     * @return the list
+     * @since 1.10.6
+     */
+    private static <T> List<Runnable> buildRunnableList(
+                    List<T> list,
+                    int eachSize,
+                    Map<String, ?> paramsMap,
+                    PartitionRunnableBuilder<T> partitionRunnableBuilder){
+        //将 list 分成 N 份
+        List<List<T>> groupList = ListUtils.partition(list, eachSize);
+
+        //-------------------------------------------------------------------
+        List<Runnable> runnableList = new ArrayList<>(groupList.size());
+        for (int i = 0; i < groupList.size(); ++i){
+            List<T> perBatchList = groupList.get(i);
+            PartitionThreadEntity partitionThreadEntity = buildPartitionThreadEntity(list, eachSize, i, perBatchList.size(), partitionRunnableBuilder);
+            runnableList.add(partitionRunnableBuilder.build(perBatchList, partitionThreadEntity, paramsMap));
+        }
+        return runnableList;
+    }
+
+    /**
+     * 构造第 <code>batchNumber</code> 组的 {@link PartitionThreadEntity},名字参见 {@link #buildThreadName(int, Object)}.
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param eachSize
+     *            the each size
+     * @param batchNumber
+     *            the batch number
+     * @param currentListSize
+     *            这一组的元素数量
+     * @param partitionBuilder
+     *            {@link PartitionRunnableBuilder} 或者 {@link PartitionCallableBuilder}
+     * @return the partition thread entity
+     * @since 1.10.6
+     */
+    private static <T> PartitionThreadEntity buildPartitionThreadEntity(
+                    List<T> list,
+                    int eachSize,
+                    int batchNumber,
+                    int currentListSize,
+                    Object partitionBuilder){
+        return new PartitionThreadEntity(
+                        buildThreadName(batchNumber, partitionBuilder),
+                        list.size(),
+                        eachSize,
+                        batchNumber,
+                        currentListSize);
+    }
+
+    /**
+     * 构建线程组名称.
+     * 
+     * <h3>格式:</h3>
+     * 
+     * <blockquote>
+     * "ThreadGroup-partitionRunnableBuilder 实现类名称-list size"
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param partitionRunnableBuilder
+     *            the group runnable builder
+     * @return the string
+     */
+    private static <T> String buildThreadGroupName(List<T> list,PartitionRunnableBuilder<T> partitionRunnableBuilder){
+        Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
+        return Slf4jUtil.format("ThreadGroup-{}-{}", getName(partitionRunnableBuilder), list.size());
+    }
+
+    /**
+     * 构建线程名称.
+     * 
+     * <h3>格式:</h3>
+     * 
+     * <blockquote>
+     * "Thread-partitionRunnableBuilder 实现类名称-{@link com.feilong.core.lang.PartitionThreadEntity#getBatchNumber() batchNumber}"
+     * </blockquote>
+     * 
+     * <h3>作用:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <ul>
+     * <li>一来便于管理, 可以使用相关代码来获得线程;</li>
+     * <li>二来常用于日志显示, 比如, 如果是 log4j 的配置文件,如果 ConversionPattern
+     * 
+     * <pre>
+     * {@code 
      * <param name="ConversionPattern" value="%d}{HH:mm:ss} {@code %t %-5p (%F:%L) %m%n" />
      * }
      * </pre>
@@ -540,17 +1426,15 @@ public final class ThreadUtil{
      * 
      * </blockquote>
      *
-     * @param <T>
-     *            the generic type
      * @param batchNumber
      *            the batch number
-     * @param partitionRunnableBuilder
-     *            the group runnable builder
-     * @return 如果 <code>partitionRunnableBuilder</code> 是null,抛出 {@link NullPointerException}<br>
+     * @param partitionBuilder
+     *            {@link PartitionRunnableBuilder} 或者 {@link PartitionCallableBuilder}
+     * @return 如果 <code>partitionBuilder</code> 是null,抛出 {@link NullPointerException}<br>
      */
-    private static <T> String buildThreadName(int batchNumber,PartitionRunnableBuilder<T> partitionRunnableBuilder){
-        Validate.notNull(partitionRunnableBuilder, "partitionRunnableBuilder can't be null!");
-        return Slf4jUtil.format("Thread-{}-{}", getName(partitionRunnableBuilder), batchNumber);
+    private static String buildThreadName(int batchNumber,Object partitionBuilder){
+        Validate.notNull(partitionBuilder, "partitionBuilder can't be null!");
+        return Slf4jUtil.format("Thread-{}-{}", getName(partitionBuilder), batchNumber);
     }
 
     /**
@@ -595,13 +1479,354 @@ public final class ThreadUtil{
     /**
      * Gets the name.
      *
+     * @param partitionBuilder
+     *            {@link PartitionRunnableBuilder} 或者 {@link PartitionCallableBuilder}
+     * @return the name
+     */
+    private static String getName(Object partitionBuilder){
+        //挂载了监听器的 builder,使用原始 builder 的名字
+        Object builder = partitionBuilder instanceof ListenablePartitionBuilder
+                        ? ((ListenablePartitionBuilder) partitionBuilder).getDelegate() : partitionBuilder;
+        return defaultIfNullOrEmpty(getSimpleName(builder.getClass()), builder.getClass().getName());
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 给 {@link #execute(List, int, Map, PartitionRunnableBuilder, int)} 创建的线程池使用的 {@link ThreadFactory}.
+     * 
+     * <p>
+     * 线程名称格式是 "Thread-partitionRunnableBuilder 实现类名称-pool-序号",便于日志中区分.
+     * </p>
+     *
+     * @since 1.10.6
+     */
+    private static final class PartitionThreadFactory implements ThreadFactory{
+
+        /** The thread group. */
+        private final ThreadGroup   threadGroup;
+
+        /** The name prefix. */
+        private final String        namePrefix;
+
+        /** The thread number. */
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        /**
+         * Instantiates a new partition thread factory.
+         *
+         * @param partitionRunnableBuilderName
+         *            the partition runnable builder name
+         */
+        private PartitionThreadFactory(String partitionRunnableBuilderName){
+            this.namePrefix = Slf4jUtil.format("Thread-{}-pool-", partitionRunnableBuilderName);
+            this.threadGroup = new ThreadGroup(Slf4jUtil.format("ThreadGroup-{}-pool", partitionRunnableBuilderName));
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+         */
+        @Override
+        public Thread newThread(Runnable runnable){
+            return new Thread(threadGroup, runnable, namePrefix + threadNumber.getAndIncrement());
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 挂载了 {@link PartitionListener} 的 builder.
+     *
+     * @since 1.10.6
+     */
+    private interface ListenablePartitionBuilder{
+
+        /**
+         * 原始的 builder.
+         *
+         * @return the delegate
+         */
+        Object getDelegate();
+    }
+
+    /**
+     * 挂载了 {@link PartitionListener} 的 {@link PartitionRunnableBuilder}.
+     *
      * @param <T>
      *            the generic type
-     * @param partitionRunnableBuilder
-     *            the partition runnable builder
-     * @return the name
+     * @since 1.10.6
+     */
+    private static final class ListenablePartitionRunnableBuilder<T> implements PartitionRunnableBuilder<T>,ListenablePartitionBuilder{
+
+        /** The delegate. */
+        private final PartitionRunnableBuilder<T> delegate;
+
+        /** The partition listener. */
+        private final PartitionListener           partitionListener;
+
+        /**
+         * Instantiates a new listenable partition runnable builder.
+         *
+         * @param delegate
+         *            the delegate
+         * @param partitionListener
+         *            the partition listener
+         */
+        private ListenablePartitionRunnableBuilder(PartitionRunnableBuilder<T> delegate, PartitionListener partitionListener){
+            this.delegate = delegate;
+            this.partitionListener = partitionListener;
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see com.feilong.core.lang.PartitionRunnableBuilder#build(java.util.List, com.feilong.core.lang.PartitionThreadEntity, java.util.Map)
+         */
+        @Override
+        public Runnable build(List<T> perBatchList,final PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+            final Runnable runnable = delegate.build(perBatchList, partitionThreadEntity, paramsMap);
+            return new Runnable(){
+
+                @Override
+                public void run(){
+                    partitionListener.onStart(partitionThreadEntity);
+                    long beginNanoTime = System.nanoTime();
+                    try{
+                        runnable.run();
+                    }catch (RuntimeException | Error e){
+                        partitionListener.onFail(partitionThreadEntity, System.nanoTime() - beginNanoTime, e);
+                        throw e;
+                    }
+                    partitionListener.onFinish(partitionThreadEntity, System.nanoTime() - beginNanoTime);
+                }
+            };
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see com.feilong.core.lang.ThreadUtil.ListenablePartitionBuilder#getDelegate()
+         */
+        @Override
+        public Object getDelegate(){
+            return delegate;
+        }
+    }
+
+    /**
+     * 挂载了 {@link PartitionListener} 的 {@link PartitionCallableBuilder}.
+     *
+     * @param <T>
+     *            the generic type
+     * @param <R>
+     *            the generic type
+     * @since 1.10.6
      */
-    private static <T> String getName(PartitionRunnableBuilder<T> partitionRunnableBuilder){
-        return defaultIfNullOrEmpty(getSimpleName(partitionRunnableBuilder.getClass()), partitionRunnableBuilder.getClass().getName());
+    private static final class ListenablePartitionCallableBuilder<T, R> implements PartitionCallableBuilder<T, R>,ListenablePartitionBuilder{
+
+        /** The delegate. */
+        private final PartitionCallableBuilder<T, R> delegate;
+
+        /** The partition listener. */
+        private final PartitionListener              partitionListener;
+
+        /**
+         * Instantiates a new listenable partition callable builder.
+         *
+         * @param delegate
+         *            the delegate
+         * @param partitionListener
+         *            the partition listener
+         */
+        private ListenablePartitionCallableBuilder(PartitionCallableBuilder<T, R> delegate, PartitionListener partitionListener){
+            this.delegate = delegate;
+            this.partitionListener = partitionListener;
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see com.feilong.core.lang.PartitionCallableBuilder#build(java.util.List, com.feilong.core.lang.PartitionThreadEntity, java.util.Map)
+         */
+        @Override
+        public Callable<R> build(List<T> perBatchList,final PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+            final Callable<R> callable = delegate.build(perBatchList, partitionThreadEntity, paramsMap);
+            return new Callable<R>(){
+
+                @Override
+                public R call() throws Exception{
+                    partitionListener.onStart(partitionThreadEntity);
+                    long beginNanoTime = System.nanoTime();
+                    R result;
+                    try{
+                        result = callable.call();
+                    }catch (Exception | Error e){
+                        partitionListener.onFail(partitionThreadEntity, System.nanoTime() - beginNanoTime, e);
+                        throw e;
+                    }
+                    partitionListener.onFinish(partitionThreadEntity, System.nanoTime() - beginNanoTime);
+                    return result;
+                }
+            };
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see com.feilong.core.lang.ThreadUtil.ListenablePartitionBuilder#getDelegate()
+         */
+        @Override
+        public Object getDelegate(){
+            return delegate;
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * {@link #execute(List, Map, PartitionRunnableBuilder)} 中所有任务共享的参数.
+     *
+     * @param <T>
+     *            the generic type
+     * @since 1.10.6
+     */
+    private static final class AdaptivePartitionContext<T> {
+
+        /** The list. */
+        private final List<T>                     list;
+
+        /** 最小的分组大小. */
+        private final int                         minEachSize;
+
+        /** The params map. */
+        private final Map<String, ?>              paramsMap;
+
+        /** The partition runnable builder. */
+        private final PartitionRunnableBuilder<T> partitionRunnableBuilder;
+
+        /** 下一个 batchNumber. */
+        private final AtomicInteger               batchNumberGenerator = new AtomicInteger();
+
+        /**
+         * Instantiates a new adaptive partition context.
+         *
+         * @param list
+         *            the list
+         * @param minEachSize
+         *            the min each size
+         * @param paramsMap
+         *            the params map
+         * @param partitionRunnableBuilder
+         *            the partition runnable builder
+         */
+        private AdaptivePartitionContext(List<T> list, int minEachSize, Map<String, ?> paramsMap,
+                        PartitionRunnableBuilder<T> partitionRunnableBuilder){
+            this.list = list;
+            this.minEachSize = minEachSize;
+            this.paramsMap = paramsMap;
+            this.partitionRunnableBuilder = partitionRunnableBuilder;
+        }
+    }
+
+    /**
+     * 执行 list [fromIndex,toIndex) 区间的任务,如果有空闲的线程,就把剩下的区间对半拆分出去(工作窃取).
+     *
+     * @param <T>
+     *            the generic type
+     * @since 1.10.6
+     */
+    private static final class AdaptivePartitionTask<T> extends RecursiveAction{
+
+        /** The Constant serialVersionUID. */
+        private static final long                 serialVersionUID = 1L;
+
+        /**
+         * 当前线程的队列中多余的任务数量不超过这个值的时候,认为有线程空闲,需要继续拆分.
+         * 
+         * @see java.util.concurrent.ForkJoinTask#getSurplusQueuedTaskCount()
+         */
+        private static final int                  SURPLUS_THRESHOLD = 2;
+
+        /** The context. */
+        private final AdaptivePartitionContext<T> context;
+
+        /** The from index(包含). */
+        private final int                         fromIndex;
+
+        /** The to index(不包含). */
+        private final int                         toIndex;
+
+        /**
+         * Instantiates a new adaptive partition task.
+         *
+         * @param context
+         *            the context
+         * @param fromIndex
+         *            the from index
+         * @param toIndex
+         *            the to index
+         */
+        private AdaptivePartitionTask(AdaptivePartitionContext<T> context, int fromIndex, int toIndex){
+            this.context = context;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute(){
+            int from = fromIndex;
+            int to = toIndex;
+
+            //只要还能拆分并且有线程空闲,就把后半段拆分出去
+            List<AdaptivePartitionTask<T>> forkedTaskList = new ArrayList<>();
+            while (to - from >= context.minEachSize << 1 && getSurplusQueuedTaskCount() <= SURPLUS_THRESHOLD){
+                int middle = (from + to) >>> 1;
+                AdaptivePartitionTask<T> forkedTask = new AdaptivePartitionTask<>(context, middle, to);
+                forkedTask.fork();
+                forkedTaskList.add(forkedTask);
+                to = middle;
+            }
+
+            run(from, to);
+
+            //后 fork 的先 join,和工作窃取队列的顺序一致
+            for (int i = forkedTaskList.size() - 1; i >= 0; --i){
+                forkedTaskList.get(i).join();
+            }
+        }
+
+        /**
+         * 执行 [from,to) 这一组.
+         *
+         * @param from
+         *            the from
+         * @param to
+         *            the to
+         */
+        private void run(int from,int to){
+            List<T> perBatchList = context.list.subList(from, to);
+            int batchNumber = context.batchNumberGenerator.getAndIncrement();
+
+            PartitionThreadEntity partitionThreadEntity = new PartitionThreadEntity(
+                            buildThreadName(batchNumber, context.partitionRunnableBuilder),
+                            context.list.size(),
+                            context.minEachSize,
+                            batchNumber,
+                            perBatchList.size(),
+                            from);
+            try{
+                context.partitionRunnableBuilder.build(perBatchList, partitionThreadEntity, context.paramsMap).run();
+            }catch (RuntimeException e){
+                //和每组一个线程的表现一致,某一组失败不影响其他组
+                LOGGER.error(Slf4jUtil.format("batchNumber:[{}],fromIndex:[{}] execute error", batchNumber, from), e);
+            }
+        }
     }
 }
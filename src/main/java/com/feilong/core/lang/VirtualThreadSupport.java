@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 虚拟线程(jdk21+,JEP 444)支持.
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>本项目基于 jdk7 编译,不能直接引用 <code>Thread.ofVirtual()</code>,因此在类加载的时候通过反射探测,并缓存相关的 {@link Method}</li>
+ * <li>如果当前 jdk 不支持虚拟线程,{@link #newThread(ThreadGroup, Runnable, String)} 自动退化成创建普通的平台线程</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+final class VirtualThreadSupport{
+
+    /** The Constant LOGGER. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadSupport.class);
+
+    /** <code>Thread.ofVirtual()</code>,如果不支持是null. */
+    private static final Method OF_VIRTUAL_METHOD;
+
+    /** <code>Thread.Builder.name(String)</code>,如果不支持是null. */
+    private static final Method NAME_METHOD;
+
+    /** <code>Thread.Builder.unstarted(Runnable)</code>,如果不支持是null. */
+    private static final Method UNSTARTED_METHOD;
+
+    static{
+        Method ofVirtualMethod = null;
+        Method nameMethod = null;
+        Method unstartedMethod = null;
+        try{
+            //必须使用 public 的接口 Thread.Builder 上的方法,实现类不是 public 的
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            nameMethod = builderClass.getMethod("name", String.class);
+            unstartedMethod = builderClass.getMethod("unstarted", Runnable.class);
+
+            //jdk19/20 中是预览特性,没有开启 --enable-preview 的时候调用会抛出异常
+            ofVirtualMethod.invoke(null);
+        }catch (Exception e){
+            LOGGER.debug("virtual thread not supported:[{}]", e.toString());
+            ofVirtualMethod = null;
+            nameMethod = null;
+            unstartedMethod = null;
+        }
+        OF_VIRTUAL_METHOD = ofVirtualMethod;
+        NAME_METHOD = nameMethod;
+        UNSTARTED_METHOD = unstartedMethod;
+    }
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private VirtualThreadSupport(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 当前 jdk 是否支持虚拟线程.
+     *
+     * @return 如果支持返回true
+     */
+    static boolean isSupported(){
+        return null != OF_VIRTUAL_METHOD;
+    }
+
+    /**
+     * 创建一个没有启动的线程,如果支持虚拟线程,那么创建虚拟线程,否则创建平台线程.
+     *
+     * @param threadGroup
+     *            平台线程所属的线程组,可以是null;虚拟线程不支持自定义线程组,会忽略该参数
+     * @param runnable
+     *            the runnable
+     * @param name
+     *            线程名称
+     * @return the thread
+     */
+    static Thread newThread(ThreadGroup threadGroup,Runnable runnable,String name){
+        if (!isSupported()){
+            return new Thread(threadGroup, runnable, name);
+        }
+        try{
+            Object builder = OF_VIRTUAL_METHOD.invoke(null);
+            NAME_METHOD.invoke(builder, name);
+            return (Thread) UNSTARTED_METHOD.invoke(builder, runnable);
+        }catch (InvocationTargetException e){
+            throw new IllegalStateException("create virtual thread error", e.getCause());
+        }catch (IllegalAccessException e){
+            throw new IllegalStateException("create virtual thread error", e);
+        }
+    }
+}
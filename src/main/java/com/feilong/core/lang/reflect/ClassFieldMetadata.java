@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.reflect;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.feilong.tools.slf4j.Slf4jUtil;
+
+/**
+ * 类的字段元数据,每个类只解析一次.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link FieldUtils#getAllFieldsList(Class)} 每次调用都需要遍历类的继承关系并复制全部的 {@link Field};这里每个类只解析一次,
+ * 保存全部字段(顺序和 {@link FieldUtils#getAllFieldsList(Class)} 一致)以及非静态字段</li>
+ * <li>返回的 {@link Field} 不会被设置 {@link Field#setAccessible(boolean) setAccessible};{@link #getFieldValue(Object, String)}
+ * 第一次读取某个字段的时候才解析一个私有的 {@link Field} 副本并设置 accessible,调用方修改返回的 {@link Field} 的 accessible 不会影响读取;
+ * 没有读取的字段(比如 jdk 父类的字段)也就不会因为 jdk9+ 的模块限制而抛出异常</li>
+ * <li>使用 {@link ClassValue} 缓存,元数据保存在对应的 {@link Class} 上,类被卸载(比如 web 应用重新部署,classloader 被回收)的时候元数据会一起被回收,
+ * 不会像 static map 那样持有 classloader 导致内存泄漏</li>
+ * <li>返回的 list 都是只读的</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see FieldUtils#getAllFieldsList(Class)
+ * @see FieldUtil#getAllFieldList(Class, String...)
+ * @since 1.10.6
+ */
+public final class ClassFieldMetadata{
+
+    /** The Constant LOGGER. */
+    private static final Logger                         LOGGER = LoggerFactory.getLogger(ClassFieldMetadata.class);
+
+    /** The cache. */
+    private static final ClassValue<ClassFieldMetadata> CACHE  = new ClassFieldMetadataClassValue();
+
+    //---------------------------------------------------------------
+
+    /** The klass. */
+    private final Class<?>                                                klass;
+
+    /** 全部的字段,包括父类以及静态字段,顺序和 {@link FieldUtils#getAllFieldsList(Class)} 一致. */
+    private final List<Field>                                             allFieldList;
+
+    /** 非静态字段. */
+    private final List<Field>                                             nonStaticFieldList;
+
+    /** 读取过的字段名字和私有的字段副本,同名的字段取子类的(和 {@link FieldUtils#getField(Class, String, boolean)} 一致),已经设置 accessible. */
+    private final ConcurrentMap<String, Field>                            fieldNameAndAccessibleFieldMap = new ConcurrentHashMap<>();
+
+    /** 标识了指定注解的字段,第一次使用的时候才解析. */
+    private final ConcurrentMap<Class<? extends Annotation>, List<Field>> annotationAndFieldListMap      = new ConcurrentHashMap<>();
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new class field metadata.
+     *
+     * @param klass
+     *            the klass
+     */
+    private ClassFieldMetadata(Class<?> klass){
+        this.klass = klass;
+
+        List<Field> fieldList = FieldUtils.getAllFieldsList(klass);
+        List<Field> nonStaticList = new ArrayList<>(fieldList.size());
+        for (Field field : fieldList){
+            if (!Modifier.isStatic(field.getModifiers())){
+                nonStaticList.add(field);
+            }
+        }
+
+        this.allFieldList = Collections.unmodifiableList(fieldList);
+        this.nonStaticFieldList = Collections.unmodifiableList(nonStaticList);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 <code>klass</code> 的字段元数据.
+     *
+     * @param klass
+     *            the klass
+     * @return 如果 <code>klass</code> 是null,抛出 {@link NullPointerException}
+     */
+    public static ClassFieldMetadata forClass(Class<?> klass){
+        Validate.notNull(klass, "klass can't be null!");
+        return CACHE.get(klass);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 全部的字段,包括父类以及静态字段,顺序和 {@link FieldUtils#getAllFieldsList(Class)} 一致.
+     *
+     * @return 只读的list
+     */
+    public List<Field> getAllFieldList(){
+        return allFieldList;
+    }
+
+    /**
+     * 全部的非静态字段,包括父类的.
+     *
+     * @return 只读的list
+     */
+    public List<Field> getNonStaticFieldList(){
+        return nonStaticFieldList;
+    }
+
+    /**
+     * 标识了 <code>annotationClass</code> 注解的字段(包括父类以及静态字段),和 {@link FieldUtils#getFieldsListWithAnnotation(Class, Class)} 一致.
+     *
+     * @param annotationClass
+     *            the annotation class
+     * @return 只读的list<br>
+     *         如果 <code>annotationClass</code> 是null,抛出 {@link NullPointerException}
+     */
+    public List<Field> getFieldListWithAnnotation(Class<? extends Annotation> annotationClass){
+        Validate.notNull(annotationClass, "annotationClass can't be null!");
+        List<Field> fieldList = annotationAndFieldListMap.get(annotationClass);
+        if (null != fieldList){
+            return fieldList;
+        }
+
+        List<Field> annotatedFieldList = new ArrayList<>();
+        for (Field field : allFieldList){
+            if (null != field.getAnnotation(annotationClass)){
+                annotatedFieldList.add(field);
+            }
+        }
+        fieldList = Collections.unmodifiableList(annotatedFieldList);
+        List<Field> existFieldList = annotationAndFieldListMap.putIfAbsent(annotationClass, fieldList);
+        return null == existFieldList ? fieldList : existFieldList;
+    }
+
+    /**
+     * 读取 <code>obj</code> 的字段 <code>fieldName</code> 的值.
+     * 
+     * <p>
+     * 同名的字段取子类的,和 {@link FieldUtils#readField(Object, String, boolean)} 一致.
+     * </p>
+     *
+     * @param <T>
+     *            the generic type
+     * @param obj
+     *            the obj,必须是元数据对应的类的实例
+     * @param fieldName
+     *            the field name
+     * @return the field value
+     * @throws IllegalArgumentException
+     *             如果没有字段 <code>fieldName</code>
+     * @throws ReflectException
+     *             如果读取出现异常
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getFieldValue(Object obj,String fieldName){
+        Field field = getAccessibleField(fieldName);
+        try{
+            return (T) field.get(obj);
+        }catch (IllegalAccessException e){
+            String message = Slf4jUtil.format("ownerClass:[{}],fieldName:[{}],ownerObj:[{}]", obj.getClass().getName(), fieldName, obj);
+            LOGGER.error(message, e);
+            throw new ReflectException(message, e);
+        }
+    }
+
+    /**
+     * 获得字段 <code>fieldName</code> 私有的,已经设置 accessible 的副本,第一次使用的时候才解析.
+     *
+     * @param fieldName
+     *            the field name
+     * @return the accessible field
+     * @throws IllegalArgumentException
+     *             如果没有字段 <code>fieldName</code>
+     */
+    private Field getAccessibleField(String fieldName){
+        Field field = fieldNameAndAccessibleFieldMap.get(fieldName);
+        if (null != field){
+            return field;
+        }
+
+        //Class#getDeclaredField 每次返回的都是新的 Field 对象,因此 setAccessible 不会影响 allFieldList 里面的字段
+        field = FieldUtils.getField(klass, fieldName, true);
+        Validate.isTrue(null != field, "Cannot locate field %s on %s", fieldName, klass);
+
+        Field existField = fieldNameAndAccessibleFieldMap.putIfAbsent(fieldName, field);
+        return null == existField ? field : existField;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 按照类解析元数据.
+     */
+    private static final class ClassFieldMetadataClassValue extends ClassValue<ClassFieldMetadata>{
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.ClassValue#computeValue(java.lang.Class)
+         */
+        @Override
+        protected ClassFieldMetadata computeValue(Class<?> type){
+            return new ClassFieldMetadata(type);
+        }
+    }
+}
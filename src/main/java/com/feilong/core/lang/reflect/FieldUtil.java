@@ -16,27 +16,18 @@
 package com.feilong.core.lang.reflect;
 
 import static com.feilong.core.Validator.isNullOrEmpty;
-import static com.feilong.core.util.CollectionsUtil.selectRejected;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.emptyMap;
-import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.commons.collections4.Predicate;
-import org.apache.commons.collections4.PredicateUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.reflect.FieldUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.feilong.core.util.predicate.BeanPredicateUtil;
-import com.feilong.tools.slf4j.Slf4jUtil;
 
 /**
  * focus on {@link Field} 反射工具类.
@@ -108,9 +99,6 @@ import com.feilong.tools.slf4j.Slf4jUtil;
  */
 public final class FieldUtil{
 
-    /** The Constant LOGGER. */
-    private static final Logger LOGGER = LoggerFactory.getLogger(FieldUtil.class);
-
     /** Don't let anyone instantiate this class. */
     private FieldUtil(){
         //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
@@ -160,20 +148,20 @@ public final class FieldUtil{
      *         如果 <code>excludeFieldNames</code> 是null或者empty,解析所有的field<br>
      *         如果 <code>obj</code>没有字段或者字段都被参数 <code>excludeFieldNames</code> 排除掉了,返回 {@link Collections#emptyMap()}<br>
      * @see #getAllFieldList(Class, String...)
-     * @see #getFieldValue(Object, String)
+     * @see ClassFieldMetadata#getFieldValue(Object, String)
      */
     public static Map<String, Object> getAllFieldNameAndValueMap(Object obj,String...excludeFieldNames){
         Validate.notNull(obj, "obj can't be null!");
 
-        List<Field> fieldList = getAllFieldList(obj.getClass(), excludeFieldNames);
-        if (isNullOrEmpty(fieldList)){
-            return emptyMap();
-        }
+        ClassFieldMetadata classFieldMetadata = ClassFieldMetadata.forClass(obj.getClass());
         Map<String, Object> map = new TreeMap<>();
-        for (Field field : fieldList){
-            map.put(field.getName(), getFieldValue(obj, field.getName()));
+        for (Field field : classFieldMetadata.getNonStaticFieldList()){
+            String fieldName = field.getName();
+            if (!ArrayUtils.contains(excludeFieldNames, fieldName)){
+                map.put(fieldName, classFieldMetadata.getFieldValue(obj, fieldName));
+            }
         }
-        return map;
+        return map.isEmpty() ? Collections.<String, Object> emptyMap() : map;
     }
 
     /**
@@ -201,54 +189,18 @@ public final class FieldUtil{
     public static List<Field> getAllFieldList(final Class<?> klass,String...excludeFieldNames){
         Validate.notNull(klass, "klass can't be null!");
         //获得给定类的所有声明字段 {@link Field},包括所有的parents,包括 public/protect/private/inherited...
-        List<Field> fieldList = FieldUtils.getAllFieldsList(klass);
-        if (isNullOrEmpty(fieldList)){
+        ClassFieldMetadata classFieldMetadata = ClassFieldMetadata.forClass(klass);
+        if (isNullOrEmpty(classFieldMetadata.getAllFieldList())){
             return emptyList();
         }
         //**********************************************************************************************
-        Predicate<Field> excludeFieldPredicate = BeanPredicateUtil.containsPredicate("name", excludeFieldNames);
-        Predicate<Field> staticPredicate = new Predicate<Field>(){
-
-            @Override
-            public boolean evaluate(Field field){
-                int modifiers = field.getModifiers();
-                // 私有并且静态 一般是log 或者  serialVersionUID
-                boolean isStatic = Modifier.isStatic(modifiers);
-
-                String pattern = "[{}.{}],modifiers:[{}]{}";
-                LOGGER.trace(pattern, klass.getSimpleName(), field.getName(), modifiers, isStatic ? " [isStatic]" : EMPTY);
-                return isStatic;
+        //排除静态字段(私有并且静态 一般是log 或者  serialVersionUID) 以及 excludeFieldNames
+        List<Field> fieldList = new ArrayList<>();
+        for (Field field : classFieldMetadata.getNonStaticFieldList()){
+            if (!ArrayUtils.contains(excludeFieldNames, field.getName())){
+                fieldList.add(field);
             }
-        };
-        return selectRejected(fieldList, PredicateUtils.orPredicate(excludeFieldPredicate, staticPredicate));
-    }
-
-    //---------------------------------------------------------------
-
-    /**
-     * 得到某个对象 <code>owner</code> 的公共字段 <code>fieldName</code> 值.
-     *
-     * @param <T>
-     *            the generic type
-     * @param obj
-     *            the owner
-     * @param fieldName
-     *            the field name
-     * @return 如果 <code>owner</code> 是null,抛出 {@link NullPointerException}<br>
-     *         如果 <code>fieldName</code> 是null,抛出 {@link NullPointerException}<br>
-     *         如果 <code>fieldName</code> 是blank,抛出 {@link IllegalArgumentException}<br>
-     * @see org.apache.commons.lang3.reflect.FieldUtils#readField(Object, String, boolean)
-     * @since 1.4.0
-     * @since 1.9.2 change to private
-     */
-    @SuppressWarnings("unchecked")
-    private static <T> T getFieldValue(Object obj,String fieldName){
-        try{
-            return (T) FieldUtils.readField(obj, fieldName, true);
-        }catch (IllegalAccessException e){
-            String message = Slf4jUtil.format("ownerClass:[{}],fieldName:[{}],ownerObj:[{}]", obj.getClass().getName(), fieldName, obj);
-            LOGGER.error(message, e);
-            throw new ReflectException(message, e);
         }
+        return fieldList;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.net;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 基于查表的 <code>application/x-www-form-urlencoded</code> 编码/解码器.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>编码结果和 {@link java.net.URLEncoder#encode(String, String)} 完全一致,解码结果(包括异常)和
+ * {@link URLDecoder#decode(String, String)} 完全一致</li>
+ * <li>{@link java.net.URLEncoder} 和 {@link URLDecoder} 每次调用都需要根据字符编码的名字查找 {@link Charset},这里按照名字缓存 {@link Charset},
+ * 每种字符编码只查找一次</li>
+ * <li>不需要编码(全部是字母,数字以及 <code>.-*_</code>)或者不需要解码(不含 <code>%</code> 以及 <code>+</code>)的字符串,直接返回原字符串,不会创建任何对象</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see java.net.URLEncoder#encode(String, String)
+ * @see URLDecoder#decode(String, String)
+ * @since 1.10.6
+ */
+final class FormURLCodec{
+
+    /** 十六进制字符,和 {@link java.net.URLEncoder} 一样使用大写. */
+    private static final char[]                         HEX_DIGITS         = "0123456789ABCDEF".toCharArray();
+
+    /** ascii 字符是否不需要编码,包括空格(空格编码成 <code>+</code>). */
+    private static final boolean[]                      DONT_NEED_ENCODING = new boolean[128];
+
+    /** ascii 字符对应的十六进制的值,不是十六进制字符的为 -1. */
+    private static final byte[]                         HEX_VALUES         = new byte[128];
+
+    /** 字符编码名字和 {@link Charset} 的缓存. */
+    private static final ConcurrentMap<String, Charset> CHARSET_CACHE      = new ConcurrentHashMap<>();
+
+    //---------------------------------------------------------------
+
+    static{
+        for (char c = 'a'; c <= 'z'; ++c){
+            DONT_NEED_ENCODING[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; ++c){
+            DONT_NEED_ENCODING[c] = true;
+        }
+        for (char c = '0'; c <= '9'; ++c){
+            DONT_NEED_ENCODING[c] = true;
+        }
+        DONT_NEED_ENCODING[' '] = true;
+        DONT_NEED_ENCODING['-'] = true;
+        DONT_NEED_ENCODING['_'] = true;
+        DONT_NEED_ENCODING['.'] = true;
+        DONT_NEED_ENCODING['*'] = true;
+
+        //---------------------------------------------------------------
+
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < HEX_DIGITS.length; ++i){
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_VALUES[Character.toLowerCase(HEX_DIGITS[i])] = (byte) i;
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private FormURLCodec(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 使用 <code>charsetType</code> 编码 <code>value</code>.
+     *
+     * @param value
+     *            not null
+     * @param charsetType
+     *            not null
+     * @return 如果不需要编码,返回 <code>value</code> 本身
+     * @throws URIParseException
+     *             如果 <code>charsetType</code> 不支持
+     * @see java.net.URLEncoder#encode(String, String)
+     */
+    static String encode(String value,String charsetType){
+        //和 URLEncoder 一样,不管是否需要编码,都先检查字符编码
+        Charset charset = getCharset(charsetType);
+
+        int length = value.length();
+        int i = 0;
+        while (i < length && isUnreserved(value.charAt(i))){
+            ++i;
+        }
+        if (i == length){
+            return value;
+        }
+
+        //---------------------------------------------------------------
+        StringBuilder sb = new StringBuilder(length + 16);
+        sb.append(value, 0, i);
+        while (i < length){
+            char c = value.charAt(i);
+            if (c == ' '){
+                sb.append('+');
+                ++i;
+                continue;
+            }
+            if (isUnreserved(c)){
+                sb.append(c);
+                ++i;
+                continue;
+            }
+
+            //和 URLEncoder 一样,连续的需要编码的字符一起转成字节,保证代理对以及有状态的字符编码结果一致
+            int start = i;
+            do{
+                ++i;
+            }while (i < length && !dontNeedEncoding(value.charAt(i)));
+
+            for (byte b : value.substring(start, i).getBytes(charset)){
+                sb.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 使用 <code>charsetType</code> 解码 <code>value</code>.
+     *
+     * @param value
+     *            not null
+     * @param charsetType
+     *            not null
+     * @return 如果不需要解码,返回 <code>value</code> 本身
+     * @throws URIParseException
+     *             如果 <code>charsetType</code> 不支持
+     * @throws IllegalArgumentException
+     *             如果 <code>%</code> 后面不是两位十六进制字符,和 {@link URLDecoder#decode(String, String)} 一致
+     * @see URLDecoder#decode(String, String)
+     */
+    static String decode(String value,String charsetType){
+        //和 encode 一样,不管是否需要解码,都先检查字符编码
+        Charset charset = getCharset(charsetType);
+
+        int length = value.length();
+        int i = 0;
+        while (i < length && !isEscape(value.charAt(i))){
+            ++i;
+        }
+        if (i == length){
+            return value;
+        }
+
+        //---------------------------------------------------------------
+        StringBuilder sb = new StringBuilder(length);
+        sb.append(value, 0, i);
+
+        //后面每一段连续的 %xy 都不会比它长
+        byte[] bytes = null;
+        while (i < length){
+            char c = value.charAt(i);
+            if (c == '+'){
+                sb.append(' ');
+                ++i;
+                continue;
+            }
+            if (c != '%'){
+                sb.append(c);
+                ++i;
+                continue;
+            }
+
+            if (null == bytes){
+                bytes = new byte[(length - i) / 3];
+            }
+            int pos = 0;
+            while (i + 2 < length && c == '%'){
+                int high = hexValue(value.charAt(i + 1));
+                int low = hexValue(value.charAt(i + 2));
+                if (high < 0 || low < 0){
+                    //非法的十六进制字符,交给 URLDecoder 处理,保证异常信息一致
+                    return decodeUseURLDecoder(value, charsetType);
+                }
+                bytes[pos++] = (byte) ((high << 4) + low);
+                i += 3;
+                if (i < length){
+                    c = value.charAt(i);
+                }
+            }
+            if (i < length && c == '%'){
+                //末尾不完整的 % ,交给 URLDecoder 处理,保证异常信息一致
+                return decodeUseURLDecoder(value, charsetType);
+            }
+            sb.append(new String(bytes, 0, pos, charset));
+        }
+        return sb.toString();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 <code>charsetType</code> 对应的 {@link Charset},并缓存.
+     *
+     * @param charsetType
+     *            the charset type
+     * @return the charset
+     * @throws URIParseException
+     *             如果 <code>charsetType</code> 不支持,cause 是 {@link UnsupportedEncodingException},和原来的 {@link java.net.URLEncoder} 一致
+     */
+    static Charset getCharset(String charsetType){
+        Charset charset = CHARSET_CACHE.get(charsetType);
+        if (null != charset){
+            return charset;
+        }
+        try{
+            charset = Charset.forName(charsetType);
+        }catch (IllegalCharsetNameException | UnsupportedCharsetException e){
+            throw new URIParseException(new UnsupportedEncodingException(charsetType));
+        }
+        CHARSET_CACHE.putIfAbsent(charsetType, charset);
+        return charset;
+    }
+
+    /**
+     * 使用 {@link URLDecoder} 解码,只用来处理非法的输入.
+     *
+     * @param value
+     *            the value
+     * @param charsetType
+     *            the charset type
+     * @return the string
+     */
+    private static String decodeUseURLDecoder(String value,String charsetType){
+        try{
+            return URLDecoder.decode(value, charsetType);
+        }catch (UnsupportedEncodingException e){
+            throw new URIParseException(e);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 是否是原样输出的字符(不包括空格).
+     *
+     * @param c
+     *            the c
+     * @return true, if is unreserved
+     */
+    private static boolean isUnreserved(char c){
+        return c != ' ' && dontNeedEncoding(c);
+    }
+
+    /**
+     * 是否不需要编码(包括空格).
+     *
+     * @param c
+     *            the c
+     * @return true, if successful
+     */
+    private static boolean dontNeedEncoding(char c){
+        return c < 128 && DONT_NEED_ENCODING[c];
+    }
+
+    /**
+     * 是否是需要解码的字符.
+     *
+     * @param c
+     *            the c
+     * @return true, if is escape
+     */
+    private static boolean isEscape(char c){
+        return c == '%' || c == '+';
+    }
+
+    /**
+     * 十六进制字符对应的值.
+     *
+     * @param c
+     *            the c
+     * @return 如果不是十六进制字符,返回 -1
+     */
+    private static int hexValue(char c){
+        return c < 128 ? HEX_VALUES[c] : -1;
+    }
+}
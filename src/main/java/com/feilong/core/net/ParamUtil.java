@@ -16,18 +16,14 @@
 package com.feilong.core.net;
 
 import static com.feilong.core.URIComponents.AMPERSAND;
-import static com.feilong.core.URIComponents.QUESTIONMARK;
-import static com.feilong.core.Validator.isNotNullOrEmpty;
 import static com.feilong.core.Validator.isNullOrEmpty;
 import static com.feilong.core.bean.ConvertUtil.toArray;
-import static com.feilong.core.bean.ConvertUtil.toMap;
 import static com.feilong.core.net.URIUtil.decode;
 import static com.feilong.core.net.URIUtil.encode;
 import static com.feilong.core.util.MapUtil.newLinkedHashMap;
 import static com.feilong.core.util.SortUtil.sortMapByKeyAsc;
 import static java.util.Collections.emptyMap;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_STRING_ARRAY;
-import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultString;
 
@@ -37,14 +33,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.feilong.core.CharsetType;
-import com.feilong.core.lang.StringUtil;
 import com.feilong.core.util.MapUtil;
 import com.feilong.core.util.SortUtil;
 
@@ -117,11 +111,11 @@ public final class ParamUtil{
      * @return 如果 <code>uriString</code> 是null或者empty,返回 {@link StringUtils#EMPTY}<br>
      *         如果 <code>paramName</code> 是null,以 {@link StringUtils#EMPTY}替代<br>
      *         如果 <code>paramValue</code> 是null,以 {@link StringUtils#EMPTY}替代<br>
-     * @see #addParameterSingleValueMap(String, Map, String)
+     * @see URIBuilder#setParameter(String, String)
      * @since 1.9.0 change paramValue type from Object to String
      */
     public static String addParameter(String uriString,String paramName,String paramValue,String charsetType){
-        return addParameterSingleValueMap(uriString, toMap(paramName, paramValue), charsetType);
+        return URIBuilder.fromUriString(uriString, charsetType).setParameter(paramName, paramValue).build();
     }
 
     /**
@@ -192,10 +186,10 @@ public final class ParamUtil{
      *            否则会先解码,再加码,因为ie浏览器和chrome浏览器 url中访问路径 ,带有中文情况下不一致
      * @return 如果 <code>uriString</code> 是null或者empty,返回 {@link StringUtils#EMPTY}<br>
      *         如果 <code>singleValueMap</code> 是null,当作empty map处理<br>
-     * @see #addParameterArrayValueMap(String, Map, String)
+     * @see URIBuilder#setParameterSingleValueMap(Map)
      */
     public static String addParameterSingleValueMap(String uriString,Map<String, String> singleValueMap,String charsetType){
-        return addParameterArrayValueMap(uriString, MapUtil.toArrayValueMap(singleValueMap), charsetType);
+        return URIBuilder.fromUriString(uriString, charsetType).setParameterSingleValueMap(singleValueMap).build();
     }
 
     /**
@@ -267,11 +261,11 @@ public final class ParamUtil{
      * @return 如果 <code>uriString</code> 是null或者empty,返回 {@link StringUtils#EMPTY}<br>
      *         如果 <code>arrayValueMap</code> 是null,当作empty map处理<br>
      *         如果 <code>charsetType</code> 是null或者empty,那么参数部分原样拼接处理,自行处理兼容性问题<br>
-     * @see #addParameterArrayValueMap(String, String, Map, String)
+     * @see URIBuilder#setParameterArrayValueMap(Map)
      * @since 1.4.0
      */
     public static String addParameterArrayValueMap(String uriString,Map<String, String[]> arrayValueMap,String charsetType){
-        return addParameterArrayValueMap(uriString, URIUtil.getQueryString(uriString), arrayValueMap, charsetType);
+        return URIBuilder.fromUriString(uriString, charsetType).setParameterArrayValueMap(arrayValueMap).build();
     }
 
     //---------------------------------------------------------------
@@ -322,7 +316,11 @@ public final class ParamUtil{
      * @since 1.4.0
      */
     public static Map<String, String> toSingleValueMap(String queryString,String charsetType){
-        return MapUtil.toSingleValueMap(toSafeArrayValueMap(queryString, charsetType));
+        if (isNullOrEmpty(queryString)){
+            return emptyMap();
+        }
+        //直接解析成单值的 map,不需要中间的多值 map
+        return QueryStringParser.toSingleValueMap(queryString, charsetType);
     }
 
     /**
@@ -380,29 +378,15 @@ public final class ParamUtil{
      *            <span style="color:green">如果是null或者 empty,那么参数部分原样返回,自行处理兼容性问题</span><br>
      *            否则会先解码,再加码,因为ie浏览器和chrome浏览器 url中访问路径 ,带有中文情况下不一致
      * @return 如果 <code>queryString</code> 是null或者empty,返回 {@link Collections#emptyMap()}<br>
-     * @see org.apache.commons.lang3.ArrayUtils#add(Object[], Object)
-     * @see com.feilong.core.lang.StringUtil#split(String, String)
+     * @see QueryStringParser#toArrayValueMap(String, String)
      * @since 1.4.0
      */
     static Map<String, String[]> toSafeArrayValueMap(String queryString,String charsetType){
         if (isNullOrEmpty(queryString)){
             return emptyMap();
         }
-
-        String[] nameAndValueArray = StringUtil.split(queryString, AMPERSAND);
-        int length = nameAndValueArray.length;
-
-        Map<String, String[]> safeArrayValueMap = newLinkedHashMap(length);//使用 LinkedHashMap 保证元素的顺序
-        for (int i = 0; i < length; ++i){
-            String[] tempArray = nameAndValueArray[i].split("=", 2);
-
-            String key = decodeAndEncode(tempArray[0], charsetType);
-            String value = tempArray.length == 2 ? tempArray[1] : EMPTY;//有可能参数中,只有名字没有值或者值是空,处理的时候不能遗失掉
-            value = decodeAndEncode(value, charsetType);
-
-            safeArrayValueMap.put(key, ArrayUtils.add(safeArrayValueMap.get(key), value));
-        }
-        return safeArrayValueMap;
+        //单次扫描,不需要先拆分成数组
+        return QueryStringParser.toArrayValueMap(queryString, charsetType);
     }
 
     //*********************************************************************************************
@@ -624,49 +608,52 @@ public final class ParamUtil{
             return EMPTY;
         }
 
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, String[]> entry : arrayValueMap.entrySet()){
-            sb.append(joinParamNameAndValues(entry.getKey(), entry.getValue()));
-            sb.append(AMPERSAND); //放心大胆的拼接 &, 不判断是否是最后一个,最后会截取
-        }
-        return StringUtil.substringWithoutLast(sb, AMPERSAND);
+        return appendQueryString(new StringBuilder(), arrayValueMap).toString();
     }
 
     /**
-     * 将参数名称<code>paramName</code>和多值 <code>paramValues</code> 连接起来.
+     * 将 <code>arrayValueMap</code> 拼接成 queryString,直接追加到 <code>sb</code>.
      * 
      * <h3>说明:</h3>
      * <blockquote>
      * <ol>
-     * <li>比如,参数名字 {@code paramName=name},{@code paramValues 为 zhangfei,guanyu},那么返回值是{@code name=zhangfei&name=guanyu}</li>
+     * <li>比如,参数名字 {@code paramName=name},{@code paramValues 为 zhangfei,guanyu},那么拼接的是{@code name=zhangfei&name=guanyu}</li>
      * <li>paramName和每个值都会调用 {@link StringUtils#defaultString(String)}转换后才进行拼接</li>
+     * <li>如果<code>paramValues</code>是null,那么拼接 <code>paramName=</code></li>
      * </ol>
      * </blockquote>
      *
-     * @param paramName
-     *            参数名字
-     * @param paramValues
-     *            参数多值
-     * @return 如果<code>paramValues</code>是null,那么直接返回 <code>paramName=</code>
-     * @see java.lang.AbstractStringBuilder#append(String)
+     * @param sb
+     *            the sb
+     * @param arrayValueMap
+     *            not null or empty
+     * @return <code>sb</code>
      * @see org.apache.commons.lang3.StringUtils#defaultString(String)
      * @see "org.springframework.web.servlet.view.RedirectView#appendQueryProperties(StringBuilder,Map, String)"
-     * @since 1.4.0
+     * @since 1.10.6
      */
-    private static String joinParamNameAndValues(String paramName,String[] paramValues){
-        //see https://github.com/venusdrogon/feilong-core/issues/372
-        if (null == paramValues){
-            return defaultString(paramName) + "=";
-        }
-        StringBuilder sb = new StringBuilder();
+    static StringBuilder appendQueryString(StringBuilder sb,Map<String, String[]> arrayValueMap){
+        for (Map.Entry<String, String[]> entry : arrayValueMap.entrySet()){
+            String paramName = defaultString(entry.getKey());
+            String[] paramValues = entry.getValue();
 
-        for (String paramValue : paramValues){
-            //注意:如果 value 是null ,StringBuilder将拼接 "null" 字符串, 详见  java.lang.AbstractStringBuilder#append(String)
-            sb.append(defaultString(paramName)).append("=").append(defaultString(paramValue));
+            //see https://github.com/venusdrogon/feilong-core/issues/372
+            if (null == paramValues){
+                sb.append(paramName).append('=');
+            }else{
+                for (int i = 0; i < paramValues.length; ++i){
+                    if (i > 0){
+                        sb.append(AMPERSAND);
+                    }
+                    //注意:如果 value 是null ,StringBuilder将拼接 "null" 字符串, 详见  java.lang.AbstractStringBuilder#append(String)
+                    sb.append(paramName).append('=').append(defaultString(paramValues[i]));
+                }
+            }
             sb.append(AMPERSAND);//放心大胆的拼接 &, 不判断是否是最后一个,最后会截取
         }
-
-        return StringUtil.substringWithoutLast(sb, AMPERSAND);
+        //去掉最后一个 &
+        sb.setLength(sb.length() - AMPERSAND.length());
+        return sb;
     }
 
     /**
@@ -724,39 +711,6 @@ public final class ParamUtil{
     }
     //*******************************************************************************************
 
-    /**
-     * 添加 parameter array value map.
-     * 
-     * <p>
-     * 如果 <code>queryString</code> 参数不为空,那么会解析成map,此后再拼接 <code>arrayValueMap</code>;<br>
-     * 内部使用 {@link LinkedHashMap},保持map元素顺序
-     * </p>
-     * 
-     * @param uriString
-     *            the uri string
-     * @param queryString
-     *            the query
-     * @param arrayValueMap
-     *            the name and array value map
-     * @param charsetType
-     *            字符编码,建议使用 {@link CharsetType} 定义好的常量<br>
-     *            <span style="color:green">如果是null或者 empty,那么参数部分原样返回,自行处理兼容性问题</span><br>
-     *            否则会先解码,再加码,因为ie浏览器和chrome浏览器 url中访问路径 ,带有中文情况下不一致
-     * @return the string
-     * @since 1.4.0
-     */
-    static String addParameterArrayValueMap(String uriString,String queryString,Map<String, String[]> arrayValueMap,String charsetType){
-        Map<String, String[]> safeArrayValueMap = defaultIfNull(arrayValueMap, Collections.<String, String[]> emptyMap());
-
-        Map<String, String[]> arrayParamValuesMap = newLinkedHashMap(safeArrayValueMap.size());
-        //先提取queryString map
-        if (isNotNullOrEmpty(queryString)){
-            arrayParamValuesMap.putAll(toSafeArrayValueMap(queryString, null));
-        }
-        arrayParamValuesMap.putAll(safeArrayValueMap);
-        return combineUrl(URIUtil.getFullPathWithoutQueryString(uriString), arrayParamValuesMap, charsetType);
-    }
-
     /**
      * To safe array value map.
      * 
@@ -772,7 +726,7 @@ public final class ParamUtil{
      *            否则会先解码,再加码,因为ie浏览器和chrome浏览器 url中访问路径 ,带有中文情况下不一致
      * @return 如果 <code>arrayValueMap</code> 是null或者empty,返回 {@link Collections#emptyMap()}<br>
      */
-    private static Map<String, String[]> toSafeArrayValueMap(Map<String, String[]> arrayValueMap,String charsetType){
+    static Map<String, String[]> toSafeArrayValueMap(Map<String, String[]> arrayValueMap,String charsetType){
         if (isNullOrEmpty(arrayValueMap)){
             return emptyMap();
         }
@@ -838,42 +792,15 @@ public final class ParamUtil{
      *      java-request-getquerystring-value-different-between-chrome-and-ie-browser</a>
      * @since 1.4.0
      */
-    private static String decodeAndEncode(String value,String charsetType){
+    static String decodeAndEncode(String value,String charsetType){
         if (isNullOrEmpty(value)){
             return EMPTY;
         }
-        return isNullOrEmpty(charsetType) ? value : encode(decode(value, charsetType), charsetType);
-    }
-
-    /**
-     * 拼接url.
-     *
-     * @param beforePathWithoutQueryString
-     *            the before path without query string
-     * @param arrayValueMap
-     *            the array value map
-     * @param charsetType
-     *            字符编码,建议使用 {@link CharsetType} 定义好的常量<br>
-     *            <span style="color:green">如果是null或者 empty,那么参数部分原样返回,自行处理兼容性问题</span><br>
-     *            否则会先解码,再加码,因为ie浏览器和chrome浏览器 url中访问路径 ,带有中文情况下不一致
-     * @return 如果 <code>beforePathWithoutQueryString</code> 是null或者empty,返回 {@link StringUtils#EMPTY}<br>
-     *         如果<code>arrayValueMap</code> 是null或者empty,返回 <code>beforePathWithoutQueryString</code>
-     * @since 1.4.0
-     */
-    static String combineUrl(String beforePathWithoutQueryString,Map<String, String[]> arrayValueMap,String charsetType){
-        if (isNullOrEmpty(beforePathWithoutQueryString)){
-            return EMPTY;
-        }
-        if (isNullOrEmpty(arrayValueMap)){//没有参数 直接return
-            return beforePathWithoutQueryString;
+        if (isNullOrEmpty(charsetType)){
+            return value;
         }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append(beforePathWithoutQueryString);
-        sb.append(QUESTIONMARK);
-        sb.append(toQueryStringUseArrayValueMap(toSafeArrayValueMap(arrayValueMap, charsetType)));
-
-        return sb.toString();
+        //不需要解码/编码的值会原样返回,不会创建新的字符串
+        return encode(decode(value, charsetType), charsetType);
     }
 
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.net;
+
+import static java.util.Collections.emptyMap;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单次扫描的 queryString 解析器.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>直接按照下标查找 {@code &} 和 {@code =},不需要先拆分成 <code>String[]</code>,也不需要对每个参数再 <code>split("=", 2)</code></li>
+ * <li>同名参数的值直接收集,不再每次 <code>ArrayUtils.add</code> 复制数组</li>
+ * <li>解析的结果和原来 <code>StringUtil.split(queryString, "&")</code> + <code>split("=", 2)</code> 完全一致,包括:末尾连续的 {@code &}
+ * 被忽略,中间空的参数解析成 key 和 value 都是 {@link org.apache.commons.lang3.StringUtils#EMPTY}</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see ParamUtil#toSafeArrayValueMap(String, String)
+ * @see ParamUtil#toSingleValueMap(String, String)
+ * @since 1.10.6
+ */
+final class QueryStringParser{
+
+    /** The query string. */
+    private final String queryString;
+
+    /** The charset type. */
+    private final String charsetType;
+
+    /** 需要解析的结束位置,不包含末尾连续的 {@code &}. */
+    private final int    end;
+
+    /** 下一个参数开始的位置. */
+    private int          position;
+
+    /** 当前参数的名字(已经 decodeAndEncode). */
+    private String       name;
+
+    /** 当前参数的值(已经 decodeAndEncode). */
+    private String       value;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new query string parser.
+     *
+     * @param queryString
+     *            the query string
+     * @param charsetType
+     *            the charset type
+     */
+    private QueryStringParser(String queryString, String charsetType){
+        this.queryString = queryString;
+        this.charsetType = charsetType;
+
+        //和 String.split 一样,末尾的空字符串会被丢弃
+        int endIndex = queryString.length();
+        while (endIndex > 0 && queryString.charAt(endIndex - 1) == '&'){
+            --endIndex;
+        }
+        this.end = endIndex;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 解析成多值的map.
+     *
+     * @param queryString
+     *            not blank
+     * @param charsetType
+     *            the charset type
+     * @return 使用 {@link LinkedHashMap},顺序是参数第一次出现的顺序
+     */
+    static Map<String, String[]> toArrayValueMap(String queryString,String charsetType){
+        QueryStringParser parser = new QueryStringParser(queryString, charsetType);
+
+        Map<String, String[]> arrayValueMap = new LinkedHashMap<>();
+        //同名参数的其他值,只有出现同名参数的时候才创建
+        Map<String, List<String>> moreValuesMap = null;
+        while (parser.next()){
+            String[] values = arrayValueMap.get(parser.name);
+            if (null == values){
+                arrayValueMap.put(parser.name, new String[] { parser.value });
+                continue;
+            }
+            if (null == moreValuesMap){
+                moreValuesMap = new LinkedHashMap<>();
+            }
+            List<String> moreValues = moreValuesMap.get(parser.name);
+            if (null == moreValues){
+                moreValues = new ArrayList<>();
+                moreValuesMap.put(parser.name, moreValues);
+            }
+            moreValues.add(parser.value);
+        }
+
+        if (null != moreValuesMap){
+            for (Map.Entry<String, List<String>> entry : moreValuesMap.entrySet()){
+                String key = entry.getKey();
+                List<String> moreValues = entry.getValue();
+
+                String[] values = new String[moreValues.size() + 1];
+                values[0] = arrayValueMap.get(key)[0];
+                for (int i = 0; i < moreValues.size(); ++i){
+                    values[i + 1] = moreValues.get(i);
+                }
+                arrayValueMap.put(key, values);
+            }
+        }
+        return arrayValueMap;
+    }
+
+    /**
+     * 解析成单值的map,同名的参数取第一个值.
+     *
+     * @param queryString
+     *            not blank
+     * @param charsetType
+     *            the charset type
+     * @return 如果没有参数,返回 {@link java.util.Collections#emptyMap()};否则使用 {@link LinkedHashMap},顺序是参数第一次出现的顺序
+     * @see com.feilong.core.util.MapUtil#toSingleValueMap(Map)
+     */
+    static Map<String, String> toSingleValueMap(String queryString,String charsetType){
+        QueryStringParser parser = new QueryStringParser(queryString, charsetType);
+
+        Map<String, String> singleValueMap = new LinkedHashMap<>();
+        while (parser.next()){
+            if (!singleValueMap.containsKey(parser.name)){
+                singleValueMap.put(parser.name, parser.value);
+            }
+        }
+        if (singleValueMap.isEmpty()){
+            return emptyMap();
+        }
+        return singleValueMap;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 解析下一个参数,结果保存在 {@link #name} 和 {@link #value}.
+     *
+     * @return 如果没有参数了,返回false
+     */
+    private boolean next(){
+        if (position >= end){
+            return false;
+        }
+        //一次扫描,找到第一个 = 以及参数结束的 &
+        int equalIndex = -1;
+        int paramEnd = position;
+        for (; paramEnd < end; ++paramEnd){
+            char c = queryString.charAt(paramEnd);
+            if (c == '&'){
+                break;
+            }
+            if (c == '=' && equalIndex < 0){
+                equalIndex = paramEnd;
+            }
+        }
+
+        if (equalIndex < 0){
+            //有可能参数中,只有名字没有值,处理的时候不能遗失掉
+            name = ParamUtil.decodeAndEncode(queryString.substring(position, paramEnd), charsetType);
+            value = EMPTY;
+        }else{
+            name = ParamUtil.decodeAndEncode(queryString.substring(position, equalIndex), charsetType);
+            value = ParamUtil.decodeAndEncode(queryString.substring(equalIndex + 1, paramEnd), charsetType);
+        }
+        position = paramEnd + 1;
+        return true;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.net;
+
+import static com.feilong.core.URIComponents.QUESTIONMARK;
+import static com.feilong.core.Validator.isNotNullOrEmpty;
+import static com.feilong.core.Validator.isNullOrEmpty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.feilong.core.CharsetType;
+
+/**
+ * 可变的 uri 参数构造器,只解析一次 uri,可以多次添加/设置/删除参数,最后只拼接一次.
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link ParamUtil#addParameter(String, String, String, String)} 每次调用都会解析 queryString,再重新编码全部参数并拼接 uri;<br>
+ * 如果需要给同一个 uri 添加多个参数,使用这个类只需要解析一次,拼接一次</li>
+ * <li>参数的顺序和 <code>uriString</code> 中参数的顺序一致,新的参数追加在最后;设置已经存在的参数,保持原来的位置</li>
+ * <li>和 {@link ParamUtil#addParameterArrayValueMap(String, Map, String)} 一样,拼接的时候,如果 <code>charsetType</code> 不是null或者empty,参数的名字和值会先解码,再编码</li>
+ * <li>非线程安全</li>
+ * </ol>
+ * </blockquote>
+ * 
+ * <h3>示例:</h3>
+ * <blockquote>
+ * 
+ * <pre class="code">
+ * String uri = URIBuilder.fromUriString("http://www.feilong.com/search.htm?{@code keyword=%E6%81%A4&page=1}", UTF8)//
+ *                 .setParameter("page", "2")
+ *                 .addParameter("label", "2-5-8")
+ *                 .removeParameter("keyword")
+ *                 .build();
+ * </pre>
+ * 
+ * <b>返回:</b>
+ * 
+ * <pre class="code">
+ * {@code http://www.feilong.com/search.htm?page=2&label=2-5-8}
+ * </pre>
+ * 
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see ParamUtil#addParameterArrayValueMap(String, Map, String)
+ * @see "org.springframework.web.util.UriComponentsBuilder"
+ * @see "org.apache.http.client.utils.URIBuilder"
+ * @since 1.10.6
+ */
+public final class URIBuilder{
+
+    /** 不含 queryString 的 uri. */
+    private final String                beforePathWithoutQueryString;
+
+    /** 字符编码. */
+    private final String                charsetType;
+
+    /** 参数名字和多值,保存原始的值,拼接的时候再解码/编码. */
+    private final Map<String, String[]> arrayValueMap = new LinkedHashMap<>();
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new URI builder.
+     *
+     * @param beforePathWithoutQueryString
+     *            the before path without query string
+     * @param charsetType
+     *            the charset type
+     */
+    private URIBuilder(String beforePathWithoutQueryString, String charsetType){
+        this.beforePathWithoutQueryString = beforePathWithoutQueryString;
+        this.charsetType = charsetType;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 解析 <code>uriString</code>,创建 {@link URIBuilder}.
+     *
+     * @param uriString
+     *            如果带有? 和参数,参数会被解析出来,拼接的时候再放到后面
+     * @param charsetType
+     *            字符编码,建议使用 {@link CharsetType} 定义好的常量<br>
+     *            <span style="color:green">如果是null或者 empty,那么参数部分原样返回,自行处理兼容性问题</span><br>
+     *            否则会先解码,再加码,因为ie浏览器和chrome浏览器 url中访问路径 ,带有中文情况下不一致
+     * @return the URI builder
+     */
+    public static URIBuilder fromUriString(String uriString,String charsetType){
+        URIBuilder uriBuilder = new URIBuilder(URIUtil.getFullPathWithoutQueryString(uriString), charsetType);
+
+        String queryString = URIUtil.getQueryString(uriString);
+        if (isNotNullOrEmpty(queryString)){
+            //原来的参数原样保存,拼接的时候统一解码/编码
+            uriBuilder.arrayValueMap.putAll(ParamUtil.toSafeArrayValueMap(queryString, null));
+        }
+        return uriBuilder;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 给参数 <code>paramName</code> 追加一个值 <code>paramValue</code>,原来的值保留.
+     *
+     * @param paramName
+     *            参数名字,如果是null,拼接的时候以 {@link org.apache.commons.lang3.StringUtils#EMPTY} 替代
+     * @param paramValue
+     *            参数值,如果是null,拼接的时候以 {@link org.apache.commons.lang3.StringUtils#EMPTY} 替代
+     * @return this
+     */
+    public URIBuilder addParameter(String paramName,String paramValue){
+        String[] paramValues = arrayValueMap.get(paramName);
+        if (isNullOrEmpty(paramValues)){
+            arrayValueMap.put(paramName, new String[] { paramValue });
+            return this;
+        }
+        String[] newParamValues = new String[paramValues.length + 1];
+        System.arraycopy(paramValues, 0, newParamValues, 0, paramValues.length);
+        newParamValues[paramValues.length] = paramValue;
+        arrayValueMap.put(paramName, newParamValues);
+        return this;
+    }
+
+    /**
+     * 设置参数 <code>paramName</code> 的值为 <code>paramValue</code>.
+     * 
+     * <p>
+     * 如果参数已经存在(包括多值参数),那么全部的值会被替换,并且保持参数原来的位置;否则追加在最后.
+     * </p>
+     *
+     * @param paramName
+     *            参数名字,如果是null,拼接的时候以 {@link org.apache.commons.lang3.StringUtils#EMPTY} 替代
+     * @param paramValue
+     *            参数值,如果是null,拼接的时候以 {@link org.apache.commons.lang3.StringUtils#EMPTY} 替代
+     * @return this
+     */
+    public URIBuilder setParameter(String paramName,String paramValue){
+        arrayValueMap.put(paramName, new String[] { paramValue });
+        return this;
+    }
+
+    /**
+     * 设置 <code>singleValueMap</code> 中的每个参数,规则同 {@link #setParameter(String, String)}.
+     *
+     * @param singleValueMap
+     *            如果是null或者empty,什么都不做
+     * @return this
+     */
+    public URIBuilder setParameterSingleValueMap(Map<String, String> singleValueMap){
+        if (isNotNullOrEmpty(singleValueMap)){
+            for (Map.Entry<String, String> entry : singleValueMap.entrySet()){
+                setParameter(entry.getKey(), entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 设置 <code>arrayValueMap</code> 中的每个参数,如果参数已经存在,全部的值会被替换,并且保持参数原来的位置;否则追加在最后.
+     *
+     * @param arrayValueMap
+     *            如果是null或者empty,什么都不做
+     * @return this
+     */
+    public URIBuilder setParameterArrayValueMap(Map<String, String[]> arrayValueMap){
+        if (isNotNullOrEmpty(arrayValueMap)){
+            this.arrayValueMap.putAll(arrayValueMap);
+        }
+        return this;
+    }
+
+    /**
+     * 删除参数 <code>paramName</code> (包括全部的值).
+     *
+     * @param paramName
+     *            参数名字
+     * @return this
+     */
+    public URIBuilder removeParameter(String paramName){
+        arrayValueMap.remove(paramName);
+        return this;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 将 uri 拼接到 <code>sb</code> 中,可以复用 {@link StringBuilder}.
+     *
+     * @param sb
+     *            the sb
+     * @return <code>sb</code><br>
+     *         如果不含 queryString 的 uri 是null或者empty,什么都不拼接<br>
+     *         如果没有参数,只拼接不含 queryString 的 uri
+     */
+    public StringBuilder appendTo(StringBuilder sb){
+        if (isNullOrEmpty(beforePathWithoutQueryString)){
+            return sb;
+        }
+        sb.append(beforePathWithoutQueryString);
+        if (isNullOrEmpty(arrayValueMap)){//没有参数 直接return
+            return sb;
+        }
+        sb.append(QUESTIONMARK);
+        return ParamUtil.appendQueryString(sb, ParamUtil.toSafeArrayValueMap(arrayValueMap, charsetType));
+    }
+
+    /**
+     * 拼接 uri.
+     *
+     * @return 如果不含 queryString 的 uri 是null或者empty,返回 {@link org.apache.commons.lang3.StringUtils#EMPTY}<br>
+     *         如果没有参数,返回不含 queryString 的 uri
+     */
+    public String build(){
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    //---------------------------------------------------------------
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return build();
+    }
+}
@@ -20,12 +20,9 @@ import static com.feilong.core.Validator.isNullOrEmpty;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.INDEX_NOT_FOUND;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -417,7 +414,8 @@ public final class URIUtil{
      *            字符编码,建议使用 {@link CharsetType} 定义好的常量
      * @return 如果 <code>value</code> 是null或者empty,返回 {@link StringUtils#EMPTY}<br>
      *         如果 <code>charsetType</code> 是null或者empty,返回 <code>value</code><br>
-     * @see URLEncoder#encode(String, String)
+     * @see java.net.URLEncoder#encode(String, String)
+     * @see FormURLCodec#encode(String, String)
      * @see <a href="http://www.freeformatter.com/url-encoder.html">URL Encoder / Decoder</a>
      */
     public static String encode(String value,String charsetType){
@@ -455,6 +453,7 @@ public final class URIUtil{
      * @see <a href="http://dwr.2114559.n2.nabble.com/Exception-URLDecoder-Incomplete-trailing-escape-pattern-td5396332.html">Exception ::
      *      URLDecoder: Incomplete trailing escape (%) pattern</a>
      * @see java.net.URLDecoder#decode(String, String)
+     * @see FormURLCodec#decode(String, String)
      * @see "org.springframework.web.util.UriUtils#decode(String, String)"
      */
     public static String decode(String value,String charsetType){
@@ -477,12 +476,11 @@ public final class URIUtil{
         if (isNullOrEmpty(value)){
             return EMPTY;
         }
-        try{
-            return isNullOrEmpty(charsetType) ? value
-                            : (encodeOrDecode ? URLEncoder.encode(value, charsetType) : URLDecoder.decode(value, charsetType));
-        }catch (UnsupportedEncodingException e){
-            throw new URIParseException(e);
+        if (isNullOrEmpty(charsetType)){
+            return value;
         }
+        //查表编码/解码,不需要处理的字符串原样返回
+        return encodeOrDecode ? FormURLCodec.encode(value, charsetType) : FormURLCodec.decode(value, charsetType);
     }
 
     // [end]
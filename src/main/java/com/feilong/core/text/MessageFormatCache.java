@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.text;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import com.feilong.core.util.ConcurrentLruCache;
+
+/**
+ * 解析好的 {@link MessageFormat} 的缓存,按照 (pattern, locale) 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link MessageFormat#format(String, Object...)} 每次调用都会 new {@link MessageFormat} 并解析 pattern,国际化的页面一次请求会格式化成千上万次,
+ * 这里缓存解析好的 {@link MessageFormat}</li>
+ * <li>{@link MessageFormat} 不是线程安全的,所以缓存的只是原型,每次格式化使用原型的 {@link MessageFormat#clone()} (会深度复制子格式),不需要重新解析 pattern</li>
+ * <li>如果 pattern 中没有 <code>{</code> 也没有单引号 <code>'</code>,格式化的结果就是 pattern 本身,不会创建任何 {@link MessageFormat}</li>
+ * <li>缓存基于 {@link ConcurrentLruCache},最多缓存 {@link #MAX_SIZE} 个</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see MessageFormat#format(String, Object...)
+ * @since 1.10.6
+ */
+final class MessageFormatCache{
+
+    /** 最多缓存的 (pattern, locale) 组合数量. */
+    private static final int                                                 MAX_SIZE = 1024;
+
+    /** The cache. */
+    private static final ConcurrentLruCache<MessageFormatKey, MessageFormat> CACHE    = new ConcurrentLruCache<>(MAX_SIZE);
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private MessageFormatCache(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 使用默认的 {@link Locale.Category#FORMAT} locale 格式化,结果和 {@link MessageFormat#format(String, Object...)} 完全一致.
+     *
+     * @param pattern
+     *            not null
+     * @param arguments
+     *            the arguments
+     * @return the string
+     * @throws IllegalArgumentException
+     *             如果 <code>pattern</code> 不合法
+     */
+    static String format(String pattern,Object...arguments){
+        if (isPlainText(pattern)){
+            return pattern;
+        }
+        MessageFormat messageFormat = getMessageFormat(pattern, Locale.getDefault(Locale.Category.FORMAT));
+        return ((MessageFormat) messageFormat.clone()).format(arguments);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 (pattern, locale) 对应的原型 {@link MessageFormat},没有的话解析并缓存.
+     * 
+     * <p>
+     * 注意:返回的是共享的原型,不能直接用来格式化,需要先 {@link MessageFormat#clone()}.
+     * </p>
+     *
+     * @param pattern
+     *            the pattern
+     * @param locale
+     *            the locale
+     * @return the message format
+     */
+    private static MessageFormat getMessageFormat(String pattern,Locale locale){
+        MessageFormatKey messageFormatKey = new MessageFormatKey(pattern, locale);
+        MessageFormat messageFormat = CACHE.get(messageFormatKey);
+        if (null != messageFormat){
+            return messageFormat;
+        }
+        return CACHE.putIfAbsent(messageFormatKey, new MessageFormat(pattern, locale));
+    }
+
+    /**
+     * 是否是纯文本,也就是没有占位符以及引号.
+     *
+     * @param pattern
+     *            the pattern
+     * @return 如果没有 <code>{</code> 也没有单引号 <code>'</code>,返回true
+     */
+    private static boolean isPlainText(String pattern){
+        for (int i = 0, j = pattern.length(); i < j; ++i){
+            char c = pattern.charAt(i);
+            if (c == '{' || c == '\''){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 缓存的 key.
+     */
+    private static final class MessageFormatKey{
+
+        /** The pattern. */
+        private final String pattern;
+
+        /** The locale. */
+        private final Locale locale;
+
+        /** The hash code. */
+        private final int    hashCode;
+
+        /**
+         * Instantiates a new message format key.
+         *
+         * @param pattern
+         *            the pattern
+         * @param locale
+         *            the locale
+         */
+        private MessageFormatKey(String pattern, Locale locale){
+            this.pattern = pattern;
+            this.locale = locale;
+            this.hashCode = pattern.hashCode() * 31 + locale.hashCode();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode(){
+            return hashCode;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj){
+            if (this == obj){
+                return true;
+            }
+            if (!(obj instanceof MessageFormatKey)){
+                return false;
+            }
+            MessageFormatKey other = (MessageFormatKey) obj;
+            return pattern.equals(other.pattern) && locale.equals(other.locale);
+        }
+    }
+}
@@ -165,6 +165,7 @@ public final class MessageFormatUtil{
      */
     public static String format(String pattern,Object...arguments){
         Validate.notNull(pattern, "pattern can't be null!");
-        return MessageFormat.format(pattern, arguments);
+        //使用缓存的解析结果,没有占位符的 pattern 直接返回
+        return MessageFormatCache.format(pattern, arguments);
     }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util;
+
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * 预先编译好的正则表达式,适合在循环中反复使用同一个正则表达式的场景.
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>通过 {@link RegexUtil#compile(String)} 或者 {@link RegexUtil#compile(String, int)} 创建,一般保存成常量,线程安全</li>
+ * <li>{@link Pattern} 只编译一次,每次调用只创建一个 {@link Matcher},不持有任何线程相关的状态</li>
+ * <li>{@link #group(CharSequence, int)} 和 {@link #group(CharSequence, String)} 只提取需要的组,不会像 {@link RegexUtil#group(String, CharSequence)}
+ * 那样构造全部组的 map</li>
+ * <li>{@link #findAll(CharSequence, MatchResultHandler)} 每找到一个匹配就回调一次,不需要先把全部结果收集到 list 中</li>
+ * </ol>
+ * </blockquote>
+ * 
+ * <h3>示例:</h3>
+ * 
+ * <blockquote>
+ * 
+ * <pre class="code">
+ * private static final CompiledRegex EMAIL = RegexUtil.compile("(?&lt;name&gt;.*?)@(?&lt;domain&gt;.*?)");
+ * 
+ * EMAIL.matches("feilong@163.com");            = true
+ * EMAIL.group("feilong@163.com", 1);           = "feilong"
+ * EMAIL.group("feilong@163.com", "domain");    = "163.com"
+ * </pre>
+ * 
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see RegexUtil#compile(String)
+ * @see RegexUtil#compile(String, int)
+ * @since 1.10.6
+ */
+public final class CompiledRegex{
+
+    /** The pattern. */
+    private final Pattern pattern;
+
+    /** 组的数量(不包含组0). */
+    private final int     groupCount;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new compiled regex.
+     *
+     * @param pattern
+     *            the pattern
+     */
+    CompiledRegex(Pattern pattern){
+        this.pattern = pattern;
+        this.groupCount = pattern.matcher(EMPTY).groupCount();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 判断 <code>input</code> 是否完全匹配此正则表达式.
+     *
+     * @param input
+     *            The character sequence to be matched,support {@link String},{@link StringBuffer},{@link StringBuilder}... and so on
+     * @return 如果 <code>input</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果完全匹配,返回true
+     * @see Matcher#matches()
+     * @see RegexUtil#matches(String, CharSequence)
+     */
+    public boolean matches(CharSequence input){
+        return matcher(input).matches();
+    }
+
+    /**
+     * 如果 <code>input</code> 完全匹配此正则表达式,提取第 <code>groupNo</code> 组.
+     *
+     * @param input
+     *            需要被group的字符串,support {@link String},{@link StringBuffer},{@link StringBuilder}... and so on
+     * @param groupNo
+     *            组号,从0开始,0 表示整个匹配
+     * @return 如果 <code>input</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 {@code groupNo < 0} ,抛出 {@link IllegalArgumentException}<br>
+     *         如果匹配不了,或者 <code>groupNo</code> 大于组的数量,返回null<br>
+     *         如果该组没有参与匹配,返回null
+     * @see Matcher#group(int)
+     * @see RegexUtil#group(String, CharSequence, int)
+     */
+    public String group(CharSequence input,int groupNo){
+        Validate.isTrue(groupNo >= 0, "groupNo must >=0");
+
+        Matcher matcher = matcher(input);
+        return groupNo <= groupCount && matcher.matches() ? matcher.group(groupNo) : null;
+    }
+
+    /**
+     * 如果 <code>input</code> 完全匹配此正则表达式,提取名字是 <code>groupName</code> 的组(jdk7 开始支持的 <code>(?&lt;name&gt;X)</code> 语法).
+     *
+     * @param input
+     *            需要被group的字符串,support {@link String},{@link StringBuffer},{@link StringBuilder}... and so on
+     * @param groupName
+     *            组名
+     * @return 如果 <code>input</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>groupName</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果匹配不了,返回null<br>
+     *         如果正则表达式中没有名字是 <code>groupName</code> 的组,抛出 {@link IllegalArgumentException}<br>
+     *         如果该组没有参与匹配,返回null
+     * @see Matcher#group(String)
+     */
+    public String group(CharSequence input,String groupName){
+        Validate.notNull(groupName, "groupName can't be null!");
+
+        Matcher matcher = matcher(input);
+        return matcher.matches() ? matcher.group(groupName) : null;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 在 <code>input</code> 中查找所有的匹配,每找到一个就调用一次 <code>matchResultHandler</code>.
+     * 
+     * @param input
+     *            需要被查找的字符串
+     * @param matchResultHandler
+     *            每找到一个匹配的回调,返回 false 停止查找
+     * @return 回调的次数<br>
+     *         如果 <code>input</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>matchResultHandler</code> 是null,抛出 {@link NullPointerException}
+     * @see Matcher#find()
+     */
+    public int findAll(CharSequence input,MatchResultHandler matchResultHandler){
+        Validate.notNull(input, "input can't be null!");
+        Validate.notNull(matchResultHandler, "matchResultHandler can't be null!");
+
+        Matcher matcher = pattern.matcher(input);
+        int count = 0;
+        while (matcher.find()){
+            ++count;
+            if (!matchResultHandler.handle(matcher)){
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 在 <code>input</code> 中查找所有的匹配,返回每个匹配的第 <code>groupNo</code> 组.
+     *
+     * @param input
+     *            需要被查找的字符串
+     * @param groupNo
+     *            组号,从0开始,0 表示整个匹配
+     * @return 如果 <code>input</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 {@code groupNo < 0} 或者大于组的数量,抛出 {@link IllegalArgumentException}<br>
+     *         如果没有匹配,返回 empty list
+     * @see #findAll(CharSequence, MatchResultHandler)
+     */
+    public List<String> findAll(CharSequence input,final int groupNo){
+        Validate.isTrue(groupNo >= 0, "groupNo must >=0");
+        Validate.isTrue(groupNo <= groupCount, "groupNo must <= groupCount");
+
+        final List<String> list = new ArrayList<>();
+        findAll(input, new MatchResultHandler(){
+
+            @Override
+            public boolean handle(MatchResult matchResult){
+                list.add(matchResult.group(groupNo));
+                return true;
+            }
+        });
+        return list;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 组的数量(不包含组0).
+     *
+     * @return the groupCount
+     * @see Matcher#groupCount()
+     */
+    public int getGroupCount(){
+        return groupCount;
+    }
+
+    /**
+     * 获得 编译好的 {@link Pattern}.
+     *
+     * @return the pattern
+     */
+    public Pattern getPattern(){
+        return pattern;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return pattern.pattern();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 创建 <code>input</code> 的 {@link Matcher}.
+     *
+     * @param input
+     *            the input
+     * @return 如果 <code>input</code> 是null,抛出 {@link NullPointerException}
+     */
+    private Matcher matcher(CharSequence input){
+        Validate.notNull(input, "input can't be null!");
+        return pattern.matcher(input);
+    }
+}
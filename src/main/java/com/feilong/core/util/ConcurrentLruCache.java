@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * 有容量上限的,线程安全的 (近似) LRU 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>基于 {@link ConcurrentHashMap},读操作不加锁;访问时间使用逻辑时钟(每放入一个新元素加1),
+ * 命中的时候只有时钟变化了才会回写,因此热点元素的重复读取不会产生写操作</li>
+ * <li>当 size 超过 <code>maxSize</code> 时,由一个线程淘汰最久没有被访问的 1/4 元素(批量淘汰,分摊排序成本),其他线程不等待;
+ * 淘汰的时候先把访问时间复制成快照再排序,排序过程中并发的读取不会影响排序</li>
+ * <li>提供 hit/miss/eviction 计数,方便监控缓存的命中率</li>
+ * <li>不允许 null key 以及 null value</li>
+ * </ol>
+ * </blockquote>
+ *
+ * <h3>适用场景:</h3>
+ * <blockquote>
+ * 缓存创建成本比较高的,无状态的(或者线程安全的)对象,比如编译之后的 {@link java.util.regex.Pattern},解析好的属性表达式等.
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @param <K>
+ *            the key type
+ * @param <V>
+ *            the value type
+ * @since 1.10.6
+ */
+public final class ConcurrentLruCache<K, V> {
+
+    /** 最大元素数量. */
+    private final int                             maxSize;
+
+    /** The map. */
+    private final ConcurrentMap<K, CacheEntry<V>> map;
+
+    /** 淘汰锁,同一时间只允许一个线程做淘汰. */
+    private final ReentrantLock                   evictionLock  = new ReentrantLock();
+
+    /** 逻辑时钟,每放入一个新元素加1,作为元素的访问时间. */
+    private final AtomicLong                      clock         = new AtomicLong();
+
+    //---------------------------------------------------------------
+
+    /** 命中次数. */
+    private final AtomicLong                      hitCount      = new AtomicLong();
+
+    /** 未命中次数. */
+    private final AtomicLong                      missCount     = new AtomicLong();
+
+    /** 淘汰次数. */
+    private final AtomicLong                      evictionCount = new AtomicLong();
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new concurrent lru cache.
+     *
+     * @param maxSize
+     *            最大元素数量,必须 {@code >0}
+     * @throws IllegalArgumentException
+     *             如果 {@code maxSize<=0}
+     */
+    public ConcurrentLruCache(int maxSize){
+        Validate.isTrue(maxSize > 0, "maxSize must > 0");
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 <code>key</code> 对应的值.
+     *
+     * @param key
+     *            the key
+     * @return 如果 <code>key</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果缓存中没有,返回null
+     */
+    public V get(K key){
+        CacheEntry<V> cacheEntry = map.get(key);
+        if (null == cacheEntry){
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+
+        //时钟没有变化的话不回写,避免热点元素上的并发写
+        long now = clock.get();
+        if (cacheEntry.lastAccessTime != now){
+            cacheEntry.lastAccessTime = now;
+        }
+        return cacheEntry.value;
+    }
+
+    /**
+     * 如果缓存中没有 <code>key</code>,那么放入 <code>value</code>.
+     *
+     * <p>
+     * 如果放入之后 size 超过 <code>maxSize</code>,将会淘汰最久没有被访问的元素.
+     * </p>
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return 如果缓存中已经存在 <code>key</code>,返回已经存在的值;否则返回 <code>value</code><br>
+     *         如果 <code>key</code> 或者 <code>value</code> 是null,抛出 {@link NullPointerException}
+     */
+    public V putIfAbsent(K key,V value){
+        Validate.notNull(value, "value can't be null!");
+
+        CacheEntry<V> existEntry = map.putIfAbsent(key, new CacheEntry<>(value, clock.incrementAndGet()));
+        if (null != existEntry){
+            return existEntry.value;
+        }
+        if (map.size() > maxSize){
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * 淘汰最久没有被访问的元素,直到 size 不超过 <code>maxSize</code> 的 3/4.
+     */
+    private void evict(){
+        //其他线程正在淘汰,没有必要等待
+        if (!evictionLock.tryLock()){
+            return;
+        }
+        try{
+            int toRemoveCount = map.size() - (maxSize - maxSize / 4);
+            if (toRemoveCount <= 0){
+                return;
+            }
+
+            //访问时间在排序过程中会被并发修改,所以先复制快照,只对快照排序
+            int size = map.size();
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            Map.Entry<K, CacheEntry<V>>[] entries = new Map.Entry[size];
+            long[] accessTimes = new long[size];
+            int count = 0;
+            for (Map.Entry<K, CacheEntry<V>> entry : map.entrySet()){
+                if (count == size){
+                    break;
+                }
+                entries[count] = entry;
+                accessTimes[count] = entry.getValue().lastAccessTime;
+                ++count;
+            }
+            if (count == 0){
+                return;
+            }
+
+            long[] sortedAccessTimes = Arrays.copyOf(accessTimes, count);
+            Arrays.sort(sortedAccessTimes);
+            int removeCount = Math.min(toRemoveCount, count);
+            long threshold = sortedAccessTimes[removeCount - 1];
+
+            //早于阈值的全部淘汰,等于阈值的淘汰剩下的名额
+            int thresholdQuota = removeCount - lowerBound(sortedAccessTimes, threshold);
+            for (int i = 0; i < count; ++i){
+                long accessTime = accessTimes[i];
+                if (accessTime < threshold || (accessTime == threshold && thresholdQuota-- > 0)){
+                    Map.Entry<K, CacheEntry<V>> entry = entries[i];
+                    if (map.remove(entry.getKey(), entry.getValue())){
+                        evictionCount.incrementAndGet();
+                    }
+                }
+            }
+        }finally{
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 有序数组 <code>sortedArray</code> 中第一个 {@code >=} <code>value</code> 的元素的索引.
+     *
+     * @param sortedArray
+     *            升序排列的数组
+     * @param value
+     *            the value
+     * @return 如果所有的元素都 {@code <} <code>value</code>,返回数组长度
+     */
+    private static int lowerBound(long[] sortedArray,long value){
+        int low = 0;
+        int high = sortedArray.length;
+        while (low < high){
+            int middle = (low + high) >>> 1;
+            if (sortedArray[middle] < value){
+                low = middle + 1;
+            }else{
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 清空缓存(计数不清零).
+     */
+    public void clear(){
+        map.clear();
+    }
+
+    /**
+     * 当前缓存的元素数量.
+     *
+     * @return the int
+     */
+    public int size(){
+        return map.size();
+    }
+
+    /**
+     * 获得 最大元素数量.
+     *
+     * @return the maxSize
+     */
+    public int getMaxSize(){
+        return maxSize;
+    }
+
+    /**
+     * 获得 命中次数.
+     *
+     * @return the hitCount
+     */
+    public long getHitCount(){
+        return hitCount.get();
+    }
+
+    /**
+     * 获得 未命中次数.
+     *
+     * @return the missCount
+     */
+    public long getMissCount(){
+        return missCount.get();
+    }
+
+    /**
+     * 获得 淘汰次数.
+     *
+     * @return the evictionCount
+     */
+    public long getEvictionCount(){
+        return evictionCount.get();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 缓存的元素,记录最近一次访问时间.
+     *
+     * @param <V>
+     *            the value type
+     */
+    private static final class CacheEntry<V> {
+
+        /** The value. */
+        private final V       value;
+
+        /** 最近一次访问的逻辑时钟;允许并发覆盖,只用于近似排序. */
+        private volatile long lastAccessTime;
+
+        /**
+         * Instantiates a new cache entry.
+         *
+         * @param value
+         *            the value
+         * @param lastAccessTime
+         *            放入时的逻辑时钟
+         */
+        private CacheEntry(V value, long lastAccessTime){
+            this.value = value;
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util;
+
+import java.util.regex.MatchResult;
+
+/**
+ * {@link CompiledRegex#findAll(CharSequence, MatchResultHandler)} 每找到一个匹配的回调.
+ * 
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>为了不产生额外的对象,传入的 {@link MatchResult} 就是正在查找的 {@link java.util.regex.Matcher} 本身,只在回调方法内有效,
+ * 不要保存它的引用;如果需要保存,请使用 {@link java.util.regex.Matcher#toMatchResult()}</li>
+ * <li>不要在回调中修改正在查找的 input</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see CompiledRegex#findAll(CharSequence, MatchResultHandler)
+ * @since 1.10.6
+ */
+public interface MatchResultHandler{
+
+    /**
+     * 处理一个匹配.
+     *
+     * @param matchResult
+     *            当前的匹配,可以通过 {@link MatchResult#group(int)}, {@link MatchResult#start()} 等获得匹配信息
+     * @return 如果返回 true,继续查找下一个;返回 false,停止查找
+     */
+    boolean handle(MatchResult matchResult);
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 基于 fork/join 的稳定归并排序.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>将数组拆分成若干段,每段使用 {@link Arrays#sort(Object[], int, int, Comparator)} (稳定的 TimSort) 排序,再两两稳定归并,
+ * 因此排序结果和单线程的 {@link java.util.Collections#sort(List, Comparator)} 完全一致</li>
+ * <li>jdk7 没有 <code>Arrays.parallelSort</code> 以及 <code>ForkJoinPool.commonPool()</code>,所以这里自己实现,并且每种并行度维护一个共享的 {@link ForkJoinPool},
+ * 不会每次排序都新建线程池</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+final class ParallelMergeSorter{
+
+    /** 每个排序任务最少的元素数量,再小的话拆分就不划算了. */
+    private static final int                                 MIN_GRANULARITY = 1 << 10;
+
+    /** 共享的线程池, key 是并行度, value 是对应的线程池,第一次使用的时候才创建. */
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOL_MAP        = new ConcurrentHashMap<>();
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private ParallelMergeSorter(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 对 <code>list</code> 排序,并将结果回写到 <code>list</code>.
+     *
+     * @param <T>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param comparator
+     *            the comparator
+     * @param parallelSortConfig
+     *            the parallel sort config
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(List<T> list,Comparator<? super T> comparator,ParallelSortConfig parallelSortConfig){
+        Object[] array = list.toArray();
+        sort((T[]) array, comparator, parallelSortConfig);
+
+        //和 jdk7 Collections.sort 的回写方式一致
+        ListIterator<T> listIterator = list.listIterator();
+        for (Object element : array){
+            listIterator.next();
+            listIterator.set((T) element);
+        }
+    }
+
+    /**
+     * 对 <code>array</code> 排序.
+     *
+     * @param <T>
+     *            the generic type
+     * @param array
+     *            the array
+     * @param comparator
+     *            the comparator
+     * @param parallelSortConfig
+     *            the parallel sort config
+     */
+    static <T> void sort(T[] array,Comparator<? super T> comparator,ParallelSortConfig parallelSortConfig){
+        int length = array.length;
+        int parallelism = parallelSortConfig.getParallelism();
+        if (length < parallelSortConfig.getMinSize() || parallelism <= 1 || length <= MIN_GRANULARITY){
+            Arrays.sort(array, comparator);
+            return;
+        }
+
+        //每个线程大约分到4段,方便 work-stealing 平衡负载
+        int granularity = Math.max(length / (parallelism << 2), MIN_GRANULARITY);
+
+        @SuppressWarnings("unchecked")
+        T[] buffer = (T[]) new Object[length];
+        MergeSortTask<T> mergeSortTask = new MergeSortTask<>(array, buffer, 0, length, granularity, comparator);
+
+        getPool(parallelism).invoke(mergeSortTask);
+    }
+
+    /**
+     * 获得并行度是 <code>parallelism</code> 的共享线程池.
+     *
+     * @param parallelism
+     *            the parallelism
+     * @return the pool
+     */
+    private static ForkJoinPool getPool(int parallelism){
+        ForkJoinPool forkJoinPool = POOL_MAP.get(parallelism);
+        if (null != forkJoinPool){
+            return forkJoinPool;
+        }
+
+        ForkJoinPool newForkJoinPool = new ForkJoinPool(parallelism);
+        ForkJoinPool existForkJoinPool = POOL_MAP.putIfAbsent(parallelism, newForkJoinPool);
+        if (null == existForkJoinPool){
+            return newForkJoinPool;
+        }
+        //其他线程已经创建了,关掉自己多建的这个
+        newForkJoinPool.shutdown();
+        return existForkJoinPool;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 归并排序任务,排序 <code>array</code> 的 [fromIndex,toIndex) 区间.
+     *
+     * @param <T>
+     *            the generic type
+     */
+    private static final class MergeSortTask<T> extends RecursiveAction{
+
+        /** The Constant serialVersionUID. */
+        private static final long           serialVersionUID = 1L;
+
+        /** The array. */
+        private final T[]                   array;
+
+        /** 归并使用的缓冲区,和 <code>array</code> 等长. */
+        private final T[]                   buffer;
+
+        /** The from index(包含). */
+        private final int                   fromIndex;
+
+        /** The to index(不包含). */
+        private final int                   toIndex;
+
+        /** 小于等于这个数量,就直接排序不再拆分. */
+        private final int                   granularity;
+
+        /** The comparator. */
+        private final Comparator<? super T> comparator;
+
+        /**
+         * Instantiates a new merge sort task.
+         *
+         * @param array
+         *            the array
+         * @param buffer
+         *            the buffer
+         * @param fromIndex
+         *            the from index
+         * @param toIndex
+         *            the to index
+         * @param granularity
+         *            the granularity
+         * @param comparator
+         *            the comparator
+         */
+        private MergeSortTask(T[] array, T[] buffer, int fromIndex, int toIndex, int granularity, Comparator<? super T> comparator){
+            this.array = array;
+            this.buffer = buffer;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.granularity = granularity;
+            this.comparator = comparator;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute(){
+            if (toIndex - fromIndex <= granularity){
+                Arrays.sort(array, fromIndex, toIndex, comparator);
+                return;
+            }
+
+            int middle = (fromIndex + toIndex) >>> 1;
+            invokeAll(
+                            new MergeSortTask<>(array, buffer, fromIndex, middle, granularity, comparator),
+                            new MergeSortTask<>(array, buffer, middle, toIndex, granularity, comparator));
+            merge(middle);
+        }
+
+        /**
+         * 稳定归并 [fromIndex,middle) 和 [middle,toIndex) 两个有序区间.
+         *
+         * @param middle
+         *            the middle
+         */
+        private void merge(int middle){
+            //两段本来就是有序的,不需要归并
+            if (comparator.compare(array[middle - 1], array[middle]) <= 0){
+                return;
+            }
+
+            System.arraycopy(array, fromIndex, buffer, fromIndex, toIndex - fromIndex);
+
+            int i = fromIndex;
+            int j = middle;
+            int k = fromIndex;
+            while (i < middle && j < toIndex){
+                //相等的时候取左边的元素,保证稳定
+                array[k++] = comparator.compare(buffer[j], buffer[i]) < 0 ? buffer[j++] : buffer[i++];
+            }
+            if (i < middle){
+                System.arraycopy(buffer, i, array, k, middle - i);
+            }else if (j < toIndex){
+                System.arraycopy(buffer, j, array, k, toIndex - j);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * 并行排序的参数.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>元素数量小于 {@link #getMinSize()} 的时候,使用单线程排序(和 {@link java.util.Collections#sort(java.util.List, java.util.Comparator)} 一致),因为线程调度的开销会大于并行的收益</li>
+ * <li>否则使用 {@link #getParallelism()} 个线程做 fork/join 归并排序</li>
+ * <li>不可变对象,可以放心地共享,比如 {@link #DEFAULT_CONFIG}</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see SortUtil#sortListParallel(java.util.List, ParallelSortConfig, java.util.Comparator...)
+ * @see SortUtil#sortArrayParallel(Object[], ParallelSortConfig, java.util.Comparator...)
+ * @since 1.10.6
+ */
+public final class ParallelSortConfig implements Serializable{
+
+    /** The Constant serialVersionUID. */
+    private static final long              serialVersionUID    = 2864327187541658212L;
+
+    //---------------------------------------------------------------
+
+    /** 默认的并行排序最小元素数量 <code>{@value}</code>. */
+    public static final int                DEFAULT_MIN_SIZE    = 1 << 13;
+
+    /** 默认的并行度,值是 {@link Runtime#availableProcessors()}. */
+    public static final int                DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 默认的并行排序参数.
+     *
+     * <h3>默认的规则:</h3>
+     *
+     * <blockquote>
+     * <ol>
+     * <li>元素数量 {@code <} {@link #DEFAULT_MIN_SIZE} 使用单线程排序</li>
+     * <li>并行度是 {@link #DEFAULT_PARALLELISM}</li>
+     * </ol>
+     * </blockquote>
+     */
+    public static final ParallelSortConfig DEFAULT_CONFIG      = new ParallelSortConfig();
+
+    //---------------------------------------------------------------
+
+    /** 使用并行排序的最小元素数量,默认={@link #DEFAULT_MIN_SIZE}. */
+    private final int                      minSize;
+
+    /** 并行度(也就是参与排序的线程数),默认={@link #DEFAULT_PARALLELISM}. */
+    private final int                      parallelism;
+
+    //---------------------------------------------------------------
+
+    /**
+     * 默认的构造函数.
+     */
+    public ParallelSortConfig(){
+        this(DEFAULT_MIN_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Instantiates a new parallel sort config.
+     *
+     * @param minSize
+     *            使用并行排序的最小元素数量
+     * @param parallelism
+     *            并行度(也就是参与排序的线程数)
+     * @throws IllegalArgumentException
+     *             如果 <code>minSize</code> {@code <} 0,或者 <code>parallelism</code> {@code <} 1
+     */
+    public ParallelSortConfig(int minSize, int parallelism){
+        Validate.isTrue(minSize >= 0, "input param [minSize] must >=0,but is [%s]", minSize);
+        Validate.isTrue(parallelism >= 1, "input param [parallelism] must >=1,but is [%s]", parallelism);
+        this.minSize = minSize;
+        this.parallelism = parallelism;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得 使用并行排序的最小元素数量,默认={@link #DEFAULT_MIN_SIZE}.
+     *
+     * @return the minSize
+     */
+    public int getMinSize(){
+        return minSize;
+    }
+
+    /**
+     * 获得 并行度(也就是参与排序的线程数),默认={@link #DEFAULT_PARALLELISM}.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism(){
+        return parallelism;
+    }
+
+    //---------------------------------------------------------------
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util;
+
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * 编译好的 {@link Pattern} 的缓存,按照 (regex, flags) 缓存.
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <ol>
+ * <li>{@link Pattern#compile(String, int)} 的成本远远大于 {@link Pattern#matcher(CharSequence)},而 {@link Pattern} 是线程安全的,
+ * 所以 {@link RegexUtil}, {@link com.feilong.core.lang.StringUtil#replaceAll(CharSequence, String, String)},
+ * {@link com.feilong.core.lang.StringUtil#split(String, String)} 等都从这里获取 {@link Pattern}</li>
+ * <li>缓存基于 {@link ConcurrentLruCache},最多缓存 {@link #MAX_SIZE} 个,超过之后淘汰最久没有使用的</li>
+ * <li>可以通过 {@link #getHitCount()}, {@link #getMissCount()}, {@link #getEvictionCount()} 监控缓存的命中率;
+ * 如果淘汰次数持续增长,说明程序中有大量动态拼接的正则表达式,应该检查一下</li>
+ * </ol>
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @see Pattern#compile(String, int)
+ * @see ConcurrentLruCache
+ * @since 1.10.6
+ */
+public final class PatternCache{
+
+    /** 最多缓存的 {@link Pattern} 数量 <code>{@value}</code>. */
+    public static final int                                      MAX_SIZE = 512;
+
+    /** The cache. */
+    private static final ConcurrentLruCache<PatternKey, Pattern> CACHE    = new ConcurrentLruCache<>(MAX_SIZE);
+
+    //---------------------------------------------------------------
+
+    /** Don't let anyone instantiate this class. */
+    private PatternCache(){
+        //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
+        //see 《Effective Java》 2nd
+        throw new AssertionError("No " + getClass().getName() + " instances for you!");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 获得编译好的 <code>regex</code> {@link Pattern}.
+     *
+     * @param regex
+     *            正则表达式字符串,pls use {@link RegexPattern}
+     * @return 如果 <code>regex</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>regex</code> 语法错误,抛出 {@link java.util.regex.PatternSyntaxException}
+     * @see Pattern#compile(String)
+     */
+    public static Pattern compile(String regex){
+        return compile(regex, 0);
+    }
+
+    /**
+     * 获得编译好的 <code>regex</code> {@link Pattern}.
+     *
+     * @param regex
+     *            正则表达式字符串,pls use {@link RegexPattern}
+     * @param flags
+     *            参见 {@link Pattern#compile(String, int)}
+     * @return 如果 <code>regex</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>regex</code> 语法错误,抛出 {@link java.util.regex.PatternSyntaxException}<br>
+     *         如果 <code>flags</code> 不合法,抛出 {@link IllegalArgumentException}
+     * @see Pattern#compile(String, int)
+     */
+    public static Pattern compile(String regex,int flags){
+        Validate.notNull(regex, "regex can't be null!");
+
+        PatternKey patternKey = new PatternKey(regex, flags);
+        Pattern pattern = CACHE.get(patternKey);
+        if (null != pattern){
+            return pattern;
+        }
+        return CACHE.putIfAbsent(patternKey, Pattern.compile(regex, flags));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 当前缓存的 {@link Pattern} 数量.
+     *
+     * @return the int
+     */
+    public static int size(){
+        return CACHE.size();
+    }
+
+    /**
+     * 获得 命中次数.
+     *
+     * @return the hit count
+     */
+    public static long getHitCount(){
+        return CACHE.getHitCount();
+    }
+
+    /**
+     * 获得 未命中(也就是需要编译)次数.
+     *
+     * @return the miss count
+     */
+    public static long getMissCount(){
+        return CACHE.getMissCount();
+    }
+
+    /**
+     * 获得 淘汰次数.
+     *
+     * @return the eviction count
+     */
+    public static long getEvictionCount(){
+        return CACHE.getEvictionCount();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 缓存的 key.
+     */
+    private static final class PatternKey{
+
+        /** The regex. */
+        private final String regex;
+
+        /** The flags. */
+        private final int    flags;
+
+        /**
+         * Instantiates a new pattern key.
+         *
+         * @param regex
+         *            the regex
+         * @param flags
+         *            the flags
+         */
+        private PatternKey(String regex, int flags){
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode(){
+            return regex.hashCode() * 31 + flags;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj){
+            if (this == obj){
+                return true;
+            }
+            if (!(obj instanceof PatternKey)){
+                return false;
+            }
+            PatternKey other = (PatternKey) obj;
+            return flags == other.flags && regex.equals(other.regex);
+        }
+    }
+}
@@ -15,7 +15,10 @@
  */
 package com.feilong.core.util;
 
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.Validate;
@@ -25,7 +28,8 @@ import org.apache.commons.lang3.Validate;
  * 
  * <ul>
  * <li>{@link java.lang.Math#random()}底层也是调用的 new Random(),值＝Random nextDouble()</li>
- * <li>把 {@link java.util.Random}对象作为一个全局实例(static)来使用.Java中 {@link java.util.Random} 是线程安全的(内部进行了加锁处理);</li>
+ * <li>普通的随机数使用 {@link ThreadLocalRandom},每个线程一个实例,多线程并发生成的时候不会竞争同一个 seed(全局共享的 {@link java.util.Random} 使用 CAS 更新 seed,线程多的时候会成为热点)</li>
+ * <li>需要不可预测的随机数(比如优惠券码,密码)时,使用 <code>createSecureRandomXXX</code> 系列方法,内部使用 {@link SecureRandom} 池,按照线程分散使用,减少锁竞争</li>
  * <li>伪随机数</li>
  * <li>生成随机数的算法有很多种,最简单也是最常用的就是 "线性同余法":第n+1个数=(第n个数*29+37) % 1000,其中%是"求余数"运算符.</li>
  * </ul>
@@ -38,19 +42,6 @@ import org.apache.commons.lang3.Validate;
  */
 public final class RandomUtil{
 
-    /**
-     * Random object used by random method.
-     * 
-     * <p>
-     * 为了确保同一毫秒不能返回相同的值,不同声明在方法里面.<br>
-     * 把Random对象作为一个全局实例(static)来使用. Java中Random是线程安全的(内部进行了加锁处理);
-     * </p>
-     * 
-     * @see org.apache.commons.lang3.RandomUtils
-     * @since 1.0.7
-     */
-    private static final Random JVM_RANDOM = new Random();
-
     /** Don't let anyone instantiate this class. */
     private RandomUtil(){
         //AssertionError不是必须的. 但它可以避免不小心在类的内部调用构造器. 保证该类在任何情况下都不会被实例化.
@@ -85,7 +76,7 @@ public final class RandomUtil{
         }
 
         // 该值大于等于 0.0 且小于 1.0 正号的 double 值
-        double random = JVM_RANDOM.nextDouble();
+        double random = ThreadLocalRandom.current().nextDouble();
         random = random < 0.1 ? random + 0.1 : random;// 可能出现 0.09346924349151808
         return (long) (random * num);
     }
@@ -126,7 +117,195 @@ public final class RandomUtil{
     public static String createRandomFromString(String str,int length){
         Validate.notBlank(str, "str can't be null/empty!");
         Validate.isTrue(length > 0, "input param [length] must >0,but is [%s]", length);
-        return RandomStringUtils.random(length, str);
+        return random(str.toCharArray(), length, ThreadLocalRandom.current());
+    }
+
+    /**
+     * 批量生成 <code>count</code> 个随机字符串,每个都是从 <code>str</code> 中随机抽取字符,拼接成指定长度<code>length</code>的字符串.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>常用于批量生成优惠券码等,<code>str</code> 只转换一次,随机数生成器只获取一次</li>
+     * <li>生成的字符串不保证不重复,如果需要唯一,请自行去重</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * RandomUtil.createRandomFromString({@link com.feilong.core.Alphabet#DECIMAL_AND_LETTERS Alphabet.DECIMAL_AND_LETTERS}, 8, 1000)
+     * 生成1000个长度是8的字符串
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param str
+     *            被抽取的字符串,比如{@link com.feilong.core.Alphabet#DECIMAL_AND_LETTERS}
+     * @param length
+     *            指定字符串长度,比如 8
+     * @param count
+     *            生成的个数
+     * @return 如果 <code>str</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>str</code> 是blank,抛出 {@link IllegalArgumentException}<br>
+     *         如果 <code>length</code> {@code <=0}, 抛出 {@link IllegalArgumentException}<br>
+     *         如果 <code>count</code> {@code <=0}, 抛出 {@link IllegalArgumentException}
+     * @see #createRandomFromString(String, int)
+     * @since 1.10.6
+     */
+    public static String[] createRandomFromString(String str,int length,int count){
+        Validate.notBlank(str, "str can't be null/empty!");
+        Validate.isTrue(length > 0, "input param [length] must >0,but is [%s]", length);
+        Validate.isTrue(count > 0, "input param [count] must >0,but is [%s]", count);
+        return random(str.toCharArray(), length, count, ThreadLocalRandom.current());
+    }
+
+    // ******************************createSecureRandomFromString**********************************
+
+    /**
+     * 使用 {@link SecureRandom} 随机抽取字符串<code>char</code>,拼接成指定长度<code>length</code>的字符串.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>和 {@link #createRandomFromString(String, int)} 规则相同,只是随机数是不可预测的,适用于优惠券码,临时密码等安全相关的场景</li>
+     * <li>内部使用 {@link SecureRandom} 池(数量是 cpu 核数),按照线程分散使用,减少锁竞争</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param str
+     *            被抽取的字符串,比如{@link com.feilong.core.Alphabet#DECIMAL_AND_LETTERS}
+     * @param length
+     *            指定字符串长度,比如 5
+     * @return 如果 <code>str</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>str</code> 是blank,抛出 {@link IllegalArgumentException}<br>
+     *         如果 <code>length</code> {@code <=0}, 抛出 {@link IllegalArgumentException}
+     * @see #createRandomFromString(String, int)
+     * @since 1.10.6
+     */
+    public static String createSecureRandomFromString(String str,int length){
+        Validate.notBlank(str, "str can't be null/empty!");
+        Validate.isTrue(length > 0, "input param [length] must >0,but is [%s]", length);
+        return random(str.toCharArray(), length, SecureRandomPool.get());
+    }
+
+    /**
+     * 使用 {@link SecureRandom} 批量生成 <code>count</code> 个随机字符串.
+     * 
+     * <p>
+     * 规则同 {@link #createRandomFromString(String, int, int)},只是随机数是不可预测的.
+     * </p>
+     *
+     * @param str
+     *            被抽取的字符串,比如{@link com.feilong.core.Alphabet#DECIMAL_AND_LETTERS}
+     * @param length
+     *            指定字符串长度,比如 8
+     * @param count
+     *            生成的个数
+     * @return 如果 <code>str</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>str</code> 是blank,抛出 {@link IllegalArgumentException}<br>
+     *         如果 <code>length</code> {@code <=0}, 抛出 {@link IllegalArgumentException}<br>
+     *         如果 <code>count</code> {@code <=0}, 抛出 {@link IllegalArgumentException}
+     * @see #createSecureRandomFromString(String, int)
+     * @since 1.10.6
+     */
+    public static String[] createSecureRandomFromString(String str,int length,int count){
+        Validate.notBlank(str, "str can't be null/empty!");
+        Validate.isTrue(length > 0, "input param [length] must >0,but is [%s]", length);
+        Validate.isTrue(count > 0, "input param [count] must >0,but is [%s]", count);
+        return random(str.toCharArray(), length, count, SecureRandomPool.get());
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 批量生成随机字符串.
+     *
+     * @param chars
+     *            the chars
+     * @param length
+     *            the length
+     * @param count
+     *            the count
+     * @param random
+     *            the random
+     * @return the string[]
+     */
+    private static String[] random(char[] chars,int length,int count,Random random){
+        String[] randoms = new String[count];
+        for (int i = 0; i < count; ++i){
+            randoms[i] = random(chars, length, random);
+        }
+        return randoms;
+    }
+
+    /**
+     * 生成随机字符串,规则和 {@link RandomStringUtils#random(int, String)} 完全一致,只是使用指定的 <code>random</code>.
+     *
+     * @param chars
+     *            the chars
+     * @param length
+     *            the length
+     * @param random
+     *            the random
+     * @return the string
+     * @see RandomStringUtils#random(int, int, int, boolean, boolean, char[], Random)
+     */
+    private static String random(char[] chars,int length,Random random){
+        return RandomStringUtils.random(length, 0, chars.length, false, false, chars, random);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * {@link SecureRandom} 池,第一次使用的时候才创建.
+     * 
+     * <p>
+     * 优先使用 <code>SHA1PRNG</code>,每个实例只锁自己;默认的 <code>NativePRNG</code> 所有实例共享同一个全局锁,池化没有意义.
+     * </p>
+     */
+    private static final class SecureRandomPool{
+
+        /** The pool. */
+        private static final SecureRandom[] POOL = newPool(Runtime.getRuntime().availableProcessors());
+
+        /**
+         * 获得当前线程使用的 {@link SecureRandom}.
+         *
+         * @return the secure random
+         */
+        private static SecureRandom get(){
+            return POOL[(int) (Thread.currentThread().getId() % POOL.length)];
+        }
+
+        /**
+         * New pool.
+         *
+         * @param size
+         *            the size
+         * @return the secure random[]
+         */
+        private static SecureRandom[] newPool(int size){
+            SecureRandom[] pool = new SecureRandom[size];
+            for (int i = 0; i < size; ++i){
+                pool[i] = newSecureRandom();
+            }
+            return pool;
+        }
+
+        /**
+         * New secure random.
+         *
+         * @return the secure random
+         */
+        private static SecureRandom newSecureRandom(){
+            try{
+                return SecureRandom.getInstance("SHA1PRNG");
+            }catch (NoSuchAlgorithmException e){
+                return new SecureRandom();
+            }
+        }
     }
 
 }
\ No newline at end of file
@@ -181,8 +181,65 @@ public final class RegexUtil{
     public static String group(String regexPattern,CharSequence input,int groupNo){
         Validate.isTrue(groupNo >= 0, "groupNo must >=0");
 
-        Map<Integer, String> map = group(regexPattern, input);
-        return map.get(groupNo);
+        //只提取需要的组,不构造全部组的 map
+        Matcher matcher = getMatcher(regexPattern, input);
+        if (!matcher.matches()){
+            LOGGER.trace("[not matches] ,\n\tregexPattern:[{}] \n\tinput:[{}]", regexPattern, input);
+            return null;
+        }
+        return groupNo <= matcher.groupCount() ? matcher.group(groupNo) : null;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 预先编译正则表达式 <code>regexPattern</code>,返回可以反复使用的 {@link CompiledRegex}.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <p>
+     * 如果同一个正则表达式需要在循环中反复使用,建议编译成常量,避免每次调用都查找缓存,创建 {@link Matcher} 以及构造组的 map.
+     * </p>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * private static final CompiledRegex EMAIL = RegexUtil.compile("(.*?)@(.*?)");
+     * 
+     * EMAIL.group("feilong@163.com", 1);<span style="color:green">//feilong</span>
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param regexPattern
+     *            正则表达式字符串,pls use {@link RegexPattern}
+     * @return 如果 <code>regexPattern</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>regexPattern</code> 语法错误,抛出 {@link java.util.regex.PatternSyntaxException}
+     * @see CompiledRegex
+     * @since 1.10.6
+     */
+    public static CompiledRegex compile(String regexPattern){
+        return compile(regexPattern, 0);
+    }
+
+    /**
+     * 使用 <code>flags</code> 预先编译正则表达式 <code>regexPattern</code>,返回可以反复使用的 {@link CompiledRegex}.
+     *
+     * @param regexPattern
+     *            正则表达式字符串,pls use {@link RegexPattern}
+     * @param flags
+     *            参见 {@link Pattern#compile(String, int)},比如 {@link Pattern#CASE_INSENSITIVE}
+     * @return 如果 <code>regexPattern</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>regexPattern</code> 语法错误,抛出 {@link java.util.regex.PatternSyntaxException}
+     * @see CompiledRegex
+     * @since 1.10.6
+     */
+    public static CompiledRegex compile(String regexPattern,int flags){
+        Validate.notNull(regexPattern, "regexPattern can't be null!");
+        return new CompiledRegex(PatternCache.compile(regexPattern, flags));
     }
 
     //********************************************************************************************
@@ -228,13 +285,14 @@ public final class RegexUtil{
      * @return 如果 <code>regexPattern</code> 是null,抛出 {@link NullPointerException}<br>
      *         如果 <code>input</code> 是null,抛出 {@link NullPointerException}<br>
      * @see Pattern#compile(String, int)
+     * @see PatternCache#compile(String, int)
      * @since 1.5.3
      */
     private static Matcher getMatcher(String regexPattern,CharSequence input,int flags){
         Validate.notNull(regexPattern, "regexPattern can't be null!");
         Validate.notNull(input, "input can't be null!");
 
-        Pattern pattern = Pattern.compile(regexPattern, flags);
+        Pattern pattern = PatternCache.compile(regexPattern, flags);
         return pattern.matcher(input);
     }
 }
\ No newline at end of file
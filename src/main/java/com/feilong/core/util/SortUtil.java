@@ -34,6 +34,7 @@ import org.apache.commons.lang3.Validate;
 
 import com.feilong.core.util.comparator.BeanComparatorUtil;
 import com.feilong.core.util.comparator.PropertyComparator;
+import com.feilong.core.util.comparator.PropertyValueSorter;
 
 /**
  * 专注于排序的工具类.
@@ -364,6 +365,175 @@ public final class SortUtil{
 
     //*****************************************************************************************
 
+    /**
+     * 对 数组 <code>arrays</code> 使用 <code>comparators</code> 进行并行排序(使用 {@link ParallelSortConfig#DEFAULT_CONFIG}).
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>排序结果和 {@link #sortArray(Object[], Comparator...)} 完全一致(稳定排序,相等的元素保持原来的相对顺序)</li>
+     * <li>元素数量小于 {@link ParallelSortConfig#DEFAULT_MIN_SIZE} 的时候,直接使用单线程排序</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param arrays
+     *            the arrays
+     * @param comparators
+     *            the comparators
+     * @return 如果 <code>array</code> 是null,返回 empty array<br>
+     *         如果 <code>comparators</code> 是null或者empty,直接返回 <code>arrays</code><br>
+     * @see #sortArrayParallel(Object[], ParallelSortConfig, Comparator...)
+     * @since 1.10.6
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> T[] sortArrayParallel(T[] arrays,Comparator<T>...comparators){
+        return sortArrayParallel(arrays, ParallelSortConfig.DEFAULT_CONFIG, comparators);
+    }
+
+    /**
+     * 对 数组 <code>arrays</code> 使用 <code>comparators</code> 按照 <code>parallelSortConfig</code> 进行并行排序.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>排序结果和 {@link #sortArray(Object[], Comparator...)} 完全一致(稳定排序,相等的元素保持原来的相对顺序)</li>
+     * <li>元素数量小于 {@link ParallelSortConfig#getMinSize()} 的时候,直接使用单线程排序;<br>
+     * 否则拆分成若干段,使用 {@link ParallelSortConfig#getParallelism()} 个线程 fork/join 归并排序</li>
+     * <li><code>comparators</code> 会被多个线程同时调用,所以必须是线程安全的(feilong 以及 commons-collections4 提供的 Comparator 都是)</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * User[] users = ...; <span style="color:green">//几百万个元素</span>
+     * 
+     * sortArrayParallel(users, new ParallelSortConfig(10000, 16), new PropertyComparator{@code <User>}("id"));
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param <T>
+     *            the generic type
+     * @param arrays
+     *            the arrays
+     * @param parallelSortConfig
+     *            并行排序的参数
+     * @param comparators
+     *            the comparators
+     * @return 如果 <code>array</code> 是null,返回 empty array<br>
+     *         如果 <code>comparators</code> 是null或者empty,直接返回 <code>arrays</code><br>
+     *         如果 <code>parallelSortConfig</code> 是null,抛出 {@link NullPointerException}<br>
+     * @since 1.10.6
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> T[] sortArrayParallel(T[] arrays,ParallelSortConfig parallelSortConfig,Comparator<T>...comparators){
+        if (null == arrays){
+            return toArray();
+        }
+        if (isNullOrEmpty(comparators)){
+            return arrays;
+        }
+        Validate.notNull(parallelSortConfig, "parallelSortConfig can't be null!");
+
+        ParallelMergeSorter.sort(arrays, toComparator(comparators), parallelSortConfig);
+        return arrays;
+    }
+
+    /**
+     * 对集合 <code>list</code>,使用指定的 <code>comparators</code> 进行并行排序(使用 {@link ParallelSortConfig#DEFAULT_CONFIG}).
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>排序结果和 {@link #sortList(List, Comparator...)} 完全一致(稳定排序,相等的元素保持原来的相对顺序)</li>
+     * <li>元素数量小于 {@link ParallelSortConfig#DEFAULT_MIN_SIZE} 的时候,直接使用单线程排序</li>
+     * </ol>
+     * </blockquote>
+     *
+     * @param <O>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param comparators
+     *            the comparators
+     * @return 如果 <code>list</code> 是null,返回 {@link Collections#emptyList()}<br>
+     *         如果 <code>comparators</code> 是null或者empty,直接返回 <code>list</code><br>
+     * @see #sortListParallel(List, ParallelSortConfig, Comparator...)
+     * @since 1.10.6
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <O> List<O> sortListParallel(List<O> list,Comparator<O>...comparators){
+        return sortListParallel(list, ParallelSortConfig.DEFAULT_CONFIG, comparators);
+    }
+
+    /**
+     * 对集合 <code>list</code>,使用指定的 <code>comparators</code> 按照 <code>parallelSortConfig</code> 进行并行排序.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>排序结果和 {@link #sortList(List, Comparator...)} 完全一致(稳定排序,相等的元素保持原来的相对顺序)</li>
+     * <li>元素数量小于 {@link ParallelSortConfig#getMinSize()} 的时候,直接使用单线程排序;<br>
+     * 否则拆分成若干段,使用 {@link ParallelSortConfig#getParallelism()} 个线程 fork/join 归并排序</li>
+     * <li><code>comparators</code> 会被多个线程同时调用,所以必须是线程安全的(feilong 以及 commons-collections4 提供的 Comparator 都是)</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <p>
+     * <b>场景:</b> 几百万行的报表数据,先按照 id 再按照 age 进行排序,使用16个线程
+     * </p>
+     * 
+     * <pre class="code">
+     * sortListParallel(
+     *                 list,
+     *                 new ParallelSortConfig(10000, 16),
+     *                 BeanComparatorUtil.{@code <User>} chainedComparator("id", "age"));
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param <O>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param parallelSortConfig
+     *            并行排序的参数
+     * @param comparators
+     *            the comparators
+     * @return 如果 <code>list</code> 是null,返回 {@link Collections#emptyList()}<br>
+     *         如果 <code>comparators</code> 是null或者empty,直接返回 <code>list</code><br>
+     *         如果 <code>parallelSortConfig</code> 是null,抛出 {@link NullPointerException}<br>
+     * @since 1.10.6
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <O> List<O> sortListParallel(List<O> list,ParallelSortConfig parallelSortConfig,Comparator<O>...comparators){
+        if (null == list){
+            return emptyList();
+        }
+        if (isNullOrEmpty(comparators)){
+            return list;
+        }
+        Validate.notNull(parallelSortConfig, "parallelSortConfig can't be null!");
+
+        ParallelMergeSorter.sort(list, toComparator(comparators), parallelSortConfig);
+        return list;
+    }
+
+    //*****************************************************************************************
+
     /**
      * 对集合 <code>list</code>,按照指定属性的值(组合)进行排序.
      * 
@@ -475,6 +645,62 @@ public final class SortUtil{
         return sortList(list, comparator);
     }
 
+    /**
+     * 对集合 <code>list</code>,按照指定属性的值(组合)进行排序,每个元素的属性值只提取一次.
+     * 
+     * <h3>说明:</h3>
+     * <blockquote>
+     * <ol>
+     * <li>排序结果和 {@link #sortListByPropertyNamesValue(List, String...)} 完全一致(包括null元素以及null属性值的位置)</li>
+     * <li>{@link #sortListByPropertyNamesValue(List, String...)} 每次比较都会对2个元素反射取值,一共需要 O(n log n) 次取值;<br>
+     * 此方法先将每个元素的属性值提取到和元素一一对应的数组中,再基于这些值排序,最后回写 <code>list</code>,一共只需要 n 次取值,适合数据量大的排序(比如几十万行的报表)</li>
+     * </ol>
+     * </blockquote>
+     * 
+     * <h3>示例:</h3>
+     * 
+     * <blockquote>
+     * 
+     * <pre class="code">
+     * User id12_age18 = new User(12L, 18);
+     * User id1_age8 = new User(1L, 8);
+     * User id2_age30 = new User(2L, 30);
+     * User id2_age2 = new User(2L, 2);
+     * User id2_age36 = new User(2L, 36);
+     * List{@code <User>} list = toList(id12_age18, id2_age36, id2_age2, id2_age30, id1_age8);
+     * 
+     * sortListByExtractedPropertyNamesValue(list, "id desc", "age");
+     * 
+     * assertThat(list, contains(id12_age18, id2_age2, id2_age30, id2_age36, id1_age8));
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param <O>
+     *            the generic type
+     * @param list
+     *            the list
+     * @param propertyNameAndOrders
+     *            属性名称和排序因子,格式同 {@link #sortListByPropertyNamesValue(List, String...)}
+     * @return 如果 <code>list</code> 是null,返回 {@link Collections#emptyList()}<br>
+     * @throws NullPointerException
+     *             如果 <code>propertyNames</code> 是null
+     * @throws IllegalArgumentException
+     *             如果 <code>propertyNames</code> 是empty ,或者有 null元素
+     * @see PropertyValueSorter
+     * @see #sortListByPropertyNamesValue(List, String...)
+     * @since 1.10.6
+     */
+    public static <O> List<O> sortListByExtractedPropertyNamesValue(List<O> list,String...propertyNameAndOrders){
+        if (null == list){
+            return emptyList();
+        }
+        Validate.notEmpty(propertyNameAndOrders, "propertyNameAndOrders can't be null/empty!");
+        Validate.noNullElements(propertyNameAndOrders, "propertyNameAndOrders:[%s] has empty value", (Object[]) propertyNameAndOrders);
+
+        return new PropertyValueSorter<O>(propertyNameAndOrders).sort(list);
+    }
+
     //*************************************************************************************************
 
     /**
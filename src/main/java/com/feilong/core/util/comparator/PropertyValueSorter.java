@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.comparator;
+
+import static com.feilong.core.lang.ClassUtil.isInstance;
+import static com.feilong.core.util.comparator.SortHelper.isAsc;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.Validate;
+
+import com.feilong.core.bean.ConvertUtil;
+import com.feilong.core.bean.PropertyUtil;
+
+/**
+ * 先提取属性值,再排序的排序器 (decorate-sort-undecorate).
+ *
+ * <h3>说明:</h3>
+ * <blockquote>
+ * <p>
+ * 使用 {@link PropertyComparator} 或者 {@link BeanComparatorUtil#chainedComparator(String...)} 排序的时候,每次比较都需要对2个元素反射取值(以及类型转换),<br>
+ * 排序 n 个元素需要 O(n log n) 次取值;<br>
+ * 而此类对每个元素只取一次值(以及类型转换),保存在和元素一一对应的数组中,然后基于这些值排序,最后按照排序结果回写原来的 list,取值次数降为 O(n).
+ * </p>
+ * </blockquote>
+ *
+ * <h3>顺序:</h3>
+ *
+ * <blockquote>
+ * <ol>
+ * <li>如果只有一个属性,那么排序结果和 {@link BeanComparatorUtil#propertyComparator(String)} (或者
+ * {@link PropertyComparator#PropertyComparator(String, Class)}) 完全一致,包括null元素,null属性值的位置以及属性值相等时的比较规则</li>
+ * <li>如果有多个属性,那么排序结果和 {@link BeanComparatorUtil#chainedComparator(String...)} 完全一致,null属性值排在最后面(desc 则排在最前面),属性值都相等的元素保持原来的相对顺序</li>
+ * </ol>
+ * </blockquote>
+ *
+ * <h3>注意:</h3>
+ *
+ * <blockquote>
+ * 当 list size {@code >=} 2 时,每个元素都会被取值一次;取值失败抛出的是 {@link com.feilong.core.bean.BeanOperationException}
+ * (而 {@link BeanComparatorUtil#chainedComparator(String...)} 内部的 {@link org.apache.commons.beanutils.BeanComparator} 抛出的是
+ * {@link RuntimeException}).
+ * </blockquote>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @param <T>
+ *            the generic type
+ * @see PropertyComparator
+ * @see BeanComparatorUtil#chainedComparator(String...)
+ * @since 1.10.6
+ */
+public final class PropertyValueSorter<T> {
+
+    /** 属性名称. */
+    private final String[]                    propertyNames;
+
+    /** 每个属性是否是asc 排序. */
+    private final boolean[]                   ascs;
+
+    /** 提取出来的属性值需要转换的类型,只有单属性的时候支持,可以是null. */
+    @SuppressWarnings("rawtypes")
+    private final Class<? extends Comparable> propertyValueConvertToClass;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Instantiates a new property value sorter.
+     *
+     * @param propertyNameAndOrders
+     *            属性名称和排序因子,格式和 {@link BeanComparatorUtil#chainedComparator(String...)} 相同,比如 "name", "age desc"
+     * @throws NullPointerException
+     *             如果 <code>propertyNameAndOrders</code> 是null,或者有元素是 null
+     * @throws IllegalArgumentException
+     *             如果 <code>propertyNameAndOrders</code> 是empty,或者有元素是 blank
+     */
+    public PropertyValueSorter(String...propertyNameAndOrders){
+        this(propertyNameAndOrders, null);
+    }
+
+    /**
+     * Instantiates a new property value sorter.
+     *
+     * @param propertyNameAndOrder
+     *            属性名称和排序因子,比如 "name" 或者 "name desc"
+     * @param propertyValueConvertToClass
+     *            提取出来的属性值需要转换的类型,使用 {@link ConvertUtil#convert(Object, Class)} 转换,语义同
+     *            {@link PropertyComparator#PropertyComparator(String, Class)}
+     * @throws NullPointerException
+     *             如果 <code>propertyNameAndOrder</code> 是null
+     * @throws IllegalArgumentException
+     *             如果 <code>propertyNameAndOrder</code> 是blank
+     */
+    @SuppressWarnings("rawtypes")
+    public PropertyValueSorter(String propertyNameAndOrder, Class<? extends Comparable> propertyValueConvertToClass){
+        this(new String[] { propertyNameAndOrder }, propertyValueConvertToClass);
+    }
+
+    /**
+     * Instantiates a new property value sorter.
+     *
+     * @param propertyNameAndOrders
+     *            the property name and orders
+     * @param propertyValueConvertToClass
+     *            the property value convert to class
+     */
+    @SuppressWarnings("rawtypes")
+    private PropertyValueSorter(String[] propertyNameAndOrders, Class<? extends Comparable> propertyValueConvertToClass){
+        Validate.notEmpty(propertyNameAndOrders, "propertyNameAndOrders can't be null/empty!");
+
+        int length = propertyNameAndOrders.length;
+        this.propertyNames = new String[length];
+        this.ascs = new boolean[length];
+        for (int i = 0; i < length; ++i){
+            Validate.notBlank(propertyNameAndOrders[i], "propertyNameAndOrder can't be blank!");
+
+            String[] propertyNameAndOrderArray = SortHelper.parsePropertyNameAndOrder(propertyNameAndOrders[i]);
+            propertyNames[i] = propertyNameAndOrderArray[0];
+            ascs[i] = isAsc(propertyNameAndOrderArray);
+        }
+        this.propertyValueConvertToClass = propertyValueConvertToClass;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 对 <code>list</code> 排序,排序结果直接回写到 <code>list</code> 中.
+     *
+     * @param list
+     *            the list
+     * @return 如果 <code>list</code> 是null,抛出 {@link NullPointerException}<br>
+     *         如果 <code>list</code> size {@code <} 2,直接返回<br>
+     *         否则返回排好序的 <code>list</code>
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sort(List<T> list){
+        Validate.notNull(list, "list can't be null!");
+        if (list.size() < 2){
+            return list;
+        }
+
+        Element<T>[] elements = (Element<T>[]) new Element<?>[list.size()];
+        int i = 0;
+        for (T bean : list){
+            elements[i++] = new Element<>(bean, extractPropertyValues(bean));
+        }
+
+        //Arrays.sort(Object[], Comparator) 是稳定排序, 和 Collections.sort 一致
+        Arrays.sort(elements, buildElementComparator());
+
+        ListIterator<T> listIterator = list.listIterator();
+        for (Element<T> element : elements){
+            listIterator.next();
+            listIterator.set(element.bean);
+        }
+        return list;
+    }
+
+    /**
+     * 对 <code>arrays</code> 排序,排序结果直接回写到 <code>arrays</code> 中.
+     *
+     * @param arrays
+     *            the arrays
+     * @return 如果 <code>arrays</code> 是null,抛出 {@link NullPointerException}<br>
+     *         否则返回排好序的 <code>arrays</code>
+     */
+    public T[] sort(T[] arrays){
+        Validate.notNull(arrays, "arrays can't be null!");
+        sort(Arrays.asList(arrays));
+        return arrays;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 提取 <code>bean</code> 的全部属性值.
+     *
+     * @param bean
+     *            the bean
+     * @return 单属性模式下,如果 <code>bean</code> 是null,返回null (null元素由比较器处理)
+     * @throws IllegalArgumentException
+     *             多属性模式下,如果 <code>bean</code> 是null (和 {@link org.apache.commons.beanutils.BeanComparator} 一致)
+     */
+    @SuppressWarnings("rawtypes")
+    private Comparable[] extractPropertyValues(T bean){
+        if (null == bean){
+            Validate.isTrue(!isChained(), "No bean specified");
+            return null;
+        }
+
+        Comparable[] propertyValues = new Comparable[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; ++i){
+            Comparable propertyValue = PropertyUtil.getProperty(bean, propertyNames[i]);
+            propertyValues[i] = null == propertyValueConvertToClass ? propertyValue
+                            : ConvertUtil.convert(propertyValue, propertyValueConvertToClass);
+        }
+        return propertyValues;
+    }
+
+    /**
+     * 是否是多属性模式.
+     *
+     * @return true, if is chained
+     */
+    private boolean isChained(){
+        return propertyNames.length > 1;
+    }
+
+    /**
+     * 构造元素的比较器.
+     *
+     * @return the comparator
+     */
+    private Comparator<Element<T>> buildElementComparator(){
+        return new Comparator<Element<T>>(){
+
+            @Override
+            public int compare(Element<T> e1,Element<T> e2){
+                if (isChained()){
+                    return compareChained(e1, e2);
+                }
+                //ReverseComparator 是交换参数,而不是对结果取反
+                return ascs[0] ? compareSingle(e1, e2) : compareSingle(e2, e1);
+            }
+        };
+    }
+
+    /**
+     * 单属性模式的比较,和 {@link PropertyComparator#compare(Object, Object)} 规则一致.
+     *
+     * @param e1
+     *            the e 1
+     * @param e2
+     *            the e 2
+     * @return the int
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static <T> int compareSingle(Element<T> e1,Element<T> e2){
+        T t1 = e1.bean;
+        T t2 = e2.bean;
+        if (t1 == t2){
+            return 0;
+        }else if (null == t1){//null 排在后面
+            return 1;
+        }else if (null == t2){
+            return -1;
+        }
+
+        //null 属性值排在前面
+        int compareTo = ObjectUtils.compare(e1.propertyValues[0], e2.propertyValues[0], false);
+        if (0 != compareTo){
+            return compareTo;
+        }
+        return isInstance(t1, Comparable.class) ? ObjectUtils.compare((Comparable) t1, (Comparable) t2)
+                        : ObjectUtils.compare(t1.hashCode(), t2.hashCode());
+    }
+
+    /**
+     * 多属性模式的比较,和 {@link BeanComparatorUtil#chainedComparator(String...)} 规则一致.
+     *
+     * @param e1
+     *            the e 1
+     * @param e2
+     *            the e 2
+     * @return the int
+     */
+    @SuppressWarnings("rawtypes")
+    private int compareChained(Element<T> e1,Element<T> e2){
+        for (int i = 0; i < propertyNames.length; ++i){
+            Comparable value1 = e1.propertyValues[i];
+            Comparable value2 = e2.propertyValues[i];
+
+            int compareTo = ascs[i] ? compareNullHigh(value1, value2) : compareNullHigh(value2, value1);
+            if (0 != compareTo){
+                return compareTo;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * null 排在最后面的比较,同 <code>ComparatorUtils.nullHighComparator(ComparableComparator.comparableComparator())</code>.
+     *
+     * @param value1
+     *            the value 1
+     * @param value2
+     *            the value 2
+     * @return the int
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static int compareNullHigh(Comparable value1,Comparable value2){
+        if (value1 == value2){
+            return 0;
+        }else if (null == value1){
+            return 1;
+        }else if (null == value2){
+            return -1;
+        }
+        return value1.compareTo(value2);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 元素以及它提取出来的属性值.
+     *
+     * @param <T>
+     *            the generic type
+     */
+    private static final class Element<T> {
+
+        /** The bean. */
+        private final T            bean;
+
+        /** The property values. */
+        @SuppressWarnings("rawtypes")
+        private final Comparable[] propertyValues;
+
+        /**
+         * Instantiates a new element.
+         *
+         * @param bean
+         *            the bean
+         * @param propertyValues
+         *            the property values
+         */
+        @SuppressWarnings("rawtypes")
+        private Element(T bean, Comparable[] propertyValues){
+            this.bean = bean;
+            this.propertyValues = propertyValues;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import static com.feilong.core.util.ResourceBundleUtil.getResourceBundle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.Converter;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Test;
+
+import com.feilong.core.entity.DangaMemCachedConfig;
+import com.feilong.core.entity.VarBean;
+import com.feilong.core.util.ResourceBundleUtil;
+
+/**
+ * The Class AliasPopulatePlanTest.
+ * 
+ * <p>
+ * 和逐个调用 {@link BeanUtils#setProperty(Object, String, Object)} 的结果比较.
+ * </p>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class AliasPopulatePlanTest{
+
+    /**
+     * Test for class same instance.
+     */
+    @Test
+    public void testForClassSameInstance(){
+        assertSame(AliasPopulatePlan.forClass(VarBean.class), AliasPopulatePlan.forClass(VarBean.class));
+    }
+
+    /**
+     * Test populate var bean.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPopulateVarBean() throws Exception{
+        Map<String, String> aliasAndValueMap = ResourceBundleUtil.toMap(getResourceBundle("messages.feilong-core-test"));
+        assertPopulateEquals(new VarBean(), new VarBean(), aliasAndValueMap);
+    }
+
+    /**
+     * Test populate danga mem cached config.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPopulateDangaMemCachedConfig() throws Exception{
+        Map<String, String> aliasAndValueMap = ResourceBundleUtil.toMap(getResourceBundle("messages.memcached"));
+        assertPopulateEquals(new DangaMemCachedConfig(), new DangaMemCachedConfig(), aliasAndValueMap);
+    }
+
+    /**
+     * Test populate not string value.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPopulateNotStringValue() throws Exception{
+        Map<String, Object> aliasAndValueMap = new HashMap<>();
+        aliasAndValueMap.put("count", 8L);
+        aliasAndValueMap.put("names", new String[] { "feilong", "jinxin" });
+        aliasAndValueMap.put("name", new String[] { "feilong", "jinxin" });
+
+        AliasBean aliasBean = new AliasBean();
+        assertPopulateEquals(new AliasBean(), aliasBean, aliasAndValueMap);
+        assertEquals(8, aliasBean.getCount().intValue());
+        assertEquals("feilong", aliasBean.getName());
+    }
+
+    /**
+     * 两次填充之间注册的转换器仍然生效.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPopulateConverterRegisteredAfterFirstUse() throws Exception{
+        Map<String, Object> aliasAndValueMap = new HashMap<>();
+        aliasAndValueMap.put("count", "5");
+
+        AliasBean aliasBean = new AliasBean();
+        AliasPopulatePlan.forClass(AliasBean.class).populate(aliasBean, aliasAndValueMap);
+        assertEquals(5, aliasBean.getCount().intValue());
+
+        Converter integerConverter = ConvertUtils.lookup(Integer.class);
+        try{
+            ConvertUtils.register(new Converter(){
+
+                @Override
+                public <T> T convert(Class<T> type,Object value){
+                    return type.cast(42);
+                }
+            }, Integer.class);
+
+            AliasPopulatePlan.forClass(AliasBean.class).populate(aliasBean, aliasAndValueMap);
+            assertEquals(42, aliasBean.getCount().intValue());
+        }finally{
+            ConvertUtils.register(integerConverter, Integer.class);
+        }
+    }
+
+    /**
+     * Test populate read only property.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPopulateReadOnlyProperty() throws Exception{
+        Map<String, Object> aliasAndValueMap = new HashMap<>();
+        aliasAndValueMap.put("readOnly", "feilong");
+
+        AliasBean aliasBean = new AliasBean();
+        AliasPopulatePlan.forClass(AliasBean.class).populate(aliasBean, aliasAndValueMap);
+        assertNull(aliasBean.getReadOnly());
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 非 public 的类,setter 不可访问,和 {@link BeanUtils#setProperty(Object, String, Object)} 一样抛出异常.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testPopulateNotPublicClass(){
+        Map<String, Object> aliasAndValueMap = new HashMap<>();
+        aliasAndValueMap.put("value", "feilong");
+        BeanUtil.populateAliasBean(new NotPublicAliasBean(), aliasAndValueMap);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 使用 {@link AliasPopulatePlan} 填充 <code>actual</code>,逐个调用 {@link BeanUtils#setProperty(Object, String, Object)} 填充
+     * <code>expected</code>,比较两者的字段.
+     *
+     * @param expected
+     *            the expected
+     * @param actual
+     *            the actual
+     * @param aliasAndValueMap
+     *            the alias and value map
+     * @throws Exception
+     *             the exception
+     */
+    private static void assertPopulateEquals(Object expected,Object actual,Map<String, ?> aliasAndValueMap) throws Exception{
+        List<Field> aliasFieldList = FieldUtils.getFieldsListWithAnnotation(expected.getClass(), Alias.class);
+        for (Field field : aliasFieldList){
+            Object value = aliasAndValueMap.get(field.getAnnotation(Alias.class).name());
+            if (null != value && !"".equals(value)){
+                BeanUtils.setProperty(expected, field.getName(), value);
+            }
+        }
+
+        AliasPopulatePlan.forClass(actual.getClass()).populate(actual, aliasAndValueMap);
+        assertTrue(EqualsBuilder.reflectionEquals(expected, actual));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * The Class AliasBean.
+     */
+    public static class AliasBean{
+
+        /** The count. */
+        @Alias(name = "count")
+        private Integer  count;
+
+        /** The name. */
+        @Alias(name = "name")
+        private String   name;
+
+        /** The names. */
+        @Alias(name = "names")
+        private String[] names;
+
+        /** The read only. */
+        @Alias(name = "readOnly")
+        private String   readOnly;
+
+        /**
+         * Gets the count.
+         *
+         * @return the count
+         */
+        public Integer getCount(){
+            return count;
+        }
+
+        /**
+         * Sets the count.
+         *
+         * @param count
+         *            the count to set
+         */
+        public void setCount(Integer count){
+            this.count = count;
+        }
+
+        /**
+         * Gets the name.
+         *
+         * @return the name
+         */
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * Sets the name.
+         *
+         * @param name
+         *            the name to set
+         */
+        public void setName(String name){
+            this.name = name;
+        }
+
+        /**
+         * Gets the names.
+         *
+         * @return the names
+         */
+        public String[] getNames(){
+            return names;
+        }
+
+        /**
+         * Sets the names.
+         *
+         * @param names
+         *            the names to set
+         */
+        public void setNames(String[] names){
+            this.names = names;
+        }
+
+        /**
+         * Gets the read only.
+         *
+         * @return the readOnly
+         */
+        public String getReadOnly(){
+            return readOnly;
+        }
+    }
+
+    /**
+     * The Class NotPublicAliasBean.
+     */
+    static class NotPublicAliasBean{
+
+        /** The value. */
+        @Alias(name = "value")
+        private String value;
+
+        /**
+         * Gets the value.
+         *
+         * @return the value
+         */
+        public String getValue(){
+            return value;
+        }
+
+        /**
+         * Sets the value.
+         *
+         * @param value
+         *            the value to set
+         */
+        public void setValue(String value){
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.Test;
+
+/**
+ * The Class BeanCopierTest.
+ * 
+ * <p>
+ * 和 commons-beanutils 的 {@link BeanUtils#copyProperties(Object, Object)}/{@link PropertyUtils#copyProperties(Object, Object)} 比较结果.
+ * </p>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class BeanCopierTest{
+
+    /**
+     * Test get instance same instance.
+     */
+    @Test
+    public void testGetInstanceSameInstance(){
+        String[] includePropertyNames = { "id", "name" };
+        BeanCopier beanCopier = BeanCopier.getInstance(new ToBean(), new FromBean(), includePropertyNames, true);
+
+        assertSame(beanCopier, BeanCopier.getInstance(new ToBean(), new FromBean(), new String[] { "id", "name" }, true));
+        assertNotSame(beanCopier, BeanCopier.getInstance(new ToBean(), new FromBean(), includePropertyNames, false));
+        assertNotSame(beanCopier, BeanCopier.getInstance(new ToBean(), new FromBean(), new String[] { "name", "id" }, true));
+
+        //调用方修改数组,不会影响已经缓存的复制器
+        includePropertyNames[0] = "money";
+        assertSame(beanCopier, BeanCopier.getInstance(new ToBean(), new FromBean(), new String[] { "id", "name" }, true));
+    }
+
+    /**
+     * 都是 jdk 的类,不缓存.
+     */
+    @Test
+    public void testGetInstanceJdkClassesNotCached(){
+        Map<String, Object> toMap = new HashMap<>();
+        Map<String, Object> fromMap = new HashMap<>();
+        assertNotSame(BeanCopier.getInstance(toMap, fromMap, null, true), BeanCopier.getInstance(toMap, fromMap, null, true));
+
+        //其中一个不是 jdk 的类,缓存
+        assertSame(BeanCopier.getInstance(new FromBean(), fromMap, null, true), BeanCopier.getInstance(new FromBean(), fromMap, null, true));
+    }
+
+    /**
+     * Test get instance empty include property names.
+     */
+    @Test
+    public void testGetInstanceEmptyIncludePropertyNames(){
+        assertSame(
+                        BeanCopier.getInstance(new ToBean(), new FromBean(), null, true),
+                        BeanCopier.getInstance(new ToBean(), new FromBean(), new String[0], true));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test copy all properties convert.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCopyAllPropertiesConvert() throws Exception{
+        ToBean expected = new ToBean();
+        BeanUtils.copyProperties(expected, newFromBean());
+
+        ToBean actual = new ToBean();
+        BeanCopier.getInstance(actual, newFromBean(), null, true).copy(actual, newFromBean());
+
+        assertTrue(EqualsBuilder.reflectionEquals(expected, actual));
+        assertEquals("5", actual.getId());
+        assertEquals(8, actual.getCount());
+        assertEquals(null, actual.getWriteOnlyValue());
+    }
+
+    /**
+     * Test copy all properties same class.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCopyAllPropertiesSameClass() throws Exception{
+        FromBean fromBean = newFromBean();
+
+        FromBean convertExpected = new FromBean();
+        BeanUtils.copyProperties(convertExpected, fromBean);
+        FromBean convertActual = new FromBean();
+        BeanCopier.getInstance(convertActual, fromBean, null, true).copy(convertActual, fromBean);
+
+        FromBean expected = new FromBean();
+        PropertyUtils.copyProperties(expected, fromBean);
+        FromBean actual = new FromBean();
+        BeanCopier.getInstance(actual, fromBean, null, false).copy(actual, fromBean);
+
+        assertTrue(EqualsBuilder.reflectionEquals(convertExpected, convertActual));
+        assertTrue(EqualsBuilder.reflectionEquals(expected, actual));
+        assertSame(fromBean.getNickNames(), actual.getNickNames());
+    }
+
+    /**
+     * 类型不匹配,和 {@link PropertyUtils#copyProperties(Object, Object)} 一样抛出 {@link IllegalArgumentException}.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCopyAllPropertiesNotConvertTypeMismatch() throws Exception{
+        ToBean toBean = new ToBean();
+        BeanCopier.getInstance(toBean, newFromBean(), null, false).copy(toBean, newFromBean());
+    }
+
+    /**
+     * Test copy all properties from map.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCopyAllPropertiesFromMap() throws Exception{
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", 5L);
+        map.put("name", "feilong");
+
+        FromBean expected = new FromBean();
+        PropertyUtils.copyProperties(expected, map);
+
+        FromBean actual = new FromBean();
+        BeanCopier.getInstance(actual, map, null, false).copy(actual, map);
+
+        assertTrue(EqualsBuilder.reflectionEquals(expected, actual));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test copy include properties convert.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCopyIncludePropertiesConvert() throws Exception{
+        String[] includePropertyNames = { "id", "count", "nickNames", "money", "readOnlyValue" };
+
+        ToBean expected = new ToBean();
+        FromBean fromBean = newFromBean();
+        for (String propertyName : includePropertyNames){
+            BeanUtils.setProperty(expected, propertyName, BeanUtils.getProperty(fromBean, propertyName));
+        }
+
+        ToBean actual = new ToBean();
+        BeanCopier.getInstance(actual, fromBean, includePropertyNames, true).copy(actual, fromBean);
+
+        assertTrue(EqualsBuilder.reflectionEquals(expected, actual));
+        //和 BeanUtils.getProperty 一样,数组只取第一个元素
+        assertArrayEquals(new String[] { "feilong" }, actual.getNickNames());
+    }
+
+    /**
+     * Test copy include properties not convert.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCopyIncludePropertiesNotConvert() throws Exception{
+        FromBean fromBean = newFromBean();
+
+        FromBean actual = new FromBean();
+        BeanCopier.getInstance(actual, fromBean, new String[] { "name", "nickNames" }, false).copy(actual, fromBean);
+
+        assertEquals("feilong", actual.getName());
+        assertSame(fromBean.getNickNames(), actual.getNickNames());
+        assertEquals(null, actual.getId());
+    }
+
+    /**
+     * Test copy include properties to map.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCopyIncludePropertiesToMap() throws Exception{
+        Map<String, Object> map = new HashMap<>();
+        BeanCopier.getInstance(map, newFromBean(), new String[] { "id", "money" }, true).copy(map, newFromBean());
+
+        assertEquals("5", map.get("id"));
+        assertEquals("8.8", map.get("money"));
+    }
+
+    /**
+     * Test copy include properties blank property name.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCopyIncludePropertiesBlankPropertyName() throws Exception{
+        BeanCopier.getInstance(new ToBean(), newFromBean(), new String[] { "id", " " }, true).copy(new ToBean(), newFromBean());
+    }
+
+    /**
+     * Test copy include properties not exist property.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public void testCopyIncludePropertiesNotExistProperty() throws Exception{
+        BeanCopier.getInstance(new ToBean(), newFromBean(), new String[] { "notExist" }, true).copy(new ToBean(), newFromBean());
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * New from bean.
+     *
+     * @return the from bean
+     */
+    private static FromBean newFromBean(){
+        FromBean fromBean = new FromBean();
+        fromBean.setId(5L);
+        fromBean.setName("feilong");
+        fromBean.setCount("8");
+        fromBean.setMoney(new BigDecimal("8.8"));
+        fromBean.setNickNames(new String[] { "feilong", "飞天奔月" });
+        fromBean.setDate(new Date(0));
+        fromBean.setReadOnlyValue("readOnly");
+        fromBean.setWriteOnlyValue("writeOnly");
+        return fromBean;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * The Class FromBean.
+     */
+    public static class FromBean{
+
+        /** The id. */
+        private Long       id;
+
+        /** The name. */
+        private String     name;
+
+        /** The count. */
+        private String     count;
+
+        /** The money. */
+        private BigDecimal money;
+
+        /** The nick names. */
+        private String[]   nickNames;
+
+        /** The date. */
+        private Date       date;
+
+        /** The read only value. */
+        private String     readOnlyValue;
+
+        /** The write only value. */
+        private String     writeOnlyValue;
+
+        /**
+         * Gets the id.
+         *
+         * @return the id
+         */
+        public Long getId(){
+            return id;
+        }
+
+        /**
+         * Sets the id.
+         *
+         * @param id
+         *            the id to set
+         */
+        public void setId(Long id){
+            this.id = id;
+        }
+
+        /**
+         * Gets the name.
+         *
+         * @return the name
+         */
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * Sets the name.
+         *
+         * @param name
+         *            the name to set
+         */
+        public void setName(String name){
+            this.name = name;
+        }
+
+        /**
+         * Gets the count.
+         *
+         * @return the count
+         */
+        public String getCount(){
+            return count;
+        }
+
+        /**
+         * Sets the count.
+         *
+         * @param count
+         *            the count to set
+         */
+        public void setCount(String count){
+            this.count = count;
+        }
+
+        /**
+         * Gets the money.
+         *
+         * @return the money
+         */
+        public BigDecimal getMoney(){
+            return money;
+        }
+
+        /**
+         * Sets the money.
+         *
+         * @param money
+         *            the money to set
+         */
+        public void setMoney(BigDecimal money){
+            this.money = money;
+        }
+
+        /**
+         * Gets the nick names.
+         *
+         * @return the nickNames
+         */
+        public String[] getNickNames(){
+            return nickNames;
+        }
+
+        /**
+         * Sets the nick names.
+         *
+         * @param nickNames
+         *            the nickNames to set
+         */
+        public void setNickNames(String[] nickNames){
+            this.nickNames = nickNames;
+        }
+
+        /**
+         * Gets the date.
+         *
+         * @return the date
+         */
+        public Date getDate(){
+            return date;
+        }
+
+        /**
+         * Sets the date.
+         *
+         * @param date
+         *            the date to set
+         */
+        public void setDate(Date date){
+            this.date = date;
+        }
+
+        /**
+         * Gets the read only value.
+         *
+         * @return the readOnlyValue
+         */
+        public String getReadOnlyValue(){
+            return readOnlyValue;
+        }
+
+        /**
+         * Sets the read only value.
+         *
+         * @param readOnlyValue
+         *            the readOnlyValue to set
+         */
+        public void setReadOnlyValue(String readOnlyValue){
+            this.readOnlyValue = readOnlyValue;
+        }
+
+        /**
+         * Sets the write only value.
+         *
+         * @param writeOnlyValue
+         *            the writeOnlyValue to set
+         */
+        public void setWriteOnlyValue(String writeOnlyValue){
+            this.writeOnlyValue = writeOnlyValue;
+        }
+    }
+
+    /**
+     * The Class ToBean.
+     */
+    public static class ToBean{
+
+        /** The id. */
+        private String   id;
+
+        /** The count. */
+        private int      count;
+
+        /** The money. */
+        private String   money;
+
+        /** The nick names. */
+        private String[] nickNames;
+
+        /** The read only value. */
+        private String   readOnlyValue;
+
+        /** The write only value. */
+        private String   writeOnlyValue;
+
+        /**
+         * Gets the id.
+         *
+         * @return the id
+         */
+        public String getId(){
+            return id;
+        }
+
+        /**
+         * Sets the id.
+         *
+         * @param id
+         *            the id to set
+         */
+        public void setId(String id){
+            this.id = id;
+        }
+
+        /**
+         * Gets the count.
+         *
+         * @return the count
+         */
+        public int getCount(){
+            return count;
+        }
+
+        /**
+         * Sets the count.
+         *
+         * @param count
+         *            the count to set
+         */
+        public void setCount(int count){
+            this.count = count;
+        }
+
+        /**
+         * Gets the money.
+         *
+         * @return the money
+         */
+        public String getMoney(){
+            return money;
+        }
+
+        /**
+         * Sets the money.
+         *
+         * @param money
+         *            the money to set
+         */
+        public void setMoney(String money){
+            this.money = money;
+        }
+
+        /**
+         * Gets the nick names.
+         *
+         * @return the nickNames
+         */
+        public String[] getNickNames(){
+            return nickNames;
+        }
+
+        /**
+         * Sets the nick names.
+         *
+         * @param nickNames
+         *            the nickNames to set
+         */
+        public void setNickNames(String[] nickNames){
+            this.nickNames = nickNames;
+        }
+
+        /**
+         * Gets the read only value.
+         *
+         * @return the readOnlyValue
+         */
+        public String getReadOnlyValue(){
+            return readOnlyValue;
+        }
+
+        /**
+         * Gets the write only value.
+         *
+         * @return the writeOnlyValue
+         */
+        public String getWriteOnlyValue(){
+            return writeOnlyValue;
+        }
+
+        /**
+         * Sets the write only value.
+         *
+         * @param writeOnlyValue
+         *            the writeOnlyValue to set
+         */
+        public void setWriteOnlyValue(String writeOnlyValue){
+            this.writeOnlyValue = writeOnlyValue;
+        }
+    }
+}
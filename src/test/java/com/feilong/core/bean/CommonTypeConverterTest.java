@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.converters.BigDecimalConverter;
+import org.apache.commons.beanutils.converters.IntegerConverter;
+import org.apache.commons.beanutils.converters.LongConverter;
+import org.junit.Test;
+
+/**
+ * The Class CommonTypeConverterTest.
+ * 
+ * <p>
+ * 和 commons-beanutils 的转换器逐个比较结果.
+ * </p>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class CommonTypeConverterTest{
+
+    /** The Constant STRINGS. */
+    private static final List<String> STRINGS = Arrays.asList(
+                    "",
+                    " ",
+                    "0",
+                    "8",
+                    " 8 ",
+                    "\t8\n",
+                    "+8",
+                    "-8",
+                    "+",
+                    "-",
+                    "--8",
+                    "+-8",
+                    "08",
+                    "8a",
+                    "a8",
+                    "1,2,3",
+                    "1.5",
+                    "-1.5",
+                    ".5",
+                    "5.",
+                    ".",
+                    "1.2.3",
+                    "1e5",
+                    "1E-5",
+                    "1e+5",
+                    "1e",
+                    "e5",
+                    "1.5e5.5",
+                    "1e99999999999",
+                    "2147483647",
+                    "2147483648",
+                    "-2147483648",
+                    "-2147483649",
+                    "9223372036854775807",
+                    "9223372036854775808",
+                    "-9223372036854775808",
+                    "-9223372036854775809",
+                    "99999999999999999999999",
+                    "８",
+                    "1２",
+                    "٨",
+                    " 8",
+                    "true",
+                    "TRUE",
+                    "Yes",
+                    "y",
+                    "ON",
+                    "1",
+                    "false",
+                    "No",
+                    "N",
+                    "OFF",
+                    "9",
+                    " true",
+                    "yeſ",
+                    "NaN",
+                    "Infinity");
+
+    /** The Constant NUMBERS. */
+    private static final List<Number> NUMBERS = Arrays.<Number> asList(
+                    0,
+                    1,
+                    -1,
+                    8,
+                    Integer.MAX_VALUE,
+                    Integer.MIN_VALUE,
+                    8L,
+                    1L,
+                    Long.MAX_VALUE,
+                    Long.MIN_VALUE,
+                    (long) Integer.MAX_VALUE + 1,
+                    (short) 8,
+                    (byte) 8,
+                    1.0d,
+                    1.5d,
+                    -1.5d,
+                    0.1d,
+                    1e20d,
+                    Double.NaN,
+                    Double.POSITIVE_INFINITY,
+                    0.1f,
+                    Float.NaN,
+                    new BigDecimal("8"),
+                    new BigDecimal("8.50"),
+                    new BigDecimal("1e40"),
+                    new BigInteger("8"),
+                    new BigInteger("99999999999999999999999"),
+                    new AtomicLong(8));
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test to integer.
+     */
+    @Test
+    public void testToInteger(){
+        for (Object value : allValues()){
+            assertEquals(String.valueOf(value), new IntegerConverter(null).convert(Integer.class, value), CommonTypeConverter.toInteger(value, null));
+            assertEquals(String.valueOf(value), new IntegerConverter(-9).convert(Integer.class, value), CommonTypeConverter.toInteger(value, -9));
+        }
+    }
+
+    /**
+     * Test to long.
+     */
+    @Test
+    public void testToLong(){
+        for (Object value : allValues()){
+            assertEquals(String.valueOf(value), new LongConverter(null).convert(Long.class, value), CommonTypeConverter.toLong(value));
+        }
+    }
+
+    /**
+     * Test to big decimal.
+     */
+    @Test
+    public void testToBigDecimal(){
+        for (Object value : allValues()){
+            assertEquals(String.valueOf(value), new BigDecimalConverter(null).convert(BigDecimal.class, value), CommonTypeConverter.toBigDecimal(value));
+        }
+    }
+
+    /**
+     * Test to boolean.
+     */
+    @Test
+    public void testToBoolean(){
+        for (Object value : allValues()){
+            if (null != value){
+                assertEquals(String.valueOf(value), ConvertUtils.convert(value, Boolean.class), ConvertUtil.toBoolean(value));
+            }
+        }
+    }
+
+    /**
+     * 随机的 ASCII 字符串,覆盖各种不合法的组合.
+     */
+    @Test
+    public void testRandomString(){
+        String chars = "0123456789+-.eE a";
+        Random random = new Random(20161018L);
+        for (int i = 0; i < 20000; ++i){
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0, length = random.nextInt(24); j < length; ++j){
+                sb.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            String value = sb.toString();
+            assertEquals(value, new IntegerConverter(null).convert(Integer.class, value), CommonTypeConverter.toInteger(value, null));
+            assertEquals(value, new LongConverter(null).convert(Long.class, value), CommonTypeConverter.toLong(value));
+            assertEquals(value, new BigDecimalConverter(null).convert(BigDecimal.class, value), CommonTypeConverter.toBigDecimal(value));
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test same instance.
+     */
+    @Test
+    public void testSameInstance(){
+        Integer integer = 1000;
+        Long longValue = 1000L;
+        BigDecimal bigDecimal = new BigDecimal("1000");
+
+        assertSame(integer, CommonTypeConverter.toInteger(integer, null));
+        assertSame(longValue, CommonTypeConverter.toLong(longValue));
+        assertSame(bigDecimal, CommonTypeConverter.toBigDecimal(bigDecimal));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * All values.
+     *
+     * @return the list
+     */
+    private static List<Object> allValues(){
+        List<Object> list = new ArrayList<>();
+        list.add(null);
+        list.addAll(STRINGS);
+        list.addAll(NUMBERS);
+        list.add(true);
+        list.add(false);
+        list.add(new String[] { "8", "9" });
+        list.add(Arrays.asList("8", "9"));
+        list.add('8');
+        list.add(new StringBuilder("8"));
+        return list;
+    }
+}
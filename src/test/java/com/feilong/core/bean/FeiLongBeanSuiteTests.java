@@ -20,6 +20,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 import com.feilong.core.bean.beanutiltest.FeiLongBeanUtilSuiteTests;
+import com.feilong.core.bean.converterregistrytest.ConverterRegistryTest;
 import com.feilong.core.bean.convertutiltest.FeiLongConvertUtilSuiteTests;
 import com.feilong.core.bean.propertyutiltest.FeiLongPropertyUtilSuiteTests;
 
@@ -34,6 +35,11 @@ import com.feilong.core.bean.propertyutiltest.FeiLongPropertyUtilSuiteTests;
                 FeiLongBeanUtilSuiteTests.class,
                 FeiLongConvertUtilSuiteTests.class,
                 FeiLongPropertyUtilSuiteTests.class,
+
+                AliasPopulatePlanTest.class,
+                BeanCopierTest.class,
+                CommonTypeConverterTest.class,
+                ConverterRegistryTest.class,
         //
 })
 public class FeiLongBeanSuiteTests{
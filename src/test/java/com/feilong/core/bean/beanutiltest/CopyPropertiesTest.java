@@ -161,4 +161,20 @@ public class CopyPropertiesTest{
     public void testBeanUtilNullFromBean(){
         BeanUtil.copyProperties(new Person(), null);
     }
+
+    /**
+     * Test bean util blank include property name.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBeanUtilBlankIncludePropertyName(){
+        BeanUtil.copyProperties(new Person(), new User(), "name", " ");
+    }
+
+    /**
+     * Test bean util null include property name.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testBeanUtilNullIncludePropertyName(){
+        BeanUtil.copyProperties(new Person(), new User(), "name", null);
+    }
 }
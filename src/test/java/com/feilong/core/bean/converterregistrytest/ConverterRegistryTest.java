@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean.converterregistrytest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.Converter;
+import org.apache.commons.lang3.LocaleUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import com.feilong.core.bean.ConvertUtil;
+import com.feilong.core.bean.ConverterRegistry;
+import com.feilong.core.bean.TypedConverter;
+
+/**
+ * The Class ConverterRegistryTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ConverterRegistryTest{
+
+    /** The Constant LOCALE_CONVERTER. */
+    private static final Converter LOCALE_CONVERTER = new Converter(){
+
+        @Override
+        public <T> T convert(Class<T> type,Object value){
+            return type.cast(LocaleUtils.toLocale(value.toString()));
+        }
+    };
+
+    /**
+     * 返回固定值的转换器.
+     *
+     * @param result
+     *            the result
+     * @return the converter
+     */
+    private static Converter fixed(final String result){
+        return new Converter(){
+
+            @Override
+            public <T> T convert(Class<T> type,Object value){
+                return type.cast(result);
+            }
+        };
+    }
+
+    /**
+     * Clean.
+     */
+    @After
+    public void clean(){
+        ConverterRegistry.deregister(Locale.class);
+        ConverterRegistry.deregister(String.class);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test register.
+     */
+    @Test
+    public void testRegister(){
+        //没有注册的时候,找不到 converter 原样返回
+        assertEquals("zh_CN", ConvertUtil.convert("zh_CN", Locale.class));
+
+        ConverterRegistry.register(Locale.class, LOCALE_CONVERTER);
+        assertEquals(Locale.CHINA, ConvertUtil.convert("zh_CN", Locale.class));
+
+        //不影响 commons-beanutils 全局的注册表
+        assertEquals("zh_CN", ConvertUtils.convert((Object) "zh_CN", Locale.class));
+
+        ConverterRegistry.deregister(Locale.class);
+        assertEquals("zh_CN", ConvertUtil.convert("zh_CN", Locale.class));
+    }
+
+    /**
+     * Test register source type.
+     */
+    @Test
+    public void testRegisterSourceType(){
+        ConverterRegistry.register(Number.class, String.class, fixed("number"));
+        ConverterRegistry.register(CharSequence.class, String.class, fixed("charSequence"));
+
+        //父类
+        assertEquals("number", ConvertUtil.convert(1, String.class));
+        assertEquals("number", ConvertUtil.convert(1L, String.class));
+        //接口
+        assertEquals("charSequence", ConvertUtil.convert(new StringBuilder("a"), String.class));
+        //没有匹配,使用 ConvertUtils
+        assertEquals("true", ConvertUtil.convert(true, String.class));
+
+        //精确的 sourceType 优先
+        ConverterRegistry.register(Integer.class, String.class, fixed("integer"));
+        assertEquals("integer", ConvertUtil.convert(1, String.class));
+        assertEquals("number", ConvertUtil.convert(1L, String.class));
+
+        //只按照 targetType 注册的优先级最低
+        ConverterRegistry.register(String.class, fixed("default"));
+        assertEquals("default", ConvertUtil.convert(true, String.class));
+        assertEquals("integer", ConvertUtil.convert(1, String.class));
+
+        ConverterRegistry.deregister(Integer.class, String.class);
+        assertEquals("number", ConvertUtil.convert(1, String.class));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test get converter.
+     */
+    @Test
+    public void testGetConverter(){
+        TypedConverter<Integer> typedConverter = ConverterRegistry.getConverter(String.class, Integer.class);
+        assertEquals(Integer.class, typedConverter.getTargetType());
+
+        for (String value : new String[] { "8", " 8", "aaaa", "1,2,3", "" }){
+            assertEquals(ConvertUtil.convert(value, Integer.class), typedConverter.convert(value));
+        }
+        assertNull(typedConverter.convert(null));
+    }
+
+    /**
+     * Test get converter same as convert util.
+     */
+    @Test
+    public void testGetConverterSameAsConvertUtil(){
+        assertEquals(ConvertUtil.convert(8, String.class), ConverterRegistry.getConverter(Integer.class, String.class).convert(8));
+        assertEquals(ConvertUtil.convert("zh_CN", Locale.class), ConverterRegistry.getConverter(String.class, Locale.class).convert("zh_CN"));
+        assertArrayEquals(
+                        ConvertUtil.convert("1,2,3", Integer[].class),
+                        ConverterRegistry.getConverter(String.class, Integer[].class).convert("1,2,3"));
+
+        String[] array = { "1", "2" };
+        assertEquals(ConvertUtil.convert(array, String.class), ConverterRegistry.getConverter(String[].class, String.class).convert(array));
+    }
+
+    /**
+     * 返回的 {@link TypedConverter} 是预先解析好的,之后再注册不影响.
+     */
+    @Test
+    public void testGetConverterResolvedOnce(){
+        TypedConverter<Locale> before = ConverterRegistry.getConverter(String.class, Locale.class);
+
+        ConverterRegistry.register(Locale.class, LOCALE_CONVERTER);
+        TypedConverter<Locale> after = ConverterRegistry.getConverter(String.class, Locale.class);
+
+        assertEquals(Locale.CHINA, after.convert("zh_CN"));
+        assertEquals("zh_CN", (Object) before.convert("zh_CN"));
+    }
+
+    /**
+     * 和 {@link ConvertUtils#convert(Object, Class)} 一样,基本类型也只转换一次.
+     */
+    @Test
+    public void testGetConverterPrimitiveConvertOnce(){
+        final Converter intConverter = ConvertUtils.lookup(int.class);
+        final AtomicInteger count = new AtomicInteger();
+        ConvertUtils.register(new Converter(){
+
+            @Override
+            public <T> T convert(Class<T> type,Object value){
+                count.incrementAndGet();
+                return intConverter.convert(type, value);
+            }
+        }, int.class);
+
+        try{
+            assertEquals(8, (int) ConverterRegistry.getConverter(String.class, int.class).convert("8"));
+            assertEquals(1, count.get());
+        }finally{
+            ConvertUtils.register(intConverter, int.class);
+        }
+    }
+
+    /**
+     * 和 {@link ConvertUtils#convert(Object, Class)} 一样,转换器转不成 String 的时候使用 toString().
+     */
+    @Test
+    public void testGetConverterStringToStringFallback(){
+        Converter stringConverter = ConvertUtils.lookup(String.class);
+        ConvertUtils.register(new Converter(){
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T convert(Class<T> type,Object value){
+                return (T) value;
+            }
+        }, String.class);
+
+        try{
+            TypedConverter<String> typedConverter = ConverterRegistry.getConverter(Locale.class, String.class);
+            assertEquals(ConvertUtils.convert((Object) Locale.CHINA, String.class), typedConverter.convert(Locale.CHINA));
+            assertEquals("zh_CN", typedConverter.convert(Locale.CHINA));
+        }finally{
+            ConvertUtils.register(stringConverter, String.class);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testRegisterNullTargetType(){
+        ConverterRegistry.register(null, LOCALE_CONVERTER);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRegisterNullConverter(){
+        ConverterRegistry.register(Locale.class, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetConverterNullSourceType(){
+        ConverterRegistry.getConverter(null, Integer.class);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetConverterNullTargetType(){
+        ConverterRegistry.getConverter(String.class, null);
+    }
+}
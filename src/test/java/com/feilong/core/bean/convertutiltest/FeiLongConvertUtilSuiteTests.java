@@ -39,6 +39,7 @@ import org.junit.runners.Suite.SuiteClasses;
                 ToIntegerDefaultValueParameterizedTest.class,
                 ToIntegerParameterizedTest.class,
                 ToIntegersParameterizedTest.class,
+                ToIntArrayParameterizedTest.class,
 
                 ToIteratorTest.class,
 
@@ -50,6 +51,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
                 ToLongParameterizedTest.class,
                 ToLongsParameterizedTest.class,
+                ToLongArrayParameterizedTest.class,
 
                 ToMapArrayTest.class,
                 ToMapCollectionTest.class,
@@ -65,6 +67,7 @@ import org.junit.runners.Suite.SuiteClasses;
                 ToStringCollectionToStringConfigParameterizedTest.class,
                 ToStringParameterizedTest.class,
                 ToStringsTest.class,
+                JoinTest.class,
 
                 ToSetVarargsTest.class,
         //
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean.convertutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.bean.ToStringConfig.IGNORE_NULL_OR_EMPTY_CONFIG;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.feilong.core.UncheckedIOException;
+import com.feilong.core.bean.ConvertUtil;
+import com.feilong.core.bean.ToStringConfig;
+
+/**
+ * The Class JoinTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class JoinTest{
+
+    /** The list. */
+    private final List<String> list = toList("feilong", "", "xinge", null);
+
+    /**
+     * 只能迭代的 {@link Iterable}.
+     *
+     * @param <T>
+     *            the generic type
+     * @param iterable
+     *            the iterable
+     * @return the iterable
+     */
+    private static <T> Iterable<T> iterableOnly(final Iterable<T> iterable){
+        return new Iterable<T>(){
+
+            @Override
+            public Iterator<T> iterator(){
+                return iterable.iterator();
+            }
+        };
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test to string iterable.
+     */
+    @Test
+    public void testToStringIterable(){
+        assertEquals("feilong,,xinge,", ConvertUtil.toString(iterableOnly(list), null));
+        assertEquals("feilong,xinge", ConvertUtil.toString(iterableOnly(list), IGNORE_NULL_OR_EMPTY_CONFIG));
+        assertEquals("feilong@@xinge@", ConvertUtil.toString(iterableOnly(list), new ToStringConfig("@")));
+        assertEquals(EMPTY, ConvertUtil.toString(iterableOnly(toList()), null));
+        assertEquals(EMPTY, ConvertUtil.toString((Iterable<?>) null, null));
+    }
+
+    /**
+     * Test to string iterator.
+     */
+    @Test
+    public void testToStringIterator(){
+        assertEquals("feilong,,xinge,", ConvertUtil.toString(list.iterator(), null));
+        assertEquals("feilong,xinge", ConvertUtil.toString(new ArrayDeque<>(toList("feilong", "xinge")).iterator(), null));
+        assertEquals(EMPTY, ConvertUtil.toString((Iterator<?>) null, null));
+    }
+
+    /**
+     * 和以前的实现一样,元素本身以连接符结尾的时候,也只是在元素之间拼接连接符.
+     */
+    @Test
+    public void testToStringElementEndsWithConnector(){
+        assertEquals("a,,b,", ConvertUtil.toString(toList("a,", "b,"), null));
+        assertEquals("ab", ConvertUtil.toString(toList("a", "b"), new ToStringConfig(null)));
+        assertEquals("ab", ConvertUtil.toString(toList("a", "b"), new ToStringConfig(EMPTY)));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test join string builder.
+     */
+    @Test
+    public void testJoinStringBuilder(){
+        StringBuilder sb = new StringBuilder("select * from t_order where id in (");
+        assertSame(sb, ConvertUtil.join(sb, toList(1L, 2L, 3L), null));
+        sb.append(")");
+        assertEquals("select * from t_order where id in (1,2,3)", sb.toString());
+    }
+
+    /**
+     * Test join writer.
+     */
+    @Test
+    public void testJoinWriter(){
+        StringWriter stringWriter = new StringWriter();
+        ConvertUtil.join(stringWriter, list.iterator(), IGNORE_NULL_OR_EMPTY_CONFIG);
+        assertEquals("feilong,xinge", stringWriter.toString());
+
+        ConvertUtil.join(stringWriter, (Iterable<?>) null, null);
+        assertEquals("feilong,xinge", stringWriter.toString());
+    }
+
+    /**
+     * Test join IO exception.
+     */
+    @Test(expected = UncheckedIOException.class)
+    public void testJoinIOException(){
+        Writer writer = new Writer(){
+
+            @Override
+            public void write(char[] cbuf,int off,int len) throws IOException{
+                throw new IOException("closed");
+            }
+
+            @Override
+            public void flush(){
+            }
+
+            @Override
+            public void close(){
+            }
+        };
+        ConvertUtil.join(writer, list, null);
+    }
+
+    /**
+     * Test join null appendable.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testJoinNullAppendable(){
+        ConvertUtil.join((StringBuilder) null, list, null);
+    }
+}
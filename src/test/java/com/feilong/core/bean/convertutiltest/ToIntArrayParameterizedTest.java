@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean.convertutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toArray;
+import static com.feilong.core.bean.ConvertUtil.toIntArray;
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.feilong.test.AbstractOneParamAndOneResultParameterizedTest;
+
+/**
+ * The Class ToIntArrayParameterizedTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ToIntArrayParameterizedTest extends AbstractOneParamAndOneResultParameterizedTest<Object, int[]>{
+
+    /**
+     * Data.
+     *
+     * @return the iterable
+     */
+    @Parameters(name = "index:{index}: ConvertUtil.toIntArray({0})={1}")
+    public static Iterable<Object[]> data(){
+        Object[][] objects = new Object[][] {
+                                              { null, null },
+
+                                              { "1,2,3", new int[] { 1, 2, 3 } },
+                                              { "{1,2,3}", new int[] { 1, 2, 3 } },
+                                              { "{ 1 ,2,3}", new int[] { 1, 2, 3 } },
+                                              { "1,2, 3", new int[] { 1, 2, 3 } },
+                                              { "1,2 , 3", new int[] { 1, 2, 3 } },
+                                              { "1,,3", new int[] { 1, 3 } },
+                                              { "1,2,", new int[] { 1, 2 } },
+                                              { "+1,-2", new int[] { 1, -2 } },
+                                              { "2147483647,-2147483648", new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE } },
+                                              { "１,2", new int[] { 1, 2 } },
+                                              { new StringBuilder("1,2"), new int[] { 1, 2 } },
+                                              { "", new int[] {} },
+                                              { " , ", new int[] {} },
+
+                                              { "1,a,3", new int[] {} },
+                                              { "1.5,2", new int[] {} },
+                                              { "2147483648", new int[] {} },
+                                              { "1,-", new int[] {} },
+                                              { "1 2", new int[] {} },
+
+                                              { new String[] { "1", "2", "3" }, new int[] { 1, 2, 3 } },
+                                              { toList("1", "2", " 3"), new int[] { 1, 2, 3 } },
+                                              { toList(1, 2L, new BigDecimal("3.7")), new int[] { 1, 2, 3 } },
+                                              { new int[] { 1, 2 }, new int[] { 1, 2 } },
+                                              { new long[] { 1L, 2L }, new int[] { 1, 2 } },
+                                              { new long[] { Long.MAX_VALUE }, new int[] {} },
+                                              { toArray(true, false, false), new int[] { 1, 0, 0 } },
+                                              { 5L, new int[] { 5 } },
+
+                                              { new String[] { "1", null, "2", "3" }, new int[] {} },
+                                              { new String[] { "1", "a" }, new int[] {} }, };
+        return toList(objects);
+    }
+
+    /**
+     * Test to int array.
+     */
+    @Test
+    public void testToIntArray(){
+        assertArrayEquals(expectedValue, toIntArray(input1));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.bean.convertutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toArray;
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.bean.ConvertUtil.toLongArray;
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.feilong.test.AbstractOneParamAndOneResultParameterizedTest;
+
+/**
+ * The Class ToLongArrayParameterizedTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ToLongArrayParameterizedTest extends AbstractOneParamAndOneResultParameterizedTest<Object, long[]>{
+
+    /**
+     * Data.
+     *
+     * @return the iterable
+     */
+    @Parameters(name = "index:{index}: ConvertUtil.toLongArray({0})={1}")
+    public static Iterable<Object[]> data(){
+        Object[][] objects = new Object[][] {
+                                              { null, null },
+
+                                              { "1,2,3", new long[] { 1L, 2L, 3L } },
+                                              { "{1,2,3}", new long[] { 1L, 2L, 3L } },
+                                              { "{ 1 ,2,3}", new long[] { 1L, 2L, 3L } },
+                                              { "1,2 , 3", new long[] { 1L, 2L, 3L } },
+                                              { "99999999999,2", new long[] { 99999999999L, 2L } },
+                                              {
+                                                "9223372036854775807,-9223372036854775808",
+                                                new long[] { Long.MAX_VALUE, Long.MIN_VALUE } },
+                                              { "9223372036854775808", new long[] {} },
+                                              { "1,a,3", new long[] {} },
+
+                                              { new String[] { "1", "2", "3" }, new long[] { 1L, 2L, 3L } },
+                                              { toList("1", "2", " 3"), new long[] { 1L, 2L, 3L } },
+                                              { toList(1, 2L), new long[] { 1L, 2L } },
+                                              { new int[] { 1, 2 }, new long[] { 1L, 2L } },
+                                              { toArray(true, false, false), new long[] { 1L, 0L, 0L } },
+                                              { new String[] { "1", null, "2", "3" }, new long[] {} }, };
+        return toList(objects);
+    }
+
+    /**
+     * Test to long array.
+     */
+    @Test
+    public void testToLongArray(){
+        assertArrayEquals(expectedValue, toLongArray(input1));
+    }
+
+    /**
+     * 大量的 id.
+     */
+    @Test
+    public void testToLongArrayLarge(){
+        StringBuilder sb = new StringBuilder();
+        long[] expected = new long[50000];
+        for (int i = 0; i < expected.length; ++i){
+            expected[i] = 10000000000L + i;
+            sb.append(expected[i]).append(',');
+        }
+        assertArrayEquals(expected, toLongArray(sb.toString()));
+    }
+}
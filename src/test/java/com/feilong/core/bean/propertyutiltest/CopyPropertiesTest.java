@@ -95,6 +95,14 @@ public class CopyPropertiesTest{
         PropertyUtil.copyProperties(new Person(), null);
     }
 
+    /**
+     * Test copy properties blank include property name.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCopyPropertiesBlankIncludePropertyName(){
+        PropertyUtil.copyProperties(new User(), new User(), "name", " ");
+    }
+
     /**
      * Test copy properties from obj no exist property name.
      */
@@ -21,13 +21,17 @@ import static org.junit.Assert.assertThat;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
+import com.feilong.core.bean.BeanOperationException;
 import com.feilong.core.bean.PropertyUtil;
 import com.feilong.store.member.User;
 
+import static com.feilong.core.bean.ConvertUtil.toArray;
 import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.bean.ConvertUtil.toMap;
 
 /**
  * The Class PropertyUtilGetPropertyTest.
@@ -51,6 +55,106 @@ public class GetPropertyTest{
         assertThat(id, is(equalTo(5L)));
     }
 
+    /**
+     * Test get property nested.
+     */
+    @Test
+    public void testGetPropertyNested(){
+        User user = new User();
+        user.getUserInfo().setAge(28);
+
+        Integer age = PropertyUtil.getProperty(user, "userInfo.age");
+        assertThat(age, is(28));
+
+        //第二次走缓存
+        user.getUserInfo().setAge(30);
+        Integer age2 = PropertyUtil.getProperty(user, "userInfo.age");
+        assertThat(age2, is(30));
+    }
+
+    /**
+     * Test get property indexed array.
+     */
+    @Test
+    public void testGetPropertyIndexedArray(){
+        User user = new User();
+        user.setNickNames(toArray("feilong", "飞天奔月", "venusdrogon"));
+
+        String nickName = PropertyUtil.getProperty(user, "nickNames[1]");
+        assertThat(nickName, is("飞天奔月"));
+    }
+
+    /**
+     * Test get property map bean.
+     */
+    @Test
+    public void testGetPropertyMapBean(){
+        Map<String, String> map = toMap("name", "feilong");
+
+        String name = PropertyUtil.getProperty(map, "name");
+        assertThat(name, is("feilong"));
+    }
+
+    /**
+     * Test get property list map bean.
+     */
+    @Test
+    public void testGetPropertyListMapBean(){
+        List<Map<String, String>> list = toList(toMap("name", "feilong"), toMap("name", "jinxin"));
+
+        String name = PropertyUtil.getProperty(list, "[1].name");
+        assertThat(name, is("jinxin"));
+    }
+
+    /**
+     * Test get property nested null.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testGetPropertyNestedNull(){
+        User user = new User();
+        user.setUserInfo(null);
+        PropertyUtil.getProperty(user, "userInfo.age");
+    }
+
+    /**
+     * Test get property index out of bounds.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testGetPropertyIndexOutOfBounds(){
+        User user = new User();
+        user.setNickNames(toArray("feilong"));
+        PropertyUtil.getProperty(user, "nickNames[5]");
+    }
+
+    /**
+     * Test get property negative index.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testGetPropertyNegativeIndex(){
+        User user = new User();
+        user.setNickNames(toArray("feilong"));
+        PropertyUtil.getProperty(user, "nickNames[-1]");
+    }
+
+    /**
+     * Test get property list negative index.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testGetPropertyListNegativeIndex(){
+        List<Map<String, String>> list = toList(toMap("name", "feilong"), toMap("name", "jinxin"));
+        PropertyUtil.getProperty(list, "[-1]");
+    }
+
+    /**
+     * Test get property not exist property name.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testGetPropertyNotExistPropertyName(){
+        PropertyUtil.getProperty(new User(), "name1");
+    }
+
+    //---------------------------------------------------------------
+
     /**
      * Test get property null bean.
      */
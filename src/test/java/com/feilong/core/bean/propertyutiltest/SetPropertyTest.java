@@ -15,9 +15,15 @@
  */
 package com.feilong.core.bean.propertyutiltest;
 
+import static com.feilong.core.bean.ConvertUtil.toArray;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -42,6 +48,63 @@ public class SetPropertyTest{
         assertThat(user, hasProperty("name", equalTo("feilong")));
     }
 
+    /**
+     * Test set property nested.
+     */
+    @Test
+    public void testSetPropertyNested(){
+        User user = new User();
+        PropertyUtil.setProperty(user, "userInfo.age", 18);
+        assertThat(user.getUserInfo().getAge(), is(18));
+    }
+
+    /**
+     * Test set property indexed.
+     */
+    @Test
+    public void testSetPropertyIndexed(){
+        User user = new User();
+        user.setNickNames(toArray("feilong", "飞天奔月"));
+
+        PropertyUtil.setProperty(user, "nickNames[1]", "venusdrogon");
+        assertThat(user.getNickNames()[1], is("venusdrogon"));
+    }
+
+    /**
+     * 负数下标不能覆盖整个属性.
+     */
+    @Test
+    public void testSetPropertyNegativeIndex(){
+        User user = new User();
+        user.setNickNames(toArray("feilong", "飞天奔月"));
+
+        try{
+            PropertyUtil.setProperty(user, "nickNames[-1]", "venusdrogon");
+            fail();
+        }catch (BeanOperationException e){
+            assertThat(user.getNickNames()[0], is("feilong"));
+            assertThat(user.getNickNames()[1], is("飞天奔月"));
+        }
+    }
+
+    /**
+     * Test set property map bean.
+     */
+    @Test
+    public void testSetPropertyMapBean(){
+        Map<String, Object> map = new HashMap<>();
+        PropertyUtil.setProperty(map, "name", "feilong");
+        assertThat(map.get("name"), is((Object) "feilong"));
+    }
+
+    /**
+     * Test set property type mismatch.
+     */
+    @Test(expected = BeanOperationException.class)
+    public void testSetPropertyTypeMismatch(){
+        PropertyUtil.setProperty(new User(), "age", "feilong");
+    }
+
     /**
      * Test set property not exist property name.
      */
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.date;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.ParseException;
+import java.util.Date;
+
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Test;
+
+import static com.feilong.core.DatePattern.COMMON_DATE;
+import static com.feilong.core.DatePattern.COMMON_DATE_AND_TIME;
+import static com.feilong.core.DatePattern.COMMON_DATE_AND_TIME_WITHOUT_SECOND;
+import static com.feilong.core.DatePattern.COMMON_DATE_AND_TIME_WITH_MILLISECOND;
+import static com.feilong.core.DatePattern.TIMESTAMP_WITH_MILLISECOND;
+import static com.feilong.core.DatePattern.yyyyMMdd;
+
+/**
+ * The Class DateFormatRegistryTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class DateFormatRegistryTest{
+
+    /** The date patterns. */
+    private static final String[] DATE_PATTERNS = {
+                                                    COMMON_DATE_AND_TIME_WITH_MILLISECOND,
+                                                    COMMON_DATE_AND_TIME,
+                                                    COMMON_DATE_AND_TIME_WITHOUT_SECOND,
+                                                    COMMON_DATE,
+                                                    "yyyy/MM/dd",
+                                                    "yyyy-MM-dd'T'HH:mm:ssZ",
+                                                    TIMESTAMP_WITH_MILLISECOND,
+                                                    yyyyMMdd };
+
+    /** The date strings. */
+    private static final String[] DATE_STRINGS  = {
+                                                    "2016-06-30 15:36:12.521",
+                                                    "2016-06-30 15:36:12",
+                                                    "2016-06-30 15:36",
+                                                    "2016-06-30",
+                                                    "2016-02-33",
+                                                    "2016-2-3",
+                                                    "2016/06/30",
+                                                    "2016-06-28T01:21:12-0800",
+                                                    "20130102140806000",
+                                                    "20160630",
+                                                    "2016.06.30",
+                                                    "2016-06-30 15:36 ",
+                                                    "2016" };
+
+    /**
+     * Test parse same as date utils.
+     */
+    @Test
+    public void testParseSameAsDateUtils(){
+        for (String dateString : DATE_STRINGS){
+            assertEquals(dateString, parseUseDateUtils(dateString, DATE_PATTERNS), parse(dateString, DATE_PATTERNS));
+
+            //每个 pattern 单独解析
+            for (String datePattern : DATE_PATTERNS){
+                assertEquals(dateString + "," + datePattern, parseUseDateUtils(dateString, datePattern), parse(dateString, datePattern));
+            }
+        }
+    }
+
+    /**
+     * Test parse pattern order.
+     */
+    @Test
+    public void testParsePatternOrder(){
+        //COMMON_DATE_AND_TIME 被排除之后,依然是 "yyyy-dd-MM" 先于 COMMON_DATE 解析(宽松模式,30月)
+        assertEquals(
+                        DateUtil.toDate("2018-06-06", COMMON_DATE),
+                        DateUtil.toDate("2016-06-30", COMMON_DATE_AND_TIME, "yyyy-dd-MM", COMMON_DATE));
+        assertEquals(DateUtil.toDate("2016-06-30", COMMON_DATE), DateUtil.toDate("2016-06-30", COMMON_DATE, "yyyy-dd-MM"));
+    }
+
+    /**
+     * Test parse exception.
+     *
+     * @throws ParseException
+     *             the parse exception
+     */
+    @Test
+    public void testParseException() throws ParseException{
+        try{
+            DateFormatRegistry.parse("2016.06.30", COMMON_DATE, yyyyMMdd);
+        }catch (ParseException e){
+            assertEquals("Unable to parse the date: 2016.06.30", e.getMessage());
+            assertEquals(-1, e.getErrorOffset());
+            return;
+        }
+        throw new AssertionError("should throw ParseException");
+    }
+
+    /**
+     * Test parse quoted literal.
+     *
+     * @throws ParseException
+     *             the parse exception
+     */
+    @Test
+    public void testParseQuotedLiteral() throws ParseException{
+        assertEquals(
+                        DateUtils.parseDate("2016'06-30", "yyyy''MM-dd"),
+                        DateFormatRegistry.parse("2016'06-30", "yyyy-MM-dd", "yyyy''MM-dd"));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test format.
+     */
+    @Test
+    public void testFormat(){
+        Date date = new Date();
+        for (String datePattern : DATE_PATTERNS){
+            assertEquals(DateFormatUtils.format(date, datePattern), DateFormatRegistry.format(date, datePattern));
+            assertEquals(DateFormatUtils.format(date, datePattern), DateFormatRegistry.format(DateUtil.toCalendar(date), datePattern));
+        }
+    }
+
+    /**
+     * Test format illegal pattern.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFormatIllegalPattern(){
+        DateFormatRegistry.format(new Date(), "yyyy qqq");
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Parses the.
+     *
+     * @param dateString
+     *            the date string
+     * @param datePatterns
+     *            the date patterns
+     * @return the object
+     */
+    private static Object parse(String dateString,String...datePatterns){
+        try{
+            return DateFormatRegistry.parse(dateString, datePatterns);
+        }catch (ParseException e){
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Parses the use date utils.
+     *
+     * @param dateString
+     *            the date string
+     * @param datePatterns
+     *            the date patterns
+     * @return the object
+     */
+    private static Object parseUseDateUtils(String dateString,String...datePatterns){
+        try{
+            return DateUtils.parseDate(dateString, datePatterns);
+        }catch (ParseException e){
+            return e.getMessage();
+        }
+    }
+}
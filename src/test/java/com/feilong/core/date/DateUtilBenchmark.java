@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.date;
+
+import static java.util.Calendar.HOUR_OF_DAY;
+import static java.util.Calendar.MILLISECOND;
+import static java.util.Calendar.MINUTE;
+import static java.util.Calendar.SECOND;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link DateUtil} 快速路径(epoch 运算)和原来的 {@link Calendar} 实现的 JMH 对比.
+ *
+ * <p>
+ * 不是单元测试,不会被 suite 执行,直接运行 {@link #main(String[])} 即可.
+ * </p>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5,time = 1)
+@Measurement(iterations = 5,time = 1)
+@Fork(1)
+public class DateUtilBenchmark{
+
+    /** The date. */
+    private Date date;
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup(){
+        date = new Date();
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Gets the first date of this day.
+     *
+     * @return the first date of this day
+     */
+    @Benchmark
+    public Date getFirstDateOfThisDay(){
+        return DateUtil.getFirstDateOfThisDay(date);
+    }
+
+    /**
+     * Gets the first date of this day use calendar.
+     *
+     * @return the first date of this day use calendar
+     */
+    @Benchmark
+    public Date getFirstDateOfThisDayUseCalendar(){
+        Calendar calendar = DateUtils.toCalendar(date);
+        calendar.set(HOUR_OF_DAY, 0);
+        calendar.set(MINUTE, 0);
+        calendar.set(SECOND, 0);
+        calendar.set(MILLISECOND, 0);
+        return calendar.getTime();
+    }
+
+    /**
+     * Gets the first date of this month.
+     *
+     * @return the first date of this month
+     */
+    @Benchmark
+    public Date getFirstDateOfThisMonth(){
+        return DateUtil.getFirstDateOfThisMonth(date);
+    }
+
+    /**
+     * Gets the first date of this month use calendar.
+     *
+     * @return the first date of this month use calendar
+     */
+    @Benchmark
+    public Date getFirstDateOfThisMonthUseCalendar(){
+        Calendar calendar = DateUtils.toCalendar(date);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(HOUR_OF_DAY, 0);
+        calendar.set(MINUTE, 0);
+        calendar.set(SECOND, 0);
+        calendar.set(MILLISECOND, 0);
+        return calendar.getTime();
+    }
+
+    /**
+     * Gets the hour of day.
+     *
+     * @return the hour of day
+     */
+    @Benchmark
+    public int getHourOfDay(){
+        return DateUtil.getHourOfDay(date);
+    }
+
+    /**
+     * Gets the hour of day use calendar.
+     *
+     * @return the hour of day use calendar
+     */
+    @Benchmark
+    public int getHourOfDayUseCalendar(){
+        return DateUtils.toCalendar(date).get(HOUR_OF_DAY);
+    }
+
+    /**
+     * Adds the day.
+     *
+     * @return the date
+     */
+    @Benchmark
+    public Date addDay(){
+        return DateUtil.addDay(date, 3);
+    }
+
+    /**
+     * Adds the day use calendar.
+     *
+     * @return the date
+     */
+    @Benchmark
+    public Date addDayUseCalendar(){
+        return DateUtils.addDays(date, 3);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     * @throws RunnerException
+     *             the runner exception
+     */
+    public static void main(String[] args) throws RunnerException{
+        new Runner(new OptionsBuilder().include(DateUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.date;
+
+import static org.junit.Assert.assertEquals;
+
+import static java.util.Calendar.DAY_OF_MONTH;
+import static java.util.Calendar.DAY_OF_WEEK;
+import static java.util.Calendar.DAY_OF_YEAR;
+import static java.util.Calendar.HOUR_OF_DAY;
+import static java.util.Calendar.MILLISECOND;
+import static java.util.Calendar.MINUTE;
+import static java.util.Calendar.MONTH;
+import static java.util.Calendar.SATURDAY;
+import static java.util.Calendar.SECOND;
+import static java.util.Calendar.SUNDAY;
+import static java.util.Calendar.WEEK_OF_YEAR;
+import static java.util.Calendar.YEAR;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Test;
+
+/**
+ * 验证 {@link EpochDateHelper} 快速路径的结果和 {@link Calendar} 完全一致.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class EpochDateHelperTest{
+
+    /** 包含夏令时,半小时偏移,午夜切换夏令时,跳过整天等情况的时区. */
+    private static final String[] TIME_ZONE_IDS = {
+                                                    "UTC",
+                                                    "Asia/Shanghai",
+                                                    "America/New_York",
+                                                    "Europe/London",
+                                                    "America/Sao_Paulo",
+                                                    "Australia/Lord_Howe",
+                                                    "Pacific/Apia",
+                                                    "Asia/Kolkata",
+                                                    "America/St_Johns" };
+
+    /** 包含不同的每周第一天,以及非格里高利历的 locale. */
+    private static final Locale[] LOCALES       = {
+                                                    Locale.US,
+                                                    Locale.CHINA,
+                                                    Locale.FRANCE,
+                                                    new Locale("th", "TH"),
+                                                    new Locale("ja", "JP", "JP") };
+
+    /** 1600-01-01 到 2100-01-01. */
+    private static final long     FROM          = -11_676_096_000_000L;
+
+    /** The to. */
+    private static final long     TO            = 4_102_444_800_000L;
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test same as calendar.
+     */
+    @Test
+    public void testSameAsCalendar(){
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        Locale defaultLocale = Locale.getDefault();
+        try{
+            Random random = new Random(20180101L);
+            for (String timeZoneId : TIME_ZONE_IDS){
+                TimeZone.setDefault(TimeZone.getTimeZone(timeZoneId));
+                for (Locale locale : LOCALES){
+                    Locale.setDefault(locale);
+                    for (int i = 0; i < 300; ++i){
+                        long time = FROM + (long) (random.nextDouble() * (TO - FROM));
+                        assertSameAsCalendar(new Date(time), random.nextInt(120) - 60);
+                    }
+                    //最近的夏令时切换前后
+                    for (long time = 1_451_606_400_000L; time < 1_514_764_800_000L; time += 1_800_000L * 37){
+                        assertSameAsCalendar(new Date(time), 1);
+                    }
+                }
+            }
+        }finally{
+            TimeZone.setDefault(defaultTimeZone);
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /**
+     * Test range edge.
+     */
+    @Test
+    public void testRangeEdge(){
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try{
+            for (String timeZoneId : TIME_ZONE_IDS){
+                TimeZone.setDefault(TimeZone.getTimeZone(timeZoneId));
+                //儒略历/格里高利历切换前后,以及 9999 年末
+                for (long time : new long[] { -12_219_292_800_000L, -12_212_553_600_000L, -12_212_467_200_000L, 253_402_214_400_000L }){
+                    assertSameAsCalendar(new Date(time), 13);
+                    assertSameAsCalendar(new Date(time), -13);
+                }
+            }
+        }finally{
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Assert same as calendar.
+     *
+     * @param date
+     *            the date
+     * @param amount
+     *            the amount
+     */
+    private static void assertSameAsCalendar(Date date,int amount){
+        String message = date.getTime() + "," + TimeZone.getDefault().getID() + "," + Locale.getDefault() + "," + amount;
+
+        Calendar calendar = DateUtils.toCalendar(date);
+        for (int field : new int[] { YEAR, MONTH, DAY_OF_MONTH, DAY_OF_YEAR, DAY_OF_WEEK, HOUR_OF_DAY, MINUTE, SECOND, MILLISECOND, WEEK_OF_YEAR }){
+            assertEquals(message + ",field:" + field, calendar.get(field), CalendarUtil.getFieldValue(date, field));
+        }
+
+        assertEquals(message, resetDay(date, false, -1), DateUtil.getFirstDateOfThisDay(date));
+        assertEquals(message, resetDay(date, true, -1), DateUtil.getLastDateOfThisDay(date));
+        assertEquals(message, resetDay(date, false, SUNDAY), DateUtil.getFirstDateOfThisWeek(date));
+        assertEquals(message, resetDay(date, true, SATURDAY), DateUtil.getLastDateOfThisWeek(date));
+        assertEquals(message, resetDay(date, false, 0), DateUtil.getFirstDateOfThisMonth(date));
+        assertEquals(message, resetDay(date, true, 0), DateUtil.getLastDateOfThisMonth(date));
+        assertEquals(message, resetDay(date, false, 100), DateUtil.getFirstDateOfThisYear(date));
+        assertEquals(message, resetDay(date, true, 100), DateUtil.getLastDateOfThisYear(date));
+
+        assertEquals(message, DateUtils.addYears(date, amount), DateUtil.addYear(date, amount));
+        assertEquals(message, DateUtils.addMonths(date, amount), DateUtil.addMonth(date, amount));
+        assertEquals(message, DateUtils.addWeeks(date, amount), DateUtil.addWeek(date, amount));
+        assertEquals(message, DateUtils.addDays(date, amount), DateUtil.addDay(date, amount));
+        assertEquals(message, DateUtils.addHours(date, amount), DateUtil.addHour(date, amount));
+        assertEquals(message, DateUtils.addMinutes(date, amount), DateUtil.addMinute(date, amount));
+        assertEquals(message, DateUtils.addSeconds(date, amount), DateUtil.addSecond(date, amount));
+        assertEquals(message, DateUtils.addMilliseconds(date, amount), DateUtil.addMillisecond(date, amount));
+    }
+
+    /**
+     * 使用 {@link Calendar} 计算期望值.
+     *
+     * @param date
+     *            the date
+     * @param isEnd
+     *            the is end
+     * @param type
+     *            -1 天;0 月;100 年;其他 星期几
+     * @return the date
+     */
+    private static Date resetDay(Date date,boolean isEnd,int type){
+        Calendar calendar = DateUtils.toCalendar(date);
+        if (type == 0){
+            calendar.set(DAY_OF_MONTH, isEnd ? calendar.getActualMaximum(DAY_OF_MONTH) : 1);
+        }else if (type == 100){
+            calendar.set(MONTH, isEnd ? Calendar.DECEMBER : Calendar.JANUARY);
+            calendar.set(DAY_OF_MONTH, isEnd ? 31 : 1);
+        }else if (type > 0){
+            calendar.set(DAY_OF_WEEK, type);
+        }
+        calendar.set(HOUR_OF_DAY, isEnd ? 23 : 0);
+        calendar.set(MINUTE, isEnd ? 59 : 0);
+        calendar.set(SECOND, isEnd ? 59 : 0);
+        calendar.set(MILLISECOND, isEnd ? 999 : 0);
+        return calendar.getTime();
+    }
+}
@@ -31,6 +31,8 @@ import com.feilong.core.date.dateutiltest.FeiLongDateUtilSuiteTests;
 @RunWith(Suite.class)
 @SuiteClasses({
                 CalendarUtilTest.class, //
+                DateFormatRegistryTest.class, //
+                EpochDateHelperTest.class, //
 
                 FeiLongDateExtensionUtilSuiteTests.class,
                 FeiLongDateUtilSuiteTests.class,
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+/**
+ * The Class EnumPropertyIndexTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class EnumPropertyIndexTest{
+
+    /**
+     * The Enum CodeType.
+     */
+    public enum CodeType{
+
+        /** The first. */
+        FIRST("a", 1),
+
+        /** The second,和 FIRST 的 code 相同. */
+        SECOND("a", 2),
+
+        /** The upper. */
+        UPPER("A", 3),
+
+        /** The null code. */
+        NULL_CODE(null, 4),
+
+        /** The other null code. */
+        OTHER_NULL_CODE(null, 5),
+
+        /** The dotted i. */
+        DOTTED_I("İ", 6),
+
+        /** The sharp s. */
+        SHARP_S("ß", 7);
+
+        /** The code. */
+        private final String  code;
+
+        /** The sort. */
+        private final Integer sort;
+
+        /**
+         * Instantiates a new code type.
+         *
+         * @param code
+         *            the code
+         * @param sort
+         *            the sort
+         */
+        private CodeType(String code, Integer sort){
+            this.code = code;
+            this.sort = sort;
+        }
+
+        /**
+         * Gets the code.
+         *
+         * @return the code
+         */
+        public String getCode(){
+            return code;
+        }
+
+        /**
+         * Gets the sort.
+         *
+         * @return the sort
+         */
+        public Integer getSort(){
+            return sort;
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test find.
+     */
+    @Test
+    public void testFind(){
+        assertEquals(CodeType.FIRST, EnumUtil.getEnumByPropertyValue(CodeType.class, "code", "a"));
+        assertEquals(CodeType.UPPER, EnumUtil.getEnumByPropertyValue(CodeType.class, "code", "A"));
+        assertEquals(CodeType.FIRST, EnumUtil.getEnumByPropertyValueIgnoreCase(CodeType.class, "code", "A"));
+        assertEquals(CodeType.NULL_CODE, EnumUtil.getEnumByPropertyValue(CodeType.class, "code", null));
+        assertNull(EnumUtil.getEnumByPropertyValue(CodeType.class, "code", "b"));
+    }
+
+    /**
+     * Test find to string.
+     */
+    @Test
+    public void testFindToString(){
+        assertEquals(CodeType.SECOND, EnumUtil.getEnumByPropertyValue(CodeType.class, "sort", 2));
+        assertEquals(CodeType.SECOND, EnumUtil.getEnumByPropertyValue(CodeType.class, "sort", "2"));
+        assertEquals(CodeType.SECOND, EnumUtil.getEnumByPropertyValue(CodeType.class, "sort", 2L));
+    }
+
+    /**
+     * Test find ignore case same as equals ignore case.
+     */
+    @Test
+    public void testFindIgnoreCaseSameAsEqualsIgnoreCase(){
+        String[] values = { "a", "A", "İ", "i", "I", "ı", "ß", "SS", "ss", "ẞ" };
+        for (String value : values){
+            CodeType expected = null;
+            for (CodeType codeType : CodeType.values()){
+                if (null != codeType.getCode() && StringUtils.equalsIgnoreCase(codeType.getCode(), value)){
+                    expected = codeType;
+                    break;
+                }
+            }
+            assertEquals(value, expected, EnumUtil.getEnumByPropertyValueIgnoreCase(CodeType.class, "code", value));
+        }
+    }
+
+    /**
+     * Test get cached.
+     */
+    @Test
+    public void testGetCached(){
+        EnumPropertyIndex<CodeType> enumPropertyIndex = EnumPropertyIndex.get(CodeType.class, "code", true);
+        assertSame(enumPropertyIndex, EnumPropertyIndex.get(CodeType.class, "code", true));
+    }
+
+    /**
+     * Test get not exist property.
+     */
+    @Test
+    public void testGetNotExistProperty(){
+        assertNull(EnumPropertyIndex.get(CodeType.class, "code2222", false));
+    }
+}
@@ -44,6 +44,7 @@ import com.feilong.core.lang.threadutiltest.FeiLongThreadUtilSuiteTests;
                 FeiLongClassLoaderUtilSuiteTests.class,
 
                 FeiLongEnumUtilSuiteTests.class,
+                EnumPropertyIndexTest.class,
 
                 FeiLongStringUtilSuiteTests.class,
                 FeiLongReflectSuiteTests.class,
@@ -19,6 +19,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.feilong.core.lang.reflect.classfieldmetadatatest.ClassFieldMetadataTest;
 import com.feilong.core.lang.reflect.constructorutiltest.FeiLongConstructorUtilSuiteTests;
 import com.feilong.core.lang.reflect.fieldutiltest.FeiLongFieldUtilSuiteTests;
 import com.feilong.core.lang.reflect.methodutiltest.FeiLongMethodUtilSuiteTests;
@@ -31,6 +32,7 @@ import com.feilong.core.lang.reflect.typeutiltest.FeiLongTypeUtilSuiteTests;
  */
 @RunWith(Suite.class)
 @SuiteClasses({ //
+                ClassFieldMetadataTest.class,
                 FeiLongConstructorUtilSuiteTests.class,
                 FeiLongFieldUtilSuiteTests.class,
                 FeiLongMethodUtilSuiteTests.class,
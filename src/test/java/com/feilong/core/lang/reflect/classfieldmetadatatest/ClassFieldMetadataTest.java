@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.reflect.classfieldmetadatatest;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Test;
+
+import com.feilong.core.bean.Alias;
+import com.feilong.core.entity.DangaMemCachedConfig;
+import com.feilong.core.lang.reflect.ClassFieldMetadata;
+
+/**
+ * The Class ClassFieldMetadataTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ClassFieldMetadataTest{
+
+    /**
+     * Test for class same instance.
+     */
+    @Test
+    public void testForClassSameInstance(){
+        assertSame(ClassFieldMetadata.forClass(Child.class), ClassFieldMetadata.forClass(Child.class));
+    }
+
+    /**
+     * Test get all field list.
+     */
+    @Test
+    public void testGetAllFieldList(){
+        assertEquals(FieldUtils.getAllFieldsList(Child.class), ClassFieldMetadata.forClass(Child.class).getAllFieldList());
+    }
+
+    /**
+     * Test get non static field list.
+     */
+    @Test
+    public void testGetNonStaticFieldList(){
+        List<String> fieldNameList = new ArrayList<>();
+        for (Field field : ClassFieldMetadata.forClass(Child.class).getNonStaticFieldList()){
+            fieldNameList.add(field.getName());
+        }
+        assertEquals(toList("name", "age", "name"), fieldNameList);
+    }
+
+    /**
+     * Test get field value.
+     */
+    @Test
+    public void testGetFieldValue(){
+        ClassFieldMetadata classFieldMetadata = ClassFieldMetadata.forClass(Child.class);
+        Child child = new Child();
+
+        //和 FieldUtils.readField 一致,子类的字段优先
+        assertEquals("child", classFieldMetadata.<String> getFieldValue(child, "name"));
+        assertEquals(18, classFieldMetadata.<Integer> getFieldValue(child, "age").intValue());
+        assertEquals("constant", classFieldMetadata.<String> getFieldValue(child, "CONSTANT"));
+    }
+
+    /**
+     * 返回的字段没有被设置 accessible,调用方修改 accessible 也不影响读取.
+     */
+    @Test
+    public void testGetFieldValueAfterSetAccessibleFalse(){
+        ClassFieldMetadata classFieldMetadata = ClassFieldMetadata.forClass(Child.class);
+        Child child = new Child();
+        assertEquals("child", classFieldMetadata.<String> getFieldValue(child, "name"));
+
+        for (Field field : classFieldMetadata.getNonStaticFieldList()){
+            assertFalse(field.isAccessible());
+            field.setAccessible(true);
+            field.setAccessible(false);
+        }
+        assertEquals("child", classFieldMetadata.<String> getFieldValue(child, "name"));
+        assertEquals(18, classFieldMetadata.<Integer> getFieldValue(child, "age").intValue());
+    }
+
+    /**
+     * 父类是 jdk 的类(jdk9+ 模块不开放)的时候,只解析字段不会抛出异常.
+     */
+    @Test
+    public void testGetAllFieldListJdkSuperclass(){
+        ClassFieldMetadata classFieldMetadata = ClassFieldMetadata.forClass(DateChild.class);
+        assertEquals(FieldUtils.getAllFieldsList(DateChild.class), classFieldMetadata.getAllFieldList());
+        assertEquals("child", classFieldMetadata.<String> getFieldValue(new DateChild(), "name"));
+    }
+
+    /**
+     * Test get field list with annotation.
+     */
+    @Test
+    public void testGetFieldListWithAnnotation(){
+        assertEquals(
+                        FieldUtils.getFieldsListWithAnnotation(DangaMemCachedConfig.class, Alias.class),
+                        ClassFieldMetadata.forClass(DangaMemCachedConfig.class).getFieldListWithAnnotation(Alias.class));
+    }
+
+    /**
+     * Test get field list with annotation empty.
+     */
+    @Test
+    public void testGetFieldListWithAnnotationEmpty(){
+        assertEquals(emptyList(), ClassFieldMetadata.forClass(Child.class).getFieldListWithAnnotation(Alias.class));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test get field value not exist field.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetFieldValueNotExistField(){
+        ClassFieldMetadata.forClass(Child.class).getFieldValue(new Child(), "notExist");
+    }
+
+    /**
+     * Test for class null class.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testForClassNullClass(){
+        ClassFieldMetadata.forClass(null);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * To list.
+     *
+     * @param names
+     *            the names
+     * @return the list
+     */
+    private static List<String> toList(String...names){
+        List<String> list = new ArrayList<>();
+        for (String name : names){
+            list.add(name);
+        }
+        return list;
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * The Class Parent.
+     */
+    static class Parent{
+
+        /** The Constant CONSTANT. */
+        static final String CONSTANT = "constant";
+
+        /** The name. */
+        private String      name     = "parent";
+    }
+
+    /**
+     * The Class Child.
+     */
+    static class Child extends Parent{
+
+        /** The name. */
+        private String name = "child";
+
+        /** The age. */
+        private int    age  = 18;
+    }
+
+    /**
+     * The Class DateChild.
+     */
+    static class DateChild extends Date{
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The name. */
+        private String            name             = "child";
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.runners.Suite.SuiteClasses;
                 ReplaceAllParameterizedTest.class,
                 ReplaceParameterizedTest.class,
                 ReplaceValuesMapTest.class,
+                SplitTest.class,
                 SubstringBeginIndexTest.class,
                 SubstringLastTest.class,
                 SubstringStartIndexAndLengthParameterizedTest.class,
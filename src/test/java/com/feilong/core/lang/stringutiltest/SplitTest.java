@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.stringutiltest;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.feilong.core.lang.StringUtil;
+
+/**
+ * The Class SplitTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class SplitTest{
+
+    /**
+     * Test split.
+     */
+    @Test
+    public void testSplit(){
+        assertThat(StringUtil.split("a,b,,c,,", ","), arrayContaining("a", "b", "", "c"));
+        assertThat(StringUtil.split("127.0.0.1", "\\."), arrayContaining("127", "0", "0", "1"));
+        assertThat(StringUtil.split("a1b22c333d", "\\d+"), arrayContaining("a", "b", "c", "d"));
+    }
+
+    /**
+     * Test split same as string split.
+     */
+    @Test
+    public void testSplitSameAsStringSplit(){
+        String[] values = { "a,b,,c,,", "127.0.0.1", " a  b c ", "a|b|c", "abc", ",a" };
+        String[] regexSpliters = { ",", "\\.", "\\s+", "\\|", "", "b", "|" };
+        for (String value : values){
+            for (String regexSpliter : regexSpliters){
+                assertArrayEquals(value + " " + regexSpliter, value.split(regexSpliter), StringUtil.split(value, regexSpliter));
+            }
+        }
+    }
+
+    /**
+     * Test split null or empty.
+     */
+    @Test
+    public void testSplitNullOrEmpty(){
+        assertThat(StringUtil.split(null, ","), emptyArray());
+        assertThat(StringUtil.split("", ","), emptyArray());
+    }
+
+    /**
+     * Test split null regex spliter.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testSplitNullRegexSpliter(){
+        StringUtil.split("a,b", null);
+    }
+}
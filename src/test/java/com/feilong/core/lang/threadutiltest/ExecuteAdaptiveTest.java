@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.util.MapUtil.newHashMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+import com.feilong.core.lang.PartitionRunnableBuilder;
+import com.feilong.core.lang.PartitionThreadEntity;
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class ExecuteAdaptiveTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ExecuteAdaptiveTest{
+
+    @Test
+    public void testExecute(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        ThreadUtil.execute(toList(2, 5, 6, 7), paramsMap, new CalculatePartitionRunnableBuilder());
+        assertEquals(20, atomicInteger.get());
+    }
+
+    /**
+     * 每个元素恰好执行一次,并且 fromIndex 是元素在 list 中的索引.
+     */
+    @Test
+    public void testExecuteFromIndex(){
+        final int size = 100000;
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i){
+            list.add(i);
+        }
+
+        final AtomicIntegerArray executeCounts = new AtomicIntegerArray(size);
+        final Set<Integer> batchNumbers = newConcurrentSet();
+
+        ThreadUtil.execute(list, null, new PartitionRunnableBuilder<Integer>(){
+
+            @Override
+            public Runnable build(final List<Integer> perBatchList,final PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                return new Runnable(){
+
+                    @Override
+                    public void run(){
+                        assertEquals(size, partitionThreadEntity.getTotalListCount());
+                        assertEquals(perBatchList.size(), partitionThreadEntity.getCurrentListSize());
+                        assertTrue(perBatchList.size() >= partitionThreadEntity.getEachSize());
+                        assertTrue(batchNumbers.add(partitionThreadEntity.getBatchNumber()));
+
+                        int index = partitionThreadEntity.getFromIndex();
+                        for (Integer value : perBatchList){
+                            assertEquals(index++, value.intValue());
+                            executeCounts.incrementAndGet(value);
+                        }
+                    }
+                };
+            }
+        });
+
+        for (int i = 0; i < size; ++i){
+            assertEquals(1, executeCounts.get(i));
+        }
+        //batchNumber 从0开始连续
+        for (int i = 0; i < batchNumbers.size(); ++i){
+            assertTrue(batchNumbers.contains(i));
+        }
+    }
+
+    /**
+     * 某一组抛出异常,不影响其他组.
+     */
+    @Test
+    public void testExecuteWithException(){
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i){
+            list.add(1);
+        }
+
+        ThreadUtil.execute(list, null, new PartitionRunnableBuilder<Integer>(){
+
+            @Override
+            public Runnable build(final List<Integer> perBatchList,final PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                return new Runnable(){
+
+                    @Override
+                    public void run(){
+                        if (partitionThreadEntity.getFromIndex() == 0){
+                            throw new IllegalStateException("mock exception");
+                        }
+                        atomicInteger.addAndGet(perBatchList.size());
+                    }
+                };
+            }
+        });
+
+        assertTrue(atomicInteger.get() > 0);
+        assertTrue(atomicInteger.get() < 1000);
+    }
+
+    //---------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteNullList(){
+        ThreadUtil.execute(null, null, new CalculatePartitionRunnableBuilder());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteEmptyList(){
+        ThreadUtil.execute(Collections.<Integer> emptyList(), null, new CalculatePartitionRunnableBuilder());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteNullGroupRunnableBuilder(){
+        ThreadUtil.execute(toList(2), null, null);
+    }
+
+    //---------------------------------------------------------
+
+    private static Set<Integer> newConcurrentSet(){
+        return Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.feilong.core.lang.PartitionCallableBuilder;
+import com.feilong.core.lang.PartitionExecutionException;
+import com.feilong.core.lang.PartitionResultReducer;
+import com.feilong.core.lang.PartitionThreadEntity;
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class ExecuteAndReduceTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ExecuteAndReduceTest{
+
+    /** The executor service. */
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @After
+    public void after(){
+        executorService.shutdownNow();
+    }
+
+    //---------------------------------------------------------
+
+    @Test
+    public void testExecuteAndReduce(){
+        Integer sum = ThreadUtil.executeAndReduce(
+                        toList(2, 5, 6, 7, 1),
+                        2,
+                        null,
+                        new SumPartitionCallableBuilder(),
+                        executorService,
+                        0,
+                        new PartitionResultReducer<Integer, Integer>(){
+
+                            @Override
+                            public Integer reduce(Integer accumulator,Integer partitionResult,PartitionThreadEntity partitionThreadEntity){
+                                return accumulator + partitionResult;
+                            }
+                        });
+        assertEquals(21, (int) sum);
+    }
+
+    /**
+     * 后面的组先完成,合并仍然按照 batchNumber 的顺序.
+     */
+    @Test
+    public void testExecuteAndReduceInBatchNumberOrder(){
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 40; ++i){
+            list.add(i);
+        }
+
+        List<Integer> batchNumberList = ThreadUtil.executeAndReduce(
+                        list,
+                        3,
+                        null,
+                        new PartitionCallableBuilder<Integer, Integer>(){
+
+                            @Override
+                            public Callable<Integer> build(
+                                            List<Integer> perBatchList,
+                                            final PartitionThreadEntity partitionThreadEntity,
+                                            Map<String, ?> paramsMap){
+                                return new Callable<Integer>(){
+
+                                    @Override
+                                    public Integer call() throws Exception{
+                                        int batchNumber = partitionThreadEntity.getBatchNumber();
+                                        //batchNumber 越小,执行越慢
+                                        Thread.sleep(Math.max(0, 20 - batchNumber));
+                                        return batchNumber;
+                                    }
+                                };
+                            }
+                        },
+                        executorService,
+                        new ArrayList<Integer>(),
+                        new PartitionResultReducer<Integer, List<Integer>>(){
+
+                            @Override
+                            public List<Integer> reduce(
+                                            List<Integer> accumulator,
+                                            Integer partitionResult,
+                                            PartitionThreadEntity partitionThreadEntity){
+                                assertEquals(partitionResult.intValue(), partitionThreadEntity.getBatchNumber());
+                                assertEquals(partitionResult == 13 ? 1 : 3, partitionThreadEntity.getCurrentListSize());
+                                accumulator.add(partitionResult);
+                                return accumulator;
+                            }
+                        });
+
+        assertEquals(14, batchNumberList.size());
+        for (int i = 0; i < batchNumberList.size(); ++i){
+            assertEquals(i, (int) batchNumberList.get(i));
+        }
+    }
+
+    /**
+     * 某一组失败,其他还在执行的组会被取消.
+     *
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    @Test
+    public void testExecuteAndReduceFailFast() throws InterruptedException{
+        final CountDownLatch startedLatch = new CountDownLatch(1);
+        final CountDownLatch interruptedLatch = new CountDownLatch(1);
+
+        try{
+            ThreadUtil.executeAndReduce(toList(0, 1), 1, null, new PartitionCallableBuilder<Integer, Integer>(){
+
+                @Override
+                public Callable<Integer> build(final List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                    return new Callable<Integer>(){
+
+                        @Override
+                        public Integer call() throws Exception{
+                            if (perBatchList.get(0) == 1){
+                                //等 batch 0 开始执行之后再失败,保证能验证 batch 0 被中断
+                                startedLatch.await();
+                                throw new IllegalStateException("mock exception");
+                            }
+                            startedLatch.countDown();
+                            try{
+                                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                            }catch (InterruptedException e){
+                                interruptedLatch.countDown();
+                                throw e;
+                            }
+                            return 0;
+                        }
+                    };
+                }
+            }, executorService, null, new PartitionResultReducer<Integer, Integer>(){
+
+                @Override
+                public Integer reduce(Integer accumulator,Integer partitionResult,PartitionThreadEntity partitionThreadEntity){
+                    fail("batch 0 should be cancelled");
+                    return accumulator;
+                }
+            });
+            fail();
+        }catch (PartitionExecutionException e){
+            assertEquals(1, e.getBatchNumber());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        assertTrue(interruptedLatch.await(10, TimeUnit.SECONDS));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * reduce 抛出异常,其他还在执行的组会被取消.
+     *
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    @Test
+    public void testExecuteAndReduceReducerException() throws InterruptedException{
+        final CountDownLatch startedLatch = new CountDownLatch(1);
+        final CountDownLatch interruptedLatch = new CountDownLatch(1);
+
+        try{
+            ThreadUtil.executeAndReduce(toList(0, 1), 1, null, new PartitionCallableBuilder<Integer, Integer>(){
+
+                @Override
+                public Callable<Integer> build(final List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                    return new Callable<Integer>(){
+
+                        @Override
+                        public Integer call() throws Exception{
+                            if (perBatchList.get(0) == 0){
+                                //等 batch 1 开始执行之后再返回,保证能验证 batch 1 被中断
+                                startedLatch.await();
+                                return 0;
+                            }
+                            startedLatch.countDown();
+                            try{
+                                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                            }catch (InterruptedException e){
+                                interruptedLatch.countDown();
+                                throw e;
+                            }
+                            return 1;
+                        }
+                    };
+                }
+            }, executorService, null, new PartitionResultReducer<Integer, Integer>(){
+
+                @Override
+                public Integer reduce(Integer accumulator,Integer partitionResult,PartitionThreadEntity partitionThreadEntity){
+                    throw new IllegalStateException("mock reduce exception");
+                }
+            });
+            fail();
+        }catch (IllegalStateException e){
+            assertEquals("mock reduce exception", e.getMessage());
+        }
+
+        assertTrue(interruptedLatch.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 等待的时候被中断,异常里面是还没有执行完成的最小的 batchNumber.
+     */
+    @Test
+    public void testExecuteAndReduceInterrupted(){
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+        Thread.currentThread().interrupt();
+        try{
+            ThreadUtil.executeAndReduce(toList(0, 1), 1, null, new PartitionCallableBuilder<Integer, Integer>(){
+
+                @Override
+                public Callable<Integer> build(List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                    return new Callable<Integer>(){
+
+                        @Override
+                        public Integer call() throws Exception{
+                            releaseLatch.await();
+                            return 0;
+                        }
+                    };
+                }
+            }, executorService, 0, new PartitionResultReducer<Integer, Integer>(){
+
+                @Override
+                public Integer reduce(Integer accumulator,Integer partitionResult,PartitionThreadEntity partitionThreadEntity){
+                    return accumulator + partitionResult;
+                }
+            });
+            fail();
+        }catch (PartitionExecutionException e){
+            assertEquals(0, e.getBatchNumber());
+            assertTrue(e.getCause() instanceof InterruptedException);
+        }finally{
+            releaseLatch.countDown();
+        }
+
+        //中断标识会被恢复
+        assertTrue(Thread.interrupted());
+    }
+
+    //---------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteAndReduceNullReducer(){
+        ThreadUtil.executeAndReduce(toList(2), 1, null, new SumPartitionCallableBuilder(), executorService, 0, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteAndReduceNullBuilder(){
+        ThreadUtil.<Integer, Integer, Integer> executeAndReduce(toList(2), 1, null, null, executorService, 0, null);
+    }
+}
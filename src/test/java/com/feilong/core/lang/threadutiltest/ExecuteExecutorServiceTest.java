@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.util.MapUtil.newHashMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.feilong.core.lang.PartitionRunnableBuilder;
+import com.feilong.core.lang.PartitionThreadEntity;
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class ExecuteExecutorServiceTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ExecuteExecutorServiceTest{
+
+    /** The executor service. */
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @After
+    public void after(){
+        executorService.shutdownNow();
+    }
+
+    //---------------------------------------------------------
+
+    @Test
+    public void testExecute(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        ThreadUtil.execute(toList(2, 5, 6, 7), 2, paramsMap, new CalculatePartitionRunnableBuilder(), executorService);
+        assertEquals(20, atomicInteger.get());
+
+        //线程池由调用方管理,不会被关闭
+        assertFalse(executorService.isShutdown());
+    }
+
+    /**
+     * 分组数量远大于线程数量.
+     */
+    @Test
+    public void testExecuteManyPartitions(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; ++i){
+            list.add(1);
+        }
+        ThreadUtil.execute(list, 3, paramsMap, new CalculatePartitionRunnableBuilder(), executorService);
+        assertEquals(10000, atomicInteger.get());
+    }
+
+    /**
+     * 某一组抛出异常,不影响其他组.
+     */
+    @Test
+    public void testExecuteWithException(){
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        ThreadUtil.execute(toList(1, 2, 3, 4), 1, null, new PartitionRunnableBuilder<Integer>(){
+
+            @Override
+            public Runnable build(final List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                return new Runnable(){
+
+                    @Override
+                    public void run(){
+                        Integer value = perBatchList.get(0);
+                        if (value == 2){
+                            throw new IllegalStateException("mock exception");
+                        }
+                        atomicInteger.addAndGet(value);
+                    }
+                };
+            }
+        }, executorService);
+
+        assertEquals(8, atomicInteger.get());
+    }
+
+    //---------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteNullList(){
+        ThreadUtil.execute(null, 100, null, new CalculatePartitionRunnableBuilder(), executorService);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteEmptyList(){
+        ThreadUtil.execute(Collections.<Integer> emptyList(), 100, null, new CalculatePartitionRunnableBuilder(), executorService);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteInvalidPerSize(){
+        ThreadUtil.execute(toList(2), 0, null, new CalculatePartitionRunnableBuilder(), executorService);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteNullGroupRunnableBuilder(){
+        ThreadUtil.execute(toList(2), 100, null, null, executorService);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteNullExecutorService(){
+        ThreadUtil.execute(toList(2), 100, null, new CalculatePartitionRunnableBuilder(), (ExecutorService) null);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.util.MapUtil.newHashMap;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class ExecuteInVirtualThreadTest.
+ * 
+ * <p>
+ * 如果运行的 jdk 不支持虚拟线程,测试的是退化成平台线程的逻辑.
+ * </p>
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ExecuteInVirtualThreadTest{
+
+    @Test
+    public void testExecuteInVirtualThread(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        ThreadUtil.executeInVirtualThread(toList(2, 5, 6, 7), 2, paramsMap, new CalculatePartitionRunnableBuilder());
+        assertEquals(20, atomicInteger.get());
+    }
+
+    @Test
+    public void testExecuteInVirtualThreadManyPartitions(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i){
+            list.add(1);
+        }
+        ThreadUtil.executeInVirtualThread(list, 1, paramsMap, new CalculatePartitionRunnableBuilder());
+        assertEquals(2000, atomicInteger.get());
+    }
+
+    @Test
+    public void testExecuteInVirtualThreadRunnable(){
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+        ThreadUtil.executeInVirtualThread(new Runnable(){
+
+            @Override
+            public void run(){
+                atomicInteger.incrementAndGet();
+            }
+        }, 100);
+        assertEquals(100, atomicInteger.get());
+    }
+
+    //---------------------------------------------------------
+
+    @Test
+    public void testIsVirtualThreadSupported(){
+        boolean expected;
+        try{
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            expected = true;
+        }catch (Exception e){
+            expected = false;
+        }
+        assertEquals(expected, ThreadUtil.isVirtualThreadSupported());
+    }
+
+    //---------------------------------------------------------
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteInVirtualThreadEmptyList(){
+        ThreadUtil.executeInVirtualThread(Collections.<Integer> emptyList(), 100, null, new CalculatePartitionRunnableBuilder());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testExecuteInVirtualThreadNullRunnable(){
+        ThreadUtil.executeInVirtualThread(null, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteInVirtualThreadInvalidThreadCount(){
+        ThreadUtil.executeInVirtualThread(new Runnable(){
+
+            @Override
+            public void run(){
+            }
+        }, 0);
+    }
+}
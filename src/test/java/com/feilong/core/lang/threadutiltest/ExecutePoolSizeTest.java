@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.util.MapUtil.newHashMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.feilong.core.lang.PartitionRunnableBuilder;
+import com.feilong.core.lang.PartitionThreadEntity;
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class ExecutePoolSizeTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ExecutePoolSizeTest{
+
+    @Test
+    public void testExecute(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        ThreadUtil.execute(toList(2, 5, 6, 7), 2, paramsMap, new CalculatePartitionRunnableBuilder(), 4);
+        assertEquals(20, atomicInteger.get());
+    }
+
+    /**
+     * 1000 组任务,最多只使用 3 个线程.
+     */
+    @Test
+    public void testExecuteBoundedThreads(){
+        final Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i){
+            list.add(i);
+        }
+
+        ThreadUtil.execute(list, 1, null, new PartitionRunnableBuilder<Integer>(){
+
+            @Override
+            public Runnable build(List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                return new Runnable(){
+
+                    @Override
+                    public void run(){
+                        threadNames.add(Thread.currentThread().getName());
+                    }
+                };
+            }
+        }, 3);
+
+        assertTrue(threadNames.size() <= 3);
+    }
+
+    //---------------------------------------------------------
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteInvalidPoolSize(){
+        ThreadUtil.execute(toList(2), 100, null, new CalculatePartitionRunnableBuilder(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteInvalidPerSize(){
+        ThreadUtil.execute(toList(2), -1, null, new CalculatePartitionRunnableBuilder(), 2);
+    }
+}
@@ -27,6 +27,13 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({ //
                 ExecuteTest.class,
                 ExecuteCountTest.class,
+                ExecuteExecutorServiceTest.class,
+                ExecutePoolSizeTest.class,
+                SubmitTest.class,
+                ExecuteAndReduceTest.class,
+                ExecuteInVirtualThreadTest.class,
+                WithListenerTest.class,
+                ExecuteAdaptiveTest.class,
         //
 })
 public class FeiLongThreadUtilSuiteTests{
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class SubmitTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class SubmitTest{
+
+    /** The executor service. */
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @After
+    public void after(){
+        executorService.shutdownNow();
+    }
+
+    //---------------------------------------------------------
+
+    @Test
+    public void testSubmit() throws Exception{
+        List<Future<Integer>> futureList = ThreadUtil.submit(toList(2, 5, 6, 7, 1), 2, null, new SumPartitionCallableBuilder(), executorService);
+
+        assertEquals(3, futureList.size());
+        assertEquals(7, (int) futureList.get(0).get());
+        assertEquals(13, (int) futureList.get(1).get());
+        assertEquals(1, (int) futureList.get(2).get());
+    }
+
+    //---------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testSubmitNullList(){
+        ThreadUtil.submit(null, 2, null, new SumPartitionCallableBuilder(), executorService);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubmitEmptyList(){
+        ThreadUtil.submit(Collections.<Integer> emptyList(), 2, null, new SumPartitionCallableBuilder(), executorService);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubmitInvalidPerSize(){
+        ThreadUtil.submit(toList(2), 0, null, new SumPartitionCallableBuilder(), executorService);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSubmitNullExecutorService(){
+        ThreadUtil.submit(toList(2), 1, null, new SumPartitionCallableBuilder(), null);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.feilong.core.lang.PartitionCallableBuilder;
+import com.feilong.core.lang.PartitionThreadEntity;
+
+/**
+ * 每组返回自己的和.
+ * 
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class SumPartitionCallableBuilder implements PartitionCallableBuilder<Integer, Integer>{
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.feilong.core.lang.PartitionCallableBuilder#build(java.util.List, com.feilong.core.lang.PartitionThreadEntity, java.util.Map)
+     */
+    @Override
+    public Callable<Integer> build(final List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+        return new Callable<Integer>(){
+
+            @Override
+            public Integer call(){
+                int sum = 0;
+                for (Integer value : perBatchList){
+                    sum += value;
+                }
+                return sum;
+            }
+        };
+    }
+}
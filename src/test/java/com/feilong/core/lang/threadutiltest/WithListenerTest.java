@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.lang.threadutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.util.MapUtil.newHashMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.feilong.core.lang.PartitionCallableBuilder;
+import com.feilong.core.lang.PartitionExecutionException;
+import com.feilong.core.lang.PartitionHistogramCollector;
+import com.feilong.core.lang.PartitionListener;
+import com.feilong.core.lang.PartitionResultReducer;
+import com.feilong.core.lang.PartitionThreadEntity;
+import com.feilong.core.lang.ThreadUtil;
+
+/**
+ * The Class WithListenerTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class WithListenerTest{
+
+    /** The executor service. */
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @After
+    public void after(){
+        executorService.shutdownNow();
+    }
+
+    //---------------------------------------------------------
+
+    @Test
+    public void testWithListenerRunnable(){
+        AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        Map<String, Object> paramsMap = newHashMap(1);
+        paramsMap.put("result", atomicInteger);
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1001; ++i){
+            list.add(1);
+        }
+
+        PartitionHistogramCollector collector = new PartitionHistogramCollector();
+        ThreadUtil.execute(list, 10, paramsMap, ThreadUtil.withListener(new CalculatePartitionRunnableBuilder(), collector), executorService);
+
+        assertEquals(1001, atomicInteger.get());
+
+        assertEquals(101, collector.getStartedCount());
+        assertEquals(101, collector.getFinishedCount());
+        assertEquals(0, collector.getFailedCount());
+        assertEquals(0, collector.getRunningCount());
+        assertEquals(1001, collector.getFinishedItemCount());
+        assertTrue(collector.getSlowestElapsedNanos() >= 0);
+        assertTrue(collector.getSlowestPartitionThreadEntity().getName().startsWith("Thread-CalculatePartitionRunnableBuilder-"));
+
+        long histogramTotal = 0;
+        for (Long count : collector.getHistogram().values()){
+            histogramTotal += count;
+        }
+        assertEquals(101, histogramTotal);
+    }
+
+    @Test
+    public void testWithListenerCallableFail(){
+        final List<String> events = new ArrayList<>();
+
+        PartitionListener partitionListener = new PartitionListener(){
+
+            @Override
+            public synchronized void onStart(PartitionThreadEntity partitionThreadEntity){
+                events.add("start-" + partitionThreadEntity.getBatchNumber());
+            }
+
+            @Override
+            public synchronized void onFinish(PartitionThreadEntity partitionThreadEntity,long elapsedNanos){
+                events.add("finish-" + partitionThreadEntity.getBatchNumber());
+            }
+
+            @Override
+            public synchronized void onFail(PartitionThreadEntity partitionThreadEntity,long elapsedNanos,Throwable throwable){
+                events.add("fail-" + partitionThreadEntity.getBatchNumber() + "-" + throwable.getMessage());
+            }
+        };
+
+        PartitionCallableBuilder<Integer, Integer> partitionCallableBuilder = new PartitionCallableBuilder<Integer, Integer>(){
+
+            @Override
+            public Callable<Integer> build(final List<Integer> perBatchList,PartitionThreadEntity partitionThreadEntity,Map<String, ?> paramsMap){
+                return new Callable<Integer>(){
+
+                    @Override
+                    public Integer call(){
+                        throw new IllegalStateException("mock");
+                    }
+                };
+            }
+        };
+
+        try{
+            ThreadUtil.executeAndReduce(
+                            toList(1),
+                            1,
+                            null,
+                            ThreadUtil.withCallableListener(partitionCallableBuilder, partitionListener),
+                            executorService,
+                            0,
+                            new PartitionResultReducer<Integer, Integer>(){
+
+                                @Override
+                                public Integer reduce(Integer accumulator,Integer partitionResult,PartitionThreadEntity partitionThreadEntity){
+                                    return accumulator + partitionResult;
+                                }
+                            });
+            fail();
+        }catch (PartitionExecutionException e){
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(toList("start-0", "fail-0-mock"), events);
+    }
+
+    //---------------------------------------------------------
+
+    @Test
+    public void testPartitionHistogramCollectorPercentile(){
+        PartitionHistogramCollector collector = new PartitionHistogramCollector();
+        assertEquals(0, collector.getPercentileMillis(0.5));
+
+        PartitionThreadEntity partitionThreadEntity = new PartitionThreadEntity("name", 100, 10, 0, 10);
+        for (int i = 0; i < 99; ++i){
+            collector.onStart(partitionThreadEntity);
+            collector.onFinish(partitionThreadEntity, 500_000L);//0.5ms
+        }
+        collector.onStart(partitionThreadEntity);
+        collector.onFinish(partitionThreadEntity, 5_000_000L);//5ms
+
+        assertEquals(1, collector.getPercentileMillis(0.5));
+        assertEquals(1, collector.getPercentileMillis(0.99));
+        assertEquals(8, collector.getPercentileMillis(1));
+        assertEquals(5_000_000L, collector.getSlowestElapsedNanos());
+        assertEquals("{[0ms,1ms)=99, [4ms,8ms)=1}", collector.getHistogram().toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartitionHistogramCollectorInvalidPercentile(){
+        new PartitionHistogramCollector().getPercentileMillis(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWithListenerNullListener(){
+        ThreadUtil.withListener(new CalculatePartitionRunnableBuilder(), null);
+    }
+}
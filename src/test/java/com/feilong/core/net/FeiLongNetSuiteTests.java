@@ -20,6 +20,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 import com.feilong.core.net.paramutiltest.FeiLongParamUtilSuiteTests;
+import com.feilong.core.net.uribuildertest.URIBuilderTest;
 import com.feilong.core.net.uriutiltest.FeiLongURIUtilSuiteTests;
 import com.feilong.core.net.urlutiltest.FeiLongURLUtilSuiteTests;
 
@@ -35,6 +36,10 @@ import com.feilong.core.net.urlutiltest.FeiLongURLUtilSuiteTests;
                 FeiLongParamUtilSuiteTests.class,
                 FeiLongURLUtilSuiteTests.class,
                 FeiLongURIUtilSuiteTests.class,
+                URIBuilderTest.class,
+
+                QueryStringParserTest.class,
+                FormURLCodecTest.class,
 
         //                
 })
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.net;
+
+import static com.feilong.core.CharsetType.GBK;
+import static com.feilong.core.CharsetType.ISO_8859_1;
+import static com.feilong.core.CharsetType.UTF8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * The Class FormURLCodecTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class FormURLCodecTest{
+
+    /** The Constant CHARSET_TYPES. */
+    private static final String[] CHARSET_TYPES = { UTF8, GBK, ISO_8859_1, "UTF-16" };
+
+    /** The Constant VALUES. */
+    private static final String[] VALUES        = {
+                                                    "",
+                                                    "abcXYZ019.-*_",
+                                                    "a b",
+                                                    "   ",
+                                                    "飞天奔月 feilong",
+                                                    "a=1&b=2?c#d/e",
+                                                    "100%",
+                                                    "😀x\uD83D",
+                                                    "\uDE00\uD83D",
+                                                    "+%+",
+                                                    "~!@#$^()[]{}|;:'\",<>" };
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test encode.
+     *
+     * @throws UnsupportedEncodingException
+     *             the unsupported encoding exception
+     */
+    @Test
+    public void testEncode() throws UnsupportedEncodingException{
+        for (String charsetType : CHARSET_TYPES){
+            for (String value : VALUES){
+                assertEquals(URLEncoder.encode(value, charsetType), FormURLCodec.encode(value, charsetType));
+            }
+        }
+    }
+
+    /**
+     * Test decode.
+     *
+     * @throws UnsupportedEncodingException
+     *             the unsupported encoding exception
+     */
+    @Test
+    public void testDecode() throws UnsupportedEncodingException{
+        for (String charsetType : CHARSET_TYPES){
+            for (String value : VALUES){
+                String encodeValue = URLEncoder.encode(value, charsetType);
+                assertEquals(URLDecoder.decode(encodeValue, charsetType), FormURLCodec.decode(encodeValue, charsetType));
+            }
+        }
+        assertEquals(URLDecoder.decode("%e9%A3%9e", UTF8), FormURLCodec.decode("%e9%A3%9e", UTF8));
+        assertEquals(URLDecoder.decode("a%+1b", UTF8), FormURLCodec.decode("a%+1b", UTF8));
+    }
+
+    /**
+     * Test random.
+     *
+     * @throws UnsupportedEncodingException
+     *             the unsupported encoding exception
+     */
+    @Test
+    public void testRandom() throws UnsupportedEncodingException{
+        String chars = "aZ9 .-*_%+=&飞😀";
+        Random random = new Random(20161018L);
+        for (int i = 0; i < 2000; ++i){
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; --j){
+                sb.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            String value = sb.toString();
+            assertEquals(URLEncoder.encode(value, UTF8), FormURLCodec.encode(value, UTF8));
+
+            String encodeValue = URLEncoder.encode(value, UTF8);
+            assertEquals(URLDecoder.decode(encodeValue, UTF8), FormURLCodec.decode(encodeValue, UTF8));
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test encode clean value.
+     */
+    @Test
+    public void testEncodeCleanValue(){
+        String value = "feilong.core-1_0*";
+        assertSame(value, FormURLCodec.encode(value, UTF8));
+    }
+
+    /**
+     * Test decode clean value.
+     */
+    @Test
+    public void testDecodeCleanValue(){
+        String value = "飞天奔月=feilong";
+        assertSame(value, FormURLCodec.decode(value, UTF8));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test decode incomplete trailing escape.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeIncompleteTrailingEscape(){
+        FormURLCodec.decode("100%", UTF8);
+    }
+
+    /**
+     * Test decode illegal hex characters.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeIllegalHexCharacters(){
+        FormURLCodec.decode("%zz1", UTF8);
+    }
+
+    /**
+     * Test encode unsupported charset.
+     */
+    @Test
+    public void testEncodeUnsupportedCharset(){
+        try{
+            FormURLCodec.encode("abc", "feilong-charset");
+            fail();
+        }catch (URIParseException e){
+            assertEquals(UnsupportedEncodingException.class, e.getCause().getClass());
+        }
+    }
+
+    /**
+     * 和 encode 一样,即使不需要解码,也会检查字符编码.
+     */
+    @Test
+    public void testDecodeUnsupportedCharsetWithoutEscape(){
+        for (String value : new String[] { "abc", "a+b", "%E9%A3%9E" }){
+            try{
+                FormURLCodec.decode(value, "feilong-charset");
+                fail();
+            }catch (URIParseException e){
+                assertEquals(UnsupportedEncodingException.class, e.getCause().getClass());
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.net;
+
+import static com.feilong.core.CharsetType.UTF8;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.junit.Test;
+
+/**
+ * The Class QueryStringParserTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class QueryStringParserTest{
+
+    /** 需要和原来的 split 实现对比的 queryString. */
+    private static final String[] QUERY_STRINGS = {
+                                                    "a=1&b=2&a=5",
+                                                    "a=&b=2&a",
+                                                    "&&",
+                                                    "a=1&&b",
+                                                    "a=1&",
+                                                    "a=1&&&",
+                                                    "&a=1",
+                                                    "=1",
+                                                    "=",
+                                                    "a=b=c&a==",
+                                                    "a= &b=%20&c=+",
+                                                    "name=%E9%A3%9E%E5%A4%A9%E5%A5%94%E6%9C%88&name=上海&age=18",
+                                                    "req_data=%3Cauth%3E%3C%2Fauth%3E&sign=cc94",
+                                                    "a" };
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test to array value map.
+     */
+    @Test
+    public void testToArrayValueMap(){
+        for (String charsetType : new String[] { UTF8, null, EMPTY }){
+            for (String queryString : QUERY_STRINGS){
+                assertArrayValueMapEquals(splitToArrayValueMap(queryString, charsetType), QueryStringParser.toArrayValueMap(queryString, charsetType));
+            }
+        }
+    }
+
+    /**
+     * Test to single value map.
+     */
+    @Test
+    public void testToSingleValueMap(){
+        for (String charsetType : new String[] { UTF8, null, EMPTY }){
+            for (String queryString : QUERY_STRINGS){
+                Map<String, String> expected = new LinkedHashMap<>();
+                for (Map.Entry<String, String[]> entry : splitToArrayValueMap(queryString, charsetType).entrySet()){
+                    expected.put(entry.getKey(), entry.getValue()[0]);
+                }
+                Map<String, String> actual = QueryStringParser.toSingleValueMap(queryString, charsetType);
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    /**
+     * Test to array value map only ampersand.
+     */
+    @Test
+    public void testToArrayValueMapOnlyAmpersand(){
+        assertEquals(0, QueryStringParser.toArrayValueMap("&&&", UTF8).size());
+        assertEquals(0, QueryStringParser.toSingleValueMap("&&&", UTF8).size());
+    }
+
+    /**
+     * Test to array value map duplicate.
+     */
+    @Test
+    public void testToArrayValueMapDuplicate(){
+        Map<String, String[]> map = QueryStringParser.toArrayValueMap("a=1&b=2&a=3&a=4", UTF8);
+        assertArrayEquals(new String[] { "1", "3", "4" }, map.get("a"));
+        assertArrayEquals(new String[] { "2" }, map.get("b"));
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * 原来基于 split 的实现.
+     *
+     * @param queryString
+     *            the query string
+     * @param charsetType
+     *            the charset type
+     * @return the map
+     */
+    private static Map<String, String[]> splitToArrayValueMap(String queryString,String charsetType){
+        String[] valuePairs = queryString.split("&");
+        Map<String, String[]> map = new LinkedHashMap<>();
+        for (String valuePair : valuePairs){
+            String[] tempArray = valuePair.split("=", 2);
+            String key = ParamUtil.decodeAndEncode(tempArray[0], charsetType);
+            String value = ParamUtil.decodeAndEncode(tempArray.length == 2 ? tempArray[1] : EMPTY, charsetType);
+            map.put(key, ArrayUtils.add(map.get(key), value));
+        }
+        return map;
+    }
+
+    /**
+     * Assert array value map equals.
+     *
+     * @param expected
+     *            the expected
+     * @param actual
+     *            the actual
+     */
+    private static void assertArrayValueMapEquals(Map<String, String[]> expected,Map<String, String[]> actual){
+        List<String> expectedKeys = new ArrayList<>(expected.keySet());
+        assertEquals(expectedKeys, new ArrayList<>(actual.keySet()));
+        for (String key : expectedKeys){
+            assertArrayEquals(expected.get(key), actual.get(key));
+        }
+    }
+}
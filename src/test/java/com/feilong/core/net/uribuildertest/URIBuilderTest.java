@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.net.uribuildertest;
+
+import static com.feilong.core.CharsetType.UTF8;
+import static com.feilong.core.net.URIUtil.encode;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.feilong.core.net.ParamUtil;
+import com.feilong.core.net.URIBuilder;
+
+/**
+ * The Class URIBuilderTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class URIBuilderTest{
+
+    /** The Constant PATH. */
+    private static final String PATH = "http://www.feilong.com:8888/esprit-frontend/search.htm";
+
+    /**
+     * Test build.
+     */
+    @Test
+    public void testBuild(){
+        String uriString = PATH + "?keyword=%E6%81%A4&page=1";
+        String uri = URIBuilder.fromUriString(uriString, UTF8)//
+                        .setParameter("page", "2")
+                        .addParameter("label", "中国")
+                        .addParameter("label", "2-5-8")
+                        .removeParameter("keyword")
+                        .build();
+        assertEquals(PATH + "?page=2&label=" + encode("中国", UTF8) + "&label=2-5-8", uri);
+    }
+
+    /**
+     * Test build same as param util.
+     */
+    @Test
+    public void testBuildSameAsParamUtil(){
+        String uriString = PATH + "?label=lalala&keyword=%E6%81%A4&label=hahaha&page=";
+
+        String expected = ParamUtil.addParameter(ParamUtil.addParameter(uriString, "label", "中国", UTF8), "page", "3", UTF8);
+        assertEquals(expected, URIBuilder.fromUriString(uriString, UTF8).setParameter("label", "中国").setParameter("page", "3").build());
+    }
+
+    /**
+     * Test add parameter keep old values.
+     */
+    @Test
+    public void testAddParameterKeepOldValues(){
+        assertEquals(PATH + "?a=1&a=2&b=3", URIBuilder.fromUriString(PATH + "?a=1&b=3", UTF8).addParameter("a", "2").build());
+    }
+
+    /**
+     * Test set parameter array value map.
+     */
+    @Test
+    public void testSetParameterArrayValueMap(){
+        Map<String, String[]> arrayValueMap = new LinkedHashMap<>();
+        arrayValueMap.put("receiver", new String[] { "鑫哥", "feilong" });
+        arrayValueMap.put("a", new String[] { "c" });
+
+        assertEquals(
+                        "www.baidu.com?a=c&receiver=" + encode("鑫哥", UTF8) + "&receiver=feilong",
+                        URIBuilder.fromUriString("www.baidu.com?a=b", UTF8).setParameterArrayValueMap(arrayValueMap).build());
+    }
+
+    /**
+     * Test set parameter single value map null.
+     */
+    @Test
+    public void testSetParameterSingleValueMapNull(){
+        assertEquals("www.baidu.com?a=b", URIBuilder.fromUriString("www.baidu.com?a=b", UTF8).setParameterSingleValueMap(null).build());
+    }
+
+    /**
+     * Test remove all parameters.
+     */
+    @Test
+    public void testRemoveAllParameters(){
+        assertEquals(PATH, URIBuilder.fromUriString(PATH + "?a=1", UTF8).removeParameter("a").build());
+    }
+
+    /**
+     * Test append to.
+     */
+    @Test
+    public void testAppendTo(){
+        StringBuilder sb = new StringBuilder("<a href=\"");
+        assertSame(sb, URIBuilder.fromUriString(PATH, UTF8).setParameter("a", "1").appendTo(sb));
+        assertEquals("<a href=\"" + PATH + "?a=1", sb.toString());
+    }
+
+    /**
+     * Test build null uri string.
+     */
+    @Test
+    public void testBuildNullUriString(){
+        assertEquals(EMPTY, URIBuilder.fromUriString(null, UTF8).setParameter("a", "1").build());
+    }
+
+    /**
+     * Test build blank uri string.
+     */
+    @Test
+    public void testBuildBlankUriString(){
+        assertEquals(EMPTY, URIBuilder.fromUriString(" ", UTF8).setParameter("a", "1").build());
+    }
+}
@@ -30,7 +30,8 @@ import org.junit.runners.Suite.SuiteClasses;
                 NumberFormatUtilTest.class,
                 NumberFormatUtilFormatRoundingModeParameterizedTest.class,
 
-                MessageFormatUtilTest.class })
+                MessageFormatUtilTest.class,
+                MessageFormatCacheTest.class })
 public class FeiLongTextSuiteTests{
 
 }
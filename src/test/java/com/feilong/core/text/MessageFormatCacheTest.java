@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * The Class MessageFormatCacheTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class MessageFormatCacheTest{
+
+    /** The Constant PATTERNS. */
+    private static final String[] PATTERNS = {
+                                               "",
+                                               "name=张三",
+                                               "a}b",
+                                               "It''s {0}",
+                                               "'abc'",
+                                               "'{0}'{1}",
+                                               "{0}{1}",
+                                               "name=张三{0,number}a{1}",
+                                               "{0,number,#.#}",
+                                               "{2}",
+                                               "{0,date,yyyy-MM-dd}",
+                                               "{0,choice,0#none|1#one|1<many}" };
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test format.
+     */
+    @Test
+    public void testFormat(){
+        Object[][] argumentsArray = { null, {}, { 1.23, "xin" }, { 5, new Date(0) } };
+        for (String pattern : PATTERNS){
+            for (Object[] arguments : argumentsArray){
+                if (pattern.contains("date") && (null == arguments || arguments.length == 0 || !(arguments[0] instanceof Date))){
+                    continue;
+                }
+                if ((pattern.contains("number") || pattern.contains("choice")) && null != arguments && arguments.length > 0
+                                && !(arguments[0] instanceof Number)){
+                    continue;
+                }
+                assertEquals(MessageFormat.format(pattern, arguments), MessageFormatCache.format(pattern, arguments));
+            }
+        }
+    }
+
+    /**
+     * Test format plain text.
+     */
+    @Test
+    public void testFormatPlainText(){
+        String pattern = "feilong} core";
+        assertSame(pattern, MessageFormatCache.format(pattern, "jin"));
+    }
+
+    /**
+     * Test format default locale changed.
+     */
+    @Test
+    public void testFormatDefaultLocaleChanged(){
+        Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        try{
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            assertEquals("1,5", MessageFormatCache.format("{0}", 1.5));
+
+            Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+            assertEquals("1.5", MessageFormatCache.format("{0}", 1.5));
+        }finally{
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+
+    /**
+     * Test format illegal pattern.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFormatIllegalPattern(){
+        MessageFormatCache.format("{0", "jin");
+    }
+
+    /**
+     * Test format concurrent.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFormatConcurrent() throws Exception{
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try{
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i){
+                final double number = i + 0.25;
+                futures.add(executorService.submit(new Callable<Boolean>(){
+
+                    @Override
+                    public Boolean call(){
+                        String expected = MessageFormat.format("{0,number,#.##}-{1}", number, "x");
+                        for (int j = 0; j < 2000; ++j){
+                            if (!expected.equals(MessageFormatCache.format("{0,number,#.##}-{1}", number, "x"))){
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures){
+                assertEquals(true, future.get());
+            }
+        }finally{
+            executorService.shutdown();
+        }
+    }
+}
@@ -22,8 +22,10 @@ import org.junit.runners.Suite.SuiteClasses;
 import com.feilong.core.util.aggregateutiltest.FeiLongAggregateUtilSuiteTests;
 import com.feilong.core.util.collectionsutiltest.FeiLongCollectionsUtilSuiteTests;
 import com.feilong.core.util.comparator.FeiLongComparatorSuiteTests;
+import com.feilong.core.util.concurrentlrucachetest.ConcurrentLruCacheTest;
 import com.feilong.core.util.enumerationutiltest.EnumerationUtilParameterizedTest;
 import com.feilong.core.util.maputiltest.FeiLongMapUtilSuiteTests;
+import com.feilong.core.util.patterncachetest.PatternCacheTest;
 import com.feilong.core.util.predicate.FeiLongBeanPredicateUtilSuiteTests;
 import com.feilong.core.util.randomutiltest.FeiLongRandomUtilSuiteTests;
 import com.feilong.core.util.regexutiltest.FeiLongRegexUtilSuiteTests;
@@ -38,6 +40,8 @@ import com.feilong.core.util.sortutiltest.FeiLongSortUtilSuiteTests;
 @RunWith(Suite.class)
 @SuiteClasses({ //
                 EnumerationUtilParameterizedTest.class,
+                ConcurrentLruCacheTest.class,
+                PatternCacheTest.class,
 
                 FeiLongBeanPredicateUtilSuiteTests.class,
 
@@ -21,6 +21,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 import com.feilong.core.util.comparator.beancomparatorutiltest.FeiLongBeanComparatorUtilSuiteTests;
 import com.feilong.core.util.comparator.propertycomparator.PropertyComparatorTest;
+import com.feilong.core.util.comparator.propertyvaluesortertest.PropertyValueSorterTest;
 import com.feilong.core.util.comparator.sorthelpertest.FeiLongSortHelperSuiteTests;
 
 /**
@@ -34,6 +35,7 @@ import com.feilong.core.util.comparator.sorthelpertest.FeiLongSortHelperSuiteTes
                 FeiLongSortHelperSuiteTests.class,
 
                 PropertyComparatorTest.class,
+                PropertyValueSorterTest.class,
         //
 })
 public class FeiLongComparatorSuiteTests{
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.comparator.propertyvaluesortertest;
+
+import static com.feilong.core.bean.ConvertUtil.toArray;
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.bean.ConvertUtil.toMap;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.feilong.core.util.comparator.PropertyValueSorter;
+import com.feilong.store.member.User;
+
+/**
+ * The Class PropertyValueSorterTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class PropertyValueSorterTest{
+
+    @Test
+    public void testSortList(){
+        User id12 = new User(12L, 18);
+        User id2 = new User(2L, 36);
+        User id5 = new User(5L, 22);
+        User id1 = new User(1L, 8);
+        List<User> list = toList(id12, id2, id5, id1);
+
+        new PropertyValueSorter<User>("id").sort(list);
+        assertThat(list, contains(id1, id2, id5, id12));
+    }
+
+    @Test
+    public void testSortArray(){
+        User id12 = new User(12L, 18);
+        User id2 = new User(2L, 36);
+        User id5 = new User(5L, 22);
+        User[] users = toArray(id12, id2, id5);
+
+        new PropertyValueSorter<User>("age desc").sort(users);
+        assertArrayEquals(toArray(id2, id5, id12), users);
+    }
+
+    /**
+     * 属性值是字符串,转成 Integer 再比较.
+     */
+    @Test
+    public void testSortListWithPropertyValueConvertToClass(){
+        Map<String, String> map10 = toMap("age", "10");
+        Map<String, String> map2 = toMap("age", "2");
+        Map<String, String> map100 = toMap("age", "100");
+        List<Map<String, String>> list = toList(map10, map2, map100);
+
+        new PropertyValueSorter<Map<String, String>>("age", Integer.class).sort(list);
+        assertThat(list, contains(map2, map10, map100));
+    }
+
+    //---------------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testSortNullList(){
+        new PropertyValueSorter<User>("id").sort((List<User>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortChainedNullElement(){
+        new PropertyValueSorter<User>("id", "age").sort(toList(new User(1L), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPropertyValueSorterBlankPropertyName(){
+        new PropertyValueSorter<User>(" ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPropertyValueSorterInvalidOrder(){
+        new PropertyValueSorter<User>("id asd");
+    }
+}
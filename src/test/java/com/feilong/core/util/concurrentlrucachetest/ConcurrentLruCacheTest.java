@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.concurrentlrucachetest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+
+import com.feilong.core.util.ConcurrentLruCache;
+
+/**
+ * The Class ConcurrentLruCacheTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class ConcurrentLruCacheTest{
+
+    /**
+     * Test put if absent.
+     */
+    @Test
+    public void testPutIfAbsent(){
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(10);
+        assertEquals("feilong", cache.putIfAbsent("name", "feilong"));
+        assertEquals("feilong", cache.putIfAbsent("name", "jinxin"));
+        assertEquals("feilong", cache.get("name"));
+    }
+
+    /**
+     * Test get.
+     */
+    @Test
+    public void testGet(){
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(10);
+        assertNull(cache.get("name"));
+        cache.putIfAbsent("name", "feilong");
+        cache.get("name");
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    /**
+     * Test eviction.
+     */
+    @Test
+    public void testEviction(){
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(8);
+        for (int i = 0; i < 100; ++i){
+            cache.putIfAbsent(i, i);
+        }
+        assertTrue(cache.size() <= 8);
+        assertEquals(100 - cache.size(), cache.getEvictionCount());
+
+        //最近放入的一定还在
+        assertEquals(99, (int) cache.get(99));
+    }
+
+    /**
+     * 最近访问过的元素不会被淘汰.
+     */
+    @Test
+    public void testEvictionKeepRecentlyAccessed(){
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(8);
+        for (int i = 0; i < 8; ++i){
+            cache.putIfAbsent(i, i);
+        }
+        cache.get(0);
+        cache.get(1);
+
+        //超过 maxSize,淘汰最久没有被访问的 1/4 之后还剩 6 个
+        cache.putIfAbsent(8, 8);
+        assertEquals(6, cache.size());
+        assertEquals(0, (int) cache.get(0));
+        assertEquals(1, (int) cache.get(1));
+        assertEquals(8, (int) cache.get(8));
+        assertNull(cache.get(2));
+        assertNull(cache.get(3));
+        assertNull(cache.get(4));
+    }
+
+    /**
+     * 并发读写的时候淘汰不能抛出异常.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testEvictionConcurrentAccess() throws Exception{
+        final ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(2048);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try{
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; ++t){
+                futures.add(executorService.submit(new Callable<Void>(){
+
+                    @Override
+                    public Void call(){
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 200000; ++i){
+                            Integer key = random.nextInt(4096);
+                            if (null == cache.get(key)){
+                                cache.putIfAbsent(key, key);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures){
+                future.get();
+            }
+        }finally{
+            executorService.shutdown();
+        }
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    /**
+     * Test clear.
+     */
+    @Test
+    public void testClear(){
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(10);
+        cache.putIfAbsent("name", "feilong");
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test put if absent null value.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testPutIfAbsentNullValue(){
+        new ConcurrentLruCache<String, String>(10).putIfAbsent("name", null);
+    }
+
+    /**
+     * Test concurrent lru cache invalid max size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentLruCacheInvalidMaxSize(){
+        new ConcurrentLruCache<String, String>(0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.patterncachetest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Test;
+
+import com.feilong.core.util.PatternCache;
+
+/**
+ * The Class PatternCacheTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class PatternCacheTest{
+
+    /**
+     * Test compile.
+     */
+    @Test
+    public void testCompile(){
+        Pattern pattern = PatternCache.compile("(.*?)@(.*?)");
+        assertSame(pattern, PatternCache.compile("(.*?)@(.*?)"));
+        assertSame(pattern, PatternCache.compile("(.*?)@(.*?)", 0));
+        assertEquals("(.*?)@(.*?)", pattern.pattern());
+    }
+
+    /**
+     * Test compile flags.
+     */
+    @Test
+    public void testCompileFlags(){
+        Pattern pattern = PatternCache.compile("^feilong$", Pattern.CASE_INSENSITIVE);
+        assertNotSame(pattern, PatternCache.compile("^feilong$"));
+        assertEquals(Pattern.CASE_INSENSITIVE, pattern.flags());
+        assertTrue(pattern.matcher("FeiLong").matches());
+    }
+
+    /**
+     * Test hit count.
+     */
+    @Test
+    public void testHitCount(){
+        String regex = "^testHitCount\\d+$";
+        long hitCount = PatternCache.getHitCount();
+        long missCount = PatternCache.getMissCount();
+
+        PatternCache.compile(regex);
+        PatternCache.compile(regex);
+        PatternCache.compile(regex);
+
+        assertTrue(PatternCache.getMissCount() - missCount >= 1);
+        assertTrue(PatternCache.getHitCount() - hitCount >= 2);
+    }
+
+    /**
+     * Test eviction.
+     */
+    @Test
+    public void testEviction(){
+        long evictionCount = PatternCache.getEvictionCount();
+        for (int i = 0; i < PatternCache.MAX_SIZE * 2; ++i){
+            PatternCache.compile("testEviction" + i);
+        }
+        assertTrue(PatternCache.size() <= PatternCache.MAX_SIZE);
+        assertTrue(PatternCache.getEvictionCount() > evictionCount);
+    }
+
+    //---------------------------------------------------------------
+
+    /**
+     * Test compile null.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCompileNull(){
+        PatternCache.compile(null);
+    }
+
+    /**
+     * Test compile error.
+     */
+    @Test(expected = PatternSyntaxException.class)
+    public void testCompileError(){
+        PatternCache.compile("(feilong");
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.randomutiltest;
+
+import static com.feilong.core.Alphabet.DECIMAL;
+import static com.feilong.core.Alphabet.DECIMAL_AND_LETTERS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import com.feilong.core.util.RandomUtil;
+
+/**
+ * The Class CreateRandomFromStringCountTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class CreateRandomFromStringCountTest{
+
+    /**
+     * Test create random from string.
+     */
+    @Test
+    public void testCreateRandomFromString(){
+        String[] randoms = RandomUtil.createRandomFromString(DECIMAL_AND_LETTERS, 8, 1000);
+        assertEquals(1000, randoms.length);
+        for (String random : randoms){
+            assertEquals(8, random.length());
+            assertTrue(StringUtils.containsOnly(random, DECIMAL_AND_LETTERS));
+        }
+    }
+
+    /**
+     * Test create random from string null.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCreateRandomFromStringNull(){
+        RandomUtil.createRandomFromString(null, 4, 5);
+    }
+
+    /**
+     * Test create random from string blank.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateRandomFromStringBlank(){
+        RandomUtil.createRandomFromString(" ", 4, 5);
+    }
+
+    /**
+     * Test create random from string zero length.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateRandomFromStringZeroLength(){
+        RandomUtil.createRandomFromString(DECIMAL, 0, 5);
+    }
+
+    /**
+     * Test create random from string zero count.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateRandomFromStringZeroCount(){
+        RandomUtil.createRandomFromString(DECIMAL, 4, 0);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.randomutiltest;
+
+import static com.feilong.core.Alphabet.DECIMAL;
+import static com.feilong.core.Alphabet.DECIMAL_AND_LETTERS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import com.feilong.core.util.RandomUtil;
+
+/**
+ * The Class CreateSecureRandomFromStringTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class CreateSecureRandomFromStringTest{
+
+    /**
+     * Test create secure random from string.
+     */
+    @Test
+    public void testCreateSecureRandomFromString(){
+        String random = RandomUtil.createSecureRandomFromString(DECIMAL, 6);
+        assertEquals(6, random.length());
+        assertTrue(StringUtils.isNumeric(random));
+    }
+
+    /**
+     * Test create secure random from string count.
+     */
+    @Test
+    public void testCreateSecureRandomFromStringCount(){
+        String[] randoms = RandomUtil.createSecureRandomFromString(DECIMAL_AND_LETTERS, 12, 500);
+        assertEquals(500, randoms.length);
+        for (String random : randoms){
+            assertEquals(12, random.length());
+            assertTrue(StringUtils.containsOnly(random, DECIMAL_AND_LETTERS));
+        }
+    }
+
+    /**
+     * Test create secure random from string null.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCreateSecureRandomFromStringNull(){
+        RandomUtil.createSecureRandomFromString(null, 4);
+    }
+
+    /**
+     * Test create secure random from string zero length.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateSecureRandomFromStringZeroLength(){
+        RandomUtil.createSecureRandomFromString(DECIMAL, 0);
+    }
+
+    /**
+     * Test create secure random from string zero count.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateSecureRandomFromStringZeroCount(){
+        RandomUtil.createSecureRandomFromString(DECIMAL, 4, 0);
+    }
+}
@@ -28,6 +28,9 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({ //
                 CreateRandomFromStringTest.class,
                 CreateRandomWithLengthTest.class,
+
+                CreateRandomFromStringCountTest.class,
+                CreateSecureRandomFromStringTest.class,
         //
 })
 public class FeiLongRandomUtilSuiteTests{
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.regexutiltest;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.feilong.core.util.CompiledRegex;
+import com.feilong.core.util.MatchResultHandler;
+import com.feilong.core.util.RegexUtil;
+
+/**
+ * The Class CompileTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class CompileTest{
+
+    private static final String        EMAIL = "feilong@163.com";
+
+    private static final CompiledRegex REGEX = RegexUtil.compile("(?<name>.*?)@(?<domain>.*?)");
+
+    /**
+     * Test matches.
+     */
+    @Test
+    public void testMatches(){
+        assertTrue(REGEX.matches(EMAIL));
+        assertFalse(REGEX.matches("feilong"));
+
+        //和 RegexUtil.matches 一致
+        assertEquals(RegexUtil.matches("(.*?)@(.*?)", "feilong"), REGEX.matches("feilong"));
+    }
+
+    @Test
+    public void testMatchesFlags(){
+        CompiledRegex compiledRegex = RegexUtil.compile("^feilong$", Pattern.CASE_INSENSITIVE);
+        assertTrue(compiledRegex.matches("FeiLong"));
+        assertFalse(RegexUtil.compile("^feilong$").matches("FeiLong"));
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    public void testGroup(){
+        assertEquals(EMAIL, REGEX.group(EMAIL, 0));
+        assertEquals("feilong", REGEX.group(EMAIL, 1));
+        assertEquals("163.com", REGEX.group(EMAIL, 2));
+
+        //超出
+        assertNull(REGEX.group(EMAIL, 3));
+        //不匹配
+        assertNull(REGEX.group("feilong", 1));
+    }
+
+    @Test
+    public void testGroupName(){
+        assertEquals("feilong", REGEX.group(EMAIL, "name"));
+        assertEquals("163.com", REGEX.group(EMAIL, "domain"));
+        assertNull(REGEX.group("feilong", "name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroupNameNotExist(){
+        REGEX.group(EMAIL, "age");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroupNegative(){
+        REGEX.group(EMAIL, -1);
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    public void testFindAll(){
+        CompiledRegex compiledRegex = RegexUtil.compile("(\\d+)");
+        assertEquals(asList("1", "22", "333"), compiledRegex.findAll("a1b22c333", 1));
+        assertEquals(asList("1", "22", "333"), compiledRegex.findAll("a1b22c333", 0));
+        assertTrue(compiledRegex.findAll("abc", 1).isEmpty());
+    }
+
+    @Test
+    public void testFindAllHandler(){
+        final List<String> list = new ArrayList<>();
+        int count = RegexUtil.compile("\\d+").findAll("a1b22c333d4444", new MatchResultHandler(){
+
+            @Override
+            public boolean handle(MatchResult matchResult){
+                list.add(matchResult.group());
+                return list.size() < 2;
+            }
+        });
+
+        //返回 false 之后就不再继续查找
+        assertEquals(2, count);
+        assertEquals(asList("1", "22"), list);
+    }
+
+    /**
+     * 回调里面再使用同一个 {@link CompiledRegex},互不影响.
+     */
+    @Test
+    public void testFindAllHandlerReentrant(){
+        final CompiledRegex compiledRegex = RegexUtil.compile("(\\d)(\\d)");
+        final List<String> list = new ArrayList<>();
+        compiledRegex.findAll("12,34", new MatchResultHandler(){
+
+            @Override
+            public boolean handle(MatchResult matchResult){
+                list.add(compiledRegex.group(matchResult.group(), 2) + matchResult.group(1));
+                return true;
+            }
+        });
+        assertEquals(asList("21", "43"), list);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindAllGroupOut(){
+        REGEX.findAll(EMAIL, 3);
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    public void testGetGroupCount(){
+        assertEquals(2, REGEX.getGroupCount());
+        assertEquals("(?<name>.*?)@(?<domain>.*?)", REGEX.getPattern().pattern());
+    }
+
+    //---------------------------------------------------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testCompileNull(){
+        RegexUtil.compile(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testMatchesNullInput(){
+        REGEX.matches(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testFindAllNullHandler(){
+        REGEX.findAll(EMAIL, (MatchResultHandler) null);
+    }
+}
@@ -29,10 +29,13 @@ import org.junit.runners.Suite.SuiteClasses;
 
                 SortArrayComparatorsTest.class,
                 SortArrayTest.class,
+                SortArrayParallelTest.class,
                 SortListByFixedOrderArrayPropertyValuesTest.class,
                 SortListByFixedOrderListPropertyValuesTest.class,
                 SortListByPropertyNamesValueTest.class,
+                SortListByExtractedPropertyNamesValueTest.class,
                 SortListComparatorsTest.class,
+                SortListParallelTest.class,
                 SortListTest.class,
 
                 SortMapByKeyAscTest.class,
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.sortutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toArray;
+import static com.feilong.core.util.SortUtil.sortArray;
+import static com.feilong.core.util.SortUtil.sortArrayParallel;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_STRING_ARRAY;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import org.apache.commons.collections4.ComparatorUtils;
+import org.junit.Test;
+
+import com.feilong.core.util.ParallelSortConfig;
+
+/**
+ * The Class SortArrayParallelTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class SortArrayParallelTest{
+
+    /** 按照长度比较. */
+    private static final Comparator<String> LENGTH_COMPARATOR = new Comparator<String>(){
+
+        @Override
+        public int compare(String s1,String s2){
+            return Integer.compare(s1.length(), s2.length());
+        }
+    };
+
+    //---------------------------------------------------------------
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortArrayParallel(){
+        String[] arrays = { "almn", "fba", "cba" };
+        sortArrayParallel(arrays, ComparatorUtils.<String> naturalComparator());
+        assertArrayEquals(toArray("almn", "cba", "fba"), arrays);
+    }
+
+    /**
+     * 并行排序是稳定排序,结果和 {@link com.feilong.core.util.SortUtil#sortArray(Object[], Comparator...)} 完全一致.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortArrayParallelSameAsSortArray(){
+        Random random = new Random(20170801L);
+
+        String[] arrays = new String[30000];
+        for (int i = 0; i < arrays.length; ++i){
+            arrays[i] = Integer.toString(random.nextInt(100000), 36);
+        }
+
+        String[] expected = sortArray(arrays.clone(), LENGTH_COMPARATOR);
+        for (int parallelism : new int[] { 1, 2, 3, 8 }){
+            String[] actual = sortArrayParallel(arrays.clone(), new ParallelSortConfig(1, parallelism), LENGTH_COMPARATOR);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortArrayParallelNullArray(){
+        assertArrayEquals(EMPTY_STRING_ARRAY, sortArrayParallel((String[]) null, LENGTH_COMPARATOR));
+    }
+
+    @Test
+    public void testSortArrayParallelNullComparators(){
+        String[] arrays = { "almn", "fba", "cba" };
+        assertArrayEquals(toArray("almn", "fba", "cba"), sortArrayParallel(arrays, (Comparator<String>[]) null));
+    }
+
+    //---------------------------------------------------------------
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortArrayParallelZeroParallelism(){
+        new ParallelSortConfig(1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortArrayParallelNegativeMinSize(){
+        new ParallelSortConfig(-1, 2);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.sortutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.bean.ConvertUtil.toMap;
+import static com.feilong.core.util.SortUtil.sortListByExtractedPropertyNamesValue;
+import static com.feilong.core.util.SortUtil.sortListByPropertyNamesValue;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.feilong.store.member.User;
+
+/**
+ * The Class SortListByExtractedPropertyNamesValueTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class SortListByExtractedPropertyNamesValueTest{
+
+    @Test
+    public void testSortListByExtractedPropertyNamesValueMap(){
+        Map<String, Integer> map18_145 = toMap("age", 18, "height", 145);
+        Map<String, Integer> map14_120 = toMap("age", 14, "height", 120);
+        Map<String, Integer> map5_45 = toMap("age", 5, "height", 45);
+        Map<String, Integer> map20_170 = toMap("age", 20, "height", 170);
+
+        List<Map<String, Integer>> list = toList(map18_145, map14_120, map5_45, map20_170);
+        sortListByExtractedPropertyNamesValue(list, "age desc");
+
+        assertThat(list, contains(map20_170, map18_145, map14_120, map5_45));
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    public void testSortListByExtractedPropertyNamesValueWithNullPropertyValueDesc(){
+        User u_null_id = new User((Long) null);
+        User id12 = new User(12L);
+        User id2 = new User(2L);
+        User u_null = null;
+        User id1 = new User(1L);
+
+        List<User> list = toList(u_null_id, id12, id2, u_null, id1, u_null_id);
+        sortListByExtractedPropertyNamesValue(list, "id desc");
+        assertThat(list, contains(u_null, id12, id2, id1, u_null_id, u_null_id));
+    }
+
+    @Test
+    public void testSortListByExtractedPropertyNamesValueWithNullPropertyValueAsc(){
+        User u_null_id = new User((Long) null);
+        User id12 = new User(12L);
+        User id2 = new User(2L);
+        User u_null = null;
+        User id1 = new User(1L);
+
+        List<User> list = toList(u_null_id, id12, id2, u_null, id1, u_null_id);
+        sortListByExtractedPropertyNamesValue(list, "id");
+        assertThat(list, contains(u_null_id, u_null_id, id1, id2, id12, u_null));
+    }
+
+    @Test
+    public void testSortListByExtractedPropertyNamesValue2PropertyNamesIdDesc(){
+        User id12_age18 = new User(12L, 18);
+        User id1_age8 = new User(1L, 8);
+        User id2_age30 = new User(2L, 30);
+        User id2_age2 = new User(2L, 2);
+        User id2_age36 = new User(2L, 36);
+        List<User> list = toList(id12_age18, id2_age36, id2_age2, id2_age30, id1_age8);
+
+        sortListByExtractedPropertyNamesValue(list, "id desc", "age");
+        assertThat(list, contains(id12_age18, id2_age2, id2_age30, id2_age36, id1_age8));
+    }
+
+    @Test
+    public void testSortListByExtractedPropertyNamesValue2PropertyNamesWithNullPropertyValue(){
+        User id2_age_null = new User(2L, (Integer) null);
+        User id1_age8 = new User(1L, 8);
+        User id2_age30 = new User(2L, 30);
+        User id2_age2 = new User(2L, 2);
+        List<User> list = toList(id2_age_null, id2_age30, id1_age8, id2_age2);
+
+        sortListByExtractedPropertyNamesValue(list, "id", "age desc");
+        assertThat(list, contains(id1_age8, id2_age_null, id2_age30, id2_age2));
+    }
+
+    /**
+     * 随机数据,和 {@link com.feilong.core.util.SortUtil#sortListByPropertyNamesValue(List, String...)} 结果一致.
+     */
+    @Test
+    public void testSortListByExtractedPropertyNamesValueSameAsSortListByPropertyNamesValue(){
+        Random random = new Random(20170801L);
+
+        List<User> list = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i){
+            User user = new User((long) random.nextInt(50), random.nextInt(20));
+            list.add(user);
+        }
+
+        String[][] propertyNameAndOrdersArray = { { "id" }, { "id desc" }, { "age", "id" }, { "id desc", "age" }, { "age desc", "id desc" } };
+        for (String[] propertyNameAndOrders : propertyNameAndOrdersArray){
+            List<User> expected = sortListByPropertyNamesValue(new ArrayList<>(list), propertyNameAndOrders);
+            List<User> actual = sortListByExtractedPropertyNamesValue(new ArrayList<>(list), propertyNameAndOrders);
+            assertEquals(expected, actual);
+        }
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    public void testSortListByExtractedPropertyNamesValueNullList(){
+        assertEquals(emptyList(), sortListByExtractedPropertyNamesValue((List<User>) null, "name", "age"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSortListByExtractedPropertyNamesValueNullPropertyNames(){
+        sortListByExtractedPropertyNamesValue(toList(new User(12L, 18), new User(1L, 8)), (String[]) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortListByExtractedPropertyNamesValueEmptyPropertyNames(){
+        sortListByExtractedPropertyNamesValue(toList(new User(12L, 18), new User(1L, 8)));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2008 feilong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.feilong.core.util.sortutiltest;
+
+import static com.feilong.core.bean.ConvertUtil.toList;
+import static com.feilong.core.util.SortUtil.sortList;
+import static com.feilong.core.util.SortUtil.sortListParallel;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.collections4.ComparatorUtils;
+import org.junit.Test;
+
+import com.feilong.core.util.ParallelSortConfig;
+import com.feilong.core.util.comparator.BeanComparatorUtil;
+import com.feilong.core.util.comparator.PropertyComparator;
+import com.feilong.store.member.User;
+
+/**
+ * The Class SortListParallelTest.
+ *
+ * @author <a href="http://feitianbenyue.iteye.com/">feilong</a>
+ * @since 1.10.6
+ */
+public class SortListParallelTest{
+
+    /** 小阈值,保证测试数据走并行分支. */
+    private static final ParallelSortConfig PARALLEL_SORT_CONFIG = new ParallelSortConfig(1, 4);
+
+    //---------------------------------------------------------------
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortListParallel(){
+        User id12 = new User(12L, 18);
+        User id2 = new User(2L, 36);
+        User id5 = new User(5L, 22);
+        User id1 = new User(1L, 8);
+        List<User> list = toList(id12, id2, id5, id1);
+
+        sortListParallel(list, new PropertyComparator<User>("id"));
+        assertThat(list, contains(id1, id2, id5, id12));
+    }
+
+    /**
+     * 并行排序是稳定排序,结果和 {@link com.feilong.core.util.SortUtil#sortList(List, Comparator...)} 完全一致.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortListParallelSameAsSortList(){
+        Random random = new Random(20170801L);
+
+        List<User> list = new ArrayList<>();
+        for (int i = 0; i < 50000; ++i){
+            list.add(new User((long) random.nextInt(100), random.nextInt(30)));
+        }
+
+        //只按照 id 排序,大量 id 相同的元素用来校验稳定性
+        Comparator<User> comparator = BeanComparatorUtil.chainedComparator("id");
+
+        List<User> expected = sortList(new ArrayList<>(list), comparator);
+        List<User> actual = sortListParallel(new ArrayList<>(list), PARALLEL_SORT_CONFIG, comparator);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i){
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortListParallelLinkedList(){
+        Random random = new Random(20170801L);
+
+        List<Integer> list = new LinkedList<>();
+        for (int i = 0; i < 10000; ++i){
+            list.add(random.nextInt());
+        }
+        List<Integer> expected = sortList(new ArrayList<>(list));
+        assertEquals(expected, sortListParallel(list, PARALLEL_SORT_CONFIG, ComparatorUtils.<Integer> naturalComparator()));
+    }
+
+    //---------------------------------------------------------------
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSortListParallelNullList(){
+        assertEquals(emptyList(), sortListParallel(null, new PropertyComparator<User>("id")));
+    }
+
+    @Test
+    public void testSortListParallelNullComparators(){
+        List<User> list = toList(new User(12L), new User(1L));
+        assertSame(list, sortListParallel(list, (Comparator<User>[]) null));
+    }
+
+    @Test(expected = NullPointerException.class)
+    @SuppressWarnings("unchecked")
+    public void testSortListParallelNullConfig(){
+        sortListParallel(toList(new User(12L), new User(1L)), (ParallelSortConfig) null, new PropertyComparator<User>("id"));
+    }
+}